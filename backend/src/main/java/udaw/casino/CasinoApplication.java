@@ -1,17 +1,22 @@
 package udaw.casino;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import udaw.casino.security.BoundedPasswordEncoder;
 
 /**
  * Main application class for the Casino backend service.
  * This class serves as the entry point for the Spring Boot application
  * and provides essential configuration beans.
+ * Scheduling is enabled for periodic background jobs.
  */
 @SpringBootApplication
+@EnableScheduling
 public class CasinoApplication {
 
 	/**
@@ -26,12 +31,23 @@ public class CasinoApplication {
 	 * Configures and provides a BCrypt password encoder bean.
 	 * This encoder is used throughout the application for secure password hashing.
 	 * BCrypt is used because it automatically handles salt generation and storage.
+	 * Hashing runs on a dedicated bounded pool so login bursts cannot tie up the request threads.
 	 * 
-	 * @return A configured BCryptPasswordEncoder instance
+	 * @param strength BCrypt cost factor
+	 * @param threads Number of hashing threads; 0 uses half the available processors
+	 * @param queueCapacity Number of hashes allowed to wait for a thread
+	 * @param maxWaitMillis Longest time a request waits for its hash
+	 * @param meterRegistry Registry for the hashing metrics
+	 * @return A configured BoundedPasswordEncoder instance
 	 */
-	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	@Bean(destroyMethod = "shutdown")
+	public PasswordEncoder passwordEncoder(@Value("${password-hashing.bcrypt-strength:10}") int strength,
+										   @Value("${password-hashing.threads:0}") int threads,
+										   @Value("${password-hashing.queue-capacity:64}") int queueCapacity,
+										   @Value("${password-hashing.max-wait-ms:5000}") long maxWaitMillis,
+										   MeterRegistry meterRegistry) {
+		int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+		return new BoundedPasswordEncoder(strength, poolSize, queueCapacity, maxWaitMillis, meterRegistry);
 	}
 
 }
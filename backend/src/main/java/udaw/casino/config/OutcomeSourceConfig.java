@@ -0,0 +1,33 @@
+package udaw.casino.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import udaw.casino.service.OutcomeSource;
+import udaw.casino.service.ThreadLocalOutcomeSource;
+
+/**
+ * Configuration class for the random outcome source shared by all game engines.
+ * The mode is selected with casino.rng.mode (DRBG, SPLITTABLE or SEEDED) and defaults
+ * to DRBG, so real-money outcomes come from a cryptographically strong generator;
+ * SEEDED uses casino.rng.seed so game outcomes can be replayed deterministically in tests.
+ */
+@Configuration
+public class OutcomeSourceConfig {
+
+    @Value("${casino.rng.mode:DRBG}")
+    private ThreadLocalOutcomeSource.Mode mode;
+
+    @Value("${casino.rng.seed:0}")
+    private long seed;
+
+    /**
+     * Provides the outcome source used to draw roulette spins, dice rolls and other game results.
+     *
+     * @return The configured outcome source
+     */
+    @Bean
+    public OutcomeSource outcomeSource() {
+        return ThreadLocalOutcomeSource.create(mode, seed);
+    }
+}
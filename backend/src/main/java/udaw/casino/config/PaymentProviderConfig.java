@@ -0,0 +1,52 @@
+package udaw.casino.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import udaw.casino.service.FakePaymentProvider;
+import udaw.casino.service.PaymentProvider;
+import udaw.casino.service.StripePaymentProvider;
+
+/**
+ * Configuration class for the payment provider.
+ * The provider is selected with payments.provider: STRIPE calls the Stripe API, FAKE
+ * answers locally after payments.provider.fake.latency-ms and fails a share
+ * payments.provider.fake.failure-rate of calls, for load tests.
+ */
+@Configuration
+public class PaymentProviderConfig {
+
+    /** Available payment providers. */
+    public enum Provider {
+        STRIPE,
+        FAKE
+    }
+
+    @Value("${payments.provider:STRIPE}")
+    private Provider provider;
+
+    @Value("${payments.provider.connect-timeout-ms:3000}")
+    private int connectTimeoutMillis;
+
+    @Value("${payments.provider.read-timeout-ms:8000}")
+    private int readTimeoutMillis;
+
+    @Value("${payments.provider.fake.latency-ms:200}")
+    private long fakeLatencyMillis;
+
+    @Value("${payments.provider.fake.failure-rate:0}")
+    private double fakeFailureRate;
+
+    /**
+     * Provides the payment provider used to create payment intents.
+     *
+     * @return The configured payment provider
+     */
+    @Bean
+    public PaymentProvider paymentProvider() {
+        return switch (provider) {
+            case STRIPE -> new StripePaymentProvider(connectTimeoutMillis, readTimeoutMillis);
+            case FAKE -> new FakePaymentProvider(fakeLatencyMillis, fakeFailureRate);
+        };
+    }
+}
@@ -3,6 +3,7 @@ package udaw.casino.config; // Make sure this package matches your project struc
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod; // Important for specifying HTTP methods
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -15,8 +16,11 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import udaw.casino.security.JwtAuthenticationFilter; // Make sure this path is correct
+import udaw.casino.security.IdempotencyFilter;
+import udaw.casino.security.RateLimitFilter;
 
 /**
  * Configuration class for Spring Security in the casino system.
@@ -29,20 +33,28 @@ import udaw.casino.security.JwtAuthenticationFilter; // Make sure this path is c
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final IdempotencyFilter idempotencyFilter;
     private final UserDetailsService userDetailsService;
     private final PasswordEncoder passwordEncoder;
 
     /**
-     * Constructs a new SecurityConfig with the required JwtAuthenticationFilter, UserDetailsService, and PasswordEncoder.
+     * Constructs a new SecurityConfig with the required filters, UserDetailsService, and PasswordEncoder.
      *
      * @param jwtAuthenticationFilter The filter for handling JWT authentication.
+     * @param rateLimitFilter The filter rate-limiting login and play requests.
+     * @param idempotencyFilter The filter replaying responses to retried requests.
      * @param userDetailsService The service for loading user details.
      * @param passwordEncoder The encoder for handling password operations.
      */
     public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
+                          RateLimitFilter rateLimitFilter,
+                          IdempotencyFilter idempotencyFilter,
                           UserDetailsService userDetailsService,
                           PasswordEncoder passwordEncoder) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.idempotencyFilter = idempotencyFilter;
         this.userDetailsService = userDetailsService;
         this.passwordEncoder = passwordEncoder;
     }
@@ -79,6 +91,8 @@ public class SecurityConfig {
                     "/api/users/login",          // User login
                     "/api/users/register",       // User registration
                     "/api/users/me",             // Get current user
+                    "/api/users/refresh",        // Exchange a refresh token (the access token may have expired)
+                    "/api/users/logout",         // Revoke tokens (the access token may have expired)
                     "/api/payments/webhook"      // Payment webhook
                 ).permitAll()
 
@@ -112,6 +126,10 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.POST, "/api/games").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.PUT, "/api/games/**").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.DELETE, "/api/games/**").hasRole("ADMIN")
+                // Only ADMINS can create tournaments
+                .requestMatchers(HttpMethod.POST, "/api/tournaments").hasRole("ADMIN")
+                // Operational tooling such as the RTP verification harness
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 // Add other endpoints here that only ADMINs can access
                 // Example: .requestMatchers("/api/reports/**").hasRole("ADMIN")
 
@@ -125,8 +143,15 @@ public class SecurityConfig {
             .httpBasic(AbstractHttpConfigurer::disable)
             // Disable form login
             .formLogin(AbstractHttpConfigurer::disable)
+            // Answer 401 to requests without a valid token (missing, expired or revoked) so clients refresh it;
+            // authenticated requests lacking a role still get 403
+            .exceptionHandling(e -> e.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
             // Add our custom JWT authentication filter before the standard Spring Security username/password filter
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            // Rate-limit login and play requests before the token is even verified
+            .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class)
+            // Replay responses to retried play, bet and payment requests carrying an Idempotency-Key
+            .addFilterAfter(idempotencyFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
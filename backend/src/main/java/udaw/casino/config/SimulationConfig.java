@@ -0,0 +1,29 @@
+package udaw.casino.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Configuration class for the fork-join pool running in-memory game simulations
+ * (RTP verification and strategy simulation), kept apart from the common pool.
+ */
+@Configuration
+public class SimulationConfig {
+
+    /** Parallelism of the pool; 0 means one thread per available core */
+    @Value("${casino.simulation.parallelism:0}")
+    private int parallelism;
+
+    /**
+     * Provides the pool shared by all simulations.
+     *
+     * @return The simulation pool
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool simulationPool() {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+}
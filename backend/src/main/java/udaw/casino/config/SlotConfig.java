@@ -0,0 +1,136 @@
+package udaw.casino.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import udaw.casino.engine.SlotEngine;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration class for the slot machine.
+ * Without a configured paytable the classic three-reel machine is used; otherwise the
+ * machine is built from the symbols, reel strips (or symbol weights), rows, paylines
+ * and paytable properties.
+ */
+@Configuration
+@Slf4j
+public class SlotConfig {
+
+    /** Comma-separated symbol names */
+    @Value("${slots.symbols:}")
+    private String symbols;
+
+    /** Reel strips separated by ';', each a comma-separated list of symbol names */
+    @Value("${slots.reels:}")
+    private String reels;
+
+    /** Stops per symbol on every reel, used when no strips are given */
+    @Value("${slots.weights:}")
+    private String weights;
+
+    /** Number of reels built from the weights */
+    @Value("${slots.reel-count:3}")
+    private int reelCount;
+
+    @Value("${slots.rows:1}")
+    private int rows;
+
+    /** Paylines separated by ';', each a comma-separated row per reel */
+    @Value("${slots.paylines:}")
+    private String paylines;
+
+    /** Comma-separated "symbol:count=pay" entries */
+    @Value("${slots.paytable:}")
+    private String paytable;
+
+    /**
+     * Provides the slot machine.
+     *
+     * @return The slot engine
+     * @throws IllegalArgumentException if the configuration is invalid
+     */
+    @Bean
+    public SlotEngine slotEngine() {
+        SlotEngine engine = paytable.isBlank() ? SlotEngine.classic() : build();
+        log.info("Slot machine: {} reels, {} paylines, RTP {}", engine.getReelCount(),
+                engine.getPaylineCount(), engine.getRtp());
+        return engine;
+    }
+
+    private SlotEngine build() {
+        String[] names = split(symbols, ",");
+        int[][] strips;
+        if (!reels.isBlank()) {
+            String[] reelSpecs = split(reels, ";");
+            strips = new int[reelSpecs.length][];
+            for (int r = 0; r < reelSpecs.length; r++) {
+                String[] stops = split(reelSpecs[r], ",");
+                strips[r] = new int[stops.length];
+                for (int i = 0; i < stops.length; i++) {
+                    strips[r][i] = symbolIndex(names, stops[i]);
+                }
+            }
+        } else {
+            String[] weightSpecs = split(weights, ",");
+            if (weightSpecs.length != names.length) {
+                throw new IllegalArgumentException("slots.weights needs one weight per symbol");
+            }
+            int[] symbolWeights = new int[weightSpecs.length];
+            for (int i = 0; i < weightSpecs.length; i++) {
+                symbolWeights[i] = Integer.parseInt(weightSpecs[i]);
+            }
+            int[] strip = SlotEngine.strip(symbolWeights);
+            strips = new int[reelCount][];
+            for (int r = 0; r < reelCount; r++) {
+                strips[r] = strip;
+            }
+        }
+
+        String[] lineSpecs = paylines.isBlank() ? new String[] {String.join(",", zeros(strips.length))} : split(paylines, ";");
+        int[][] lines = new int[lineSpecs.length][];
+        for (int l = 0; l < lineSpecs.length; l++) {
+            String[] rowSpecs = split(lineSpecs[l], ",");
+            lines[l] = new int[rowSpecs.length];
+            for (int r = 0; r < rowSpecs.length; r++) {
+                lines[l][r] = Integer.parseInt(rowSpecs[r]);
+            }
+        }
+
+        Map<String, Double> pays = new LinkedHashMap<>();
+        for (String entry : split(paytable, ",")) {
+            String[] keyValue = entry.split("=", 2);
+            if (keyValue.length != 2) {
+                throw new IllegalArgumentException("Invalid paytable entry: " + entry);
+            }
+            pays.put(keyValue[0].trim(), Double.parseDouble(keyValue[1].trim()));
+        }
+        return new SlotEngine(names, strips, rows, lines, pays);
+    }
+
+    private static int symbolIndex(String[] names, String symbol) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(symbol)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown slot symbol: " + symbol);
+    }
+
+    private static String[] zeros(int count) {
+        String[] zeros = new String[count];
+        Arrays.fill(zeros, "0");
+        return zeros;
+    }
+
+    private static String[] split(String value, String separator) {
+        String[] parts = value.split(separator);
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = parts[i].trim();
+        }
+        return parts;
+    }
+}
@@ -25,7 +25,7 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOrigins("http://localhost:5173","http://casinovirtual:5173", "http://casinovirtual.com:5173", "http://virtualcasino.com:5173", "http://virtualcasino:5173") // Frontend URL
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS")
                 .allowedHeaders("*")
-                .exposedHeaders("Authorization")
+                .exposedHeaders("Authorization", "Retry-After", "Idempotent-Replayed")
                 .allowCredentials(true);
     }
 }
@@ -0,0 +1,48 @@
+package udaw.casino.controller;
+
+import udaw.casino.dto.RtpVerificationDTO;
+import udaw.casino.service.RtpVerificationService;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Admin controller for verifying the return to player (RTP) of every game's payout tables.
+ */
+@RestController
+@RequestMapping("/api/admin/rtp")
+public class AdminRtpController {
+
+    private final RtpVerificationService rtpVerificationService;
+
+    public AdminRtpController(RtpVerificationService rtpVerificationService) {
+        this.rtpVerificationService = rtpVerificationService;
+    }
+
+    /**
+     * Runs a Monte Carlo RTP verification of all games.
+     * Responds 200 OK when every bet is within the configured RTP bounds and
+     * 417 Expectation Failed (with the same report) when any bet drifts outside them.
+     *
+     * @param rounds Rounds simulated per game.
+     * @param seed Root seed for a reproducible run (optional).
+     * @return ResponseEntity containing the verification report, or an error message.
+     */
+    @PostMapping
+    public ResponseEntity<?> verify(@RequestParam(defaultValue = "100000000") long rounds,
+                                    @RequestParam(required = false) Long seed) {
+        try {
+            RtpVerificationDTO report = rtpVerificationService.verify(rounds, seed);
+            HttpStatus status = report.getViolations().isEmpty() ? HttpStatus.OK : HttpStatus.EXPECTATION_FAILED;
+            return ResponseEntity.status(status).body(report);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+}
@@ -3,7 +3,11 @@ package udaw.casino.controller;
 import udaw.casino.dto.BetDTO;
 import udaw.casino.exception.ResourceNotFoundException;
 import udaw.casino.model.Bet;
+import udaw.casino.model.Game;
+import udaw.casino.security.JwtPrincipal;
 import udaw.casino.service.BetService;
+import udaw.casino.service.BlackjackService;
+import udaw.casino.service.GameEngineRegistry;
 import udaw.casino.service.GameService;
 import udaw.casino.service.UserService;
 
@@ -12,7 +16,9 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -27,10 +33,13 @@ public class BetController {
     private final BetService betService;
     private final UserService userService;
     private final GameService gameService;
-    public BetController(BetService betService, UserService userService, GameService gameService) {
+    private final GameEngineRegistry gameEngineRegistry;
+    public BetController(BetService betService, UserService userService, GameService gameService,
+                         GameEngineRegistry gameEngineRegistry) {
         this.betService = betService;
         this.userService = userService;
         this.gameService = gameService;
+        this.gameEngineRegistry = gameEngineRegistry;
     }
 
     /**
@@ -123,8 +132,8 @@ public class BetController {
     @GetMapping("/blackjack")
     public ResponseEntity<List<Bet>> getAllBlackjackBets() {
         try {
-            // Game ID 9 is blackjack
-            List<Bet> bets = betService.getBetsByGame(9L);
+            Long blackjackId = gameService.getGameByName(BlackjackService.GAME_NAME).getId();
+            List<Bet> bets = betService.getBetsByGame(blackjackId);
             System.out.println("Retrieved " + bets.size() + " blackjack bets");
             for (Bet bet : bets) {
                 System.out.println("Bet ID: " + bet.getId() + 
@@ -144,18 +153,30 @@ public class BetController {
 
     /**
      * Creates a new bet with improved transaction handling.
+     * The bet arrives already settled by the client, so it is refused for games whose
+     * outcomes are drawn and settled on the server (blackjack and every game with a
+     * game engine); those are played through their own endpoints.
      *
      * @param betDTO The bet details from the request body.
-     * @return ResponseEntity containing the created bet or an error.
+     * @param principal The authenticated caller, who must be the user named in the bet.
+     * @return ResponseEntity containing the created bet, or 403 Forbidden.
      */
     @PostMapping
-    public ResponseEntity<BetDTO> createBet(@RequestBody BetDTO betDTO) {
+    public ResponseEntity<?> createBet(@RequestBody BetDTO betDTO, @AuthenticationPrincipal JwtPrincipal principal) {
+        if (principal == null || !principal.actsFor(betDTO.getUserId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Cannot bet for another user.");
+        }
+        Game game = gameService.getGameById(betDTO.getGameId());
+        if (BlackjackService.GAME_NAME.equals(game.getName()) || gameEngineRegistry.hasEngine(game)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(game.getName() + " is settled on the server; its bets cannot be submitted by clients.");
+        }
         try {
             System.out.println("Received bet data: " + betDTO);
             
             Bet bet = new Bet();
             bet.setUser(userService.getUserById(betDTO.getUserId()));
-            bet.setGame(gameService.getGameById(betDTO.getGameId()));
+            bet.setGame(game);
             bet.setAmount(betDTO.getAmount());
             // Always use server time for consistency with other game controllers
             bet.setBetDate(java.time.LocalDateTime.now());
@@ -201,41 +222,4 @@ public class BetController {
             throw e;
         }
     }
-
-    /**
-     * Creates a test blackjack bet (for debugging).
-     *
-     * @return ResponseEntity containing the created test bet or an error.
-     */
-    @PostMapping("/test-blackjack")
-    public ResponseEntity<Bet> createTestBlackjackBet() {
-        try {
-            System.out.println("Creating test blackjack bet");
-            
-            // Create a simple blackjack bet for testing
-            Bet bet = new Bet();
-            bet.setUser(userService.getUserById(4L)); // Assuming user ID 4 exists
-            bet.setGame(gameService.getGameById(9L)); // Blackjack game ID
-            bet.setAmount(5.0);
-            bet.setBetDate(java.time.LocalDateTime.now());
-            bet.setStatus("TEST");
-            bet.setWinloss(-5.0);
-            bet.setBetType("BLACKJACK_TEST");
-            bet.setBetValue("21");
-            bet.setWinningValue("17");
-            
-            System.out.println("About to save test bet: " + bet);
-            
-            // Save directly to the repository
-            Bet savedBet = betService.saveBet(bet);
-            
-            System.out.println("Test bet saved successfully with ID: " + savedBet.getId());
-            
-            return ResponseEntity.ok(savedBet);
-        } catch (Exception e) {
-            System.err.println("Error creating test bet: " + e.getMessage());
-            e.printStackTrace();
-            throw e;
-        }
-    }
 }
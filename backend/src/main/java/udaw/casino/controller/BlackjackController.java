@@ -0,0 +1,125 @@
+package udaw.casino.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import udaw.casino.dto.BlackjackDealRequestDTO;
+import udaw.casino.dto.BlackjackStateDTO;
+import udaw.casino.exception.InsufficientBalanceException;
+import udaw.casino.exception.ResourceNotFoundException;
+import udaw.casino.exception.UserNotFoundException;
+import udaw.casino.security.JwtPrincipal;
+import udaw.casino.service.BlackjackService;
+
+import java.util.function.Function;
+
+/**
+ * Controller for server-authoritative blackjack.
+ * A hand is dealt with a stake and then played with hit, stand, double and split;
+ * the hand is settled on the server when it ends. Every route acts on the authenticated
+ * user's own table; a request naming another user gets 403 Forbidden.
+ */
+@RestController
+@RequestMapping("/api/blackjack")
+@RequiredArgsConstructor
+public class BlackjackController {
+
+    private final BlackjackService blackjackService;
+
+    /**
+     * Deals a new hand.
+     *
+     * @param request The user ID and stake.
+     * @param principal The authenticated caller, who must be the user named in the request.
+     * @return ResponseEntity containing the state of the hand, or an error message.
+     */
+    @PostMapping("/deal")
+    public ResponseEntity<?> deal(@RequestBody BlackjackDealRequestDTO request,
+                                  @AuthenticationPrincipal JwtPrincipal principal) {
+        return handle(principal, request.getUserId(), userId -> blackjackService.deal(userId, request.getAmount()));
+    }
+
+    /**
+     * Draws a card to the active hand.
+     *
+     * @param userId The ID of the user.
+     * @param principal The authenticated caller, who must be that user.
+     * @return ResponseEntity containing the state of the hand, or an error message.
+     */
+    @PostMapping("/{userId}/hit")
+    public ResponseEntity<?> hit(@PathVariable Long userId, @AuthenticationPrincipal JwtPrincipal principal) {
+        return handle(principal, userId, blackjackService::hit);
+    }
+
+    /**
+     * Stands on the active hand.
+     *
+     * @param userId The ID of the user.
+     * @param principal The authenticated caller, who must be that user.
+     * @return ResponseEntity containing the state of the hand, or an error message.
+     */
+    @PostMapping("/{userId}/stand")
+    public ResponseEntity<?> stand(@PathVariable Long userId, @AuthenticationPrincipal JwtPrincipal principal) {
+        return handle(principal, userId, blackjackService::stand);
+    }
+
+    /**
+     * Doubles the stake of the active hand and draws one card.
+     *
+     * @param userId The ID of the user.
+     * @param principal The authenticated caller, who must be that user.
+     * @return ResponseEntity containing the state of the hand, or an error message.
+     */
+    @PostMapping("/{userId}/double")
+    public ResponseEntity<?> doubleDown(@PathVariable Long userId, @AuthenticationPrincipal JwtPrincipal principal) {
+        return handle(principal, userId, blackjackService::doubleDown);
+    }
+
+    /**
+     * Splits the active pair into two hands.
+     *
+     * @param userId The ID of the user.
+     * @param principal The authenticated caller, who must be that user.
+     * @return ResponseEntity containing the state of the hand, or an error message.
+     */
+    @PostMapping("/{userId}/split")
+    public ResponseEntity<?> split(@PathVariable Long userId, @AuthenticationPrincipal JwtPrincipal principal) {
+        return handle(principal, userId, blackjackService::split);
+    }
+
+    /**
+     * Gets the state of the user's current or last hand.
+     *
+     * @param userId The ID of the user.
+     * @param principal The authenticated caller, who must be that user.
+     * @return ResponseEntity containing the state of the hand, or 404 Not Found.
+     */
+    @GetMapping("/{userId}")
+    public ResponseEntity<?> getState(@PathVariable Long userId, @AuthenticationPrincipal JwtPrincipal principal) {
+        return handle(principal, userId, blackjackService::getState);
+    }
+
+    private ResponseEntity<?> handle(JwtPrincipal principal, Long userId, Function<Long, BlackjackStateDTO> action) {
+        if (principal == null || !principal.actsFor(userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Cannot play for another user.");
+        }
+        try {
+            return ResponseEntity.ok(action.apply(userId));
+        } catch (InsufficientBalanceException e) {
+            return ResponseEntity.status(HttpStatus.PAYMENT_REQUIRED).body(e.getMessage());
+        } catch (ResourceNotFoundException | UserNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
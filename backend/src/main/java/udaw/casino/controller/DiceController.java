@@ -3,21 +3,32 @@ package udaw.casino.controller;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import udaw.casino.dto.BetDTO;
+import udaw.casino.dto.DiceAutoBetRequestDTO;
 import udaw.casino.dto.PlaceBetRequestDTO;
 import udaw.casino.dto.DiceGameResponseDTO;
+import udaw.casino.dto.DiceVariantDTO;
+import udaw.casino.engine.DiceEngine;
+import udaw.casino.exception.InsufficientBalanceException;
+import udaw.casino.exception.ResourceNotFoundException;
+import udaw.casino.exception.UserNotFoundException;
 import udaw.casino.model.Bet;
+import udaw.casino.security.JwtPrincipal;
 import udaw.casino.service.DiceService;
+import udaw.casino.service.OutcomeSource;
+import udaw.casino.service.ProvablyFairService;
 import udaw.casino.service.UserService;
 import udaw.casino.service.GameService;
 
-import java.util.Random;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -32,30 +43,58 @@ public class DiceController {
     private final DiceService diceService;
     private final UserService userService;
     private final GameService gameService;
+    private final OutcomeSource outcomeSource;
+    private final ProvablyFairService provablyFairService;
     
     /**
      * Endpoint to play a round of dice and place a bet.
      * 
      * @param betRequest The bet request containing user ID, amount, bet type, and bet value.
+     * @param principal The authenticated caller, who must be the user named in the request in provably-fair mode
      * @return ResponseEntity containing the dice results and the resolved bet.
      */
     @PostMapping("/play")
-    public ResponseEntity<DiceGameResponseDTO> playDice(@RequestBody PlaceBetRequestDTO betRequest) {
+    public ResponseEntity<DiceGameResponseDTO> playDice(@RequestBody PlaceBetRequestDTO betRequest,
+                                                        @AuthenticationPrincipal JwtPrincipal principal) {
         // Validate the request body
         if (betRequest.getUserId() == null || betRequest.getAmount() <= 0 || 
             betRequest.getType() == null || betRequest.getBetValue() == null) {
             return ResponseEntity.badRequest().body(null);
         }
         
-        // Generate random dice values (1-6 for each die)
-        Random random = new Random();
-        List<Integer> diceValues = Arrays.asList(
-            random.nextInt(6) + 1, // First die (1-6)
-            random.nextInt(6) + 1  // Second die (1-6)
-        );
-        
-        // Calculate the sum of dice
-        int diceSum = diceValues.get(0) + diceValues.get(1);
+        DiceEngine engine;
+        try {
+            engine = DiceEngine.variant(betRequest.getVariant());
+            engine.compile(betRequest.getType(), betRequest.getBetValue());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
+        if (betRequest.isFair() && engine != DiceEngine.CLASSIC) {
+            return ResponseEntity.badRequest().body(null); // Provably-fair mode covers the classic variant only
+        }
+        if (betRequest.isFair() && (principal == null || !principal.actsFor(betRequest.getUserId()))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build(); // Only the owner may draw from a seed pair
+        }
+
+        // Draw random dice values (1-6 for each die on the classic variant),
+        // from the user's seed pair in provably-fair mode
+        ProvablyFairService.Draw fairDraw = null;
+        int[] faces = new int[engine.getDice()];
+        int diceSum;
+        if (betRequest.isFair()) {
+            fairDraw = provablyFairService.draw(betRequest.getUserId(), ProvablyFairService.Game.DICE);
+            diceSum = 0;
+            for (int i = 0; i < faces.length; i++) {
+                faces[i] = fairDraw.getValues()[i] + 1;
+                diceSum += faces[i];
+            }
+        } else {
+            diceSum = engine.roll(outcomeSource, faces);
+        }
+        List<Integer> diceValues = new ArrayList<>(faces.length);
+        for (int face : faces) {
+            diceValues.add(face);
+        }
         
         // Create the bet object
         Bet bet = new Bet();
@@ -66,13 +105,53 @@ public class DiceController {
         bet.setGame(gameService.getGameById(betRequest.getGameId()));
         
         // Process the bet with the generated dice sum
-        Bet resolvedBet = diceService.playDice(bet, diceSum);
+        Bet resolvedBet = diceService.playDice(bet, engine, diceSum);
         
         // Create and return the response DTO with BetDTO to prevent circular references
         DiceGameResponseDTO response = new DiceGameResponseDTO();
         response.setDiceResults(diceValues);
         response.setResolvedBet(new BetDTO(resolvedBet));
+        response.setFair(fairDraw != null ? fairDraw.getProof() : null);
         
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Endpoint to play a series of rolls with the same bet (auto-bet).
+     * All rolls are settled in one transaction and summarised in the response.
+     *
+     * @param request The bet spec, number of rolls and optional stop-loss/take-profit limits.
+     * @param principal The authenticated caller, who must be the user named in the request
+     * @return ResponseEntity containing the auto-bet summary, or an error message.
+     */
+    @PostMapping("/auto")
+    public ResponseEntity<?> autoBet(@RequestBody DiceAutoBetRequestDTO request,
+                                     @AuthenticationPrincipal JwtPrincipal principal) {
+        if (principal == null || !principal.actsFor(request.getUserId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Cannot play for another user.");
+        }
+        try {
+            return ResponseEntity.ok(diceService.autoBet(request));
+        } catch (InsufficientBalanceException e) {
+            return ResponseEntity.status(HttpStatus.PAYMENT_REQUIRED).body(e.getMessage());
+        } catch (ResourceNotFoundException | UserNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Lists the supported dice variants with the RTP of every bet.
+     *
+     * @return ResponseEntity containing the variants.
+     */
+    @GetMapping("/variants")
+    public ResponseEntity<List<DiceVariantDTO>> getVariants() {
+        List<DiceVariantDTO> variants = new ArrayList<>();
+        for (DiceEngine engine : DiceEngine.variants()) {
+            variants.add(new DiceVariantDTO(engine));
+        }
+        return ResponseEntity.ok(variants);
+    }
 }
@@ -1,8 +1,13 @@
 package udaw.casino.controller;
 
 import udaw.casino.dto.GameDTO;
+import udaw.casino.dto.GamePlayRequestDTO;
+import udaw.casino.exception.InsufficientBalanceException;
 import udaw.casino.exception.ResourceNotFoundException;
+import udaw.casino.exception.UserNotFoundException;
 import udaw.casino.model.Game;
+import udaw.casino.security.JwtPrincipal;
+import udaw.casino.service.GamePlayService;
 import udaw.casino.service.GameService;
 
 import java.util.ArrayList;
@@ -12,6 +17,7 @@ import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -26,7 +32,8 @@ import org.springframework.web.bind.annotation.PutMapping;
 
 /**
  * Controller for managing casino games.
- * Provides endpoints for creating, retrieving, updating, and deleting games.
+ * Provides endpoints for creating, retrieving, updating, and deleting games,
+ * and a generic endpoint to play any game backed by a game engine.
  */
 @RestController
 @RequestMapping("/api/games")
@@ -35,6 +42,9 @@ public class GameController {
     @Autowired
     private GameService gameService;
 
+    @Autowired
+    private GamePlayService gamePlayService;
+
 
     /**
      * Create a new game.
@@ -150,4 +160,29 @@ public class GameController {
                 .body(Map.of("message", "Failed to delete game"));
         }
     }
+
+    /**
+     * Play one or more rounds of the same bet on a game backed by a game engine.
+     * 
+     * @param id Game ID
+     * @param request User ID, stake, bet type and value, and number of rounds
+     * @param principal The authenticated caller, who must be the user named in the request
+     * @return Summary of the rounds played, or an error message
+     */
+    @PostMapping("/{id}/play")
+    public ResponseEntity<?> play(@PathVariable Long id, @RequestBody GamePlayRequestDTO request,
+                                  @AuthenticationPrincipal JwtPrincipal principal) {
+        if (principal == null || !principal.actsFor(request.getUserId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Cannot play for another user.");
+        }
+        try {
+            return ResponseEntity.ok(gamePlayService.play(id, request));
+        } catch (InsufficientBalanceException e) {
+            return ResponseEntity.status(HttpStatus.PAYMENT_REQUIRED).body(e.getMessage());
+        } catch (ResourceNotFoundException | UserNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 }
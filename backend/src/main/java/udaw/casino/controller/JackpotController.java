@@ -0,0 +1,30 @@
+package udaw.casino.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import udaw.casino.dto.JackpotDTO;
+import udaw.casino.service.JackpotService;
+
+/**
+ * Controller exposing the progressive jackpot.
+ */
+@RestController
+@RequestMapping("/api/jackpot")
+@RequiredArgsConstructor
+public class JackpotController {
+
+    private final JackpotService jackpotService;
+
+    /**
+     * Gets the current jackpot value. Served from memory, so it can be polled frequently.
+     *
+     * @return ResponseEntity containing the jackpot.
+     */
+    @GetMapping
+    public ResponseEntity<JackpotDTO> getJackpot() {
+        return ResponseEntity.ok(jackpotService.getJackpot());
+    }
+}
@@ -3,12 +3,17 @@ package udaw.casino.controller;
 import com.stripe.exception.StripeException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import udaw.casino.dto.PaymentIntentDTO;
 import udaw.casino.dto.PaymentIntentResponseDTO;
 import udaw.casino.dto.ProcessPaymentDTO;
+import udaw.casino.exception.PaymentProviderException;
+import udaw.casino.exception.ServiceBusyException;
+import udaw.casino.exception.UserNotFoundException;
+import udaw.casino.service.PaymentEventWorker;
 import udaw.casino.service.PaymentService;
 
 import java.util.HashMap;
@@ -24,17 +29,20 @@ import java.util.Map;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final PaymentEventWorker paymentEventWorker;
     
     @Value("${stripe.publishable.key}")
     private String publishableKey;
 
     /**
-     * Constructs a new PaymentController with the required PaymentService.
+     * Constructs a new PaymentController with the required PaymentService and PaymentEventWorker.
      *
      * @param paymentService The service for handling payment operations.
+     * @param paymentEventWorker The worker applying received webhook events.
      */
-    public PaymentController(PaymentService paymentService) {
+    public PaymentController(PaymentService paymentService, PaymentEventWorker paymentEventWorker) {
         this.paymentService = paymentService;
+        this.paymentEventWorker = paymentEventWorker;
     }
     
     /**
@@ -56,17 +64,27 @@ public class PaymentController {
      * the necessary client secret for completing the payment on the frontend.
      * 
      * @param paymentIntentDTO Payment details including amount and currency.
-     * @return ResponseEntity containing the payment intent details or error information.
+     * @return ResponseEntity containing the payment intent details, or error information
+     *         (503 with Retry-After while the payment provider is unavailable).
      */
     @PostMapping("/create-payment-intent")
     public ResponseEntity<?> createPaymentIntent(@RequestBody PaymentIntentDTO paymentIntentDTO) {
         try {
             PaymentIntentResponseDTO response = paymentService.createPaymentIntent(paymentIntentDTO);
             return ResponseEntity.ok(response);
-        } catch (StripeException e) {
+        } catch (UserNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "User not found"));
+        } catch (IllegalArgumentException e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        } catch (ServiceBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of("error", e.getMessage()));
+        } catch (PaymentProviderException e) {
+            return ResponseEntity.status(e.isTimeout() ? HttpStatus.GATEWAY_TIMEOUT : HttpStatus.BAD_GATEWAY)
+                    .body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "An unexpected error occurred");
@@ -78,19 +96,24 @@ public class PaymentController {
      * Webhook endpoint for Stripe to notify about payment events.
      * This endpoint receives notifications from Stripe about payment status changes
      * and other relevant events. The signature header is used to verify the authenticity
-     * of the webhook payload.
+     * of the webhook payload. The event is stored and acknowledged at once; the balance
+     * update happens in the background, and a redelivered event is acknowledged without
+     * being applied again.
      * 
      * @param payload The webhook payload containing event data from Stripe.
      * @param sigHeader The Stripe signature header for verifying the webhook authenticity.
-     * @return ResponseEntity indicating the result of processing the webhook.
+     * @return ResponseEntity indicating whether the event was accepted.
      */
     @PostMapping("/webhook")
     public ResponseEntity<String> handleStripeWebhook(
             @RequestBody String payload,
             @RequestHeader("Stripe-Signature") String sigHeader) {
         try {
-            String result = paymentService.handleWebhookEvent(payload, sigHeader);
-            return ResponseEntity.ok(result);
+            if (paymentService.receiveWebhookEvent(payload, sigHeader)) {
+                paymentEventWorker.wakeUp();
+                return ResponseEntity.ok("Event received");
+            }
+            return ResponseEntity.ok("Event already received");
         } catch (StripeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Webhook error: " + e.getMessage());
         } catch (Exception e) {
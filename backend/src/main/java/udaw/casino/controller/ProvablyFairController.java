@@ -0,0 +1,107 @@
+package udaw.casino.controller;
+
+import udaw.casino.dto.FairSeedDTO;
+import udaw.casino.dto.FairVerificationDTO;
+import udaw.casino.exception.UserNotFoundException;
+import udaw.casino.security.JwtPrincipal;
+import udaw.casino.service.ProvablyFairService;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller for provably-fair seed management and outcome verification.
+ * Players see the hash of their active server seed before playing, rotate the pair
+ * to reveal the seed, and can then recompute every outcome it produced.
+ */
+@RestController
+@RequestMapping("/api/fair")
+public class ProvablyFairController {
+
+    private final ProvablyFairService provablyFairService;
+
+    public ProvablyFairController(ProvablyFairService provablyFairService) {
+        this.provablyFairService = provablyFairService;
+    }
+
+    /**
+     * Gets the user's active seed pair: the committed server seed hash, the client seed and the next nonce.
+     *
+     * @param userId The ID of the user.
+     * @return ResponseEntity containing the active pair or 404 Not Found.
+     */
+    @GetMapping("/users/{userId}/seed")
+    public ResponseEntity<FairSeedDTO> getActiveSeed(@PathVariable Long userId) {
+        try {
+            return ResponseEntity.ok(provablyFairService.getActiveSeed(userId));
+        } catch (UserNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Gets the user's revealed seed pairs, newest first.
+     *
+     * @param userId The ID of the user.
+     * @return ResponseEntity containing the revealed pairs.
+     */
+    @GetMapping("/users/{userId}/seeds")
+    public ResponseEntity<List<FairSeedDTO>> getRevealedSeeds(@PathVariable Long userId) {
+        return ResponseEntity.ok(provablyFairService.getRevealedSeeds(userId));
+    }
+
+    /**
+     * Rotates the user's seed pair: reveals the current server seed and commits to a new one.
+     *
+     * @param userId The ID of the user.
+     * @param clientSeed Client seed for the new pair (optional, generated when omitted).
+     * @param principal The authenticated caller, who must be the user whose pair is rotated
+     * @return ResponseEntity containing the revealed pair, or an error message.
+     */
+    @PostMapping("/users/{userId}/seed/rotate")
+    public ResponseEntity<?> rotate(@PathVariable Long userId, @RequestParam(required = false) String clientSeed,
+                                    @AuthenticationPrincipal JwtPrincipal principal) {
+        if (principal == null || !principal.actsFor(userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Cannot rotate another user's seed pair.");
+        }
+        try {
+            return ResponseEntity.ok(provablyFairService.rotate(userId, clientSeed));
+        } catch (UserNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Recomputes the outcome of a fair play from a revealed server seed.
+     *
+     * @param game The game ("roulette" or "dice").
+     * @param serverSeed The revealed server seed (hex).
+     * @param clientSeed The client seed of the play.
+     * @param nonce The nonce of the play.
+     * @return ResponseEntity containing the seed hash and the outcome, or an error message.
+     */
+    @GetMapping("/verify")
+    public ResponseEntity<?> verify(@RequestParam String game,
+                                    @RequestParam String serverSeed,
+                                    @RequestParam String clientSeed,
+                                    @RequestParam long nonce) {
+        try {
+            ProvablyFairService.Game fairGame = ProvablyFairService.Game.valueOf(game.toUpperCase());
+            FairVerificationDTO result = provablyFairService.verify(fairGame, serverSeed, clientSeed, nonce);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
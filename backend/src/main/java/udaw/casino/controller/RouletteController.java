@@ -1,13 +1,20 @@
 package udaw.casino.controller;
 
 import udaw.casino.dto.BetDTO;
+import udaw.casino.dto.FairPlayDTO;
+import udaw.casino.engine.RouletteWheel;
 import udaw.casino.exception.ResourceNotFoundException;
 import udaw.casino.exception.InsufficientBalanceException;
+import udaw.casino.exception.UserNotFoundException;
 import udaw.casino.model.Bet;
+import udaw.casino.security.JwtPrincipal;
+import udaw.casino.service.OutcomeSource;
+import udaw.casino.service.ProvablyFairService;
 import udaw.casino.service.RouletteService;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -18,7 +25,6 @@ import lombok.Data;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Controller for managing roulette game operations in the casino system.
@@ -30,6 +36,8 @@ import java.util.Random;
 public class RouletteController {
 
     private final RouletteService rouletteService;       
+    private final OutcomeSource outcomeSource;
+    private final ProvablyFairService provablyFairService;
 
     /**
      * Endpoint to place a bet and play a round of Roulette, generating a winning number on the server.
@@ -39,6 +47,8 @@ public class RouletteController {
      * @param amount       The amount to bet.
      * @param betType    The type of bet (e.g., "number", "color").
      * @param betValue   The value being bet on (e.g., "17", "red").
+     * @param fair       Whether to derive the winning number from the user's provably-fair seed pair.
+     * @param principal  The authenticated caller, who must be the user when {@code fair} is set.
      * @return ResponseEntity containing the winning number and the resolved BetDTO, or an error message.
      */
     @PostMapping("/play")
@@ -46,7 +56,9 @@ public class RouletteController {
             @RequestParam Long userId,
             @RequestParam double amount,
             @RequestParam String betType,
-            @RequestParam String betValue
+            @RequestParam String betValue,
+            @RequestParam(defaultValue = "false") boolean fair,
+            @AuthenticationPrincipal JwtPrincipal principal
             ) {
                 if (userId == null) {                    throw new IllegalArgumentException("User ID is required but not provided.");
                 }
@@ -59,21 +71,21 @@ public class RouletteController {
                 if (betValue == null || betValue.isEmpty()) {
                     throw new IllegalArgumentException("Bet value is required but not provided.");
                 }
+                if (fair && (principal == null || !principal.actsFor(userId))) {
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Cannot draw from another user's seed pair.");
+                }
 
         try {
-            // Generate a random winning number (including 0 and 00)
-            Random random = new Random();
+            // Draw a random winning number (including 0 and 00)
+            // 0-36 represent the standard numbers, 37 represents "00"
+            FairPlayDTO proof = null;
             String winningNumber;
-            
-            // Generate a random number between 0 and 37
-            // 0-36 will represent the standard numbers
-            // 37 will represent "00"
-            int randomNumber = random.nextInt(38);
-            
-            if (randomNumber == 37) {
-                winningNumber = "00";
+            if (fair) {
+                ProvablyFairService.Draw draw = provablyFairService.draw(userId, ProvablyFairService.Game.ROULETTE);
+                proof = draw.getProof();
+                winningNumber = RouletteWheel.label(draw.getValues()[0]);
             } else {
-                winningNumber = String.valueOf(randomNumber);
+                winningNumber = RouletteWheel.label(outcomeSource.nextInt(RouletteWheel.POCKETS));
             }
 
             // DEVELOPMENT ONLY: Log the generated winning number
@@ -91,12 +103,13 @@ public class RouletteController {
             response.setResolvedBet(betDTO); // Already using BetDTO
             // Set the winning number generated by the server
             response.setWinningNumber(winningNumber);
+            response.setFair(proof);
 
             return ResponseEntity.ok(response); // Return 200 OK with response body
 
         } catch (InsufficientBalanceException e) {
             return ResponseEntity.status(HttpStatus.PAYMENT_REQUIRED).body(e.getMessage()); // 402 Payment Required
-        } catch (ResourceNotFoundException e) {
+        } catch (ResourceNotFoundException | UserNotFoundException e) {
             // Could be User not found or Roulette Game not found
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage()); // 404 Not Found
         } catch (IllegalArgumentException e) {
@@ -114,24 +127,33 @@ public class RouletteController {
      * Requires authenticated user context (handled by Spring Security later).
      *
      * @param requests List of bet requests.
+     * @param fair     Whether to derive the winning number from the player's provably-fair seed pair.
+     *                 All bets must then belong to the same user, who must be the authenticated caller.
+     * @param principal The authenticated caller.
      * @return ResponseEntity containing the winning number and the resolved BetDTOs, or an error message.
      */
     @PostMapping("/play-multibet")
-    public ResponseEntity<?> playMultibet(@RequestBody List<MultibetRequest> requests) {
+    public ResponseEntity<?> playMultibet(@RequestBody List<MultibetRequest> requests,
+                                          @RequestParam(defaultValue = "false") boolean fair,
+                                          @AuthenticationPrincipal JwtPrincipal principal) {
         try {
-            // Generate a random winning number (including 0 and 00)
-            Random random = new Random();
+            // Draw a random winning number (including 0 and 00)
+            // 0-36 represent the standard numbers, 37 represents "00"
+            FairPlayDTO proof = null;
             String winningNumber;
-            
-            // Generate a random number between 0 and 37
-            // 0-36 will represent the standard numbers
-            // 37 will represent "00"
-            int randomNumber = random.nextInt(38);
-            
-            if (randomNumber == 37) {
-                winningNumber = "00";
+            if (fair) {
+                Long playerId = requests.isEmpty() ? null : requests.get(0).getUserId();
+                if (playerId == null || requests.stream().anyMatch(r -> !playerId.equals(r.getUserId()))) {
+                    throw new IllegalArgumentException("Provably-fair multibets must belong to a single user.");
+                }
+                if (principal == null || !principal.actsFor(playerId)) {
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Cannot draw from another user's seed pair.");
+                }
+                ProvablyFairService.Draw draw = provablyFairService.draw(playerId, ProvablyFairService.Game.ROULETTE);
+                proof = draw.getProof();
+                winningNumber = RouletteWheel.label(draw.getValues()[0]);
             } else {
-                winningNumber = String.valueOf(randomNumber);
+                winningNumber = RouletteWheel.label(outcomeSource.nextInt(RouletteWheel.POCKETS));
             }
 
             // DEVELOPMENT ONLY: Log the generated winning number
@@ -164,6 +186,7 @@ public class RouletteController {
                 RouletteResponse response = new RouletteResponse();
                 response.setResolvedBet(betDTO);
                 response.setWinningNumber(winningNumber);
+                response.setFair(proof);
 
                 responses.add(response);
             }
@@ -172,7 +195,7 @@ public class RouletteController {
 
         } catch (InsufficientBalanceException e) {
             return ResponseEntity.status(HttpStatus.PAYMENT_REQUIRED).body(e.getMessage());
-        } catch (ResourceNotFoundException e) {
+        } catch (ResourceNotFoundException | UserNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -196,6 +219,7 @@ public class RouletteController {
     private static class RouletteResponse {
         private String winningNumber; // Changed from int to String to support "00"
         private BetDTO resolvedBet; // Details of the processed bet
+        private FairPlayDTO fair; // Proof of a provably-fair play, null otherwise
     }
 
 }
\ No newline at end of file
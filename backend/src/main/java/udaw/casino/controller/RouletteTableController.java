@@ -0,0 +1,123 @@
+package udaw.casino.controller;
+
+import udaw.casino.dto.RouletteRoundDTO;
+import udaw.casino.dto.RoundExposureDTO;
+import udaw.casino.dto.TableBetRequestDTO;
+import udaw.casino.exception.ExposureLimitExceededException;
+import udaw.casino.exception.InsufficientBalanceException;
+import udaw.casino.exception.ResourceNotFoundException;
+import udaw.casino.exception.UserNotFoundException;
+import udaw.casino.security.JwtPrincipal;
+import udaw.casino.service.RouletteTableService;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * Controller for shared-table roulette.
+ * Players place chips on a table's open round; the server closes the betting
+ * window, draws one winning number for everyone and pushes the outcome to
+ * subscribers of the table's event stream.
+ */
+@RestController
+@RequestMapping("/api/games/roulette/tables")
+public class RouletteTableController {
+
+    private final RouletteTableService rouletteTableService;
+
+    public RouletteTableController(RouletteTableService rouletteTableService) {
+        this.rouletteTableService = rouletteTableService;
+    }
+
+    /**
+     * Gets the open round of every table.
+     *
+     * @return ResponseEntity containing the open rounds.
+     */
+    @GetMapping
+    public ResponseEntity<List<RouletteRoundDTO>> getTables() {
+        return ResponseEntity.ok(rouletteTableService.getOpenRounds());
+    }
+
+    /**
+     * Gets the open round of a table.
+     *
+     * @param tableId The ID of the table.
+     * @return ResponseEntity containing the open round or 404 Not Found.
+     */
+    @GetMapping("/{tableId}")
+    public ResponseEntity<RouletteRoundDTO> getTable(@PathVariable int tableId) {
+        try {
+            return ResponseEntity.ok(rouletteTableService.getOpenRound(tableId));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Gets the house exposure of a table's open round (liability if each number hits).
+     *
+     * @param tableId The ID of the table.
+     * @return ResponseEntity containing the exposure or 404 Not Found.
+     */
+    @GetMapping("/{tableId}/exposure")
+    public ResponseEntity<RoundExposureDTO> getExposure(@PathVariable int tableId) {
+        try {
+            return ResponseEntity.ok(rouletteTableService.getExposure(tableId));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Places a chip on a table's open round.
+     * The bet is settled together with every other chip of the round when the betting window closes.
+     * Chips that would push the round's worst-case liability beyond the table limit are
+     * rejected (409 Conflict) or capped, depending on configuration.
+     *
+     * @param tableId The ID of the table.
+     * @param request The chip details.
+     * @param principal The authenticated caller, who must own the chip.
+     * @return ResponseEntity containing the round the chip was accepted into, or an error message.
+     */
+    @PostMapping("/{tableId}/bets")
+    public ResponseEntity<?> placeBet(@PathVariable int tableId, @RequestBody TableBetRequestDTO request,
+                                      @AuthenticationPrincipal JwtPrincipal principal) {
+        if (principal == null || !principal.actsFor(request.getUserId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Cannot play for another user.");
+        }
+        try {
+            return ResponseEntity.ok(rouletteTableService.placeBet(tableId, request));
+        } catch (InsufficientBalanceException e) {
+            return ResponseEntity.status(HttpStatus.PAYMENT_REQUIRED).body(e.getMessage());
+        } catch (ExposureLimitExceededException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage()); // 409 table limit reached
+        } catch (ResourceNotFoundException | UserNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Streams a table's round events ("round-open" and "round-result") as server-sent events.
+     *
+     * @param tableId The ID of the table.
+     * @return The event stream.
+     */
+    @GetMapping(value = "/{tableId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@PathVariable int tableId) {
+        return rouletteTableService.subscribe(tableId);
+    }
+}
@@ -0,0 +1,88 @@
+package udaw.casino.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import udaw.casino.dto.SlotMachineDTO;
+import udaw.casino.dto.SlotSpinRequestDTO;
+import udaw.casino.exception.InsufficientBalanceException;
+import udaw.casino.exception.ResourceNotFoundException;
+import udaw.casino.exception.UserNotFoundException;
+import udaw.casino.security.JwtPrincipal;
+import udaw.casino.service.SlotService;
+
+/**
+ * Controller for the slot machine.
+ * Provides endpoints for single and bulk spins and for the machine's paytable and RTP.
+ */
+@RestController
+@RequestMapping("/api/slots")
+@RequiredArgsConstructor
+public class SlotController {
+
+    private final SlotService slotService;
+
+    /**
+     * Plays one spin.
+     *
+     * @param request The user ID and stake.
+     * @param principal The authenticated caller, who must be the user named in the request
+     * @return ResponseEntity containing the spin and the resolved bet, or an error message.
+     */
+    @PostMapping("/spin")
+    public ResponseEntity<?> spin(@RequestBody SlotSpinRequestDTO request,
+                                  @AuthenticationPrincipal JwtPrincipal principal) {
+        if (principal == null || !principal.actsFor(request.getUserId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Cannot play for another user.");
+        }
+        try {
+            return ResponseEntity.ok(slotService.spin(request.getUserId(), request.getAmount()));
+        } catch (InsufficientBalanceException e) {
+            return ResponseEntity.status(HttpStatus.PAYMENT_REQUIRED).body(e.getMessage());
+        } catch (ResourceNotFoundException | UserNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Plays a series of spins with the same stake, settled in one transaction.
+     *
+     * @param request The user ID, stake per spin and number of spins.
+     * @param principal The authenticated caller, who must be the user named in the request
+     * @return ResponseEntity containing the run summary, or an error message.
+     */
+    @PostMapping("/spin/bulk")
+    public ResponseEntity<?> spinBulk(@RequestBody SlotSpinRequestDTO request,
+                                      @AuthenticationPrincipal JwtPrincipal principal) {
+        if (principal == null || !principal.actsFor(request.getUserId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Cannot play for another user.");
+        }
+        try {
+            return ResponseEntity.ok(slotService.spinBulk(request.getUserId(), request.getAmount(), request.getSpins()));
+        } catch (InsufficientBalanceException e) {
+            return ResponseEntity.status(HttpStatus.PAYMENT_REQUIRED).body(e.getMessage());
+        } catch (ResourceNotFoundException | UserNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the reels, paylines, paytable and theoretical RTP of the machine.
+     *
+     * @return ResponseEntity containing the machine configuration.
+     */
+    @GetMapping("/machine")
+    public ResponseEntity<SlotMachineDTO> getMachine() {
+        return ResponseEntity.ok(new SlotMachineDTO(slotService.getEngine()));
+    }
+}
@@ -0,0 +1,49 @@
+package udaw.casino.controller;
+
+import udaw.casino.dto.StrategySimulationRequestDTO;
+import udaw.casino.model.Role;
+import udaw.casino.security.JwtPrincipal;
+import udaw.casino.service.StrategySimulationService;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for simulating betting strategies.
+ * Lets players and the risk team see how a strategy such as martingale on red plays out
+ * over many sessions, without placing any real bets.
+ */
+@RestController
+@RequestMapping("/api/simulations")
+public class StrategySimulationController {
+
+    private final StrategySimulationService strategySimulationService;
+
+    public StrategySimulationController(StrategySimulationService strategySimulationService) {
+        this.strategySimulationService = strategySimulationService;
+    }
+
+    /**
+     * Simulates a betting strategy over many independent sessions.
+     * Sessions times rounds is capped per request, with a higher cap for admins.
+     *
+     * @param request The game, bet, strategy and session parameters.
+     * @param principal The authenticated caller.
+     * @return ResponseEntity containing the distribution of final balances and the ruin probability,
+     *         or an error message.
+     */
+    @PostMapping("/strategy")
+    public ResponseEntity<?> simulateStrategy(@RequestBody StrategySimulationRequestDTO request,
+                                              @AuthenticationPrincipal JwtPrincipal principal) {
+        boolean admin = principal != null && principal.getRole() == Role.ADMIN;
+        try {
+            return ResponseEntity.ok(strategySimulationService.simulate(request, admin));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package udaw.casino.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import udaw.casino.dto.TournamentCreateDTO;
+import udaw.casino.dto.TournamentDTO;
+import udaw.casino.exception.ResourceNotFoundException;
+import udaw.casino.exception.UserNotFoundException;
+import udaw.casino.service.TournamentService;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Controller for time-boxed tournaments.
+ * Admins create tournaments; players register and follow the live leaderboard,
+ * which is served from memory until the tournament closes.
+ */
+@RestController
+@RequestMapping("/api/tournaments")
+@RequiredArgsConstructor
+public class TournamentController {
+
+    private final TournamentService tournamentService;
+
+    /**
+     * Gets all tournaments, most recent first.
+     *
+     * @return ResponseEntity containing the tournaments.
+     */
+    @GetMapping
+    public ResponseEntity<List<TournamentDTO>> getTournaments() {
+        return ResponseEntity.ok(tournamentService.getTournaments());
+    }
+
+    /**
+     * Creates a tournament. Requires ADMIN role.
+     *
+     * @param request The tournament definition.
+     * @return ResponseEntity containing the created tournament, or an error message.
+     */
+    @PostMapping
+    public ResponseEntity<?> createTournament(@RequestBody TournamentCreateDTO request) {
+        return handle(() -> ResponseEntity.status(HttpStatus.CREATED).body(tournamentService.createTournament(request)));
+    }
+
+    /**
+     * Gets a tournament.
+     *
+     * @param id The ID of the tournament.
+     * @return ResponseEntity containing the tournament or 404 Not Found.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getTournament(@PathVariable Long id) {
+        return handle(() -> ResponseEntity.ok(tournamentService.getTournament(id)));
+    }
+
+    /**
+     * Registers a user in an open tournament.
+     *
+     * @param id The ID of the tournament.
+     * @param userId The ID of the user.
+     * @return ResponseEntity containing the tournament, or an error message.
+     */
+    @PostMapping("/{id}/register/{userId}")
+    public ResponseEntity<?> register(@PathVariable Long id, @PathVariable Long userId) {
+        return handle(() -> ResponseEntity.ok(tournamentService.register(id, userId)));
+    }
+
+    /**
+     * Gets the top of a tournament's leaderboard: live while it runs, final once it has closed.
+     *
+     * @param id The ID of the tournament.
+     * @param limit Number of standings to return.
+     * @return ResponseEntity containing the leaderboard, or an error message.
+     */
+    @GetMapping("/{id}/leaderboard")
+    public ResponseEntity<?> getLeaderboard(@PathVariable Long id, @RequestParam(defaultValue = "100") int limit) {
+        return handle(() -> ResponseEntity.ok(tournamentService.getLeaderboard(id, limit)));
+    }
+
+    /**
+     * Gets a participant's live standing in an open tournament.
+     *
+     * @param id The ID of the tournament.
+     * @param userId The ID of the user.
+     * @return ResponseEntity containing the standing or 404 Not Found.
+     */
+    @GetMapping("/{id}/leaderboard/{userId}")
+    public ResponseEntity<?> getStanding(@PathVariable Long id, @PathVariable Long userId) {
+        return handle(() -> ResponseEntity.ok(tournamentService.getStanding(id, userId)));
+    }
+
+    private ResponseEntity<?> handle(Supplier<ResponseEntity<?>> action) {
+        try {
+            return action.get();
+        } catch (ResourceNotFoundException | UserNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package udaw.casino.controller;
 
+import udaw.casino.dto.AuthTokensDTO;
 import udaw.casino.dto.UserDTO;
 import udaw.casino.exception.ResourceNotFoundException;
+import udaw.casino.exception.ServiceBusyException;
 import udaw.casino.exception.UserNotFoundException;
 import udaw.casino.model.Role;
 import udaw.casino.model.User;
-import udaw.casino.security.JwtUtils;
+import udaw.casino.security.JwtPrincipal;
+import udaw.casino.service.AuthTokenService;
 import udaw.casino.service.UserService;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -34,21 +38,21 @@ public class UserController {
 
     private final UserService userService;
     private final AuthenticationManager authenticationManager;
-    private final JwtUtils jwtUtils;
+    private final AuthTokenService authTokenService;
 
     public UserController(UserService userService, 
                             AuthenticationManager authenticationManager,
-                            JwtUtils jwtUtils) {
+                            AuthTokenService authTokenService) {
         this.userService = userService;
         this.authenticationManager = authenticationManager;
-        this.jwtUtils = jwtUtils;
+        this.authTokenService = authTokenService;
     }
 
     /**
      * Login endpoint.
      * 
      * @param loginRequest Login credentials
-     * @return JWT token and user data if authentication is successful
+     * @return Access token, refresh token and user data if authentication is successful
      */
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody Map<String, String> loginRequest) {
@@ -64,15 +68,18 @@ public class UserController {
             // Set authentication in security context
             SecurityContextHolder.getContext().setAuthentication(authentication);
             
-            // Generate JWT token
-            String token = jwtUtils.generateToken(username);
-            
             // Get user details
             User user = userService.getUserByUsername(username);
             
-            // Create response with token and user data
+            // Issue a short-lived access token carrying the user's ID and role, and a refresh token
+            AuthTokensDTO tokens = authTokenService.issueTokens(user);
+            
+            // Create response with tokens and user data
             Map<String, Object> response = new HashMap<>();
-            response.put("token", token);
+            response.put("token", tokens.getToken());
+            response.put("refreshToken", tokens.getRefreshToken());
+            response.put("expiresIn", tokens.getExpiresIn());
+            response.put("refreshExpiresIn", tokens.getRefreshExpiresIn());
             
             // Don't return the password
             user.setPassword(null);
@@ -82,12 +89,46 @@ public class UserController {
         } catch (BadCredentialsException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(Map.of("message", "Invalid credentials"));
+        } catch (ServiceBusyException e) {
+            return serviceBusy(e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("message", "An error occurred during login"));
         }
     }
 
+    /**
+     * Refresh endpoint. Exchanges a refresh token for a new access token and refresh token.
+     * The refresh token can only be used once.
+     *
+     * @param refreshRequest Map containing the "refreshToken"
+     * @return The new tokens, or 401 Unauthorized if the refresh token is not valid
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody Map<String, String> refreshRequest) {
+        try {
+            return ResponseEntity.ok(authTokenService.refresh(refreshRequest.get("refreshToken")));
+        } catch (BadCredentialsException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /**
+     * Logout endpoint. Revokes the access token the request was authenticated with, if any,
+     * and the refresh token in the body, if given, so neither can be used again.
+     *
+     * @param logoutRequest Optional map containing the "refreshToken"
+     * @return 204 No Content
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestBody(required = false) Map<String, String> logoutRequest) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        JwtPrincipal principal = authentication != null && authentication.getPrincipal() instanceof JwtPrincipal p ? p : null;
+        authTokenService.logout(principal, logoutRequest != null ? logoutRequest.get("refreshToken") : null);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Registers a new user.
      * Expects user details in the request body.
@@ -120,6 +161,8 @@ public class UserController {
             return new ResponseEntity<>(newUser, HttpStatus.CREATED);
         } catch (UserNotFoundException e) { // Catch specific exception for existing user/email
             return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (ServiceBusyException e) {
+            return serviceBusy(e);
         } catch (Exception e) { // Catch other potential errors
 
             // Return a more detailed error message
@@ -289,4 +332,10 @@ public class UserController {
                 .body(Map.of("message", "Not authenticated"));
         }
     }
+
+    private ResponseEntity<?> serviceBusy(ServiceBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .body(Map.of("message", e.getMessage()));
+    }
 }
@@ -0,0 +1,15 @@
+package udaw.casino.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthTokensDTO {
+    private String token; // Short-lived access token (JWT)
+    private String refreshToken; // Single-use token exchanged for a new pair at /api/users/refresh
+    private long expiresIn; // Access token lifetime in seconds
+    private long refreshExpiresIn; // Refresh token lifetime in seconds
+}
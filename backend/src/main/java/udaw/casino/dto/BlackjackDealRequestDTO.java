@@ -0,0 +1,13 @@
+package udaw.casino.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlackjackDealRequestDTO {
+    private Long userId;
+    private double amount; // Stake of the initial hand
+}
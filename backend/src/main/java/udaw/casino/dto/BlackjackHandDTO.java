@@ -0,0 +1,20 @@
+package udaw.casino.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlackjackHandDTO {
+    private List<String> cards; // e.g. "AS", "10H", "QD"
+    private int total;
+    private boolean soft;
+    private double stake;
+    private boolean doubled;
+    private String outcome; // BLACKJACK, WIN, PUSH, LOSE or BUST; null while playing
+    private double net;
+}
@@ -0,0 +1,25 @@
+package udaw.casino.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlackjackStateDTO {
+    private Long userId;
+    private String status; // PLAYER_TURN or FINISHED
+    private List<BlackjackHandDTO> hands;
+    private int activeHand; // Index of the hand being played
+    private List<String> dealerCards; // Hole card shown as "??" while playing
+    private Integer dealerTotal; // Null while the hole card is hidden
+    private List<String> actions; // Allowed actions: HIT, STAND, DOUBLE, SPLIT
+    private double totalStake;
+    private double netResult;
+    private double balance; // Balance at the deal, or after settlement
+    private int cardsRemaining;
+    private BetDTO bet; // The settled bet once the hand is finished
+}
@@ -0,0 +1,16 @@
+package udaw.casino.dto;
+
+import lombok.Data;
+
+@Data
+public class DiceAutoBetRequestDTO {
+    private Long userId;
+    private Long gameId;
+    private String variant; // "2d6" (default), "3d6" or "1d100"
+    private String type; // e.g., "evenodd", "number"
+    private String betValue; // e.g., "even", "odd", "7"
+    private double amount; // Stake of every roll
+    private int rolls; // Number of rolls to play
+    private Double stopLoss; // Stop once the net loss reaches this amount (optional)
+    private Double takeProfit; // Stop once the net profit reaches this amount (optional)
+}
@@ -0,0 +1,20 @@
+package udaw.casino.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiceAutoBetResponseDTO {
+    private String variant;
+    private int rollsRequested;
+    private int rollsPlayed;
+    private int wins;
+    private double totalWagered;
+    private double netResult; // Sum of win/loss over all rolls
+    private double finalBalance;
+    private String stopReason; // COMPLETED, STOP_LOSS, TAKE_PROFIT or INSUFFICIENT_BALANCE
+    private int[] sums; // Sum of the dice of every roll, in order
+}
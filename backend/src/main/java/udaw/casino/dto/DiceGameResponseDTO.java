@@ -12,4 +12,5 @@ import java.util.List;
 public class DiceGameResponseDTO {
     private List<Integer> diceResults; // [die1Result, die2Result]
     private BetDTO resolvedBet; // The final state of the bet (WON/LOST, winloss, etc.)
+    private FairPlayDTO fair; // Proof of a provably-fair play, null otherwise
 }
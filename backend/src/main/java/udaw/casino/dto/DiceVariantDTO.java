@@ -0,0 +1,29 @@
+package udaw.casino.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import udaw.casino.engine.DiceEngine;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiceVariantDTO {
+    private String name; // e.g. "2d6"
+    private int dice;
+    private int faces;
+    private int minSum;
+    private int maxSum;
+    private Map<String, Double> rtp; // Expected return per unit staked, keyed "type:value"
+
+    public DiceVariantDTO(DiceEngine engine) {
+        this.name = engine.getName();
+        this.dice = engine.getDice();
+        this.faces = engine.getFaces();
+        this.minSum = engine.getMinSum();
+        this.maxSum = engine.getMaxSum();
+        this.rtp = engine.rtpTable();
+    }
+}
@@ -0,0 +1,18 @@
+package udaw.casino.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Proof attached to a provably-fair play: the committed hash, the client seed and the
+ * nonce the outcome was derived from.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FairPlayDTO {
+    private String serverSeedHash;
+    private String clientSeed;
+    private long nonce;
+}
@@ -0,0 +1,31 @@
+package udaw.casino.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import udaw.casino.model.FairSeed;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FairSeedDTO {
+    private String serverSeedHash;
+    private String serverSeed; // Only set once the pair has been revealed
+    private String clientSeed;
+    private long nonce; // Next nonce for an active pair, plays made for a revealed one
+    private boolean active;
+    private LocalDateTime createdAt;
+    private LocalDateTime revealedAt;
+
+    public FairSeedDTO(FairSeed seed) {
+        this.serverSeedHash = seed.getServerSeedHash();
+        this.serverSeed = seed.isActive() ? null : seed.getServerSeed();
+        this.clientSeed = seed.getClientSeed();
+        this.nonce = seed.getNonce();
+        this.active = seed.isActive();
+        this.createdAt = seed.getCreatedAt();
+        this.revealedAt = seed.getRevealedAt();
+    }
+}
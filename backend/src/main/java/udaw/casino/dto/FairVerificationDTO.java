@@ -0,0 +1,18 @@
+package udaw.casino.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FairVerificationDTO {
+    private String game; // "roulette" or "dice"
+    private String serverSeedHash; // SHA-256 of the supplied server seed
+    private String clientSeed;
+    private long nonce;
+    private List<String> outcome; // Winning number for roulette, die faces for dice
+}
@@ -0,0 +1,16 @@
+package udaw.casino.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GamePlayRequestDTO {
+    private Long userId;
+    private double amount; // Stake of every round
+    private String type;
+    private String betValue;
+    private int rounds = 1; // Rounds of the same bet, settled together
+}
@@ -0,0 +1,21 @@
+package udaw.casino.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GamePlayResponseDTO {
+    private Long gameId;
+    private String gameName;
+    private int roundsPlayed;
+    private List<String> outcomes; // Winning value of every round, in order
+    private double totalWagered;
+    private double netResult;
+    private double finalBalance;
+    private BetDTO resolvedBet; // Only for single-round plays
+}
@@ -0,0 +1,21 @@
+package udaw.casino.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JackpotDTO {
+    private String name;
+    private double amount; // Current value, including contributions not yet flushed
+    private double seedAmount; // Value after a hit
+    private double contributionRate; // Share of every qualifying wager added to the pool
+    private long hits;
+    private Long lastWinnerId;
+    private Double lastWinAmount;
+    private LocalDateTime lastHitAt;
+}
@@ -10,4 +10,6 @@ public class PlaceBetRequestDTO {
     private String type; // e.g., "evenodd", "number"
     private String betValue; // e.g., "even", "odd", "7"
     private String winningValue;
+    private String variant; // Dice variant: "2d6" (default), "3d6" or "1d100"
+    private boolean fair; // Derive the outcome from the user's provably-fair seed pair
 }
@@ -0,0 +1,22 @@
+package udaw.casino.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouletteRoundDTO {
+    private int tableId;
+    private long roundId;
+    private String status; // OPEN or SETTLED
+    private long closesAt; // Epoch millis at which the betting window closes
+    private int chipCount;
+    private String winningNumber; // Only set once the round is settled
+    private List<BetDTO> bets; // Settled bets of the round
+    private Double acceptedAmount; // Amount accepted when placing a chip (may be capped by the table limit)
+    private List<TableBetRequestDTO> droppedChips; // Chips refused at settlement because the balance no longer covered them
+}
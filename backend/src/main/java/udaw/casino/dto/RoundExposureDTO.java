@@ -0,0 +1,19 @@
+package udaw.casino.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoundExposureDTO {
+    private int tableId;
+    private long roundId;
+    private Map<String, Double> liabilityByNumber; // House liability if each number hits ("0"-"36", "00")
+    private String worstCaseNumber;
+    private double worstCaseLiability;
+    private double maxLiability; // Configured limit, 0 when unlimited
+}
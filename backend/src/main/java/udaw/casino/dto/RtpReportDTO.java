@@ -0,0 +1,21 @@
+package udaw.casino.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RtpReportDTO {
+    private String game; // e.g. "roulette", "dice-2d6"
+    private String bet; // "type:value", e.g. "number:7"
+    private long rounds;
+    private double rtp; // Simulated return per unit staked
+    private double theoreticalRtp;
+    private double variance; // Variance of a single round's return
+    private double standardError;
+    private double ciLow;
+    private double ciHigh;
+    private boolean withinBounds; // False when the confidence interval lies outside the configured bounds
+}
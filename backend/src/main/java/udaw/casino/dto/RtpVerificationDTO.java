@@ -0,0 +1,20 @@
+package udaw.casino.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RtpVerificationDTO {
+    private long roundsPerGame;
+    private long seed;
+    private double minRtp;
+    private double maxRtp;
+    private long elapsedMs;
+    private List<String> violations; // "game bet" of every bet outside the bounds
+    private List<RtpReportDTO> reports;
+}
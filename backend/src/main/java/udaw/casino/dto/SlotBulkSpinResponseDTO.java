@@ -0,0 +1,20 @@
+package udaw.casino.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotBulkSpinResponseDTO {
+    private int spinsRequested;
+    private int spinsPlayed;
+    private int wins; // Spins returning more than their stake
+    private double totalWagered;
+    private double totalReturned;
+    private double netResult;
+    private double biggestWin; // Largest net win of a single spin
+    private double finalBalance;
+    private String stopReason; // COMPLETED or INSUFFICIENT_BALANCE
+}
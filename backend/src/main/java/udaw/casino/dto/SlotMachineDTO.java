@@ -0,0 +1,27 @@
+package udaw.casino.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import udaw.casino.engine.SlotEngine;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotMachineDTO {
+    private List<String> symbols;
+    private int rows;
+    private List<List<String>> reels; // Reel strips as symbol names
+    private int[][] paylines; // Row of each reel for every payline
+    private Map<String, Double> paytable; // Gross pay per line bet keyed "symbol:count"
+    private double rtp; // Theoretical return computed from the reels
+    private double hitFrequency; // Probability that a payline pays
+
+    public SlotMachineDTO(SlotEngine engine) {
+        this(engine.getSymbols(), engine.getRows(), engine.getReels(), engine.getPaylines(),
+                engine.getPaytable(), engine.getRtp(), engine.getHitFrequency());
+    }
+}
@@ -0,0 +1,14 @@
+package udaw.casino.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotSpinRequestDTO {
+    private Long userId;
+    private double amount; // Stake per spin, split evenly over the paylines
+    private int spins; // Number of spins for bulk play
+}
@@ -0,0 +1,18 @@
+package udaw.casino.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotSpinResponseDTO {
+    private List<String> symbols; // Visible symbols, row by row
+    private int[] stops; // Stop position of each reel
+    private double[] linePays; // Gross pay of each payline per unit of line bet
+    private double payout; // Gross return per unit staked
+    private BetDTO resolvedBet;
+}
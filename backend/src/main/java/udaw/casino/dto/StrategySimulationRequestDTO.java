@@ -0,0 +1,21 @@
+package udaw.casino.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class StrategySimulationRequestDTO {
+    private String game; // "roulette" or "dice"
+    private String variant; // Dice variant, "2d6" by default
+    private String betType; // e.g. "color", "evenodd"
+    private String betValue; // e.g. "1", "even"
+    private String strategy; // FLAT, MARTINGALE, DALEMBERT, FIBONACCI or CUSTOM
+    private List<Double> progression; // Stake multipliers for CUSTOM, e.g. [1, 2, 3, 5]
+    private double baseBet;
+    private double startingBalance;
+    private int rounds; // Rounds per session
+    private int sessions; // Independent sessions to simulate
+    private Double targetBalance; // Stop a session once its balance reaches this (optional)
+    private Long seed; // Fixed seed for a reproducible run (optional)
+}
@@ -0,0 +1,34 @@
+package udaw.casino.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StrategySimulationResultDTO {
+    private String strategy;
+    private int sessions;
+    private int rounds;
+    private long seed;
+    private long elapsedMs;
+    private double ruinProbability; // Share of sessions that could not cover their next stake
+    private double profitProbability; // Share of sessions ending above the starting balance
+    private double meanFinalBalance;
+    private double stdDevFinalBalance;
+    private Map<String, Double> percentiles; // "min", "p1", "p5", "p25", "p50", "p75", "p95", "p99", "max"
+    private List<Bucket> distribution; // Histogram of final balances
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+        private double from;
+        private double to;
+        private int sessions;
+    }
+}
@@ -0,0 +1,11 @@
+package udaw.casino.dto;
+
+import lombok.Data;
+
+@Data
+public class TableBetRequestDTO {
+    private Long userId;
+    private double amount;
+    private String betType; // e.g., "number", "color"
+    private String betValue; // e.g., "17", "1"
+}
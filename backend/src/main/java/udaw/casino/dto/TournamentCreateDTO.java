@@ -0,0 +1,21 @@
+package udaw.casino.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import udaw.casino.model.RankingType;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentCreateDTO {
+    private String name;
+    private RankingType rankingType; // Metric the participants are ranked by
+    private Long gameId; // Required for the BY_GAME_* types, optional otherwise
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+    private double minBetAmount; // Smaller stakes do not count
+    private int maxParticipants; // 0 for no limit
+}
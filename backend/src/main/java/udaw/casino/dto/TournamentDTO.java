@@ -0,0 +1,25 @@
+package udaw.casino.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import udaw.casino.model.RankingType;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentDTO {
+    private Long id;
+    private String name;
+    private RankingType rankingType;
+    private Long gameId; // Null for all games
+    private String gameName;
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+    private double minBetAmount;
+    private int maxParticipants;
+    private int participants;
+    private String status; // UPCOMING, RUNNING, CLOSING or CLOSED
+}
@@ -0,0 +1,16 @@
+package udaw.casino.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentLeaderboardDTO {
+    private TournamentDTO tournament;
+    private boolean finalStandings; // True once the standings are final
+    private List<TournamentStandingDTO> standings; // Best first, limited to the requested size
+}
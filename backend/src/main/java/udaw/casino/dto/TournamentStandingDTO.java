@@ -0,0 +1,19 @@
+package udaw.casino.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentStandingDTO {
+    private int position;
+    private Long userId;
+    private String username;
+    private double score; // By the tournament's ranking type
+    private long bets;
+    private long wins;
+    private double wagered;
+    private double profit;
+}
@@ -0,0 +1,482 @@
+package udaw.casino.engine;
+
+import udaw.casino.service.OutcomeSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Server-side blackjack rules: a multi-deck shoe, player hands and the dealer's play.
+ *
+ * Rules: the dealer peeks for blackjack when showing an ace or a ten-value card,
+ * stands on soft 17 unless configured otherwise, and blackjack pays 3:2 by default.
+ * Players may double on any first two cards (also after a split) and split pairs of
+ * equal value up to a maximum number of hands; split aces receive one card each.
+ *
+ * Cards are encoded as {@code 0..51} ({@code rank = card % 13}, ace first, and
+ * {@code suit = card / 13}), so the shoe is a byte array and hand totals are kept
+ * incrementally. Nothing here touches the database; a {@link Round} is plain state
+ * that the caller keeps between actions.
+ */
+public final class BlackjackEngine {
+
+    /** Cards always left behind the cut card. */
+    private static final int RESERVE = 26;
+
+    private static final String[] RANKS = {"A", "2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K"};
+    private static final String[] SUITS = {"S", "H", "D", "C"};
+
+    /**
+     * Result of a finished hand.
+     */
+    public enum Outcome {
+        BLACKJACK,
+        WIN,
+        PUSH,
+        LOSE,
+        BUST
+    }
+
+    private final int decks;
+    private final double penetration;
+    private final double blackjackPayout;
+    private final boolean dealerHitsSoft17;
+    private final int maxHands;
+
+    /**
+     * @param decks Decks in the shoe
+     * @param penetration Share of the shoe dealt before it is reshuffled (e.g. 0.75)
+     * @param blackjackPayout Net payout of a natural blackjack per unit staked (1.5 for 3:2)
+     * @param dealerHitsSoft17 Whether the dealer hits a soft 17
+     * @param maxHands Most hands a player may hold after splitting
+     */
+    public BlackjackEngine(int decks, double penetration, double blackjackPayout,
+                           boolean dealerHitsSoft17, int maxHands) {
+        if (decks < 1 || decks > 8) {
+            throw new IllegalArgumentException("Decks must be between 1 and 8");
+        }
+        if (penetration <= 0 || penetration > 0.9) {
+            throw new IllegalArgumentException("Penetration must be in (0, 0.9]");
+        }
+        if (maxHands < 1) {
+            throw new IllegalArgumentException("Max hands must be at least 1");
+        }
+        this.decks = decks;
+        this.penetration = penetration;
+        this.blackjackPayout = blackjackPayout;
+        this.dealerHitsSoft17 = dealerHitsSoft17;
+        this.maxHands = maxHands;
+    }
+
+    /**
+     * @return A new, unshuffled shoe for these rules
+     */
+    public Shoe newShoe() {
+        return new Shoe(decks, penetration);
+    }
+
+    /**
+     * Deals a new round, reshuffling the shoe first if the cut card has been reached.
+     * The round is already finished when the player or the dealer has blackjack.
+     *
+     * @param shoe The shoe to deal from
+     * @param source Outcome source used to shuffle
+     * @param stake Amount wagered on the initial hand
+     * @return The dealt round
+     */
+    public Round deal(Shoe shoe, OutcomeSource source, double stake) {
+        if (stake <= 0) {
+            throw new IllegalArgumentException("Stake must be greater than 0");
+        }
+        if (shoe.needsShuffle()) {
+            shoe.shuffle(source);
+        }
+        Hand player = new Hand(stake, false);
+        Hand dealer = new Hand(0, false);
+        player.add(shoe.draw());
+        dealer.add(shoe.draw());
+        player.add(shoe.draw());
+        dealer.add(shoe.draw());
+
+        Round round = new Round(player, dealer);
+        int upValue = value(dealer.cards[0]);
+        boolean dealerPeeks = upValue == 1 || upValue == 10;
+        if ((dealerPeeks && dealer.isBlackjack()) || player.isBlackjack()) {
+            finish(round, shoe, false);
+        }
+        return round;
+    }
+
+    /**
+     * Draws a card to the active hand. The hand stands automatically at 21 and ends on a bust.
+     */
+    public void hit(Round round, Shoe shoe) {
+        requireActive(round).add(shoe.draw());
+        advance(round, shoe);
+    }
+
+    /**
+     * Stands on the active hand.
+     */
+    public void stand(Round round, Shoe shoe) {
+        requireActive(round).done = true;
+        advance(round, shoe);
+    }
+
+    /**
+     * Doubles the stake of the active hand, draws exactly one card and stands.
+     */
+    public void doubleDown(Round round, Shoe shoe) {
+        Hand hand = requireActive(round);
+        if (!canDouble(round)) {
+            throw new IllegalStateException("Doubling is only allowed on the first two cards of a hand.");
+        }
+        hand.stake *= 2;
+        hand.doubled = true;
+        hand.add(shoe.draw());
+        hand.done = true;
+        advance(round, shoe);
+    }
+
+    /**
+     * Splits the active pair into two hands with the same stake, drawing a second card to each.
+     * Split aces receive one card each and stand.
+     */
+    public void split(Round round, Shoe shoe) {
+        Hand hand = requireActive(round);
+        if (!canSplit(round)) {
+            throw new IllegalStateException("Only a pair of equal value can be split, up to " + maxHands + " hands.");
+        }
+        boolean aces = value(hand.cards[0]) == 1;
+        Hand second = new Hand(hand.stake, true);
+        second.add(hand.cards[1]);
+        hand.removeLast();
+        hand.fromSplit = true;
+        hand.add(shoe.draw());
+        second.add(shoe.draw());
+        round.hands.add(round.active + 1, second);
+        if (aces) {
+            hand.done = true;
+            second.done = true;
+        }
+        advance(round, shoe);
+    }
+
+    /**
+     * Stands on every remaining hand and finishes the round, e.g. when a player abandons it.
+     */
+    public void standAll(Round round, Shoe shoe) {
+        if (round.finished) {
+            return;
+        }
+        for (Hand hand : round.hands) {
+            hand.done = true;
+        }
+        advance(round, shoe);
+    }
+
+    /**
+     * @return Whether the active hand may be doubled
+     */
+    public boolean canDouble(Round round) {
+        Hand hand = round.activeHand();
+        return hand != null && hand.size == 2;
+    }
+
+    /**
+     * @return Whether the active hand may be split
+     */
+    public boolean canSplit(Round round) {
+        Hand hand = round.activeHand();
+        return hand != null && hand.size == 2 && round.hands.size() < maxHands
+                && value(hand.cards[0]) == value(hand.cards[1]);
+    }
+
+    /**
+     * @param card An encoded card
+     * @return Its label, e.g. "AS", "10H", "QD"
+     */
+    public static String label(int card) {
+        return RANKS[card % 13] + SUITS[card / 13];
+    }
+
+    /**
+     * @param card An encoded card
+     * @return Its blackjack value: 1 for an ace, 10 for face cards
+     */
+    static int value(int card) {
+        return Math.min(10, card % 13 + 1);
+    }
+
+    private Hand requireActive(Round round) {
+        Hand hand = round.activeHand();
+        if (hand == null) {
+            throw new IllegalStateException("The round is already finished.");
+        }
+        return hand;
+    }
+
+    /**
+     * Moves to the next unfinished hand, or plays the dealer and settles once all hands are done.
+     * A hand totalling 21 or more is done without further action.
+     */
+    private void advance(Round round, Shoe shoe) {
+        while (round.active < round.hands.size()) {
+            Hand hand = round.hands.get(round.active);
+            if (hand.total() >= 21) {
+                hand.done = true;
+            }
+            if (!hand.done) {
+                break;
+            }
+            round.active++;
+        }
+        if (round.active == round.hands.size()) {
+            finish(round, shoe, true);
+        }
+    }
+
+    private void finish(Round round, Shoe shoe, boolean dealerPlays) {
+        Hand dealer = round.dealer;
+        boolean anyLive = false;
+        for (Hand hand : round.hands) {
+            anyLive |= !hand.isBust();
+        }
+        if (dealerPlays && anyLive) {
+            while (dealer.total() < 17 || (dealerHitsSoft17 && dealer.total() == 17 && dealer.isSoft())) {
+                dealer.add(shoe.draw());
+            }
+        }
+        int dealerTotal = dealer.total();
+        for (Hand hand : round.hands) {
+            hand.done = true;
+            if (hand.isBust()) {
+                hand.outcome = Outcome.BUST;
+                hand.net = -hand.stake;
+            } else if (hand.isBlackjack()) {
+                hand.outcome = dealer.isBlackjack() ? Outcome.PUSH : Outcome.BLACKJACK;
+                hand.net = dealer.isBlackjack() ? 0 : hand.stake * blackjackPayout;
+            } else if (dealer.isBlackjack()) {
+                hand.outcome = Outcome.LOSE;
+                hand.net = -hand.stake;
+            } else if (dealerTotal > 21 || hand.total() > dealerTotal) {
+                hand.outcome = Outcome.WIN;
+                hand.net = hand.stake;
+            } else if (hand.total() == dealerTotal) {
+                hand.outcome = Outcome.PUSH;
+                hand.net = 0;
+            } else {
+                hand.outcome = Outcome.LOSE;
+                hand.net = -hand.stake;
+            }
+        }
+        round.active = round.hands.size();
+        round.finished = true;
+    }
+
+    /**
+     * A multi-deck shoe dealt up to its cut card.
+     */
+    public static final class Shoe {
+        private final byte[] cards;
+        private final int cutCard;
+        private int position;
+        private boolean shuffled;
+
+        private Shoe(int decks, double penetration) {
+            this.cards = new byte[decks * 52];
+            for (int i = 0; i < cards.length; i++) {
+                cards[i] = (byte) (i % 52);
+            }
+            // Always leave enough cards behind the cut card to finish a round
+            this.cutCard = Math.min((int) (cards.length * penetration), cards.length - RESERVE);
+        }
+
+        /**
+         * Shuffles every card back into the shoe (Fisher-Yates).
+         */
+        public void shuffle(OutcomeSource source) {
+            for (int i = cards.length - 1; i > 0; i--) {
+                int j = source.nextInt(i + 1);
+                byte card = cards[i];
+                cards[i] = cards[j];
+                cards[j] = card;
+            }
+            position = 0;
+            shuffled = true;
+        }
+
+        /**
+         * @return Whether the shoe must be shuffled before the next round
+         */
+        public boolean needsShuffle() {
+            return !shuffled || position >= cutCard;
+        }
+
+        /**
+         * @return Cards left before the end of the shoe
+         */
+        public int remaining() {
+            return cards.length - position;
+        }
+
+        private int draw() {
+            if (position == cards.length) {
+                throw new IllegalStateException("The shoe is empty.");
+            }
+            return cards[position++];
+        }
+    }
+
+    /**
+     * A player or dealer hand.
+     */
+    public static final class Hand {
+        private byte[] cards = new byte[6];
+        private int size;
+        private int hardTotal;
+        private int aces;
+        private double stake;
+        private boolean doubled;
+        private boolean fromSplit;
+        private boolean done;
+        private Outcome outcome;
+        private double net;
+
+        private Hand(double stake, boolean fromSplit) {
+            this.stake = stake;
+            this.fromSplit = fromSplit;
+        }
+
+        private void add(int card) {
+            if (size == cards.length) {
+                cards = Arrays.copyOf(cards, size * 2);
+            }
+            cards[size++] = (byte) card;
+            int value = value(card);
+            hardTotal += value;
+            if (value == 1) {
+                aces++;
+            }
+        }
+
+        private void removeLast() {
+            int value = value(cards[--size]);
+            hardTotal -= value;
+            if (value == 1) {
+                aces--;
+            }
+        }
+
+        /** @return Best total, counting one ace as 11 when that does not bust */
+        public int total() {
+            return isSoft() ? hardTotal + 10 : hardTotal;
+        }
+
+        /** @return Whether an ace is counted as 11 */
+        public boolean isSoft() {
+            return aces > 0 && hardTotal + 10 <= 21;
+        }
+
+        public boolean isBust() {
+            return hardTotal > 21;
+        }
+
+        /** @return Whether the hand is a natural (a split hand never is) */
+        public boolean isBlackjack() {
+            return size == 2 && !fromSplit && total() == 21;
+        }
+
+        /** @return The encoded cards, in the order they were dealt */
+        public int[] getCards() {
+            int[] copy = new int[size];
+            for (int i = 0; i < size; i++) {
+                copy[i] = cards[i];
+            }
+            return copy;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public double getStake() {
+            return stake;
+        }
+
+        public boolean isDoubled() {
+            return doubled;
+        }
+
+        public boolean isDone() {
+            return done;
+        }
+
+        /** @return The result, or null while the round is in progress */
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        /** @return Amount won (positive) or lost (negative); 0 while the round is in progress */
+        public double getNet() {
+            return net;
+        }
+    }
+
+    /**
+     * One round: the player's hands (more than one after a split) against the dealer.
+     */
+    public static final class Round {
+        private final List<Hand> hands = new ArrayList<>(2);
+        private final Hand dealer;
+        private int active;
+        private boolean finished;
+
+        private Round(Hand player, Hand dealer) {
+            this.hands.add(player);
+            this.dealer = dealer;
+        }
+
+        public List<Hand> getHands() {
+            return Collections.unmodifiableList(hands);
+        }
+
+        public Hand getDealer() {
+            return dealer;
+        }
+
+        /** @return The hand being played, or null once the round is finished */
+        public Hand activeHand() {
+            return finished || active >= hands.size() ? null : hands.get(active);
+        }
+
+        /** @return Index of the hand being played */
+        public int getActive() {
+            return active;
+        }
+
+        public boolean isFinished() {
+            return finished;
+        }
+
+        /** @return Sum of the stakes of all hands, including doubles and splits */
+        public double totalStake() {
+            double total = 0;
+            for (Hand hand : hands) {
+                total += hand.stake;
+            }
+            return total;
+        }
+
+        /** @return Net result of all hands */
+        public double net() {
+            double total = 0;
+            for (Hand hand : hands) {
+                total += hand.net;
+            }
+            return total;
+        }
+    }
+}
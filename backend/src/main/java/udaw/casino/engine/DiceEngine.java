@@ -0,0 +1,401 @@
+package udaw.casino.engine;
+
+import udaw.casino.service.OutcomeSource;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Table-driven dice engine for a fixed number of dice and faces (e.g. 2d6, 3d6, 1d100).
+ * Bets are settled on the sum of the dice:
+ * - Number bets ("number", sum): payout depends on the sum's probability
+ * - High/Low bets ("highlow", "1" = low half, "2" = high half): 0.95:1, or priced
+ *   at 95% of fair odds when the halves are uneven
+ * - Even/Odd bets ("evenodd", "even"/"odd"): 0.95:1
+ *
+ * Every possible bet is compiled once into primitive tables indexed by sum: the net
+ * payout per unit staked and a win mask. Settling a roll is then a single array read,
+ * with no parsing, boxing or allocation, and the RTP of each bet follows from the
+ * sum distribution.
+ *
+ * The classic 2d6 variant keeps the number payouts historically implemented in DiceService
+ * and its high/low halves of 2-6 and 7-12. As those halves are uneven (15/36 and 21/36),
+ * each is paid 95% of its fair odds, 1.28:1 and 0.62:1, instead of 0.95:1 (which returned
+ * 113.75% on the high half). Other variants split high/low at the midpoint and pay number
+ * bets 95% of fair odds.
+ */
+public final class DiceEngine {
+
+    /** Net payout of even-money bets (1:1 payout, 95% return). */
+    private static final double EVEN_MONEY_PAYOUT = 0.95;
+
+    /** Share of fair odds paid on number bets for non-classic variants. */
+    private static final double NUMBER_RETURN = 0.95;
+
+    /** Largest sum range supported, which bounds the size of the compiled tables. */
+    private static final int MAX_OUTCOMES = 10_000;
+
+    /** Payout multipliers for 2d6 number bets, indexed by sum. 2 and 12 pay 30:1. */
+    private static final double[] CLASSIC_NUMBER_ODDS = {
+        0, 0,
+        30.0, // Snake eyes
+        15.0, // Ace-deuce
+        10.0, // Easy four
+        8.0,  // Five
+        6.0,  // Easy six
+        5.0,  // Natural
+        6.0,  // Easy eight
+        8.0,  // Nine
+        10.0, // Easy ten
+        15.0, // Yo-leven
+        30.0  // Boxcars
+    };
+
+    /** Classic two six-sided dice. */
+    public static final DiceEngine CLASSIC = new DiceEngine("2d6", 2, 6, true);
+
+    private static final Map<String, DiceEngine> VARIANTS;
+
+    static {
+        Map<String, DiceEngine> variants = new LinkedHashMap<>();
+        variants.put(CLASSIC.name, CLASSIC);
+        variants.put("3d6", new DiceEngine("3d6", 3, 6, false));
+        variants.put("1d100", new DiceEngine("1d100", 1, 100, false));
+        VARIANTS = Collections.unmodifiableMap(variants);
+    }
+
+    /**
+     * Bet kinds understood by the engine.
+     */
+    public enum Kind {
+        NUMBER,
+        HIGHLOW,
+        EVENODD
+    }
+
+    /**
+     * A bet compiled against an engine's sum range. Immutable and shared.
+     */
+    public static final class CompiledBet {
+        private final Kind kind;
+        private final String value;
+        private final double[] netPayout;
+        private final long[] winMask;
+        private final double rtp;
+
+        private CompiledBet(Kind kind, String value, double[] netPayout, double[] probability) {
+            this.kind = kind;
+            this.value = value;
+            this.netPayout = netPayout;
+            this.winMask = new long[(netPayout.length + 63) >>> 6];
+            double expectedReturn = 0;
+            for (int i = 0; i < netPayout.length; i++) {
+                if (netPayout[i] > 0) {
+                    winMask[i >>> 6] |= 1L << i;
+                }
+                expectedReturn += probability[i] * (1 + netPayout[i]);
+            }
+            this.rtp = expectedReturn;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        /** @return The normalized bet value (e.g. "7", "1", "even") */
+        public String getValue() {
+            return value;
+        }
+
+        /** @return Expected return per unit staked */
+        public double getRtp() {
+            return rtp;
+        }
+    }
+
+    private final String name;
+    private final int dice;
+    private final int faces;
+    private final int minSum;
+    private final int maxSum;
+    private final double[] probability;
+    private final CompiledBet[] numberBets;
+    private final CompiledBet[] highLowBets;
+    private final CompiledBet[] evenOddBets;
+
+    private DiceEngine(String name, int dice, int faces, boolean classic) {
+        if (dice < 1 || faces < 2 || (long) dice * faces > MAX_OUTCOMES) {
+            throw new IllegalArgumentException("Unsupported dice configuration: " + dice + "d" + faces);
+        }
+        this.name = name;
+        this.dice = dice;
+        this.faces = faces;
+        this.minSum = dice;
+        this.maxSum = dice * faces;
+        this.probability = sumDistribution(dice, faces);
+
+        int outcomes = maxSum - minSum + 1;
+        numberBets = new CompiledBet[outcomes];
+        for (int i = 0; i < outcomes; i++) {
+            int sum = minSum + i;
+            double odds = classic ? CLASSIC_NUMBER_ODDS[sum]
+                    : Math.floor((NUMBER_RETURN / probability[i] - 1) * 100) / 100;
+            double[] net = filled(outcomes, -1);
+            net[i] = odds;
+            numberBets[i] = new CompiledBet(Kind.NUMBER, String.valueOf(sum), net, probability);
+        }
+
+        highLowBets = new CompiledBet[2];
+        evenOddBets = new CompiledBet[2];
+        for (int half = 1; half <= 2; half++) {
+            boolean[] wins = new boolean[outcomes];
+            double winProbability = 0;
+            for (int i = 0; i < outcomes; i++) {
+                int sum = minSum + i;
+                // Classic: half 1 = 2-6, half 2 = 7-12
+                boolean low = classic ? sum <= 6 : 2 * sum <= minSum + maxSum;
+                if (low == (half == 1)) {
+                    wins[i] = true;
+                    winProbability += probability[i];
+                }
+            }
+            // Even halves pay even money; uneven ones (classic) are priced from their chance
+            double payout = classic ? Math.floor((NUMBER_RETURN / winProbability - 1) * 100 + 1e-9) / 100 : EVEN_MONEY_PAYOUT;
+            double[] net = filled(outcomes, -1);
+            for (int i = 0; i < outcomes; i++) {
+                if (wins[i]) {
+                    net[i] = payout;
+                }
+            }
+            highLowBets[half - 1] = new CompiledBet(Kind.HIGHLOW, String.valueOf(half), net, probability);
+        }
+        for (int parity = 0; parity < 2; parity++) {
+            double[] net = filled(outcomes, -1);
+            for (int i = 0; i < outcomes; i++) {
+                if ((minSum + i) % 2 == parity) {
+                    net[i] = EVEN_MONEY_PAYOUT;
+                }
+            }
+            evenOddBets[parity] = new CompiledBet(Kind.EVENODD, parity == 0 ? "even" : "odd", net, probability);
+        }
+    }
+
+    /**
+     * Creates an engine for any supported dice configuration.
+     *
+     * @param dice Number of dice
+     * @param faces Faces per die
+     * @return The engine
+     * @throws IllegalArgumentException if the configuration is not supported
+     */
+    public static DiceEngine of(int dice, int faces) {
+        DiceEngine known = VARIANTS.get(dice + "d" + faces);
+        return known != null ? known : new DiceEngine(dice + "d" + faces, dice, faces, false);
+    }
+
+    /**
+     * @param name Variant name ("2d6", "3d6" or "1d100"); null selects the classic variant
+     * @return The engine for the variant
+     * @throws IllegalArgumentException if the variant is unknown
+     */
+    public static DiceEngine variant(String name) {
+        if (name == null || name.isBlank()) {
+            return CLASSIC;
+        }
+        DiceEngine engine = VARIANTS.get(name.trim().toLowerCase());
+        if (engine == null) {
+            throw new IllegalArgumentException("Unknown dice variant: " + name + ". Supported: " + VARIANTS.keySet());
+        }
+        return engine;
+    }
+
+    /**
+     * @return The built-in variants
+     */
+    public static Collection<DiceEngine> variants() {
+        return VARIANTS.values();
+    }
+
+    /**
+     * Looks up the compiled form of a bet.
+     *
+     * @param betType Type of bet ("number", "highlow" or "evenodd")
+     * @param betValue Value of the bet (a sum, "1"/"2", or "even"/"odd")
+     * @return The compiled bet
+     * @throws IllegalArgumentException if the bet is not valid for this engine
+     */
+    public CompiledBet compile(String betType, String betValue) {
+        if (betType == null || betValue == null) {
+            throw new IllegalArgumentException("Bet type or value cannot be null.");
+        }
+        String value = betValue.trim().toLowerCase();
+        switch (betType.trim().toLowerCase()) {
+            case "number":
+                int sum = parse(value);
+                if (sum >= minSum && sum <= maxSum) {
+                    return numberBets[sum - minSum];
+                }
+                break;
+            case "highlow":
+                if (value.equals("1") || value.equals("low")) {
+                    return highLowBets[0];
+                }
+                if (value.equals("2") || value.equals("high")) {
+                    return highLowBets[1];
+                }
+                break;
+            case "evenodd":
+                if (value.equals("even")) {
+                    return evenOddBets[0];
+                }
+                if (value.equals("odd")) {
+                    return evenOddBets[1];
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid dice bet type: " + betType);
+        }
+        throw new IllegalArgumentException("Invalid value '" + betValue + "' for " + name + " " + betType + " bet.");
+    }
+
+    /**
+     * Rolls the dice.
+     *
+     * @param source Outcome source to draw from
+     * @param faces Array of length {@link #getDice()} receiving the faces (1-based)
+     * @return The sum of the dice
+     */
+    public int roll(OutcomeSource source, int[] faces) {
+        source.nextInts(this.faces, faces);
+        int sum = 0;
+        for (int i = 0; i < faces.length; i++) {
+            faces[i] += 1;
+            sum += faces[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Rolls the dice and returns only the sum.
+     *
+     * @param source Outcome source to draw from
+     * @return The sum of the dice
+     */
+    public int rollSum(OutcomeSource source) {
+        int sum = dice;
+        for (int i = 0; i < dice; i++) {
+            sum += source.nextInt(faces);
+        }
+        return sum;
+    }
+
+    /**
+     * Settles a bet for a rolled sum.
+     *
+     * @param bet The compiled bet
+     * @param sum The sum of the dice
+     * @param amount Amount wagered
+     * @return The amount won (positive) or lost (negative)
+     */
+    public double settle(CompiledBet bet, int sum, double amount) {
+        return amount * bet.netPayout[checkSum(sum)];
+    }
+
+    /**
+     * @param bet The compiled bet
+     * @param sum The sum of the dice
+     * @return Whether the bet wins on the sum
+     */
+    public boolean wins(CompiledBet bet, int sum) {
+        int i = checkSum(sum);
+        return (bet.winMask[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * @param sum A sum of the dice
+     * @return The probability of rolling the sum
+     */
+    public double probability(int sum) {
+        return sum < minSum || sum > maxSum ? 0 : probability[sum - minSum];
+    }
+
+    /**
+     * Computes the RTP of every bet, keyed "type:value" (e.g. "number:7", "highlow:1").
+     *
+     * @return RTP per bet, in a stable order
+     */
+    public Map<String, Double> rtpTable() {
+        Map<String, Double> table = new LinkedHashMap<>();
+        for (CompiledBet bet : numberBets) {
+            table.put("number:" + bet.value, bet.rtp);
+        }
+        for (CompiledBet bet : highLowBets) {
+            table.put("highlow:" + bet.value, bet.rtp);
+        }
+        for (CompiledBet bet : evenOddBets) {
+            table.put("evenodd:" + bet.value, bet.rtp);
+        }
+        return table;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getDice() {
+        return dice;
+    }
+
+    public int getFaces() {
+        return faces;
+    }
+
+    public int getMinSum() {
+        return minSum;
+    }
+
+    public int getMaxSum() {
+        return maxSum;
+    }
+
+    private int checkSum(int sum) {
+        if (sum < minSum || sum > maxSum) {
+            throw new IllegalArgumentException("Sum " + sum + " is not possible with " + name);
+        }
+        return sum - minSum;
+    }
+
+    /**
+     * Probability of each sum, by repeated convolution of the single-die distribution.
+     */
+    private static double[] sumDistribution(int dice, int faces) {
+        double[] distribution = {1.0};
+        for (int d = 0; d < dice; d++) {
+            double[] next = new double[distribution.length + faces - 1];
+            for (int i = 0; i < distribution.length; i++) {
+                for (int f = 0; f < faces; f++) {
+                    next[i + f] += distribution[i] / faces;
+                }
+            }
+            distribution = next;
+        }
+        return distribution;
+    }
+
+    private static double[] filled(int length, double value) {
+        double[] array = new double[length];
+        Arrays.fill(array, value);
+        return array;
+    }
+
+    private static int parse(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return Integer.MIN_VALUE;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package udaw.casino.engine;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import udaw.casino.service.OutcomeSource;
+
+/**
+ * Dice as a {@link GameEngine}, settled through the compiled tables of a
+ * {@link DiceEngine} variant. The registered bean plays {@link DiceEngine#CLASSIC};
+ * auto-bet wraps the other variants to run them through the same settlement flow.
+ */
+@Component
+public class DiceGameEngine implements GameEngine<DiceEngine.CompiledBet> {
+
+    private final DiceEngine variant;
+
+    @Value("${dice.autobet.max-rolls:1000}")
+    private int maxRounds;
+
+    public DiceGameEngine() {
+        this(DiceEngine.CLASSIC);
+    }
+
+    public DiceGameEngine(DiceEngine variant) {
+        this.variant = variant;
+    }
+
+    @Override
+    public String getGameName() {
+        return "Dice";
+    }
+
+    @Override
+    public DiceEngine.CompiledBet validate(String betType, String betValue) {
+        return variant.compile(betType, betValue);
+    }
+
+    @Override
+    public Outcome evaluate(DiceEngine.CompiledBet bet, OutcomeSource source) {
+        int sum = variant.rollSum(source);
+        return new Outcome(String.valueOf(sum), variant.settle(bet, sum, 1.0));
+    }
+
+    @Override
+    public int getMaxRounds() {
+        return maxRounds;
+    }
+}
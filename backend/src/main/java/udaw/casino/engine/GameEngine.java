@@ -0,0 +1,79 @@
+package udaw.casino.engine;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import udaw.casino.service.OutcomeSource;
+
+/**
+ * Service provider interface for single-draw casino games.
+ *
+ * An engine is a Spring bean registered against the {@code Game} row whose name it
+ * reports. Playing a bet goes through three steps: {@link #validate} compiles the bet
+ * spec once (engines typically resolve it to a precompiled payout table),
+ * {@link #evaluate} draws one outcome for it, and {@link #settle} turns the outcome into
+ * the win/loss of a stake. The generic settlement flow (user lock, balance check,
+ * persistence) lives in the service layer, so a new game only implements its rules.
+ *
+ * Stateful games that take several player actions per bet, such as blackjack, do not
+ * fit this interface and keep their own endpoints.
+ *
+ * @param <B> The compiled form of a bet
+ */
+public interface GameEngine<B> {
+
+    /**
+     * The result of one draw.
+     */
+    @Getter
+    @AllArgsConstructor
+    final class Outcome {
+        /** Outcome as stored on the bet's winning value (e.g. "17", "00", "cherry-lemon-bar"). */
+        private final String winningValue;
+        /** Net payout per unit staked: -1 for a lost stake, 0 for a push, positive for a win. */
+        private final double netPayout;
+    }
+
+    /**
+     * @return Name of the game row this engine plays
+     */
+    String getGameName();
+
+    /**
+     * Validates and compiles a bet spec.
+     *
+     * @param betType Type of bet
+     * @param betValue Value of the bet
+     * @return The compiled bet, reusable for any number of draws
+     * @throws IllegalArgumentException if the bet is not valid for this game
+     */
+    B validate(String betType, String betValue);
+
+    /**
+     * Draws one outcome for a compiled bet.
+     *
+     * @param bet The compiled bet
+     * @param source Outcome source to draw from
+     * @return The outcome and its net payout per unit staked
+     */
+    Outcome evaluate(B bet, OutcomeSource source);
+
+    /**
+     * @param bet The compiled bet
+     * @param outcome An outcome drawn for it
+     * @param amount Amount wagered
+     * @return The amount won (positive) or lost (negative)
+     */
+    default double settle(B bet, Outcome outcome, double amount) {
+        return amount * outcome.getNetPayout();
+    }
+
+    /**
+     * Largest number of rounds of the same bet settled by one play request. Rounds are
+     * persisted with JDBC batches, so engines with cheap draws can allow many.
+     *
+     * @return The maximum number of rounds per request
+     */
+    default int getMaxRounds() {
+        return 1;
+    }
+}
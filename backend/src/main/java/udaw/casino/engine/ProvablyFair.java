@@ -0,0 +1,174 @@
+package udaw.casino.engine;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Provably-fair outcome derivation.
+ * The server commits to SHA-256(serverSeed) before play; every outcome is then derived
+ * from HMAC-SHA256(serverSeed, clientSeed + ":" + nonce + ":" + cursor). Once the server
+ * seed is revealed, anyone can recompute the hash and the outcomes.
+ *
+ * Each HMAC block yields eight unsigned 32-bit words. Words are mapped to {@code [0, bound)}
+ * by rejection sampling (words above the largest multiple of the bound are skipped), so
+ * outcomes are unbiased; the cursor moves to the next block only when a block runs out.
+ */
+public final class ProvablyFair {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int BLOCK_SIZE = 64;
+
+    /** Per-thread Mac instances for one-off computations such as verification. */
+    private static final ThreadLocal<Mac> MACS = ThreadLocal.withInitial(() -> {
+        try {
+            return Mac.getInstance(HMAC_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " is not available", e);
+        }
+    });
+
+    private ProvablyFair() {
+    }
+
+    /**
+     * @param serverSeed The server seed
+     * @return Hex encoded SHA-256 of the seed, as committed to players
+     */
+    public static String commitment(byte[] serverSeed) {
+        return HexFormat.of().formatHex(sha256().digest(serverSeed));
+    }
+
+    /**
+     * Computes one HMAC-SHA256 with a per-thread Mac, re-keying it for the call.
+     *
+     * @param key The HMAC key
+     * @param message The message
+     * @return The 32-byte MAC
+     */
+    public static byte[] hmac(byte[] key, byte[] message) {
+        Mac mac = MACS.get();
+        try {
+            mac.init(new SecretKeySpec(key, HMAC_ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to initialise " + HMAC_ALGORITHM, e);
+        }
+        return mac.doFinal(message);
+    }
+
+    /**
+     * Derives {@code count} outcomes in {@code [0, bound)} with a per-thread Mac.
+     * Produces exactly the same values as {@link KeySchedule#outcomes}.
+     *
+     * @param serverSeed The revealed server seed
+     * @param clientSeed The client seed
+     * @param nonce The nonce of the play
+     * @param bound Exclusive upper bound of each outcome
+     * @param count Number of outcomes
+     * @return The outcomes
+     */
+    public static int[] outcomes(byte[] serverSeed, String clientSeed, long nonce, int bound, int count) {
+        return derive(cursor -> hmac(serverSeed, message(clientSeed, nonce, cursor)), bound, count);
+    }
+
+    /**
+     * Precomputed HMAC-SHA256 key schedule for one server seed.
+     * The inner and outer digests are primed with the padded key once; each HMAC then
+     * clones the primed states instead of re-keying, which saves two of the four
+     * compression rounds of a short-message HMAC. Instances are safe for concurrent use.
+     */
+    public static final class KeySchedule {
+
+        private final MessageDigest inner;
+        private final MessageDigest outer;
+
+        public KeySchedule(byte[] key) {
+            byte[] block = Arrays.copyOf(key.length > BLOCK_SIZE ? sha256().digest(key) : key, BLOCK_SIZE);
+            byte[] innerPad = new byte[BLOCK_SIZE];
+            byte[] outerPad = new byte[BLOCK_SIZE];
+            for (int i = 0; i < BLOCK_SIZE; i++) {
+                innerPad[i] = (byte) (block[i] ^ 0x36);
+                outerPad[i] = (byte) (block[i] ^ 0x5c);
+            }
+            inner = sha256();
+            inner.update(innerPad);
+            outer = sha256();
+            outer.update(outerPad);
+            Arrays.fill(block, (byte) 0);
+        }
+
+        /**
+         * @param message The message
+         * @return HMAC-SHA256 of the message under this schedule's key
+         */
+        public byte[] mac(byte[] message) {
+            MessageDigest innerCopy = copy(inner);
+            innerCopy.update(message);
+            MessageDigest outerCopy = copy(outer);
+            outerCopy.update(innerCopy.digest());
+            return outerCopy.digest();
+        }
+
+        /**
+         * Derives {@code count} outcomes in {@code [0, bound)} for a play.
+         *
+         * @param clientSeed The client seed
+         * @param nonce The nonce of the play
+         * @param bound Exclusive upper bound of each outcome
+         * @param count Number of outcomes
+         * @return The outcomes
+         */
+        public int[] outcomes(String clientSeed, long nonce, int bound, int count) {
+            return derive(cursor -> mac(message(clientSeed, nonce, cursor)), bound, count);
+        }
+
+        private static MessageDigest copy(MessageDigest primed) {
+            try {
+                return (MessageDigest) primed.clone();
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException("SHA-256 digest cannot be cloned", e);
+            }
+        }
+    }
+
+    private interface BlockSource {
+        byte[] block(int cursor);
+    }
+
+    private static int[] derive(BlockSource source, int bound, int count) {
+        if (bound <= 0 || count < 0) {
+            throw new IllegalArgumentException("Invalid outcome range: bound " + bound + ", count " + count);
+        }
+        long limit = (1L << 32) - ((1L << 32) % bound);
+        int[] out = new int[count];
+        int filled = 0;
+        for (int cursor = 0; filled < count; cursor++) {
+            byte[] block = source.block(cursor);
+            for (int offset = 0; offset + 4 <= block.length && filled < count; offset += 4) {
+                long word = ((block[offset] & 0xFFL) << 24) | ((block[offset + 1] & 0xFFL) << 16)
+                        | ((block[offset + 2] & 0xFFL) << 8) | (block[offset + 3] & 0xFFL);
+                if (word < limit) {
+                    out[filled++] = (int) (word % bound);
+                }
+            }
+        }
+        return out;
+    }
+
+    private static byte[] message(String clientSeed, long nonce, int cursor) {
+        return (clientSeed + ":" + nonce + ":" + cursor).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
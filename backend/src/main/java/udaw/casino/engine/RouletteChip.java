@@ -0,0 +1,38 @@
+package udaw.casino.engine;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A chip accepted on a shared roulette table during a betting window.
+ * Chips live in memory until the round closes and are then settled together.
+ */
+@Getter
+@AllArgsConstructor
+public class RouletteChip {
+
+    /** ID of the user who placed the chip. */
+    private final Long userId;
+
+    /** Amount wagered. */
+    private final double amount;
+
+    /** Type of bet (number, color, parity, dozen, column, half). */
+    private final String betType;
+
+    /** Value of the bet (e.g., "17", "1", "even", "low"). */
+    private final String betValue;
+
+    /** Time the chip was accepted by the table. */
+    private final LocalDateTime placedAt;
+
+    /**
+     * @param newAmount The amount to wager instead
+     * @return A copy of this chip with a different amount
+     */
+    public RouletteChip withAmount(double newAmount) {
+        return new RouletteChip(userId, newAmount, betType, betValue, placedAt);
+    }
+}
@@ -0,0 +1,37 @@
+package udaw.casino.engine;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import udaw.casino.service.OutcomeSource;
+
+/**
+ * American roulette as a {@link GameEngine}. A bet compiles to its payout layout over
+ * the 38 pockets, so a draw is one random pocket and one array read.
+ */
+@Component
+public class RouletteGameEngine implements GameEngine<double[]> {
+
+    @Value("${games.roulette.max-rounds:1000}")
+    private int maxRounds;
+
+    @Override
+    public String getGameName() {
+        return "Roulette";
+    }
+
+    @Override
+    public double[] validate(String betType, String betValue) {
+        return RouletteWheel.payoutLayout(betType, betValue);
+    }
+
+    @Override
+    public Outcome evaluate(double[] layout, OutcomeSource source) {
+        int pocket = source.nextInt(RouletteWheel.POCKETS);
+        return new Outcome(RouletteWheel.label(pocket), layout[pocket]);
+    }
+
+    @Override
+    public int getMaxRounds() {
+        return maxRounds;
+    }
+}
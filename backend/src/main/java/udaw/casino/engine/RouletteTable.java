@@ -0,0 +1,149 @@
+package udaw.casino.engine;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import udaw.casino.exception.ExposureLimitExceededException;
+import udaw.casino.exception.InsufficientBalanceException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory state of a shared roulette table.
+ * A table always has exactly one open round; chips are collected into it until
+ * the betting window closes, at which point the round is handed off for a single
+ * draw and batch settlement and a fresh round is opened.
+ *
+ * A table is owned by exactly one {@link TableEventLoop}: {@link #placeChip} and
+ * {@link #closeRound} are only ever called from that loop's thread, so round state
+ * is not locked. Other threads may read the current round for display purposes.
+ */
+public class RouletteTable {
+
+    @Getter
+    private final int id;
+
+    /** Worst-case liability allowed per round; 0 or less means unlimited. */
+    private final double maxLiability;
+    private final RoundExposure.Mode exposureMode;
+
+    private long nextRoundId = 1;
+    private volatile Round current;
+
+    /**
+     * Creates a table without a liability limit and opens its first round.
+     *
+     * @param id Table identifier
+     * @param firstRoundClosesAt Epoch millis at which the first betting window closes
+     */
+    public RouletteTable(int id, long firstRoundClosesAt) {
+        this(id, firstRoundClosesAt, 0, RoundExposure.Mode.REJECT);
+    }
+
+    /**
+     * Creates a table and opens its first round.
+     *
+     * @param id Table identifier
+     * @param firstRoundClosesAt Epoch millis at which the first betting window closes
+     * @param maxLiability Worst-case house liability allowed per round; 0 or less means unlimited
+     * @param exposureMode Whether chips beyond the limit are rejected or capped
+     */
+    public RouletteTable(int id, long firstRoundClosesAt, double maxLiability, RoundExposure.Mode exposureMode) {
+        this.id = id;
+        this.maxLiability = maxLiability;
+        this.exposureMode = exposureMode;
+        this.current = new Round(nextRoundId++, firstRoundClosesAt);
+    }
+
+    /**
+     * Accepts a chip into the open round.
+     * The chip is first checked against the round's exposure limit (and possibly capped),
+     * then the user's balance snapshot must cover every chip they have placed in this round.
+     *
+     * @param chip The chip to place
+     * @param balance The user's current persisted balance
+     * @return The accepted chip and the round it was accepted into
+     * @throws ExposureLimitExceededException if the chip would exceed the round's liability limit
+     * @throws InsufficientBalanceException if the user's open stakes would exceed their balance
+     */
+    public Placement placeChip(RouletteChip chip, double balance) {
+        Round round = current;
+        double[] layout = RouletteWheel.payoutLayout(chip.getBetType(), chip.getBetValue());
+        double amount = round.exposure.admit(layout, chip.getAmount(), maxLiability, exposureMode);
+
+        double staked = round.stakesByUser.getOrDefault(chip.getUserId(), 0.0);
+        if (staked + amount > balance) {
+            throw new InsufficientBalanceException("Insufficient balance to place this bet. Available: " + (balance - staked));
+        }
+        RouletteChip accepted = amount == chip.getAmount() ? chip : chip.withAmount(amount);
+
+        round.exposure.add(layout, amount);
+        round.stakesByUser.put(chip.getUserId(), staked + amount);
+        round.chips.add(accepted);
+        round.chipCount++;
+        return new Placement(round, accepted);
+    }
+
+    /**
+     * Closes the open round and immediately opens the next one.
+     *
+     * @param nextClosesAt Epoch millis at which the next betting window closes
+     * @return The closed round, whose chips are no longer modified
+     */
+    public Round closeRound(long nextClosesAt) {
+        Round closed = current;
+        current = new Round(nextRoundId++, nextClosesAt);
+        return closed;
+    }
+
+    /**
+     * @return The round currently accepting chips
+     */
+    public Round getCurrentRound() {
+        return current;
+    }
+
+    /**
+     * A single betting window on a table.
+     */
+    @Getter
+    public static class Round {
+        private final long roundId;
+        private final long closesAt;
+        private final LocalDateTime openedAt = LocalDateTime.now();
+        private final List<RouletteChip> chips = new ArrayList<>();
+        @Getter(AccessLevel.NONE)
+        private final Map<Long, Double> stakesByUser = new HashMap<>();
+        /** Published separately so other threads can read it while the loop appends chips. */
+        private volatile int chipCount;
+        /** House liability per pocket, readable from any thread. */
+        private final RoundExposure exposure = new RoundExposure();
+
+        Round(long roundId, long closesAt) {
+            this.roundId = roundId;
+            this.closesAt = closesAt;
+        }
+
+        /**
+         * @return An unmodifiable view of the chips placed in this round
+         */
+        public List<RouletteChip> getChips() {
+            return Collections.unmodifiableList(chips);
+        }
+    }
+
+    /**
+     * Result of placing a chip: the chip as accepted (possibly capped) and its round.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Placement {
+        private final Round round;
+        private final RouletteChip chip;
+    }
+}
@@ -0,0 +1,140 @@
+package udaw.casino.engine;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runtime owning the live roulette tables.
+ * Tables are sharded across a fixed set of {@link TableEventLoop}s (one per core
+ * by default); table {@code id} is pinned to loop {@code (id - 1) % loops}.
+ * Each table therefore has a single writer, and placing a chip is an enqueue onto
+ * its loop. Closed rounds are handed to a {@link RoundListener}, which must not block.
+ * Because each table has a single writer, the exposure check and update of a chip
+ * happen atomically without locking.
+ */
+public class RouletteTableRuntime implements AutoCloseable {
+
+    /**
+     * Callback invoked on the owning loop thread whenever a round closes.
+     * Implementations should hand the round off (e.g. to a settlement executor) and return quickly.
+     */
+    @FunctionalInterface
+    public interface RoundListener {
+        void onRoundClosed(RouletteTable table, RouletteTable.Round closed);
+    }
+
+    private final RouletteTable[] tables;
+    private final TableEventLoop[] loops;
+    private final TableEventLoop[] loopByTable;
+
+    /**
+     * Creates the runtime and opens the first round of every table. Call {@link #start()} to begin.
+     *
+     * @param tableCount Number of tables (IDs 1..tableCount)
+     * @param loopCount Number of event loops; values below 1 default to the number of available cores
+     * @param bettingWindowMs Length of each betting window in milliseconds
+     * @param listener Receiver of closed rounds
+     */
+    public RouletteTableRuntime(int tableCount, int loopCount, long bettingWindowMs, RoundListener listener) {
+        this(tableCount, loopCount, bettingWindowMs, 0, RoundExposure.Mode.REJECT, listener);
+    }
+
+    /**
+     * Creates the runtime with a per-round liability limit on every table.
+     *
+     * @param tableCount Number of tables (IDs 1..tableCount)
+     * @param loopCount Number of event loops; values below 1 default to the number of available cores
+     * @param bettingWindowMs Length of each betting window in milliseconds
+     * @param maxLiability Worst-case house liability allowed per round; 0 or less means unlimited
+     * @param exposureMode Whether chips beyond the limit are rejected or capped
+     * @param listener Receiver of closed rounds
+     */
+    public RouletteTableRuntime(int tableCount, int loopCount, long bettingWindowMs,
+                                double maxLiability, RoundExposure.Mode exposureMode, RoundListener listener) {
+        int loopsToStart = loopCount > 0 ? loopCount : Runtime.getRuntime().availableProcessors();
+        loopsToStart = Math.max(1, Math.min(loopsToStart, tableCount));
+
+        this.tables = new RouletteTable[tableCount];
+        this.loops = new TableEventLoop[loopsToStart];
+        this.loopByTable = new TableEventLoop[tableCount];
+
+        for (int i = 0; i < loopsToStart; i++) {
+            loops[i] = new TableEventLoop(i, bettingWindowMs, listener);
+        }
+        long closesAt = System.currentTimeMillis() + bettingWindowMs;
+        for (int i = 0; i < tableCount; i++) {
+            tables[i] = new RouletteTable(i + 1, closesAt, maxLiability, exposureMode);
+            loopByTable[i] = loops[i % loopsToStart];
+            loopByTable[i].addTable(tables[i]);
+        }
+    }
+
+    /**
+     * Starts every event loop.
+     */
+    public void start() {
+        for (TableEventLoop loop : loops) {
+            loop.start();
+        }
+    }
+
+    /**
+     * Places a chip on a table's open round. The chip is validated against the
+     * user's stakes for the round on the table's loop thread.
+     *
+     * @param tableId The table ID
+     * @param chip The chip to place
+     * @param balance The user's current persisted balance
+     * @return A future completing with the accepted chip and its round, or exceptionally
+     *         with an InsufficientBalanceException or ExposureLimitExceededException
+     * @throws IllegalArgumentException if the table does not exist
+     */
+    public CompletableFuture<RouletteTable.Placement> placeChip(int tableId, RouletteChip chip, double balance) {
+        RouletteTable table = getTable(tableId);
+        CompletableFuture<RouletteTable.Placement> result = new CompletableFuture<>();
+        loopByTable[tableId - 1].execute(() -> {
+            try {
+                result.complete(table.placeChip(chip, balance));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @param tableId The table ID
+     * @return The table
+     * @throws IllegalArgumentException if the table does not exist
+     */
+    public RouletteTable getTable(int tableId) {
+        if (tableId < 1 || tableId > tables.length) {
+            throw new IllegalArgumentException("Unknown roulette table: " + tableId);
+        }
+        return tables[tableId - 1];
+    }
+
+    /**
+     * @return All tables ordered by ID
+     */
+    public List<RouletteTable> getTables() {
+        return List.of(tables);
+    }
+
+    /**
+     * @return Number of event loops the tables are sharded across
+     */
+    public int getLoopCount() {
+        return loops.length;
+    }
+
+    /**
+     * Stops every event loop. Open rounds are discarded.
+     */
+    @Override
+    public void close() {
+        for (TableEventLoop loop : loops) {
+            loop.shutdown();
+        }
+    }
+}
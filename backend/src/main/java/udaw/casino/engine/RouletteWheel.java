@@ -0,0 +1,200 @@
+package udaw.casino.engine;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * American roulette wheel rules shared by the per-request and shared-table roulette flows.
+ * Pockets are indexed 0-36 for the numbered pockets and 37 for "00".
+ *
+ * Payouts follow the rules historically implemented in RouletteService:
+ * - Number bets: 35:1
+ * - Color bets (value "1" = red, "2" = black): 1:1
+ * - Parity bets ("even"/"odd"): 1:1
+ * - Dozen bets ("1"-"3"): 2:1
+ * - Column bets ("1"-"3"): 2:1
+ * - Half bets ("low"/"high"): 1:1
+ * 0 and 00 lose every outside bet.
+ */
+public final class RouletteWheel {
+
+    /** Number of pockets on an American wheel (0-36 plus 00). */
+    public static final int POCKETS = 38;
+
+    /** Pocket index used for "00". */
+    public static final int DOUBLE_ZERO = 37;
+
+    /** American roulette red numbers, indexed by pocket. */
+    private static final boolean[] RED = new boolean[POCKETS];
+
+    static {
+        int[] redNumbers = {1, 3, 5, 7, 9, 12, 14, 16, 18, 19, 21, 23, 25, 27, 30, 32, 34, 36};
+        for (int number : redNumbers) {
+            RED[number] = true;
+        }
+    }
+
+    /** Compiled payout layouts by normalized "type:value" key. */
+    private static final Map<String, double[]> LAYOUTS = new ConcurrentHashMap<>();
+
+    /** Cap on cached layouts; bet values come from clients, so the key space is not trusted. */
+    private static final int MAX_CACHED_LAYOUTS = 256;
+
+    private RouletteWheel() {
+    }
+
+    /**
+     * Converts a pocket index to the label used by the API and stored in bets.
+     *
+     * @param pocket Pocket index (0-37)
+     * @return "0"-"36" or "00"
+     */
+    public static String label(int pocket) {
+        return pocket == DOUBLE_ZERO ? "00" : String.valueOf(pocket);
+    }
+
+    /**
+     * Converts a winning number label back to its pocket index.
+     *
+     * @param label "0"-"36" or "00"
+     * @return The pocket index, or -1 if the label is not a wheel pocket
+     */
+    public static int pocketOf(String label) {
+        if ("00".equals(label)) {
+            return DOUBLE_ZERO;
+        }
+        try {
+            int number = Integer.parseInt(label);
+            return number >= 0 && number <= 36 ? number : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Determines the color of a roulette number according to American roulette rules.
+     *
+     * @param numberStr The number as a string (0-36 or "00")
+     * @return "red", "black", or "green" for 0/00
+     */
+    public static String color(String numberStr) {
+        int pocket = pocketOf(numberStr);
+        if (pocket <= 0 || pocket == DOUBLE_ZERO) {
+            return "green";
+        }
+        return RED[pocket] ? "red" : "black";
+    }
+
+    /**
+     * Calculates the net result of a bet for a given winning number.
+     *
+     * @param betType Type of bet (number, color, parity, dozen, column, half)
+     * @param betValue Value of the bet (e.g., "17", "1", "even", "low")
+     * @param amount Amount wagered
+     * @param winningNumberStr The winning number as a string
+     * @return The amount won (positive) or lost (negative), or null if the bet is invalid
+     */
+    public static Double winnings(String betType, String betValue, double amount, String winningNumberStr) {
+        if (betType == null || betValue == null || winningNumberStr == null) {
+            return null;
+        }
+
+        int winningNumber = 0;
+        try {
+            if (!winningNumberStr.equals("00")) {
+                winningNumber = Integer.parseInt(winningNumberStr);
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        boolean zero = winningNumberStr.equals("0") || winningNumberStr.equals("00");
+
+        switch (betType.toLowerCase()) {
+            case "number":
+                return betValue.equals(winningNumberStr) ? amount * 35 : -amount;
+
+            case "color":
+                if (zero) return -amount;
+                String winningColor = color(winningNumberStr);
+                if ((winningColor.equals("red") && betValue.equals("1")) ||
+                    (winningColor.equals("black") && betValue.equals("2"))) {
+                    return amount;
+                }
+                return -amount;
+
+            case "parity":
+                if (zero) return -amount;
+                String winningParity = (winningNumber % 2 == 0) ? "even" : "odd";
+                return betValue.equals(winningParity) ? amount : -amount;
+
+            case "dozen":
+                try {
+                    if (zero) return -amount;
+                    int betDozen = Integer.parseInt(betValue);
+                    int winningDozen = (int) Math.ceil((double) winningNumber / 12.0);
+                    return betDozen == winningDozen ? amount * 2 : -amount;
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+
+            case "column":
+                try {
+                    if (zero) return -amount;
+                    int betColumn = Integer.parseInt(betValue);
+                    int winningColumn = (winningNumber % 3 == 0) ? 3 : winningNumber % 3;
+                    return betColumn == winningColumn ? amount * 2 : -amount;
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+
+            case "half":
+                if (zero) return -amount;
+                boolean isWinningLow = winningNumber >= 1 && winningNumber <= 18;
+                boolean isBetLow = betValue.equals("low");
+                return (isWinningLow == isBetLow) ? amount : -amount;
+
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Checks whether a bet type/value pair can be evaluated by the wheel.
+     *
+     * @param betType Type of bet
+     * @param betValue Value of the bet
+     * @return true if the bet can be settled
+     */
+    public static boolean isValidBet(String betType, String betValue) {
+        return winnings(betType, betValue, 1.0, "1") != null;
+    }
+
+    /**
+     * Returns the net payout per unit staked for every pocket, e.g. 35 on the
+     * covered pocket and -1 elsewhere for a number bet. Layouts are compiled once
+     * per distinct bet and shared; callers must not modify the returned array.
+     *
+     * @param betType Type of bet
+     * @param betValue Value of the bet
+     * @return Net multiplier indexed by pocket
+     * @throws IllegalArgumentException if the bet cannot be evaluated
+     */
+    public static double[] payoutLayout(String betType, String betValue) {
+        if (!isValidBet(betType, betValue)) {
+            throw new IllegalArgumentException("Invalid bet type or value: " + betType + ", " + betValue);
+        }
+        String key = betType.toLowerCase() + ":" + betValue;
+        double[] layout = LAYOUTS.get(key);
+        if (layout != null) {
+            return layout;
+        }
+        layout = new double[POCKETS];
+        for (int pocket = 0; pocket < POCKETS; pocket++) {
+            layout[pocket] = winnings(betType, betValue, 1.0, label(pocket));
+        }
+        if (LAYOUTS.size() < MAX_CACHED_LAYOUTS) {
+            LAYOUTS.putIfAbsent(key, layout);
+        }
+        return layout;
+    }
+}
@@ -0,0 +1,103 @@
+package udaw.casino.engine;
+
+import udaw.casino.exception.ExposureLimitExceededException;
+
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * House exposure of a single roulette round.
+ * Keeps one accumulator per pocket holding the house liability (the players' net
+ * winnings) if that pocket hits. Accumulators are striped adders, so the vector can
+ * be read from any thread at any moment while the table's loop keeps adding chips.
+ *
+ * Admission only touches the 38 accumulators, never the round's chips, so the cost
+ * per bet is constant no matter how many bets the round already holds.
+ */
+public class RoundExposure {
+
+    /**
+     * What to do with a chip that would exceed the liability limit.
+     */
+    public enum Mode {
+        /** Reject the chip entirely. */
+        REJECT,
+        /** Accept the largest amount that keeps the round within the limit. */
+        CAP
+    }
+
+    private final DoubleAdder[] liability = new DoubleAdder[RouletteWheel.POCKETS];
+
+    public RoundExposure() {
+        for (int pocket = 0; pocket < RouletteWheel.POCKETS; pocket++) {
+            liability[pocket] = new DoubleAdder();
+        }
+    }
+
+    /**
+     * Determines how much of a chip can be accepted under the given limit.
+     * Must be called from the table's owning loop, together with {@link #add}.
+     *
+     * @param layout Net payout per unit staked for every pocket
+     * @param amount Amount the player wants to wager
+     * @param maxLiability Worst-case liability allowed for the round; 0 or less means unlimited
+     * @param mode Whether to reject or cap chips that exceed the limit
+     * @return The amount that may be accepted
+     * @throws ExposureLimitExceededException if nothing can be accepted
+     */
+    public double admit(double[] layout, double amount, double maxLiability, Mode mode) {
+        if (maxLiability <= 0) {
+            return amount;
+        }
+        double allowed = amount;
+        for (int pocket = 0; pocket < RouletteWheel.POCKETS; pocket++) {
+            if (layout[pocket] <= 0) {
+                continue;
+            }
+            double headroom = (maxLiability - liability[pocket].sum()) / layout[pocket];
+            allowed = Math.min(allowed, headroom);
+        }
+        if (allowed >= amount) {
+            return amount;
+        }
+        if (mode == Mode.CAP && allowed > 0) {
+            // Round down to whole cents so the capped chip never exceeds the limit
+            double capped = Math.floor(allowed * 100) / 100;
+            if (capped > 0) {
+                return capped;
+            }
+        }
+        throw new ExposureLimitExceededException("Bet exceeds the table limit. Maximum accepted amount: "
+                + Math.max(0, Math.floor(allowed * 100) / 100));
+    }
+
+    /**
+     * Adds an accepted chip to the exposure vector.
+     *
+     * @param layout Net payout per unit staked for every pocket
+     * @param amount Amount accepted
+     */
+    public void add(double[] layout, double amount) {
+        for (int pocket = 0; pocket < RouletteWheel.POCKETS; pocket++) {
+            liability[pocket].add(layout[pocket] * amount);
+        }
+    }
+
+    /**
+     * @param pocket Pocket index
+     * @return House liability if the pocket hits
+     */
+    public double liability(int pocket) {
+        return liability[pocket].sum();
+    }
+
+    /**
+     * @return House liability for every pocket
+     */
+    public double[] snapshot() {
+        double[] values = new double[RouletteWheel.POCKETS];
+        for (int pocket = 0; pocket < RouletteWheel.POCKETS; pocket++) {
+            values[pocket] = liability[pocket].sum();
+        }
+        return values;
+    }
+}
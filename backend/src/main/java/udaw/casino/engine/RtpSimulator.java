@@ -0,0 +1,241 @@
+package udaw.casino.engine;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Monte Carlo verification of the payout tables of roulette and the dice variants.
+ *
+ * A game is modelled as {@code dice} uniform draws in {@code [0, faces)} whose sum indexes
+ * an outcome (roulette is one 38-sided draw). Rounds are split across a fork-join pool;
+ * each leaf draws from its own {@link SplittableRandom}, split from the parent task in a
+ * fixed tree order so a seeded run is reproducible regardless of scheduling, and only
+ * counts how often each outcome occurs in a primitive histogram.
+ *
+ * Because a bet's return depends only on the outcome, one histogram yields the simulated
+ * RTP, variance and confidence interval of every bet kind of the game at once: N rounds
+ * of the game are N rounds of each bet kind.
+ */
+public final class RtpSimulator {
+
+    /** Rounds simulated by a single leaf task. */
+    private static final long LEAF_ROUNDS = 1L << 20;
+
+    private RtpSimulator() {
+    }
+
+    /**
+     * A game whose outcome is the sum of {@code dice} draws in {@code [0, faces)}.
+     */
+    @Getter
+    public static final class Game {
+        private final String name;
+        private final int dice;
+        private final int faces;
+        @Getter(AccessLevel.NONE)
+        private final double[] probability;
+        private final List<BetKind> betKinds = new ArrayList<>();
+
+        private Game(String name, int dice, int faces, double[] probability) {
+            this.name = name;
+            this.dice = dice;
+            this.faces = faces;
+            this.probability = probability;
+        }
+
+        public List<BetKind> getBetKinds() {
+            return Collections.unmodifiableList(betKinds);
+        }
+
+        private int outcomes() {
+            return dice * (faces - 1) + 1;
+        }
+
+        private void add(String bet, double[] returns) {
+            double theoretical = 0;
+            for (int i = 0; i < returns.length; i++) {
+                theoretical += probability[i] * returns[i];
+            }
+            betKinds.add(new BetKind(bet, returns, theoretical));
+        }
+    }
+
+    /**
+     * A bet of a game: its gross return per unit staked for every outcome.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class BetKind {
+        private final String name;
+        @Getter(AccessLevel.NONE)
+        private final double[] returns;
+        private final double theoreticalRtp;
+    }
+
+    /**
+     * Simulated statistics of one bet kind.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class Result {
+        private final String game;
+        private final String bet;
+        private final long rounds;
+        private final double rtp;
+        private final double theoreticalRtp;
+        /** Variance of the return of a single round per unit staked. */
+        private final double variance;
+        private final double standardError;
+        private final double ciLow;
+        private final double ciHigh;
+    }
+
+    /**
+     * @return Every game offered by the casino with all of its bet kinds
+     */
+    public static List<Game> allGames() {
+        List<Game> games = new ArrayList<>();
+        games.add(roulette());
+        for (DiceEngine engine : DiceEngine.variants()) {
+            games.add(dice(engine));
+        }
+        return games;
+    }
+
+    /**
+     * @return American roulette with every bet understood by {@link RouletteWheel}
+     */
+    public static Game roulette() {
+        double[] probability = new double[RouletteWheel.POCKETS];
+        Arrays.fill(probability, 1.0 / RouletteWheel.POCKETS);
+        Game game = new Game("roulette", 1, RouletteWheel.POCKETS, probability);
+        for (int pocket = 0; pocket < RouletteWheel.POCKETS; pocket++) {
+            addRouletteBet(game, "number", RouletteWheel.label(pocket));
+        }
+        for (String[] bet : new String[][] {
+                {"color", "1"}, {"color", "2"}, {"parity", "even"}, {"parity", "odd"},
+                {"dozen", "1"}, {"dozen", "2"}, {"dozen", "3"},
+                {"column", "1"}, {"column", "2"}, {"column", "3"},
+                {"half", "low"}, {"half", "high"}}) {
+            addRouletteBet(game, bet[0], bet[1]);
+        }
+        return game;
+    }
+
+    /**
+     * @param engine A dice variant
+     * @return The variant with every bet of its RTP table
+     */
+    public static Game dice(DiceEngine engine) {
+        int outcomes = engine.getMaxSum() - engine.getMinSum() + 1;
+        double[] probability = new double[outcomes];
+        for (int i = 0; i < outcomes; i++) {
+            probability[i] = engine.probability(engine.getMinSum() + i);
+        }
+        Game game = new Game("dice-" + engine.getName(), engine.getDice(), engine.getFaces(), probability);
+        for (String key : engine.rtpTable().keySet()) {
+            String[] bet = key.split(":", 2);
+            DiceEngine.CompiledBet compiled = engine.compile(bet[0], bet[1]);
+            double[] returns = new double[outcomes];
+            for (int i = 0; i < outcomes; i++) {
+                returns[i] = 1 + engine.settle(compiled, engine.getMinSum() + i, 1.0);
+            }
+            game.add(key, returns);
+        }
+        return game;
+    }
+
+    /**
+     * Simulates {@code rounds} rounds of a game and computes the statistics of all its bet kinds.
+     *
+     * @param game The game
+     * @param rounds Number of rounds
+     * @param seed Root seed of the simulation
+     * @param z Critical value of the confidence interval (e.g. 1.96 for 95%, 3.29 for 99.9%)
+     * @param pool Pool running the simulation
+     * @return One result per bet kind, in the game's order
+     */
+    public static List<Result> simulate(Game game, long rounds, long seed, double z, ForkJoinPool pool) {
+        if (rounds < 1) {
+            throw new IllegalArgumentException("Rounds must be at least 1");
+        }
+        long[] histogram = pool.invoke(new HistogramTask(game.dice, game.faces, game.outcomes(),
+                rounds, new SplittableRandom(seed)));
+
+        List<Result> results = new ArrayList<>(game.betKinds.size());
+        for (BetKind kind : game.betKinds) {
+            double sum = 0;
+            double sumOfSquares = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                double r = kind.returns[i];
+                sum += histogram[i] * r;
+                sumOfSquares += histogram[i] * r * r;
+            }
+            double mean = sum / rounds;
+            double variance = Math.max(0, sumOfSquares / rounds - mean * mean);
+            double standardError = Math.sqrt(variance / rounds);
+            results.add(new Result(game.name, kind.name, rounds, mean, kind.theoreticalRtp, variance,
+                    standardError, mean - z * standardError, mean + z * standardError));
+        }
+        return results;
+    }
+
+    private static void addRouletteBet(Game game, String type, String value) {
+        double[] layout = RouletteWheel.payoutLayout(type, value);
+        double[] returns = new double[layout.length];
+        for (int i = 0; i < layout.length; i++) {
+            returns[i] = 1 + layout[i];
+        }
+        game.add(type + ":" + value, returns);
+    }
+
+    private static final class HistogramTask extends RecursiveTask<long[]> {
+        private final int dice;
+        private final int faces;
+        private final int outcomes;
+        private final long rounds;
+        private final SplittableRandom random;
+
+        HistogramTask(int dice, int faces, int outcomes, long rounds, SplittableRandom random) {
+            this.dice = dice;
+            this.faces = faces;
+            this.outcomes = outcomes;
+            this.rounds = rounds;
+            this.random = random;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (rounds <= LEAF_ROUNDS) {
+                long[] counts = new long[outcomes];
+                for (long round = 0; round < rounds; round++) {
+                    int outcome = 0;
+                    for (int d = 0; d < dice; d++) {
+                        outcome += random.nextInt(faces);
+                    }
+                    counts[outcome]++;
+                }
+                return counts;
+            }
+            long half = rounds / 2;
+            HistogramTask left = new HistogramTask(dice, faces, outcomes, half, random.split());
+            HistogramTask right = new HistogramTask(dice, faces, outcomes, rounds - half, random);
+            left.fork();
+            long[] counts = right.compute();
+            long[] leftCounts = left.join();
+            for (int i = 0; i < outcomes; i++) {
+                counts[i] += leftCounts[i];
+            }
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package udaw.casino.engine;
+
+import udaw.casino.service.OutcomeSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Table-driven slot machine: reel strips, paylines and a paytable.
+ *
+ * A spin stops every reel at a uniformly random position; the visible window shows
+ * {@code rows} consecutive symbols of each strip. A payline picks one row per reel, and
+ * pays the best entry of the paytable matched by the symbols on it, where an entry
+ * "symbol x count" matches when the symbol appears at least {@code count} times on the
+ * line in any position (so "cherry x1" pays for any cherry). Pays are gross multipliers
+ * of the line bet, which is the spin stake divided by the number of paylines.
+ *
+ * The paytable is compiled once into a flat array indexed by the symbols on a line
+ * (a base-{@code symbols} number with one digit per reel), so evaluating a line is a
+ * few multiply-adds and one array read. The same table gives the exact RTP and hit
+ * frequency: since every reel's symbol on any row follows that strip's symbol
+ * frequencies, a line's expected pay is the table weighted by those frequencies.
+ *
+ * The classic machine mirrors the frontend game: three reels with one row and one line,
+ * weighted strips of seven symbols, three of a kind paying 5x to 50x and cherries 1x or 2x.
+ */
+public final class SlotEngine {
+
+    /** Largest compiled line table supported ({@code symbols ^ reels} entries). */
+    private static final int MAX_LINE_CODES = 1 << 20;
+
+    private final String[] symbols;
+    private final int[][] reels;
+    private final int rows;
+    private final int[][] paylines;
+    private final Map<String, Double> paytable;
+    private final double[] linePay;
+    private final double rtp;
+    private final double hitFrequency;
+
+    /**
+     * The result of one spin.
+     */
+    public static final class Spin {
+        private final int[] stops;
+        private final int[] window;
+        private final double[] linePays;
+        private final double payout;
+
+        private Spin(int[] stops, int[] window, double[] linePays, double payout) {
+            this.stops = stops;
+            this.window = window;
+            this.linePays = linePays;
+            this.payout = payout;
+        }
+
+        /** @return Stop position of each reel */
+        public int[] getStops() {
+            return stops;
+        }
+
+        /** @return Symbol indexes shown, row by row ({@code window[row * reels + reel]}) */
+        public int[] getWindow() {
+            return window;
+        }
+
+        /** @return Gross pay of each payline per unit of line bet */
+        public double[] getLinePays() {
+            return linePays;
+        }
+
+        /** @return Gross return of the spin per unit staked */
+        public double getPayout() {
+            return payout;
+        }
+    }
+
+    /**
+     * @param symbols Symbol names
+     * @param reels Reel strips, as symbol indexes
+     * @param rows Visible rows
+     * @param paylines Row of each reel for every payline
+     * @param paytable Gross pay per line bet keyed "symbol:count" (e.g. "seven:3", "cherry:1")
+     * @throws IllegalArgumentException if the configuration is inconsistent
+     */
+    public SlotEngine(String[] symbols, int[][] reels, int rows, int[][] paylines, Map<String, Double> paytable) {
+        if (symbols.length < 2 || reels.length < 1 || rows < 1 || paylines.length < 1) {
+            throw new IllegalArgumentException("A slot machine needs at least 2 symbols, 1 reel, 1 row and 1 payline");
+        }
+        if (Math.pow(symbols.length, reels.length) > MAX_LINE_CODES) {
+            throw new IllegalArgumentException("Too many symbols or reels to compile the paytable");
+        }
+        for (int[] strip : reels) {
+            if (strip.length < rows) {
+                throw new IllegalArgumentException("Every reel strip needs at least " + rows + " stops");
+            }
+            for (int symbol : strip) {
+                if (symbol < 0 || symbol >= symbols.length) {
+                    throw new IllegalArgumentException("Unknown symbol index on a reel strip: " + symbol);
+                }
+            }
+        }
+        for (int[] line : paylines) {
+            if (line.length != reels.length) {
+                throw new IllegalArgumentException("Every payline needs one row per reel");
+            }
+            for (int row : line) {
+                if (row < 0 || row >= rows) {
+                    throw new IllegalArgumentException("Payline row out of range: " + row);
+                }
+            }
+        }
+        this.symbols = symbols.clone();
+        this.reels = deepCopy(reels);
+        this.rows = rows;
+        this.paylines = deepCopy(paylines);
+        this.paytable = Collections.unmodifiableMap(new LinkedHashMap<>(paytable));
+
+        // pays[symbol][count]: best pay for a line holding the symbol at least count times
+        double[][] pays = new double[symbols.length][reels.length + 1];
+        for (Map.Entry<String, Double> entry : paytable.entrySet()) {
+            String[] key = entry.getKey().split(":", 2);
+            int symbol = indexOf(key[0]);
+            int count = key.length == 2 ? parseCount(key[1]) : -1;
+            if (symbol < 0 || count < 1 || count > reels.length || entry.getValue() < 0) {
+                throw new IllegalArgumentException("Invalid paytable entry: " + entry.getKey() + "=" + entry.getValue());
+            }
+            for (int c = count; c <= reels.length; c++) {
+                pays[symbol][c] = Math.max(pays[symbol][c], entry.getValue());
+            }
+        }
+        this.linePay = compile(pays);
+
+        // Exact RTP from the strips' symbol frequencies
+        double[][] frequency = new double[reels.length][symbols.length];
+        for (int r = 0; r < reels.length; r++) {
+            for (int symbol : reels[r]) {
+                frequency[r][symbol] += 1.0 / reels[r].length;
+            }
+        }
+        double expected = 0;
+        double hits = 0;
+        int[] digits = new int[reels.length];
+        for (int code = 0; code < linePay.length; code++) {
+            decode(code, digits);
+            double p = 1;
+            for (int r = 0; r < reels.length; r++) {
+                p *= frequency[r][digits[r]];
+            }
+            expected += p * linePay[code];
+            if (linePay[code] > 0) {
+                hits += p;
+            }
+        }
+        this.rtp = expected;
+        this.hitFrequency = hits;
+    }
+
+    /**
+     * @return The classic three-reel, one-line machine played in the frontend
+     */
+    public static SlotEngine classic() {
+        String[] symbols = {"cherry", "lemon", "orange", "plum", "bell", "bar", "seven"};
+        int[] weights = {8, 7, 6, 6, 4, 3, 1};
+        int[] strip = strip(weights);
+        Map<String, Double> paytable = new LinkedHashMap<>();
+        paytable.put("seven:3", 50.0);
+        paytable.put("bar:3", 20.0);
+        paytable.put("bell:3", 15.0);
+        paytable.put("plum:3", 10.0);
+        paytable.put("orange:3", 10.0);
+        paytable.put("lemon:3", 5.0);
+        paytable.put("cherry:3", 5.0);
+        paytable.put("cherry:2", 2.0);
+        paytable.put("cherry:1", 1.0);
+        return new SlotEngine(symbols, new int[][] {strip, strip, strip}, 1, new int[][] {{0, 0, 0}}, paytable);
+    }
+
+    /**
+     * Builds a reel strip holding each symbol {@code weights[symbol]} times, interleaved
+     * so equal symbols are spread along the strip.
+     *
+     * @param weights Stops per symbol index
+     * @return The strip
+     */
+    public static int[] strip(int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Symbol weights cannot be negative");
+            }
+            total += weight;
+        }
+        int[] strip = new int[total];
+        int[] left = weights.clone();
+        int position = 0;
+        while (position < total) {
+            for (int symbol = 0; symbol < left.length; symbol++) {
+                if (left[symbol] > 0) {
+                    left[symbol]--;
+                    strip[position++] = symbol;
+                }
+            }
+        }
+        return strip;
+    }
+
+    /**
+     * Spins the reels.
+     *
+     * @param source Outcome source to draw the stops from
+     * @return The spin, with its window and pays
+     */
+    public Spin spin(OutcomeSource source) {
+        int[] stops = new int[reels.length];
+        for (int r = 0; r < reels.length; r++) {
+            stops[r] = source.nextInt(reels[r].length);
+        }
+        int[] window = window(stops);
+        double[] linePays = new double[paylines.length];
+        double total = 0;
+        for (int l = 0; l < paylines.length; l++) {
+            linePays[l] = linePay[lineCode(window, paylines[l])];
+            total += linePays[l];
+        }
+        return new Spin(stops, window, linePays, total / paylines.length);
+    }
+
+    /**
+     * Spins the reels and returns only the gross return per unit staked, without allocating.
+     *
+     * @param source Outcome source to draw the stops from
+     * @param stops Array of length {@link #getReelCount()} receiving the stops
+     * @return Gross return of the spin per unit staked
+     */
+    public double spinPayout(OutcomeSource source, int[] stops) {
+        for (int r = 0; r < reels.length; r++) {
+            stops[r] = source.nextInt(reels[r].length);
+        }
+        double total = 0;
+        for (int[] line : paylines) {
+            int code = 0;
+            for (int r = 0; r < reels.length; r++) {
+                int[] strip = reels[r];
+                code = code * symbols.length + strip[(stops[r] + line[r]) % strip.length];
+            }
+            total += linePay[code];
+        }
+        return total / paylines.length;
+    }
+
+    /**
+     * @param stops Stop position of each reel
+     * @return Symbol indexes shown, row by row
+     */
+    public int[] window(int[] stops) {
+        int[] window = new int[rows * reels.length];
+        for (int row = 0; row < rows; row++) {
+            for (int r = 0; r < reels.length; r++) {
+                int[] strip = reels[r];
+                window[row * reels.length + r] = strip[(stops[r] + row) % strip.length];
+            }
+        }
+        return window;
+    }
+
+    /**
+     * @param window Symbol indexes, row by row
+     * @return The symbol names of each row joined with "-", rows separated by "|"
+     */
+    public String describe(int[] window) {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < window.length; i++) {
+            if (i > 0) {
+                description.append(i % reels.length == 0 ? '|' : '-');
+            }
+            description.append(symbols[window[i]]);
+        }
+        return description.toString();
+    }
+
+    /** @return Theoretical return per unit staked */
+    public double getRtp() {
+        return rtp;
+    }
+
+    /** @return Probability that a payline pays anything */
+    public double getHitFrequency() {
+        return hitFrequency;
+    }
+
+    public List<String> getSymbols() {
+        return Collections.unmodifiableList(Arrays.asList(symbols));
+    }
+
+    public int getReelCount() {
+        return reels.length;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    /** @return Length of each reel strip */
+    public int[] getStripLengths() {
+        int[] lengths = new int[reels.length];
+        for (int r = 0; r < reels.length; r++) {
+            lengths[r] = reels[r].length;
+        }
+        return lengths;
+    }
+
+    /** @return The reel strips as symbol names */
+    public List<List<String>> getReels() {
+        List<List<String>> strips = new ArrayList<>(reels.length);
+        for (int[] strip : reels) {
+            List<String> names = new ArrayList<>(strip.length);
+            for (int symbol : strip) {
+                names.add(symbols[symbol]);
+            }
+            strips.add(names);
+        }
+        return strips;
+    }
+
+    public int getPaylineCount() {
+        return paylines.length;
+    }
+
+    /** @return Row of each reel for every payline */
+    public int[][] getPaylines() {
+        return deepCopy(paylines);
+    }
+
+    /** @return Gross pay per line bet keyed "symbol:count" */
+    public Map<String, Double> getPaytable() {
+        return paytable;
+    }
+
+    /**
+     * Precomputes the pay of every possible line: the best paytable entry matched.
+     */
+    private double[] compile(double[][] pays) {
+        int codes = 1;
+        for (int r = 0; r < reels.length; r++) {
+            codes *= symbols.length;
+        }
+        double[] table = new double[codes];
+        int[] digits = new int[reels.length];
+        int[] counts = new int[symbols.length];
+        for (int code = 0; code < codes; code++) {
+            decode(code, digits);
+            Arrays.fill(counts, 0);
+            for (int digit : digits) {
+                counts[digit]++;
+            }
+            double best = 0;
+            for (int symbol = 0; symbol < symbols.length; symbol++) {
+                best = Math.max(best, pays[symbol][counts[symbol]]);
+            }
+            table[code] = best;
+        }
+        return table;
+    }
+
+    private int lineCode(int[] window, int[] line) {
+        int code = 0;
+        for (int r = 0; r < reels.length; r++) {
+            code = code * symbols.length + window[line[r] * reels.length + r];
+        }
+        return code;
+    }
+
+    private void decode(int code, int[] digits) {
+        for (int r = reels.length - 1; r >= 0; r--) {
+            digits[r] = code % symbols.length;
+            code /= symbols.length;
+        }
+    }
+
+    private int indexOf(String symbol) {
+        for (int i = 0; i < symbols.length; i++) {
+            if (symbols[i].equals(symbol)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int parseCount(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static int[][] deepCopy(int[][] array) {
+        int[][] copy = new int[array.length][];
+        for (int i = 0; i < array.length; i++) {
+            copy[i] = array[i].clone();
+        }
+        return copy;
+    }
+}
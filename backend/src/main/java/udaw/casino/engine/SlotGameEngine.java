@@ -0,0 +1,48 @@
+package udaw.casino.engine;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import udaw.casino.service.OutcomeSource;
+import udaw.casino.service.SlotService;
+
+/**
+ * The configured slot machine as a {@link GameEngine}. A spin has no bet choices, so
+ * any bet type other than "spin" is rejected and the compiled bet is the machine itself.
+ */
+@Component
+public class SlotGameEngine implements GameEngine<SlotEngine> {
+
+    private final SlotEngine slotEngine;
+
+    @Value("${slots.bulk.max-spins:10000}")
+    private int maxRounds;
+
+    public SlotGameEngine(SlotEngine slotEngine) {
+        this.slotEngine = slotEngine;
+    }
+
+    @Override
+    public String getGameName() {
+        return SlotService.GAME_NAME;
+    }
+
+    @Override
+    public SlotEngine validate(String betType, String betValue) {
+        if (betType != null && !betType.isBlank() && !betType.trim().equalsIgnoreCase("spin")) {
+            throw new IllegalArgumentException("Invalid slot bet type: " + betType + ". Use \"spin\".");
+        }
+        return slotEngine;
+    }
+
+    @Override
+    public Outcome evaluate(SlotEngine engine, OutcomeSource source) {
+        int[] stops = new int[engine.getReelCount()];
+        double payout = engine.spinPayout(source, stops);
+        return new Outcome(engine.describe(engine.window(stops)), payout - 1);
+    }
+
+    @Override
+    public int getMaxRounds() {
+        return maxRounds;
+    }
+}
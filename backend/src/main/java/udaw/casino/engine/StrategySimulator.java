@@ -0,0 +1,242 @@
+package udaw.casino.engine;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * In-memory simulator of betting strategies over many independent sessions.
+ * A session starts with a balance and repeats one roulette or dice bet, sizing each
+ * stake with a progression, until it has played all its rounds, reached its target
+ * balance, or can no longer cover the next stake (ruin).
+ *
+ * Bets are reduced to a net payout per outcome (a roulette pocket or a dice sum), so a
+ * round is one or a few random draws and an array read. Sessions are split across a
+ * fork-join pool; each leaf uses its own {@link SplittableRandom} and writes its final
+ * balances into a shared primitive array.
+ */
+public final class StrategySimulator {
+
+    /** Sessions simulated by a single leaf task. */
+    private static final int LEAF_SESSIONS = 1024;
+
+    /** Longest Fibonacci progression before the stake stops growing. */
+    private static final int FIBONACCI_STEPS = 64;
+
+    private static final double[] FIBONACCI = new double[FIBONACCI_STEPS];
+
+    static {
+        FIBONACCI[0] = 1;
+        FIBONACCI[1] = 1;
+        for (int i = 2; i < FIBONACCI_STEPS; i++) {
+            FIBONACCI[i] = FIBONACCI[i - 1] + FIBONACCI[i - 2];
+        }
+    }
+
+    /**
+     * Stake sizing rules.
+     */
+    public enum Strategy {
+        /** Always stake the base bet. */
+        FLAT,
+        /** Double the stake after a loss, back to the base bet after a win. */
+        MARTINGALE,
+        /** Add one base bet after a loss, remove one after a win. */
+        DALEMBERT,
+        /** Move one step up the Fibonacci sequence after a loss, two steps down after a win. */
+        FIBONACCI,
+        /** Move one step along a custom list of multipliers after a loss, back to the first after a win. */
+        CUSTOM
+    }
+
+    /**
+     * A bet reduced to its outcome table: the outcome is the sum of {@code dice} draws in
+     * {@code [0, faces)}, and {@code net} holds the net payout per unit staked for each outcome.
+     */
+    public static final class Bet {
+        private final int dice;
+        private final int faces;
+        private final double[] net;
+
+        private Bet(int dice, int faces, double[] net) {
+            this.dice = dice;
+            this.faces = faces;
+            this.net = net;
+        }
+
+        /**
+         * @param betType Roulette bet type
+         * @param betValue Roulette bet value
+         * @return The roulette bet
+         * @throws IllegalArgumentException if the bet is invalid
+         */
+        public static Bet roulette(String betType, String betValue) {
+            return new Bet(1, RouletteWheel.POCKETS, RouletteWheel.payoutLayout(betType, betValue));
+        }
+
+        /**
+         * @param engine Dice variant
+         * @param betType Dice bet type
+         * @param betValue Dice bet value
+         * @return The dice bet
+         * @throws IllegalArgumentException if the bet is invalid for the variant
+         */
+        public static Bet dice(DiceEngine engine, String betType, String betValue) {
+            DiceEngine.CompiledBet compiled = engine.compile(betType, betValue);
+            double[] net = new double[engine.getMaxSum() - engine.getMinSum() + 1];
+            for (int i = 0; i < net.length; i++) {
+                net[i] = engine.settle(compiled, engine.getMinSum() + i, 1.0);
+            }
+            return new Bet(engine.getDice(), engine.getFaces(), net);
+        }
+
+        private double play(SplittableRandom random) {
+            int outcome = 0;
+            for (int d = 0; d < dice; d++) {
+                outcome += random.nextInt(faces);
+            }
+            return net[outcome];
+        }
+    }
+
+    /**
+     * Parameters shared by every session of a simulation.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class Session {
+        private final Strategy strategy;
+        private final double baseBet;
+        private final double startingBalance;
+        private final int rounds;
+        /** Balance at which a session stops early; 0 or less for none. */
+        private final double targetBalance;
+        /** Stake multipliers of the CUSTOM strategy. */
+        private final double[] progression;
+    }
+
+    /**
+     * Outcome of a simulation: the sorted final balance of every session and how many were ruined.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class Outcome {
+        private final double[] finalBalances;
+        private final int ruined;
+    }
+
+    private StrategySimulator() {
+    }
+
+    /**
+     * Runs independent sessions of a strategy.
+     *
+     * @param bet The bet repeated every round
+     * @param session Strategy and session limits
+     * @param sessions Number of sessions
+     * @param seed Root seed
+     * @param pool Pool running the simulation
+     * @return Sorted final balances and the number of ruined sessions
+     */
+    public static Outcome simulate(Bet bet, Session session, int sessions, long seed, ForkJoinPool pool) {
+        if (session.strategy == Strategy.CUSTOM && (session.progression == null || session.progression.length == 0)) {
+            throw new IllegalArgumentException("A custom strategy needs a progression of stake multipliers.");
+        }
+        double[] finalBalances = new double[sessions];
+        boolean[] ruined = new boolean[sessions];
+        pool.invoke(new SessionTask(bet, session, finalBalances, ruined, 0, sessions, new SplittableRandom(seed)));
+
+        int ruinedCount = 0;
+        for (boolean r : ruined) {
+            if (r) {
+                ruinedCount++;
+            }
+        }
+        Arrays.sort(finalBalances);
+        return new Outcome(finalBalances, ruinedCount);
+    }
+
+    /**
+     * Plays one session, flagging it in {@code ruined} if it cannot cover a stake.
+     *
+     * @return The final balance
+     */
+    private static double playSession(Bet bet, Session session, SplittableRandom random, boolean[] ruined, int index) {
+        double balance = session.startingBalance;
+        double base = session.baseBet;
+        double stake = base;
+        int step = 0;
+        for (int round = 0; round < session.rounds; round++) {
+            if (session.targetBalance > 0 && balance >= session.targetBalance) {
+                break;
+            }
+            if (stake > balance) {
+                ruined[index] = true;
+                break;
+            }
+            double result = bet.play(random) * stake;
+            balance += result;
+            boolean won = result > 0;
+
+            switch (session.strategy) {
+                case MARTINGALE:
+                    stake = won ? base : stake * 2;
+                    break;
+                case DALEMBERT:
+                    stake = won ? Math.max(base, stake - base) : stake + base;
+                    break;
+                case FIBONACCI:
+                    step = won ? Math.max(0, step - 2) : Math.min(FIBONACCI_STEPS - 1, step + 1);
+                    stake = base * FIBONACCI[step];
+                    break;
+                case CUSTOM:
+                    step = won ? 0 : Math.min(session.progression.length - 1, step + 1);
+                    stake = base * session.progression[step];
+                    break;
+                case FLAT:
+                default:
+                    break;
+            }
+        }
+        return balance;
+    }
+
+    private static final class SessionTask extends RecursiveAction {
+        private final Bet bet;
+        private final Session session;
+        private final double[] finalBalances;
+        private final boolean[] ruined;
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+
+        SessionTask(Bet bet, Session session, double[] finalBalances, boolean[] ruined,
+                    int from, int to, SplittableRandom random) {
+            this.bet = bet;
+            this.session = session;
+            this.finalBalances = finalBalances;
+            this.ruined = ruined;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SESSIONS) {
+                for (int i = from; i < to; i++) {
+                    finalBalances[i] = playSession(bet, session, random, ruined, i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            SessionTask left = new SessionTask(bet, session, finalBalances, ruined, from, middle, random.split());
+            SessionTask right = new SessionTask(bet, session, finalBalances, ruined, middle, to, random);
+            invokeAll(left, right);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package udaw.casino.engine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Single-threaded event loop owning a shard of roulette tables.
+ * Every mutation of a table's round state runs on this loop's thread, so the
+ * tables need no locks. Producers hand work over through a lock-free queue and
+ * only wake the loop when it is actually parked.
+ */
+public class TableEventLoop implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(TableEventLoop.class);
+
+    /** Upper bound on how long the loop sleeps when no round is due. */
+    private static final long MAX_PARK_MILLIS = 1000;
+
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean sleeping = new AtomicBoolean(false);
+    private final List<RouletteTable> tables = new ArrayList<>();
+    private final long bettingWindowMs;
+    private final RouletteTableRuntime.RoundListener listener;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    TableEventLoop(int index, long bettingWindowMs, RouletteTableRuntime.RoundListener listener) {
+        this.bettingWindowMs = bettingWindowMs;
+        this.listener = listener;
+        this.thread = new Thread(this, "roulette-loop-" + index);
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Pins a table to this loop. Must be called before {@link #start()}.
+     */
+    void addTable(RouletteTable table) {
+        tables.add(table);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    void shutdown() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Enqueues a task to run on the loop thread.
+     *
+     * @param task The task to run
+     */
+    void execute(Runnable task) {
+        tasks.offer(task);
+        if (sleeping.get() && sleeping.compareAndSet(true, false)) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.error("Roulette loop task failed", e);
+                }
+            }
+
+            long now = System.currentTimeMillis();
+            long nextDeadline = now + MAX_PARK_MILLIS;
+            for (RouletteTable table : tables) {
+                if (table.getCurrentRound().getClosesAt() <= now) {
+                    RouletteTable.Round closed = table.closeRound(now + bettingWindowMs);
+                    try {
+                        listener.onRoundClosed(table, closed);
+                    } catch (RuntimeException e) {
+                        log.error("Round listener failed for table {}", table.getId(), e);
+                    }
+                }
+                nextDeadline = Math.min(nextDeadline, table.getCurrentRound().getClosesAt());
+            }
+
+            long waitMillis = nextDeadline - System.currentTimeMillis();
+            if (waitMillis > 0) {
+                sleeping.set(true);
+                if (tasks.isEmpty() && running) {
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(waitMillis));
+                }
+                sleeping.set(false);
+            }
+        }
+    }
+}
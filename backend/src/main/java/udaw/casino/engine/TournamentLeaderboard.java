@@ -0,0 +1,197 @@
+package udaw.casino.engine;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import udaw.casino.model.RankingType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live leaderboard of a tournament, kept entirely in memory.
+ *
+ * Participants are added when they register; recording a settled bet only touches that
+ * participant's counters, under the participant's own monitor, so settlements for
+ * different players never contend. Standings are ranked on demand and the ranked list
+ * is reused until it is older than the refresh interval, so clients polling the
+ * leaderboard share one sort.
+ */
+public class TournamentLeaderboard {
+
+    /** Orders standings by score, then by amount wagered, then by earliest registration (then user ID). */
+    private static final Comparator<Standing> ORDER = Comparator
+            .comparingDouble(Standing::getScore).reversed()
+            .thenComparing(Comparator.comparingDouble(Standing::getWagered).reversed())
+            .thenComparing(Standing::getRegisteredAt)
+            .thenComparing(Standing::getUserId);
+
+    private final RankingType rankingType;
+    private final long refreshMillis;
+    private final ConcurrentHashMap<Long, Participant> participants = new ConcurrentHashMap<>();
+
+    private volatile List<Standing> ranked = Collections.emptyList();
+    private volatile long rankedAt;
+
+    /**
+     * @param rankingType Metric the participants are ranked by
+     * @param refreshMillis How long a ranked list is reused before it is sorted again
+     */
+    public TournamentLeaderboard(RankingType rankingType, long refreshMillis) {
+        this.rankingType = rankingType;
+        this.refreshMillis = refreshMillis;
+    }
+
+    /**
+     * Adds a participant with no bets.
+     *
+     * @return true if the user was not registered yet
+     */
+    public boolean register(Long userId, String username, LocalDateTime registeredAt) {
+        return participants.putIfAbsent(userId, new Participant(userId, username, registeredAt)) == null;
+    }
+
+    public boolean isRegistered(Long userId) {
+        return participants.containsKey(userId);
+    }
+
+    public int size() {
+        return participants.size();
+    }
+
+    /**
+     * Records a settled bet for a participant. Bets of users who are not registered, or
+     * placed before they registered, are ignored.
+     *
+     * @return true if the bet was counted
+     */
+    public boolean record(Long userId, double amount, double winloss, LocalDateTime betDate) {
+        Participant participant = participants.get(userId);
+        if (participant == null || (betDate != null && betDate.isBefore(participant.registeredAt))) {
+            return false;
+        }
+        participant.record(amount, winloss);
+        return true;
+    }
+
+    /**
+     * Adds totals rebuilt from stored bets to a participant, e.g. after a restart.
+     */
+    public void restore(Long userId, long bets, long wins, double wagered, double profit) {
+        Participant participant = participants.get(userId);
+        if (participant != null) {
+            participant.add(bets, wins, wagered, profit);
+        }
+    }
+
+    /**
+     * @return The standings, ranked at most {@code refreshMillis} ago
+     */
+    public List<Standing> standings() {
+        long now = System.currentTimeMillis();
+        if (now - rankedAt >= refreshMillis) {
+            ranked = rank();
+            rankedAt = now;
+        }
+        return ranked;
+    }
+
+    /**
+     * Ranks all participants now.
+     *
+     * @return The standings, best first, with positions assigned
+     */
+    public List<Standing> rank() {
+        List<Standing> standings = new ArrayList<>(participants.size());
+        for (Participant participant : participants.values()) {
+            standings.add(participant.standing(rankingType));
+        }
+        standings.sort(ORDER);
+        for (int i = 0; i < standings.size(); i++) {
+            standings.get(i).position = i + 1;
+        }
+        return Collections.unmodifiableList(standings);
+    }
+
+    /**
+     * Scores a participant's totals by a ranking metric, using the same definitions as
+     * the global rankings.
+     *
+     * @return The score; higher is better
+     */
+    public static double score(RankingType type, long bets, long wins, double wagered, double profit) {
+        switch (type) {
+            case TOTAL_BETS_AMOUNT:
+            case BY_GAME_AMOUNT:
+                return wagered;
+            case OVERALL_PROFIT:
+            case BY_GAME_PROFIT:
+                return profit;
+            case TOP_LOSERS:
+            case BY_GAME_LOSSES:
+                return -profit;
+            case WIN_RATE:
+            case BY_GAME_WIN_RATE:
+                return bets > 0 ? wins * 100.0 / bets : 0.0; // Percentage
+            default:
+                throw new IllegalArgumentException("Unsupported ranking type: " + type);
+        }
+    }
+
+    /**
+     * A participant's place on the leaderboard.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class Standing {
+        private int position;
+        private final Long userId;
+        private final String username;
+        private final LocalDateTime registeredAt;
+        private final double score;
+        private final long bets;
+        private final long wins;
+        private final double wagered;
+        private final double profit;
+    }
+
+    private static final class Participant {
+        private final Long userId;
+        private final String username;
+        private final LocalDateTime registeredAt;
+        private long bets;
+        private long wins;
+        private double wagered;
+        private double profit;
+
+        Participant(Long userId, String username, LocalDateTime registeredAt) {
+            this.userId = userId;
+            this.username = username;
+            this.registeredAt = registeredAt;
+        }
+
+        synchronized void record(double amount, double winloss) {
+            bets++;
+            if (winloss > 0) {
+                wins++;
+            }
+            wagered += amount;
+            profit += winloss;
+        }
+
+        synchronized void add(long bets, long wins, double wagered, double profit) {
+            this.bets += bets;
+            this.wins += wins;
+            this.wagered += wagered;
+            this.profit += profit;
+        }
+
+        synchronized Standing standing(RankingType type) {
+            return new Standing(0, userId, username, registeredAt, score(type, bets, wins, wagered, profit),
+                    bets, wins, wagered, profit);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package udaw.casino.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import udaw.casino.model.Bet;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Published by the bet service whenever bets are settled, once per settlement call.
+ * Carries a flat copy of each bet so listeners running after the transaction commits
+ * never touch the entities or the database.
+ */
+@Getter
+public class BetsSettledEvent {
+
+    private final List<SettledBet> bets;
+
+    public BetsSettledEvent(List<SettledBet> bets) {
+        this.bets = Collections.unmodifiableList(bets);
+    }
+
+    /**
+     * @param bets Settled bets with their user and game set
+     * @return The event describing them
+     */
+    public static BetsSettledEvent of(List<Bet> bets) {
+        List<SettledBet> settled = new ArrayList<>(bets.size());
+        for (Bet bet : bets) {
+            settled.add(new SettledBet(bet.getUser().getId(), bet.getGame().getId(), bet.getGame().getName(),
+                    bet.getAmount(), bet.getWinloss(), bet.getBetDate()));
+        }
+        return new BetsSettledEvent(settled);
+    }
+
+    /**
+     * The parts of a settled bet needed by listeners.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class SettledBet {
+        private final Long userId;
+        private final Long gameId;
+        private final String gameName;
+        private final double amount;
+        private final double winloss;
+        private final LocalDateTime betDate;
+    }
+}
@@ -0,0 +1,27 @@
+package udaw.casino.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by the user service when a change to an account affects its credentials
+ * or permissions, so tokens and other state derived from the account can be dropped.
+ */
+@Getter
+@AllArgsConstructor
+public class UserAccountChangedEvent {
+
+    /** What changed. */
+    public enum Change {
+        /** Role or username changed: tokens carry both as claims. */
+        CLAIMS_CHANGED,
+        /** Account deleted. */
+        DELETED
+    }
+
+    private final Long userId;
+
+    /** Username of the account after the change. */
+    private final String username;
+    private final Change change;
+}
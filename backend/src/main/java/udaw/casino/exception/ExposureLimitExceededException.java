@@ -0,0 +1,15 @@
+package udaw.casino.exception;
+
+/**
+ * Thrown when accepting a roulette chip would push the house's worst-case
+ * liability for the round beyond the configured table limit.
+ */
+public class ExposureLimitExceededException extends RuntimeException {
+    public ExposureLimitExceededException(String message) {
+        super(message);
+    }
+
+    public ExposureLimitExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,5 +1,6 @@
 package udaw.casino.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -62,6 +63,20 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }
     
+    /**
+     * Handles saturation of a bounded resource, telling the client when to retry
+     */
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<Object> handleServiceBusyException(ServiceBusyException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "error");
+        response.put("message", ex.getMessage());
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+    
     /**
      * Handles all other exceptions
      */
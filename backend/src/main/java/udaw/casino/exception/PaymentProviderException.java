@@ -0,0 +1,26 @@
+package udaw.casino.exception;
+
+/**
+ * Thrown when the payment provider fails, times out or cannot be reached.
+ * Mapped to 502 Bad Gateway, or 504 Gateway Timeout for timeouts.
+ */
+public class PaymentProviderException extends RuntimeException {
+
+    private final boolean timeout;
+
+    public PaymentProviderException(String message, Throwable cause) {
+        this(message, cause, false);
+    }
+
+    public PaymentProviderException(String message, Throwable cause, boolean timeout) {
+        super(message, cause);
+        this.timeout = timeout;
+    }
+
+    /**
+     * @return true if the provider did not answer in time
+     */
+    public boolean isTimeout() {
+        return timeout;
+    }
+}
@@ -0,0 +1,22 @@
+package udaw.casino.exception;
+
+/**
+ * Thrown when a bounded resource is saturated and the request should be retried later.
+ * Mapped to 503 Service Unavailable with a Retry-After header.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * @return Suggested number of seconds to wait before retrying
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,58 @@
+package udaw.casino.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a provably-fair seed pair of a user.
+ * The hash of the server seed is shown to the player while the pair is active;
+ * the server seed itself is only exposed once the pair has been rotated out.
+ */
+@Entity
+@Table(name = "fair_seeds", indexes = @Index(name = "idx_fair_seeds_user_active", columnList = "user_id, active"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class FairSeed {
+
+    /** Unique identifier for the seed pair (auto-generated). */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** ID of the user the seed pair belongs to. */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /** Hex encoded server seed. Kept secret until the pair is revealed. */
+    @Column(name = "server_seed", nullable = false, length = 64)
+    private String serverSeed;
+
+    /** Hex encoded SHA-256 of the server seed, committed to the player up front. */
+    @Column(name = "server_seed_hash", nullable = false, unique = true, length = 64)
+    private String serverSeedHash;
+
+    /** Seed chosen by the player. */
+    @Column(name = "client_seed", nullable = false, length = 64)
+    private String clientSeed;
+
+    /** Number of plays derived from the pair (the next nonce to use). */
+    @Column(name = "nonce", nullable = false)
+    private long nonce;
+
+    /** Whether the pair is still in use. Inactive pairs have been revealed. */
+    @Column(name = "active", nullable = false)
+    private boolean active;
+
+    /** Date and time when the pair was committed. */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /** Date and time when the server seed was revealed. */
+    @Column(name = "revealed_at")
+    private LocalDateTime revealedAt;
+}
@@ -0,0 +1,49 @@
+package udaw.casino.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing the stored response to a request made with an Idempotency-Key header.
+ * Only written when idempotency persistence is enabled, so retries are recognised across
+ * restarts and nodes; otherwise responses are kept in memory only.
+ */
+@Entity
+@Table(name = "idempotency_records", indexes = @Index(name = "idx_idempotency_records_expires_at", columnList = "expires_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class IdempotencyRecord {
+
+    /** Unique identifier for the record (auto-generated). */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Hex SHA-256 hash of the caller, endpoint and idempotency key. */
+    @Column(name = "record_key", nullable = false, unique = true, length = 64)
+    private String recordKey;
+
+    /** Hex SHA-256 hash of the request that produced the response. */
+    @Column(name = "fingerprint", nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(name = "status", nullable = false)
+    private int status;
+
+    @Column(name = "content_type", length = 255)
+    private String contentType;
+
+    @Column(name = "body")
+    private byte[] body;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
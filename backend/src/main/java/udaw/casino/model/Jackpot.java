@@ -0,0 +1,58 @@
+package udaw.casino.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a progressive jackpot pool.
+ * The amount only changes through atomic increments (flushed contributions) and
+ * through a hit, which pays the pool out and resets it to its seed amount.
+ */
+@Entity
+@Table(name = "jackpots")
+@Getter
+@Setter
+@NoArgsConstructor
+public class Jackpot {
+
+    /** Unique identifier for the jackpot (auto-generated). */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Name of the pool. */
+    @Column(name = "name", nullable = false, unique = true, length = 50)
+    private String name;
+
+    /** Current value of the pool. */
+    @Column(name = "amount", nullable = false)
+    private double amount;
+
+    /** Value the pool is reset to after a hit. */
+    @Column(name = "seed_amount", nullable = false)
+    private double seedAmount;
+
+    /** Number of times the pool has been won. */
+    @Column(name = "hits", nullable = false)
+    private long hits;
+
+    /** ID of the last winner. */
+    @Column(name = "last_winner_id")
+    private Long lastWinnerId;
+
+    /** Amount paid out by the last hit. */
+    @Column(name = "last_win_amount")
+    private Double lastWinAmount;
+
+    /** Date and time of the last hit. */
+    @Column(name = "last_hit_at")
+    private LocalDateTime lastHitAt;
+
+    /** Date and time of the last change to the amount. */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
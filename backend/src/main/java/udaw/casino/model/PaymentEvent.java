@@ -0,0 +1,68 @@
+package udaw.casino.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a payment provider webhook event waiting to be, or already, processed.
+ * The raw payload is stored once its signature has been verified, keyed by the provider's
+ * event ID, so a redelivered event is recognised and applied only once.
+ */
+@Entity
+@Table(name = "payment_events", indexes = @Index(name = "idx_payment_events_due", columnList = "status, next_attempt_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class PaymentEvent {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_PROCESSED = "PROCESSED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    /** Unique identifier for the event (auto-generated). */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Event ID assigned by the payment provider, e.g. "evt_..." for Stripe. */
+    @Column(name = "event_id", nullable = false, unique = true, length = 255)
+    private String eventId;
+
+    /** Event type, e.g. "payment_intent.succeeded". */
+    @Column(name = "type", nullable = false, length = 100)
+    private String type;
+
+    /** Raw JSON payload as received. */
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    /** PENDING until applied, then PROCESSED; FAILED once the retries are used up. */
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    /** Number of processing attempts so far. */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /** Earliest time of the next processing attempt. */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    /** Error of the last failed attempt, if any. */
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    /** Result of processing, e.g. the credits added. */
+    @Column(name = "result", length = 1000)
+    private String result;
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+}
@@ -0,0 +1,52 @@
+package udaw.casino.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a refresh token.
+ * Only the SHA-256 hash of the token is stored. Each token can be used once: using it
+ * revokes it and issues its successor in the same family, so presenting a used token
+ * again reveals a stolen token and revokes the whole family.
+ * The user is referenced by ID only, so deleting a user is never blocked by its tokens.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = @Index(name = "idx_refresh_tokens_user_id", columnList = "user_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class RefreshToken {
+
+    /** Unique identifier for the token (auto-generated). */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Hex SHA-256 hash of the token. */
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    /** Token family: the tokens issued from one login by successive refreshes. */
+    @Column(name = "family", nullable = false, length = 36)
+    private String family;
+
+    /** ID of the user the token was issued to. */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /** Date and time the token was issued. */
+    @Column(name = "issued_at", nullable = false)
+    private LocalDateTime issuedAt;
+
+    /** Date and time the token expires. */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /** Date and time the token was used or revoked; null while it is valid. */
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+}
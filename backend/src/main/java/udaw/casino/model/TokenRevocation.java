@@ -0,0 +1,47 @@
+package udaw.casino.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing the revocation of access tokens: either a single token, by its ID,
+ * or every token of a user issued before a point in time. Rows are shared by all nodes,
+ * which load them into their in-memory revocation list, and are deleted once the tokens
+ * they revoke have expired.
+ */
+@Entity
+@Table(name = "token_revocations", indexes = @Index(name = "idx_token_revocations_created_at", columnList = "created_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class TokenRevocation {
+
+    /** Unique identifier for the revocation (auto-generated). */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** ID ("jti") of the revoked token; null when all of a user's tokens are revoked. */
+    @Column(name = "token_id", length = 36)
+    private String tokenId;
+
+    /** User whose tokens are revoked; null when a single token is revoked. */
+    @Column(name = "user_id")
+    private Long userId;
+
+    /** Tokens of the user issued before this time (epoch milliseconds) are revoked. */
+    @Column(name = "not_before")
+    private Long notBefore;
+
+    /** Time (epoch milliseconds) after which every revoked token has expired. */
+    @Column(name = "expires_at", nullable = false)
+    private long expiresAt;
+
+    /** Date and time the revocation was recorded. */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,76 @@
+package udaw.casino.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a time-boxed tournament.
+ * Registered players are ranked by a {@link RankingType} metric over the bets they
+ * settle between the start and end of the tournament, optionally on a single game.
+ * The leaderboard is kept in memory while the tournament runs; the final standings
+ * are written to its entries when it closes.
+ */
+@Entity
+@Table(name = "tournaments")
+@Getter
+@Setter
+@NoArgsConstructor
+public class Tournament {
+
+    /** Tournament is accepting registrations or running. */
+    public static final String STATUS_OPEN = "OPEN";
+
+    /** Tournament has ended and its standings are final. */
+    public static final String STATUS_CLOSED = "CLOSED";
+
+    /** Unique identifier for the tournament (auto-generated). */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Display name of the tournament. */
+    @Column(name = "name", nullable = false, length = 100)
+    private String name;
+
+    /** Metric the participants are ranked by. */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "ranking_type", nullable = false, length = 30)
+    private RankingType rankingType;
+
+    /** Game the tournament is played on; null for all games. */
+    @ManyToOne
+    @JoinColumn(name = "game_id")
+    private Game game;
+
+    /** Start of the scoring window. */
+    @Column(name = "starts_at", nullable = false)
+    private LocalDateTime startsAt;
+
+    /** End of the scoring window (exclusive). */
+    @Column(name = "ends_at", nullable = false)
+    private LocalDateTime endsAt;
+
+    /** Smallest stake that counts towards the score. */
+    @Column(name = "min_bet_amount", nullable = false)
+    private double minBetAmount;
+
+    /** Largest number of participants; 0 for no limit. */
+    @Column(name = "max_participants", nullable = false)
+    private int maxParticipants;
+
+    /** Number of participants; written when the tournament closes. */
+    @Column(name = "participants", nullable = false)
+    private int participants;
+
+    /** OPEN or CLOSED. */
+    @Column(name = "status", nullable = false, length = 10)
+    private String status;
+
+    /** Date and time the standings were finalized. */
+    @Column(name = "closed_at")
+    private LocalDateTime closedAt;
+}
@@ -0,0 +1,64 @@
+package udaw.casino.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a player's registration in a tournament.
+ * The totals, score and position are only written when the tournament closes.
+ */
+@Entity
+@Table(name = "tournament_entries",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"tournament_id", "user_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class TournamentEntry {
+
+    /** Unique identifier for the entry (auto-generated). */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Tournament the player registered in. */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tournament_id", nullable = false)
+    private Tournament tournament;
+
+    /** Registered player. */
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    /** Date and time of registration; earlier bets do not count. */
+    @Column(name = "registered_at", nullable = false)
+    private LocalDateTime registeredAt;
+
+    /** Final position, 1 for the winner. */
+    @Column(name = "position")
+    private Integer position;
+
+    /** Final score by the tournament's ranking type. */
+    @Column(name = "score")
+    private Double score;
+
+    /** Number of bets counted. */
+    @Column(name = "bets")
+    private Long bets;
+
+    /** Number of winning bets counted. */
+    @Column(name = "wins")
+    private Long wins;
+
+    /** Total amount wagered. */
+    @Column(name = "wagered")
+    private Double wagered;
+
+    /** Net profit (sum of winloss). */
+    @Column(name = "profit")
+    private Double profit;
+}
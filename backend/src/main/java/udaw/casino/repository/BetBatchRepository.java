@@ -0,0 +1,72 @@
+package udaw.casino.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+
+import udaw.casino.model.Bet;
+
+/**
+ * JDBC repository for inserting large numbers of settled bets.
+ * Bet IDs use IDENTITY generation, which stops Hibernate from batching inserts,
+ * so bulk paths write the rows directly with JDBC batches instead. Inserted bets
+ * are not attached to the persistence context and their IDs are not read back.
+ */
+@Repository
+public class BetBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO bets (amount, bet_type, bet_value, winning_value, bet_date, status, winloss, user_id, game_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /** Rows sent to the database per JDBC batch. */
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BetBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts the given bets with batched statements. Joins the caller's transaction.
+     *
+     * @param bets Bets with user and game set
+     * @return The number of inserted rows
+     */
+    public int insertAll(List<Bet> bets) {
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, bets, BATCH_SIZE, new ParameterizedPreparedStatementSetter<Bet>() {
+            @Override
+            public void setValues(PreparedStatement ps, Bet bet) throws SQLException {
+                ps.setDouble(1, bet.getAmount());
+                ps.setString(2, bet.getBetType());
+                ps.setString(3, bet.getBetValue());
+                ps.setString(4, bet.getWinningValue());
+                ps.setTimestamp(5, Timestamp.valueOf(bet.getBetDate()));
+                ps.setString(6, bet.getStatus());
+                ps.setDouble(7, bet.getWinloss());
+                ps.setLong(8, bet.getUser().getId());
+                ps.setLong(9, bet.getGame().getId());
+            }
+        });
+        return bets.size() - countFailures(counts);
+    }
+
+    private static int countFailures(int[][] counts) {
+        int failures = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == Statement.EXECUTE_FAILED) {
+                    failures++;
+                }
+            }
+        }
+        return failures;
+    }
+}
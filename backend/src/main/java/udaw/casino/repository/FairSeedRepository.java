@@ -0,0 +1,67 @@
+package udaw.casino.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import udaw.casino.model.FairSeed;
+
+import jakarta.persistence.LockModeType;
+
+/**
+ * Repository interface for managing provably-fair seed pairs.
+ */
+@Repository
+public interface FairSeedRepository extends JpaRepository<FairSeed, Long> {
+
+    /**
+     * Finds the seed pair currently in use by a user.
+     *
+     * @param userId The ID of the user.
+     * @return An Optional containing the active pair if one exists.
+     */
+    Optional<FairSeed> findByUserIdAndActiveTrue(Long userId);
+
+    /**
+     * Finds the seed pair currently in use by a user and locks the row until the
+     * current transaction ends.
+     *
+     * @param userId The ID of the user.
+     * @return An Optional containing the locked active pair if one exists.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM FairSeed s WHERE s.userId = :userId AND s.active = true")
+    Optional<FairSeed> findActiveByUserIdForUpdate(@Param("userId") Long userId);
+
+    /**
+     * Finds a seed pair by ID and locks the row until the current transaction ends.
+     * Used to hand out nonces so plays on different nodes never share one.
+     *
+     * @param id The ID of the pair.
+     * @return An Optional containing the locked pair if found.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM FairSeed s WHERE s.id = :id")
+    Optional<FairSeed> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Finds the revealed seed pairs of a user, newest first.
+     *
+     * @param userId The ID of the user.
+     * @return A list of revealed pairs.
+     */
+    List<FairSeed> findByUserIdAndActiveFalseOrderByRevealedAtDesc(Long userId);
+
+    /**
+     * Finds a seed pair by the hash committed to the player.
+     *
+     * @param serverSeedHash The committed hash.
+     * @return An Optional containing the pair if found.
+     */
+    Optional<FairSeed> findByServerSeedHash(String serverSeedHash);
+}
@@ -0,0 +1,32 @@
+package udaw.casino.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import udaw.casino.model.IdempotencyRecord;
+
+/**
+ * Repository interface for managing IdempotencyRecord entities.
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByRecordKeyAndExpiresAtAfter(String recordKey, LocalDateTime now);
+
+    /**
+     * Deletes records that have expired.
+     *
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
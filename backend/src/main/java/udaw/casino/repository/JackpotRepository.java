@@ -0,0 +1,46 @@
+package udaw.casino.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import udaw.casino.model.Jackpot;
+
+import jakarta.persistence.LockModeType;
+
+/**
+ * Repository interface for managing Jackpot entities.
+ */
+@Repository
+public interface JackpotRepository extends JpaRepository<Jackpot, Long> {
+
+    Optional<Jackpot> findByName(String name);
+
+    /**
+     * Finds a jackpot by name and locks the row until the current transaction ends.
+     *
+     * @param name The jackpot name
+     * @return An Optional containing the locked jackpot if found
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM Jackpot j WHERE j.name = :name")
+    Optional<Jackpot> findByNameForUpdate(@Param("name") String name);
+
+    /**
+     * Atomically adds to a jackpot's amount, so concurrent flushes from several nodes never overwrite each other.
+     *
+     * @param name The jackpot name
+     * @param delta Amount to add
+     * @param now Update time
+     * @return Number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE Jackpot j SET j.amount = j.amount + :delta, j.updatedAt = :now WHERE j.name = :name")
+    int addToAmount(@Param("name") String name, @Param("delta") double delta, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,58 @@
+package udaw.casino.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import udaw.casino.model.PaymentEvent;
+
+/**
+ * Repository interface for managing PaymentEvent entities.
+ */
+@Repository
+public interface PaymentEventRepository extends JpaRepository<PaymentEvent, Long> {
+
+    /**
+     * Stores a new pending event unless one with the same event ID already exists.
+     *
+     * @return 1 if the event was stored, 0 if it was a redelivery
+     */
+    @Modifying
+    @Query(value = "INSERT INTO payment_events (event_id, type, payload, status, attempts, next_attempt_at, received_at) "
+            + "VALUES (:eventId, :type, :payload, 'PENDING', 0, :now, :now) ON CONFLICT (event_id) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("eventId") String eventId, @Param("type") String type,
+                       @Param("payload") String payload, @Param("now") LocalDateTime now);
+
+    /**
+     * Finds the IDs of pending events due for an attempt, oldest first.
+     */
+    @Query("SELECT e.id FROM PaymentEvent e WHERE e.status = 'PENDING' AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Locks a pending event for processing. Events already locked by another worker are
+     * skipped rather than waited for, so each event is processed by one worker at a time.
+     *
+     * @return The locked event, or empty if it is no longer pending or is being processed elsewhere
+     */
+    @Query(value = "SELECT * FROM payment_events WHERE id = :id AND status = 'PENDING' FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    Optional<PaymentEvent> lockPending(@Param("id") Long id);
+
+    /**
+     * Deletes processed events older than the given time.
+     *
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM PaymentEvent e WHERE e.status = 'PROCESSED' AND e.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,61 @@
+package udaw.casino.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import udaw.casino.model.RefreshToken;
+
+import jakarta.persistence.LockModeType;
+
+/**
+ * Repository interface for managing RefreshToken entities.
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Finds a refresh token by hash and locks the row, so a token cannot be used twice concurrently.
+     *
+     * @param tokenHash Hex SHA-256 hash of the token
+     * @return An Optional containing the locked token if found
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM RefreshToken t WHERE t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHashForUpdate(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Revokes every valid token of a family.
+     *
+     * @return Number of revoked tokens
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.family = :family AND t.revokedAt IS NULL")
+    int revokeFamily(@Param("family") String family, @Param("now") LocalDateTime now);
+
+    /**
+     * Revokes every valid token of a user.
+     *
+     * @return Number of revoked tokens
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.userId = :userId AND t.revokedAt IS NULL")
+    int revokeAllForUser(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    /**
+     * Deletes tokens that expired before the given time.
+     *
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :cutoff")
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
+}
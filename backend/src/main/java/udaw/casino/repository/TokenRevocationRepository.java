@@ -0,0 +1,33 @@
+package udaw.casino.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import udaw.casino.model.TokenRevocation;
+
+/**
+ * Repository interface for managing TokenRevocation entities.
+ */
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    List<TokenRevocation> findByExpiresAtGreaterThan(long now);
+
+    List<TokenRevocation> findByCreatedAtAfter(LocalDateTime since);
+
+    /**
+     * Deletes the revocations whose tokens have all expired.
+     *
+     * @param now Current time in epoch milliseconds
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM TokenRevocation r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") long now);
+}
@@ -0,0 +1,37 @@
+package udaw.casino.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import udaw.casino.model.TournamentEntry;
+
+/**
+ * Repository interface for managing TournamentEntry entities.
+ */
+@Repository
+public interface TournamentEntryRepository extends JpaRepository<TournamentEntry, Long> {
+
+    /**
+     * Finds the entries of a tournament with their users loaded.
+     *
+     * @param tournamentId The tournament ID
+     * @return The tournament's entries
+     */
+    @Query("SELECT e FROM TournamentEntry e JOIN FETCH e.user WHERE e.tournament.id = :tournamentId")
+    List<TournamentEntry> findWithUserByTournamentId(@Param("tournamentId") Long tournamentId);
+
+    /**
+     * Finds the final standings of a closed tournament, best first.
+     *
+     * @param tournamentId The tournament ID
+     * @param pageable Number of standings to read
+     * @return The tournament's entries ordered by position
+     */
+    @Query("SELECT e FROM TournamentEntry e JOIN FETCH e.user WHERE e.tournament.id = :tournamentId ORDER BY e.position ASC")
+    List<TournamentEntry> findStandingsByTournamentId(@Param("tournamentId") Long tournamentId, Pageable pageable);
+}
@@ -0,0 +1,36 @@
+package udaw.casino.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import udaw.casino.model.Tournament;
+
+import jakarta.persistence.LockModeType;
+
+/**
+ * Repository interface for managing Tournament entities.
+ */
+@Repository
+public interface TournamentRepository extends JpaRepository<Tournament, Long> {
+
+    List<Tournament> findByStatus(String status);
+
+    List<Tournament> findAllByOrderByStartsAtDesc();
+
+    /**
+     * Finds a tournament by ID and locks the row until the current transaction ends,
+     * so only one node closes it.
+     *
+     * @param id The ID of the tournament.
+     * @return An Optional containing the locked tournament if found.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Tournament t WHERE t.id = :id")
+    Optional<Tournament> findByIdForUpdate(@Param("id") Long id);
+}
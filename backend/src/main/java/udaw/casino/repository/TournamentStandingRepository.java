@@ -0,0 +1,87 @@
+package udaw.casino.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+
+import udaw.casino.engine.TournamentLeaderboard;
+import udaw.casino.model.Tournament;
+
+/**
+ * JDBC repository for tournament standings.
+ * Final standings are written to the entries with one batched update when a tournament
+ * closes, and a running tournament's totals can be rebuilt from the bets table with
+ * one aggregate query, e.g. after a restart.
+ */
+@Repository
+public class TournamentStandingRepository {
+
+    private static final String UPDATE_SQL =
+            "UPDATE tournament_entries SET position = ?, score = ?, bets = ?, wins = ?, wagered = ?, profit = ? "
+            + "WHERE tournament_id = ? AND user_id = ?";
+
+    /** Rows sent to the database per JDBC batch. */
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TournamentStandingRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Writes the final standings of a tournament to its entries. Joins the caller's transaction.
+     *
+     * @param tournamentId The tournament ID
+     * @param standings Ranked standings
+     */
+    public void saveStandings(Long tournamentId, List<TournamentLeaderboard.Standing> standings) {
+        jdbcTemplate.batchUpdate(UPDATE_SQL, standings, BATCH_SIZE,
+                new ParameterizedPreparedStatementSetter<TournamentLeaderboard.Standing>() {
+            @Override
+            public void setValues(PreparedStatement ps, TournamentLeaderboard.Standing standing) throws SQLException {
+                ps.setInt(1, standing.getPosition());
+                ps.setDouble(2, standing.getScore());
+                ps.setLong(3, standing.getBets());
+                ps.setLong(4, standing.getWins());
+                ps.setDouble(5, standing.getWagered());
+                ps.setDouble(6, standing.getProfit());
+                ps.setLong(7, tournamentId);
+                ps.setLong(8, standing.getUserId());
+            }
+        });
+    }
+
+    /**
+     * Sums the qualifying bets every participant of a tournament placed since they
+     * registered and adds the totals to the tournament's leaderboard.
+     *
+     * @param tournament The tournament
+     * @param leaderboard Its leaderboard, with the participants registered
+     */
+    public void restoreTotals(Tournament tournament, TournamentLeaderboard leaderboard) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT e.user_id, COUNT(b.id), SUM(CASE WHEN b.winloss > 0 THEN 1 ELSE 0 END), SUM(b.amount), SUM(b.winloss) "
+                + "FROM tournament_entries e JOIN bets b ON b.user_id = e.user_id AND b.bet_date >= e.registered_at "
+                + "WHERE e.tournament_id = ? AND b.bet_date >= ? AND b.bet_date < ? AND b.amount > 0 AND b.amount >= ?");
+        List<Object> args = new ArrayList<>();
+        args.add(tournament.getId());
+        args.add(Timestamp.valueOf(tournament.getStartsAt()));
+        args.add(Timestamp.valueOf(tournament.getEndsAt()));
+        args.add(tournament.getMinBetAmount());
+        if (tournament.getGame() != null) {
+            sql.append(" AND b.game_id = ?");
+            args.add(tournament.getGame().getId());
+        }
+        sql.append(" GROUP BY e.user_id");
+        jdbcTemplate.query(sql.toString(), rs -> {
+            leaderboard.restore(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getDouble(4), rs.getDouble(5));
+        }, args.toArray());
+    }
+}
@@ -1,12 +1,19 @@
 package udaw.casino.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import udaw.casino.model.User;
 
+import jakarta.persistence.LockModeType;
+
 /**
  * Repository interface for managing User entities in the casino system.
  * Provides methods for finding users by username or email, and checking
@@ -50,4 +57,26 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true if a user with the email exists, false otherwise.
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Finds a user by ID and locks the row until the current transaction ends.
+     * Used when many balance changes are applied in one transaction.
+     *
+     * @param id The ID of the user.
+     * @return An Optional containing the locked User if found, otherwise an empty Optional.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Finds users by ID and locks their rows, in ID order, until the current transaction ends.
+     * Locking in a fixed order keeps transactions settling overlapping sets of users from deadlocking.
+     *
+     * @param ids The IDs of the users.
+     * @return The locked users that exist, ordered by ID.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id IN :ids ORDER BY u.id")
+    List<User> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
 }
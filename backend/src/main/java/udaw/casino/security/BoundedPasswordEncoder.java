@@ -0,0 +1,137 @@
+package udaw.casino.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import udaw.casino.exception.ServiceBusyException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt password encoder that hashes on a dedicated, bounded pool of threads.
+ *
+ * BCrypt is deliberately slow, so a burst of logins or registrations hashing on request
+ * threads would starve every other request sharing the servlet pool. Here at most
+ * {@code threads} hashes run at once and at most {@code queueCapacity} wait; the calling
+ * thread waits for its result. When the queue is full, or a hash waits longer than
+ * {@code maxWaitMillis}, a {@link ServiceBusyException} is thrown straight away, which
+ * the controllers turn into 503 with a Retry-After estimated from the recent hash time.
+ *
+ * Hash latency is published as the {@code password.hash} timer (tagged by operation),
+ * along with the queue depth and the number of rejected hashes.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMillis;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    /**
+     * @param strength BCrypt cost factor (log2 of the number of rounds), 4 to 31
+     * @param threads Number of hashing threads
+     * @param queueCapacity Number of hashes allowed to wait for a thread
+     * @param maxWaitMillis Longest time a caller waits for its hash, queueing included
+     * @param meterRegistry Registry the hashing meters are published to
+     */
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, long maxWaitMillis,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.maxWaitMillis = maxWaitMillis;
+
+        this.encodeTimer = Timer.builder("password.hash")
+                .description("Time spent hashing passwords")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hash")
+                .description("Time spent hashing passwords")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("password.hash.rejected")
+                .description("Password hashes refused because the hashing pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.queue", executor, e -> e.getQueue().size())
+                .description("Password hashes waiting for a thread")
+                .register(meterRegistry);
+        log.info("Hashing passwords with BCrypt cost {} on {} threads (queue {})", strength, threads, queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Stops the hashing threads once queued hashes are done.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Callable<T> hash) {
+        Future<T> future;
+        try {
+            future = executor.submit(hash);
+        } catch (RejectedExecutionException e) {
+            throw busy();
+        }
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private ServiceBusyException busy() {
+        rejected.increment();
+        // Time for the pool to work through what is queued now, from the recent mean hash time
+        double meanMillis = Math.max(encodeTimer.mean(TimeUnit.MILLISECONDS), matchesTimer.mean(TimeUnit.MILLISECONDS));
+        double backlogMillis = meanMillis * (executor.getQueue().size() + executor.getActiveCount())
+                / executor.getMaximumPoolSize();
+        long retryAfter = Math.max(1, (long) Math.ceil(backlogMillis / 1000));
+        return new ServiceBusyException("Too many logins in progress, please retry shortly", retryAfter);
+    }
+}
@@ -0,0 +1,24 @@
+package udaw.casino.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+/**
+ * Immutable snapshot of a user's authentication data, as cached by {@link UserDetailsServiceImpl}.
+ *
+ * Unlike Spring's own {@code User}, it does not implement {@code CredentialsContainer}, so the
+ * authentication manager's credential erasure cannot blank the password of a cached instance.
+ */
+@Getter
+@AllArgsConstructor
+final class CachedUserDetails implements UserDetails {
+
+    private final Long userId;
+    private final String username;
+    private final String password;
+    private final List<GrantedAuthority> authorities;
+}
@@ -0,0 +1,246 @@
+package udaw.casino.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import udaw.casino.service.IdempotencyStore;
+import udaw.casino.service.IdempotencyStore.Outcome;
+import udaw.casino.service.IdempotencyStore.StoredResponse;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Filter making POST requests on the play, bet and payment endpoints idempotent for
+ * clients that send an {@code Idempotency-Key} header.
+ *
+ * Runs after JWT authentication, so keys are scoped to the authenticated user (or to the
+ * client address for anonymous requests) and to the endpoint. A retry with the same key
+ * and the same body gets the stored response, marked with {@code Idempotent-Replayed: true},
+ * instead of settling again; the same key with a different body gets 422. A retry arriving
+ * while the first request is still running waits for it. Server errors and throttling
+ * responses (429, 503) are not stored, so the retry executes again.
+ *
+ * Endpoints are configured as Ant-style path patterns, so routes with path variables
+ * (games played through the engine registry, roulette tables, blackjack actions) are
+ * covered. JSON bodies are read up front to fingerprint the request and replayed to the
+ * controller; form-encoded bodies are left to the container, which parses them into
+ * request parameters, and the parameters are fingerprinted instead.
+ *
+ * Requests are counted in {@code idempotency.requests}, tagged by outcome.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    private final IdempotencyStore store;
+    private final MeterRegistry meterRegistry;
+    private final List<String> paths;
+    private final long waitMillis;
+
+    public IdempotencyFilter(IdempotencyStore store, MeterRegistry meterRegistry,
+                             @Value("${idempotency.paths:/api/bets,/api/dice/play,/api/dice/auto,/api/games/*/play,"
+                                     + "/api/games/roulette/play-multibet,/api/games/roulette/tables/*/bets,"
+                                     + "/api/slots/spin,/api/slots/spin/bulk,/api/blackjack/**,"
+                                     + "/api/payments/process}") List<String> paths,
+                             @Value("${idempotency.wait-ms:10000}") long waitMillis) {
+        this.store = store;
+        this.meterRegistry = meterRegistry;
+        this.paths = List.copyOf(paths);
+        this.waitMillis = waitMillis;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        for (String pattern : paths) {
+            if (MATCHER.match(pattern, path)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        HttpServletRequest forwarded;
+        String content;
+        if (isForm(request)) {
+            forwarded = request;
+            content = parameters(request);
+        } else {
+            CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+            forwarded = cachedRequest;
+            content = new String(cachedRequest.body, StandardCharsets.UTF_8);
+        }
+        String key = caller(request) + " " + request.getRequestURI() + " " + idempotencyKey;
+        String fingerprint = IdempotencyStore.hash(request.getQueryString() + "\n" + content);
+
+        Outcome outcome;
+        try {
+            outcome = store.acquire(key, fingerprint, waitMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writeError(response, HttpStatus.SERVICE_UNAVAILABLE, "Request interrupted, please retry");
+            return;
+        }
+        meterRegistry.counter("idempotency.requests", "outcome", outcome.getType().name().toLowerCase()).increment();
+
+        switch (outcome.getType()) {
+            case REPLAY -> {
+                StoredResponse stored = outcome.getResponse();
+                response.setStatus(stored.getStatus());
+                if (stored.getContentType() != null) {
+                    response.setContentType(stored.getContentType());
+                }
+                response.setHeader(REPLAYED_HEADER, "true");
+                response.getOutputStream().write(stored.getBody());
+            }
+            case MISMATCH -> writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " was already used for a different request");
+            case IN_PROGRESS -> {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                writeError(response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is still in progress");
+            }
+            case EXECUTE -> execute(forwarded, response, filterChain, key, fingerprint);
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         String key, String fingerprint) throws ServletException, IOException {
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        StoredResponse stored = null;
+        try {
+            filterChain.doFilter(request, cachingResponse);
+            int status = cachingResponse.getStatus();
+            if (status < 500 && status != HttpStatus.TOO_MANY_REQUESTS.value()) {
+                stored = new StoredResponse(fingerprint, status, cachingResponse.getContentType(),
+                        cachingResponse.getContentAsByteArray());
+            }
+        } finally {
+            store.complete(key, stored);
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private static String caller(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return "user:" + principal.getUserId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static boolean isForm(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null
+                && contentType.toLowerCase().startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE);
+    }
+
+    /** The request parameters in a canonical order. */
+    private static String parameters(HttpServletRequest request) {
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            for (String value : parameter.getValue()) {
+                out.append(parameter.getKey()).append('=').append(value).append('&');
+            }
+        }
+        return out.toString();
+    }
+
+    private static void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"" + message + "\"}");
+    }
+
+    /**
+     * Request whose body has been read up front, so it can be hashed and still be read by the controller.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(@NonNull byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? java.nio.charset.Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -1,39 +1,53 @@
 package udaw.casino.security;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import udaw.casino.model.Role;
 
 import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Filter for handling JWT authentication in the casino system.
  * This filter intercepts incoming requests, extracts the JWT token from the Authorization header,
- * validates the token, and sets the authentication in the security context if valid.
+ * verifies it once (or finds it in the verified-token cache), and sets the authentication in the
+ * security context if valid.
+ * The principal and authorities come from the token's claims, so no user lookup is made.
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtUtils jwtUtils;
-    private final UserDetailsServiceImpl userDetailsService;
+    // One immutable authority list per role, shared by all requests
+    private static final Map<Role, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(Role.class);
+
+    static {
+        for (Role role : Role.values()) {
+            AUTHORITIES.put(role, List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        }
+    }
+
+    private final VerifiedTokenCache verifiedTokenCache;
 
     /**
-     * Constructs a new JwtAuthenticationFilter with the required JwtUtils and UserDetailsService.
+     * Constructs a new JwtAuthenticationFilter with the required token cache.
      *
-     * @param jwtUtils The utility for handling JWT operations.
-     * @param userDetailsService The service for loading user details.
+     * @param verifiedTokenCache The cache verifying tokens not seen recently.
      */
-    public JwtAuthenticationFilter(JwtUtils jwtUtils, UserDetailsServiceImpl userDetailsService) {
-        this.jwtUtils = jwtUtils;
-        this.userDetailsService = userDetailsService;
+    public JwtAuthenticationFilter(VerifiedTokenCache verifiedTokenCache) {
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
     /**
@@ -54,26 +68,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
-
-        // Extract JWT token from Authorization header
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+        // Extract JWT token from Authorization header and verify it (once, unless recently verified)
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String jwt = authorizationHeader.substring(7);
+            JwtPrincipal principal = null;
             try {
-                username = jwtUtils.extractUsername(jwt);
-            } catch (Exception e) {
-                logger.error("Error extracting username from token", e);
+                principal = verifiedTokenCache.verify(jwt);
+            } catch (JwtException | IllegalArgumentException e) {
+                logger.debug("Rejected JWT token: " + e.getMessage());
             }
-        }
-
-        // Validate token and set authentication in security context
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
 
-            if (jwtUtils.validateToken(jwt, userDetails)) {
+            // Set authentication in security context from the token's claims
+            if (principal != null) {
                 UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+                        principal, null, AUTHORITIES.get(principal.getRole()));
                 authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authenticationToken);
             }
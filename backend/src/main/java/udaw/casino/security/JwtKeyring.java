@@ -0,0 +1,252 @@
+package udaw.casino.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keyring of the HMAC keys used to sign and verify JWT tokens.
+ *
+ * Keys are derived from a master secret, one per rotation period:
+ * {@code key(p) = HMAC-SHA512(master, "jwt-signing-key:" + p)}, with a key ID made of a
+ * fingerprint of the secret and the period number.
+ * Tokens are signed with the current period's key and carry its ID in the {@code kid}
+ * header; the keys of the previous periods stay valid for verification for as long as a
+ * token signed with them can live, plus the next period's key to tolerate clock skew.
+ * Every node configured with the same master secret therefore derives the same keyring
+ * and rotates at the same moment without coordinating, so tokens survive restarts,
+ * rolling deploys and load balancing across nodes.
+ *
+ * The master secret is read from {@code jwt.secret} (Base64, at least 64 bytes) or, if
+ * that is blank, from a PKCS12 keystore file, which is created with a random secret on
+ * first start. When the secret is replaced, the old one can be listed in
+ * {@code jwt.previous-secrets} so the tokens it signed stay valid until they expire.
+ */
+@Component
+@Slf4j
+public class JwtKeyring {
+
+    private static final String HMAC = "HmacSHA512";
+    private static final String KEYSTORE_ALIAS = "jwt-master";
+    private static final int SECRET_BYTES = 64;
+
+    private final Secret master;
+    private final List<Secret> previous;
+    private final long rotationMillis;
+    private final long tokenLifetimeMillis;
+
+    private volatile Ring ring;
+
+    public JwtKeyring(@Value("${jwt.secret:}") String secret,
+                      @Value("${jwt.keystore.path:jwt-keystore.p12}") String keystorePath,
+                      @Value("${jwt.keystore.password:changeit}") String keystorePassword,
+                      @Value("${jwt.rotation-interval-ms:86400000}") long rotationMillis,
+                      @Value("${jwt.expiration:900000}") long tokenLifetimeMillis,
+                      @Value("${jwt.previous-secrets:}") String previousSecrets) {
+        if (rotationMillis < 60_000) {
+            throw new IllegalArgumentException("jwt.rotation-interval-ms must be at least one minute");
+        }
+        this.master = new Secret(secret.isBlank()
+                ? loadOrCreateSecret(Paths.get(keystorePath), keystorePassword.toCharArray())
+                : decodeSecret(secret, "jwt.secret"));
+        this.previous = new ArrayList<>();
+        for (String value : previousSecrets.split(",")) {
+            if (!value.isBlank()) {
+                this.previous.add(new Secret(decodeSecret(value, "jwt.previous-secrets")));
+            }
+        }
+        this.rotationMillis = rotationMillis;
+        this.tokenLifetimeMillis = tokenLifetimeMillis;
+        rotate();
+    }
+
+    /**
+     * @return The key new tokens are signed with, with its ID
+     */
+    public SigningKey signingKey() {
+        Ring current = ring;
+        if (current.period != period(System.currentTimeMillis())) {
+            current = rotate();
+        }
+        return current.signing;
+    }
+
+    /**
+     * @param keyId The {@code kid} header of a token
+     * @return The key to verify the token with, or null if the ID is unknown or retired
+     */
+    public SecretKey verificationKey(String keyId) {
+        if (keyId == null) {
+            return null;
+        }
+        Ring current = ring;
+        if (current.period != period(System.currentTimeMillis())) {
+            current = rotate();
+        }
+        return current.verification.get(keyId);
+    }
+
+    /**
+     * Moves the keyring to the current rotation period if it has changed, so the switch
+     * happens in the background rather than on a request.
+     */
+    @Scheduled(fixedDelayString = "${jwt.rotation-check-interval-ms:60000}")
+    public void refresh() {
+        rotate();
+    }
+
+    private synchronized Ring rotate() {
+        long period = period(System.currentTimeMillis());
+        Ring current = ring;
+        if (current != null && current.period == period) {
+            return current;
+        }
+        // Keys stay valid while a token signed with them can still be unexpired
+        long retained = (tokenLifetimeMillis + rotationMillis - 1) / rotationMillis;
+        Map<String, SecretKey> verification = new HashMap<>();
+        for (long p = period - retained; p <= period + 1; p++) {
+            verification.put(master.keyId(p), master.derive(p));
+            for (Secret secret : previous) {
+                verification.put(secret.keyId(p), secret.derive(p));
+            }
+        }
+        String signingId = master.keyId(period);
+        Ring updated = new Ring(period, new SigningKey(signingId, verification.get(signingId)),
+                Collections.unmodifiableMap(verification));
+        ring = updated;
+        log.info("JWT keyring at period {}: signing with key {}, {} verification keys", period,
+                signingId, verification.size());
+        return updated;
+    }
+
+    private long period(long epochMillis) {
+        return Math.floorDiv(epochMillis, rotationMillis);
+    }
+
+    private static byte[] loadOrCreateSecret(Path path, char[] password) {
+        try {
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            KeyStore.PasswordProtection protection = new KeyStore.PasswordProtection(password);
+            if (Files.exists(path)) {
+                try (InputStream in = Files.newInputStream(path)) {
+                    keyStore.load(in, password);
+                }
+                KeyStore.Entry entry = keyStore.getEntry(KEYSTORE_ALIAS, protection);
+                if (!(entry instanceof KeyStore.SecretKeyEntry secretEntry)) {
+                    throw new IllegalStateException("Keystore " + path + " has no secret key \"" + KEYSTORE_ALIAS + "\"");
+                }
+                log.info("Loaded JWT master secret from {}", path.toAbsolutePath());
+                return secretEntry.getSecretKey().getEncoded();
+            }
+
+            byte[] secret = new byte[SECRET_BYTES];
+            new SecureRandom().nextBytes(secret);
+            keyStore.load(null, password);
+            keyStore.setEntry(KEYSTORE_ALIAS, new KeyStore.SecretKeyEntry(new SecretKeySpec(secret, HMAC)), protection);
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (OutputStream out = Files.newOutputStream(path)) {
+                keyStore.store(out, password);
+            }
+            log.warn("Created a new JWT master secret in {}; nodes that must accept each other's tokens need "
+                    + "the same file or the same jwt.secret", path.toAbsolutePath());
+            return secret;
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Could not load or create JWT keystore " + path, e);
+        }
+    }
+
+    private static byte[] decodeSecret(String value, String property) {
+        byte[] secret;
+        try {
+            secret = Base64.getDecoder().decode(value.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(property + " must be Base64", e);
+        }
+        if (secret.length < SECRET_BYTES) {
+            throw new IllegalArgumentException(property + " must be at least " + SECRET_BYTES + " bytes");
+        }
+        return secret;
+    }
+
+    /**
+     * A signing key and its ID.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class SigningKey {
+        private final String keyId;
+        private final SecretKey key;
+    }
+
+    /**
+     * A master secret and the per-period keys derived from it.
+     */
+    private static final class Secret {
+        private final byte[] value;
+        private final String fingerprint;
+
+        Secret(byte[] value) {
+            this.value = value;
+            try {
+                byte[] hash = MessageDigest.getInstance("SHA-256").digest(value);
+                this.fingerprint = HexFormat.of().formatHex(hash, 0, 4);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+
+        String keyId(long period) {
+            return fingerprint + "-" + period;
+        }
+
+        SecretKey derive(long period) {
+            try {
+                Mac mac = Mac.getInstance(HMAC);
+                mac.init(new SecretKeySpec(value, HMAC));
+                byte[] key = mac.doFinal(("jwt-signing-key:" + period).getBytes(StandardCharsets.US_ASCII));
+                return new SecretKeySpec(key, HMAC);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Could not derive JWT signing key", e);
+            }
+        }
+    }
+
+    /**
+     * The keys of one rotation period.
+     */
+    @AllArgsConstructor
+    private static final class Ring {
+        private final long period;
+        private final SigningKey signing;
+        private final Map<String, SecretKey> verification;
+    }
+}
@@ -0,0 +1,48 @@
+package udaw.casino.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import udaw.casino.model.Role;
+
+import java.security.Principal;
+
+/**
+ * Authenticated user as described by the claims of a verified JWT.
+ * Used as the principal of API requests so that authentication needs no database lookup;
+ * {@link #getName()} returns the username, so {@code Authentication.getName()} keeps working.
+ */
+@Getter
+@AllArgsConstructor
+public class JwtPrincipal implements Principal {
+
+    private final Long userId;
+    private final String username;
+    private final Role role;
+
+    /** ID of the token ("jti"), used to revoke it; null for tokens issued without one. */
+    private final String tokenId;
+
+    /** Issue time of the token, in epoch milliseconds (whole seconds). */
+    private final long issuedAt;
+
+    /** Expiration of the token, in epoch milliseconds. */
+    private final long expiresAt;
+
+    /**
+     * @param userId User ID named in a request body
+     * @return Whether this principal is that user
+     */
+    public boolean actsFor(Long userId) {
+        return userId != null && userId.equals(this.userId);
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
@@ -1,42 +1,105 @@
 package udaw.casino.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import udaw.casino.model.Role;
+import udaw.casino.model.User;
 
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
 
 /**
  * Utility class for handling JWT (JSON Web Token) operations.
- * This class provides methods for generating, validating, and extracting information from JWT tokens.
+ * This class provides methods for generating JWT tokens and verifying them into a {@link JwtPrincipal}.
  * It uses the HS512 algorithm for signing tokens and supports token expiration.
+ * Keys come from the {@link JwtKeyring}: tokens name their signing key in the {@code kid}
+ * header and are verified with that key, so tokens stay valid across restarts, nodes and
+ * key rotations.
+ * Tokens carry the user's ID and role as claims, so a request can be authenticated
+ * from the token alone with one signature verification and no database lookup.
  */
 @Component
 public class JwtUtils {
 
-    // Secret key for signing JWT tokens
-    private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS512);
+    /** Claim holding the user's ID. */
+    public static final String CLAIM_USER_ID = "uid";
+
+    /** Claim holding the user's role. */
+    public static final String CLAIM_ROLE = "role";
+
+    private final JwtKeyring keyring;
+
+    // Parsers are thread-safe, so one is built up front instead of one per call
+    private final JwtParser parser;
     
-    @Value("${jwt.expiration:86400000}") // Default to 24 hours
+    @Value("${jwt.expiration:900000}") // Default to 15 minutes
     private long jwtExpiration;
 
     /**
-     * Generates a JWT token for a given username.
+     * Constructs a new JwtUtils signing and verifying with the given keyring.
      *
-     * @param username The username to include in the token.
+     * @param keyring The keyring providing the signing and verification keys.
+     */
+    public JwtUtils(JwtKeyring keyring) {
+        this.keyring = keyring;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = keyring.verificationKey(header.getKeyId());
+                        if (key == null) {
+                            throw new JwtException("Unknown or retired signing key: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Generates a JWT token for a given user, with the user's ID and role as claims.
+     *
+     * @param user The user to issue the token to.
      * @return A JWT token as a string.
      */
-    public String generateToken(String username) {
+    public String generateToken(User user) {
         Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, username);
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_ROLE, user.getRole().name());
+        return createToken(claims, user.getUsername());
+    }
+
+    /**
+     * Verifies a JWT token and reads the user it was issued to. The token is parsed and
+     * its signature and expiration checked exactly once.
+     *
+     * @param token The JWT token.
+     * @return The user described by the token's claims.
+     * @throws JwtException if the token is invalid, expired or lacks the user claims.
+     */
+    public JwtPrincipal parseToken(String token) {
+        Claims claims = extractAllClaims(token);
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (userId == null || role == null || claims.getSubject() == null || claims.getIssuedAt() == null) {
+            throw new JwtException("Token does not carry the user claims");
+        }
+        try {
+            return new JwtPrincipal(userId.longValue(), claims.getSubject(), Role.valueOf(role), claims.getId(),
+                    claims.getIssuedAt().getTime(), claims.getExpiration().getTime());
+        } catch (IllegalArgumentException e) {
+            throw new JwtException("Unknown role in token: " + role);
+        }
     }
 
     /**
@@ -47,59 +110,18 @@ public class JwtUtils {
      * @return A JWT token as a string.
      */
     private String createToken(Map<String, Object> claims, String subject) {
+        JwtKeyring.SigningKey signingKey = keyring.signingKey();
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.getKeyId())
                 .setClaims(claims)
                 .setSubject(subject)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(key)
+                .signWith(signingKey.getKey(), SignatureAlgorithm.HS512)
                 .compact();
     }
 
-    /**
-     * Validates a JWT token against a UserDetails object.
-     *
-     * @param token The JWT token to validate.
-     * @param userDetails The UserDetails object to validate against.
-     * @return true if the token is valid, false otherwise.
-     */
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-
-    /**
-     * Extracts the username from a JWT token.
-     *
-     * @param token The JWT token.
-     * @return The username extracted from the token.
-     */
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
-
-    /**
-     * Extracts the expiration date from a JWT token.
-     *
-     * @param token The JWT token.
-     * @return The expiration date of the token.
-     */
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    /**
-     * Extracts a specific claim from a JWT token.
-     *
-     * @param token The JWT token.
-     * @param claimsResolver A function to extract the desired claim.
-     * @return The extracted claim.
-     */
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
     /**
      * Extracts all claims from a JWT token.
      *
@@ -107,16 +129,6 @@ public class JwtUtils {
      * @return All claims from the token.
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
-    }
-
-    /**
-     * Checks if a JWT token is expired.
-     *
-     * @param token The JWT token.
-     * @return true if the token is expired, false otherwise.
-     */
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return parser.parseClaimsJws(token).getBody();
     }
 }
@@ -0,0 +1,164 @@
+package udaw.casino.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import udaw.casino.util.RateLimiter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter applying per-route rate limits before any authentication, database or
+ * password hashing work is done for a request.
+ *
+ * Each policy covers a set of POST endpoints (logins, plays and strategy simulations), given as Ant-style path patterns so routes
+ * with path variables (games played through the engine registry, roulette tables,
+ * blackjack actions) are matched too, and limits requests per client address and,
+ * when a bearer token is present, per token (one token per session, so in effect per
+ * user). The token is not verified here: its signature segment is only used as a key,
+ * which cannot be guessed for another user, so a forged token only draws on its own
+ * budget and on its client's address budget. Requests over a limit get 429 Too Many
+ * Requests with a Retry-After header.
+ *
+ * The client address is the remote address of the connection; behind a reverse proxy,
+ * set {@code server.forward-headers-strategy} so it is the original client's.
+ *
+ * Allowed and rejected requests are counted in {@code rate.limit.requests}, tagged by
+ * policy and outcome, and the number of tracked keys is published as {@code rate.limit.keys}.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /** Endpoints that place or play a bet. */
+    private static final List<String> PLAY_PATHS = List.of(
+            "/api/dice/play", "/api/dice/auto",
+            "/api/games/*/play", "/api/games/roulette/play-multibet", "/api/games/roulette/tables/*/bets",
+            "/api/slots/spin", "/api/slots/spin/bulk",
+            "/api/blackjack/**");
+
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    private final List<Policy> policies;
+
+    public RateLimitFilter(MeterRegistry meterRegistry,
+                           @Value("${rate-limit.max-keys:100000}") int maxKeys,
+                           @Value("${rate-limit.login.per-ip:10}") int loginPerIp,
+                           @Value("${rate-limit.login.period-ms:60000}") long loginPeriod,
+                           @Value("${rate-limit.play.per-ip:60}") int playPerIp,
+                           @Value("${rate-limit.play.per-user:20}") int playPerUser,
+                           @Value("${rate-limit.play.period-ms:1000}") long playPeriod,
+                           @Value("${rate-limit.simulation.per-ip:10}") int simulationPerIp,
+                           @Value("${rate-limit.simulation.per-user:5}") int simulationPerUser,
+                           @Value("${rate-limit.simulation.period-ms:60000}") long simulationPeriod) {
+        this.policies = List.of(
+                new Policy("login", List.of("/api/users/login", "/api/users/register", "/api/users/refresh"),
+                        new RateLimiter(loginPerIp, loginPeriod, maxKeys), null, meterRegistry),
+                new Policy("play", PLAY_PATHS,
+                        new RateLimiter(playPerIp, playPeriod, maxKeys),
+                        new RateLimiter(playPerUser, playPeriod, maxKeys), meterRegistry),
+                new Policy("simulation", List.of("/api/simulations/**"),
+                        new RateLimiter(simulationPerIp, simulationPeriod, maxKeys),
+                        new RateLimiter(simulationPerUser, simulationPeriod, maxKeys), meterRegistry));
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        Policy policy = "POST".equals(request.getMethod()) ? policyFor(request.getRequestURI()) : null;
+        if (policy != null) {
+            long wait = policy.perIp.tryAcquire(request.getRemoteAddr());
+            if (wait == 0 && policy.perUser != null) {
+                String tokenKey = tokenKey(request.getHeader(HttpHeaders.AUTHORIZATION));
+                if (tokenKey != null) {
+                    wait = policy.perUser.tryAcquire(tokenKey);
+                }
+            }
+            if (wait > 0) {
+                policy.rejected.increment();
+                long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999L));
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.getWriter().write("{\"message\":\"Too many requests, please retry later\"}");
+                return;
+            }
+            policy.allowed.increment();
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Drops keys that have been idle for a full period.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:60000}")
+    public void cleanUp() {
+        for (Policy policy : policies) {
+            policy.perIp.cleanUp();
+            if (policy.perUser != null) {
+                policy.perUser.cleanUp();
+            }
+        }
+    }
+
+    private Policy policyFor(String path) {
+        for (Policy policy : policies) {
+            for (String pattern : policy.paths) {
+                if (MATCHER.match(pattern, path)) {
+                    return policy;
+                }
+            }
+        }
+        return null;
+    }
+
+    /** The signature segment of a bearer token, or null. */
+    private static String tokenKey(String authorizationHeader) {
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        int signature = authorizationHeader.lastIndexOf('.');
+        return signature > 0 && signature < authorizationHeader.length() - 1
+                ? authorizationHeader.substring(signature + 1) : null;
+    }
+
+    /**
+     * The limits applied to a group of endpoints.
+     */
+    private static final class Policy {
+        private final List<String> paths;
+        private final RateLimiter perIp;
+        private final RateLimiter perUser;
+        private final Counter allowed;
+        private final Counter rejected;
+
+        Policy(String name, List<String> paths, RateLimiter perIp, RateLimiter perUser, MeterRegistry meterRegistry) {
+            this.paths = paths;
+            this.perIp = perIp;
+            this.perUser = perUser;
+            this.allowed = Counter.builder("rate.limit.requests").tag("policy", name).tag("outcome", "allowed")
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("rate.limit.requests").tag("policy", name).tag("outcome", "rejected")
+                    .register(meterRegistry);
+            Gauge.builder("rate.limit.keys", this, p -> p.perIp.size() + (p.perUser != null ? p.perUser.size() : 0))
+                    .tag("policy", name)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package udaw.casino.security;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import udaw.casino.model.TokenRevocation;
+import udaw.casino.repository.TokenRevocationRepository;
+import udaw.casino.util.BloomFilter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * List of revoked access tokens, checked on every authenticated request.
+ *
+ * Two kinds of revocation are kept: single tokens, by ID ("jti"), and all tokens of a user
+ * issued before a point in time (after a role change or deletion). The exact entries live
+ * in concurrent maps and are mirrored in a {@link BloomFilter}; almost every request is for
+ * a token that is not revoked, which the filter answers with one hash and a few word reads,
+ * and the maps are only consulted when the filter reports a possible match.
+ *
+ * Revocations are also written to the {@code token_revocations} table, loaded on startup
+ * and polled from it, so they reach every node and survive restarts. An entry is dropped
+ * once the tokens it revokes have expired, and the filter is then rebuilt from the maps.
+ */
+@Component
+@Slf4j
+public class TokenRevocationList {
+
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+
+    /** Overlap between polls, so rows committed out of order are not missed. */
+    private static final long SYNC_OVERLAP_SECONDS = 30;
+
+    private final TokenRevocationRepository revocationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long accessTokenLifetime;
+    private final int expectedEntries;
+
+    /** Revoked token IDs with the expiration of their token, in epoch milliseconds. */
+    private final ConcurrentHashMap<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    /** Users whose tokens issued before the value (epoch milliseconds) are revoked. */
+    private final ConcurrentHashMap<Long, Long> revokedUsers = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter filter;
+    private volatile LocalDateTime lastSync;
+
+    public TokenRevocationList(TokenRevocationRepository revocationRepository, TransactionTemplate transactionTemplate,
+                               @Value("${jwt.expiration:900000}") long accessTokenLifetime,
+                               @Value("${jwt.revocation.expected-entries:100000}") int expectedEntries) {
+        this.revocationRepository = revocationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.accessTokenLifetime = accessTokenLifetime;
+        this.expectedEntries = expectedEntries;
+        this.filter = new BloomFilter(expectedEntries, FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Loads the revocations of tokens that have not expired yet.
+     */
+    @PostConstruct
+    public void load() {
+        lastSync = LocalDateTime.now();
+        List<TokenRevocation> revocations = revocationRepository.findByExpiresAtGreaterThan(System.currentTimeMillis());
+        revocations.forEach(this::apply);
+        if (!revocations.isEmpty()) {
+            log.info("Loaded {} token revocations", revocations.size());
+        }
+    }
+
+    /**
+     * Revokes a token until it expires.
+     *
+     * @param principal The principal read from the token.
+     * @return true if the token could be revoked (it has an ID and has not expired).
+     */
+    public boolean revoke(JwtPrincipal principal) {
+        if (principal.getTokenId() == null || principal.getExpiresAt() <= System.currentTimeMillis()) {
+            return false;
+        }
+        TokenRevocation revocation = new TokenRevocation();
+        revocation.setTokenId(principal.getTokenId());
+        revocation.setExpiresAt(principal.getExpiresAt());
+        save(revocation);
+        return true;
+    }
+
+    /**
+     * Revokes every access token of a user issued until now. Tokens issued in the same
+     * second as the revocation are revoked as well, since token times have second precision.
+     *
+     * @param userId The user ID.
+     */
+    public void revokeUser(Long userId) {
+        long now = System.currentTimeMillis();
+        TokenRevocation revocation = new TokenRevocation();
+        revocation.setUserId(userId);
+        revocation.setNotBefore(now);
+        revocation.setExpiresAt(now + accessTokenLifetime);
+        save(revocation);
+    }
+
+    /**
+     * @param principal The principal read from a verified token.
+     * @return true if the token has been revoked.
+     */
+    public boolean isRevoked(JwtPrincipal principal) {
+        BloomFilter current = filter;
+        String tokenId = principal.getTokenId();
+        if (tokenId != null && current.mightContain(tokenId) && revokedTokens.containsKey(tokenId)) {
+            return true;
+        }
+        if (current.mightContain(principal.getUserId())) {
+            Long notBefore = revokedUsers.get(principal.getUserId());
+            return notBefore != null && principal.getIssuedAt() <= notBefore;
+        }
+        return false;
+    }
+
+    /**
+     * @return The number of revocations whose tokens have not expired yet.
+     */
+    public int size() {
+        return revokedTokens.size() + revokedUsers.size();
+    }
+
+    /**
+     * Picks up revocations recorded by other nodes.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:5000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        revocationRepository.findByCreatedAtAfter(lastSync.minusSeconds(SYNC_OVERLAP_SECONDS)).forEach(this::apply);
+        lastSync = now;
+    }
+
+    /**
+     * Drops revocations whose tokens have expired, here and in the table, and rebuilds the filter.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        revokedUsers.values().removeIf(notBefore -> notBefore + accessTokenLifetime <= now);
+        rebuildFilter();
+        transactionTemplate.executeWithoutResult(status -> revocationRepository.deleteExpired(now));
+    }
+
+    private void save(TokenRevocation revocation) {
+        revocation.setCreatedAt(LocalDateTime.now());
+        revocationRepository.save(revocation);
+        apply(revocation);
+    }
+
+    /**
+     * Adds a revocation to the maps and the filter. Revocations are rare, so this shares
+     * the rebuild lock; lookups never take it.
+     */
+    private synchronized void apply(TokenRevocation revocation) {
+        if (revocation.getTokenId() != null) {
+            revokedTokens.put(revocation.getTokenId(), revocation.getExpiresAt());
+            filter.put(revocation.getTokenId());
+        } else if (revocation.getUserId() != null && revocation.getNotBefore() != null) {
+            revokedUsers.merge(revocation.getUserId(), revocation.getNotBefore(), Math::max);
+            filter.put(revocation.getUserId());
+        }
+        if (size() > filter.getExpectedInsertions()) {
+            rebuildFilter();
+        }
+    }
+
+    /**
+     * Replaces the filter with one built from the exact entries, sized for at least twice
+     * as many. The new filter is only published once it is complete.
+     */
+    private synchronized void rebuildFilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, size() * 2), FALSE_POSITIVE_RATE);
+        revokedTokens.keySet().forEach(rebuilt::put);
+        revokedUsers.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+    }
+}
@@ -1,38 +1,70 @@
 package udaw.casino.security;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import udaw.casino.event.UserAccountChangedEvent;
 import udaw.casino.model.User;
 import udaw.casino.repository.UserRepository;
+import udaw.casino.util.BoundedTtlCache;
 
-import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Implementation of Spring Security's UserDetailsService interface.
  * This service is responsible for loading user-specific data during authentication.
  * It converts our application's User entity into Spring Security's UserDetails object.
+ *
+ * Loaded users are kept as immutable snapshots in a bounded cache with a time-to-live, so
+ * repeated authentications of the same user do not read the full user row each time. An
+ * entry is dropped as soon as a change to the account (role, username, deletion) commits
+ * on this node; on other nodes it lives at most for the time-to-live.
  */
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final BoundedTtlCache<String, CachedUserDetails> cache;
+
+    /** Bumped on every invalidation, so a load racing with one does not cache stale data. */
+    private final AtomicLong invalidations = new AtomicLong();
 
     /**
      * Constructs a new UserDetailsServiceImpl with the required UserRepository.
      *
      * @param userRepository The repository for accessing user data.
+     * @param meterRegistry The registry the cache meters are published to.
+     * @param maxSize The maximum number of cached users.
+     * @param ttlMillis How long a cached user is kept, in milliseconds.
      */
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    public UserDetailsServiceImpl(UserRepository userRepository, MeterRegistry meterRegistry,
+                                  @Value("${user-details.cache.max-size:10000}") int maxSize,
+                                  @Value("${user-details.cache.ttl-ms:300000}") long ttlMillis) {
         this.userRepository = userRepository;
+        this.cache = new BoundedTtlCache<>(maxSize, ttlMillis, false);
+
+        FunctionCounter.builder("user.details.cache.hits", cache, BoundedTtlCache::hitCount)
+                .description("Users authenticated from the user details cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("user.details.cache.misses", cache, BoundedTtlCache::missCount)
+                .description("Users loaded from the database for authentication")
+                .register(meterRegistry);
+        Gauge.builder("user.details.cache.size", cache, BoundedTtlCache::size)
+                .register(meterRegistry);
     }
 
     /**
      * Loads a user by their username.
      * This method is called by Spring Security during the authentication process.
-     * It retrieves the user from the database and converts it into a UserDetails object.
+     * It retrieves the user from the cache, or from the database and converts it into a UserDetails object.
      *
      * @param username The username of the user to load.
      * @return A UserDetails object containing the user's authentication and authorization information.
@@ -40,14 +72,35 @@ public class UserDetailsServiceImpl implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        CachedUserDetails cached = cache.get(username);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = invalidations.get();
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
-        // Create Spring Security UserDetails from our User entity
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword())
-                .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())))
-                .build();
+        // Create an immutable UserDetails snapshot from our User entity
+        CachedUserDetails details = new CachedUserDetails(user.getId(), user.getUsername(), user.getPassword(),
+                List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())));
+        cache.put(username, details);
+        if (invalidations.get() != generation) {
+            // The account may have changed while it was being read
+            cache.remove(username, details);
+        }
+        return details;
+    }
+
+    /**
+     * Drops the cached snapshot of an account once a change to it commits.
+     * Entries are matched by user ID, so a renamed user's old username is dropped too.
+     *
+     * @param event The account change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        invalidations.incrementAndGet();
+        cache.removeIf((username, details) -> details.getUserId().equals(event.getUserId()));
     }
 }
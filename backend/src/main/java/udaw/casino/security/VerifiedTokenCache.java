@@ -0,0 +1,122 @@
+package udaw.casino.security;
+
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import udaw.casino.util.BoundedTtlCache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Cache of already-verified JWT tokens.
+ *
+ * A session presents the same bearer token on every request, so the principal read from
+ * a verified token is kept in a bounded, TTL-evicting cache keyed by the SHA-256 digest of
+ * the token. A repeated token is then authenticated with one digest and one lookup instead
+ * of a signature verification. An entry is never used past the token's own expiration,
+ * and every token, cached or not, is checked against the {@link TokenRevocationList}.
+ *
+ * Hits, misses and the hit rate are published as {@code jwt.cache.*} meters.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtUtils jwtUtils;
+    private final TokenRevocationList revocationList;
+    private final BoundedTtlCache<String, JwtPrincipal> cache;
+
+    public VerifiedTokenCache(JwtUtils jwtUtils, TokenRevocationList revocationList, MeterRegistry meterRegistry,
+                              @Value("${jwt.cache.max-size:10000}") int maxSize,
+                              @Value("${jwt.cache.ttl-ms:300000}") long ttlMillis) {
+        this.jwtUtils = jwtUtils;
+        this.revocationList = revocationList;
+        this.cache = new BoundedTtlCache<>(maxSize, ttlMillis, false);
+
+        FunctionCounter.builder("jwt.cache.hits", cache, BoundedTtlCache::hitCount)
+                .description("Bearer tokens authenticated from the verified-token cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("jwt.cache.misses", cache, BoundedTtlCache::missCount)
+                .description("Bearer tokens whose signature had to be verified")
+                .register(meterRegistry);
+        Gauge.builder("jwt.cache.hit.ratio", cache, BoundedTtlCache::hitRate)
+                .description("Share of bearer tokens served from the verified-token cache")
+                .register(meterRegistry);
+        Gauge.builder("jwt.cache.size", cache, BoundedTtlCache::size)
+                .register(meterRegistry);
+        Gauge.builder("jwt.revoked.tokens", revocationList, TokenRevocationList::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Authenticates a bearer token, verifying its signature only if it is not cached.
+     *
+     * @param token The JWT token.
+     * @return The user described by the token.
+     * @throws JwtException if the token is invalid, expired or revoked.
+     */
+    public JwtPrincipal verify(String token) {
+        String key = digest(token);
+        JwtPrincipal principal = cache.get(key);
+        if (principal != null && principal.getExpiresAt() <= System.currentTimeMillis()) {
+            cache.remove(key);
+            principal = null;
+        }
+        if (principal == null) {
+            principal = jwtUtils.parseToken(token);
+            cache.put(key, principal);
+        }
+        if (revocationList.isRevoked(principal)) {
+            throw new JwtException("Token has been revoked");
+        }
+        return principal;
+    }
+
+    /**
+     * Revokes a token and drops it from the cache.
+     *
+     * @param principal The principal read from the token.
+     * @return true if the token could be revoked.
+     */
+    public boolean revoke(JwtPrincipal principal) {
+        boolean revoked = revocationList.revoke(principal);
+        String tokenId = principal.getTokenId();
+        if (tokenId != null) {
+            cache.removeIf((key, cached) -> tokenId.equals(cached.getTokenId()));
+        }
+        return revoked;
+    }
+
+    /**
+     * Revokes every token issued to a user until now and drops them from the cache.
+     *
+     * @param userId The user ID.
+     */
+    public void revokeUser(Long userId) {
+        revocationList.revokeUser(userId);
+        cache.removeIf((key, cached) -> userId.equals(cached.getUserId()));
+    }
+
+    /**
+     * Sweeps expired entries so idle sessions do not hold cache slots.
+     */
+    @Scheduled(fixedDelayString = "${jwt.cache.sweep-interval-ms:60000}")
+    public void cleanUp() {
+        cache.cleanUp();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package udaw.casino.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import udaw.casino.dto.AuthTokensDTO;
+import udaw.casino.event.UserAccountChangedEvent;
+import udaw.casino.exception.UserNotFoundException;
+import udaw.casino.model.RefreshToken;
+import udaw.casino.model.User;
+import udaw.casino.repository.RefreshTokenRepository;
+import udaw.casino.security.JwtPrincipal;
+import udaw.casino.security.JwtUtils;
+import udaw.casino.security.VerifiedTokenCache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Service class issuing and revoking the tokens of a session.
+ *
+ * A login yields a short-lived access token (a JWT, verified without a database lookup)
+ * and a long-lived refresh token (random, stored hashed). The refresh token is exchanged
+ * for a new pair when the access token expires; each refresh token works once, and reusing
+ * one revokes every token descended from the same login. Because the new access token is
+ * built from the current user row, a role change reaches the session at its next refresh.
+ *
+ * When an account's role or username changes, or the account is deleted, its access tokens
+ * are revoked as soon as the change commits; a deleted account also loses its refresh tokens.
+ */
+@Service
+@Slf4j
+public class AuthTokenService {
+
+    private final JwtUtils jwtUtils;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserService userService;
+    private final TransactionTemplate requiresNew;
+    private final SecureRandom random = new SecureRandom();
+
+    private final long accessTokenLifetime;
+    private final long refreshTokenLifetime;
+
+    public AuthTokenService(JwtUtils jwtUtils, VerifiedTokenCache verifiedTokenCache,
+                            RefreshTokenRepository refreshTokenRepository, UserService userService,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${jwt.expiration:900000}") long accessTokenLifetime,
+                            @Value("${jwt.refresh.expiration:1209600000}") long refreshTokenLifetime) {
+        this.jwtUtils = jwtUtils;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userService = userService;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.accessTokenLifetime = accessTokenLifetime;
+        this.refreshTokenLifetime = refreshTokenLifetime;
+    }
+
+    /**
+     * Issues the tokens of a new session.
+     *
+     * @param user The authenticated user
+     * @return An access token and a refresh token starting a new family
+     */
+    @Transactional
+    public AuthTokensDTO issueTokens(User user) {
+        return newPair(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and refresh token.
+     * Presenting a token that was already used or revoked revokes its whole family.
+     *
+     * @param refreshToken The refresh token
+     * @return The new tokens
+     * @throws BadCredentialsException if the token is unknown, expired, used or revoked, or the user no longer exists
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public AuthTokensDTO refresh(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new BadCredentialsException("Refresh token is required");
+        }
+        RefreshToken stored = refreshTokenRepository.findByTokenHashForUpdate(hash(refreshToken))
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        LocalDateTime now = LocalDateTime.now();
+        if (stored.getRevokedAt() != null) {
+            int revoked = refreshTokenRepository.revokeFamily(stored.getFamily(), now);
+            log.warn("Refresh token reused for user {}; revoked {} tokens of its family", stored.getUserId(), revoked);
+            throw new BadCredentialsException("Refresh token has already been used");
+        }
+        if (!stored.getExpiresAt().isAfter(now)) {
+            throw new BadCredentialsException("Refresh token has expired");
+        }
+
+        User user;
+        try {
+            user = userService.getUserById(stored.getUserId());
+        } catch (UserNotFoundException e) {
+            throw new BadCredentialsException("User no longer exists");
+        }
+        stored.setRevokedAt(now);
+        return newPair(user, stored.getFamily());
+    }
+
+    /**
+     * Ends a session: revokes its access token, if any, and the family of its refresh token, if given.
+     *
+     * @param principal The principal of the access token, or null
+     * @param refreshToken The refresh token, or null
+     */
+    @Transactional
+    public void logout(JwtPrincipal principal, String refreshToken) {
+        if (principal != null) {
+            verifiedTokenCache.revoke(principal);
+        }
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                    .ifPresent(stored -> refreshTokenRepository.revokeFamily(stored.getFamily(), LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Revokes the tokens of an account whose claims changed or which was deleted.
+     * Runs after the change commits.
+     *
+     * @param event The account change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        verifiedTokenCache.revokeUser(event.getUserId());
+        if (event.getChange() == UserAccountChangedEvent.Change.DELETED) {
+            requiresNew.executeWithoutResult(status ->
+                    refreshTokenRepository.revokeAllForUser(event.getUserId(), LocalDateTime.now()));
+        }
+        log.info("Revoked access tokens of user {} ({})", event.getUserId(), event.getChange());
+    }
+
+    /**
+     * Deletes refresh tokens that have expired.
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        requiresNew.executeWithoutResult(status -> refreshTokenRepository.deleteExpired(LocalDateTime.now()));
+    }
+
+    private AuthTokensDTO newPair(User user, String family) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken stored = new RefreshToken();
+        stored.setTokenHash(hash(refreshToken));
+        stored.setFamily(family);
+        stored.setUserId(user.getId());
+        stored.setIssuedAt(now);
+        stored.setExpiresAt(now.plusNanos(refreshTokenLifetime * 1_000_000));
+        refreshTokenRepository.save(stored);
+
+        return new AuthTokensDTO(jwtUtils.generateToken(user), refreshToken, accessTokenLifetime / 1000,
+                refreshTokenLifetime / 1000);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
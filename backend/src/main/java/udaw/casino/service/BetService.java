@@ -1,10 +1,14 @@
 package udaw.casino.service;
 
+import udaw.casino.event.BetsSettledEvent;
 import udaw.casino.exception.ResourceNotFoundException;
 import udaw.casino.exception.InsufficientBalanceException;
+import udaw.casino.exception.UserNotFoundException;
 import udaw.casino.model.Bet;
 import udaw.casino.model.User;
+import udaw.casino.repository.BetBatchRepository;
 import udaw.casino.repository.BetRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,17 +21,26 @@ import java.util.List;
  * Handles bet creation, resolution, and retrieval operations with proper
  * validation and transaction management. Maintains bet history and
  * ensures proper state transitions for bets.
+ *
+ * Every settlement publishes a {@link BetsSettledEvent} for in-memory consumers
+ * such as the progressive jackpot.
  */
 @Service
 public class BetService {
 
     private final BetRepository betRepository;
+    private final BetBatchRepository betBatchRepository;
     private final UserService userService;
     private final GameService gameService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public BetService(BetRepository betRepository, UserService userService, GameService gameService) {
+    public BetService(BetRepository betRepository, BetBatchRepository betBatchRepository,
+                      UserService userService, GameService gameService,
+                      ApplicationEventPublisher eventPublisher) {
         this.gameService = gameService; 
+        this.eventPublisher = eventPublisher;
         this.betRepository = betRepository;
+        this.betBatchRepository = betBatchRepository;
         this.userService = userService;
     }
 
@@ -79,6 +92,123 @@ public class BetService {
             return bet;
         }
 
+        applyResolvedStatus(bet);
+    Bet resolvedBet = betRepository.save(bet);
+    eventPublisher.publishEvent(BetsSettledEvent.of(List.of(resolvedBet)));
+    return resolvedBet;
+}
+    
+    
+    /**
+     * Resolves and saves a batch of already evaluated bets in a single transaction.
+     * Each bet's status is derived from its win/loss amount using the same rules as
+     * {@link #resolveBet(Bet)}.
+     * 
+     * @param bets The evaluated bets to persist
+     * @return The saved bets
+     */
+    @Transactional
+    public List<Bet> settleBets(List<Bet> bets) {
+        for (Bet bet : bets) {
+            applyResolvedStatus(bet);
+        }
+        List<Bet> saved = betRepository.saveAll(bets);
+        eventPublisher.publishEvent(BetsSettledEvent.of(saved));
+        return saved;
+    }
+
+    /**
+     * Resolves and inserts a large batch of already evaluated bets with JDBC batches.
+     * Unlike {@link #settleBets(List)}, the bets are not managed afterwards and
+     * their IDs are not populated.
+     * 
+     * @param bets The evaluated bets to insert
+     * @return The number of inserted bets
+     */
+    @Transactional
+    public int insertSettledBets(List<Bet> bets) {
+        for (Bet bet : bets) {
+            applyResolvedStatus(bet);
+        }
+        int inserted = betBatchRepository.insertAll(bets);
+        eventPublisher.publishEvent(BetsSettledEvent.of(bets));
+        return inserted;
+    }
+
+    /**
+     * Persists a bet that was played out in memory together with its effect on the
+     * user's balance: one bet insert and one balance update, with the user row locked.
+     *
+     * @param userId The ID of the user who played the bet
+     * @param bet The evaluated bet, with its game, amount and win/loss set
+     * @return The saved bet
+     * @throws UserNotFoundException if the user is not found
+     * @throws InsufficientBalanceException if the balance no longer covers a loss
+     *         (e.g. it was spent in another game meanwhile); nothing is persisted
+     */
+    @Transactional
+    public Bet recordSettledBet(Long userId, Bet bet) {
+        return record(userId, bet, bet.getWinloss());
+    }
+
+    /**
+     * Debits a stake before a bet is played out over several requests, so the stake
+     * cannot be spent elsewhere while the bet is open. The bet is then persisted with
+     * {@link #recordReservedBet(Long, Bet)}, which pays the stake back with the win/loss.
+     *
+     * @param userId The ID of the user placing the stake
+     * @param amount The stake to debit
+     * @return The balance after the debit
+     * @throws UserNotFoundException if the user is not found
+     * @throws InsufficientBalanceException if the balance does not cover the stake
+     */
+    @Transactional
+    public double reserveStake(Long userId, double amount) {
+        User user = userService.getUserByIdForUpdate(userId);
+        if (user.getBalance() < amount) {
+            throw new InsufficientBalanceException("Insufficient balance to place this bet. Current balance: " + user.getBalance());
+        }
+        user.setBalance(user.getBalance() - amount);
+        return user.getBalance();
+    }
+
+    /**
+     * Persists a bet whose whole amount was debited up front with {@link #reserveStake(Long, double)},
+     * crediting the stake plus its win/loss.
+     *
+     * @param userId The ID of the user who played the bet
+     * @param bet The evaluated bet, with its game, amount and win/loss set
+     * @return The saved bet
+     * @throws UserNotFoundException if the user is not found
+     */
+    @Transactional
+    public Bet recordReservedBet(Long userId, Bet bet) {
+        return record(userId, bet, bet.getAmount() + bet.getWinloss());
+    }
+
+    private Bet record(Long userId, Bet bet, double balanceChange) {
+        User user = userService.getUserByIdForUpdate(userId);
+        double balance = user.getBalance() + balanceChange;
+        if (balance < 0) {
+            throw new InsufficientBalanceException("Insufficient balance to settle this bet. Current balance: " + user.getBalance());
+        }
+        user.setBalance(balance);
+        bet.setUser(user);
+        if (bet.getBetDate() == null) {
+            bet.setBetDate(LocalDateTime.now());
+        }
+        applyResolvedStatus(bet);
+        Bet saved = betRepository.save(bet);
+        eventPublisher.publishEvent(BetsSettledEvent.of(List.of(saved)));
+        return saved;
+    }
+
+    /**
+     * Sets a bet's final status based on its win/loss amount.
+     * 
+     * @param bet The bet to update
+     */
+    private void applyResolvedStatus(Bet bet) {
         if (bet.getWinloss() > 0) {
             bet.setStatus("WON");
         } else if (bet.getWinloss() < 0) { // Changed from == 0 to < 0 for "LOST"
@@ -90,11 +220,8 @@ public class BetService {
             // Or set a default status like "UNKNOWN"
             bet.setStatus("UNKNOWN"); 
         }
-    Bet resolvedBet = betRepository.save(bet);
-    return resolvedBet;
-}
-    
-    
+    }
+
     /**
      * Retrieves a bet by its ID.
      * 
@@ -0,0 +1,318 @@
+package udaw.casino.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import udaw.casino.dto.BetDTO;
+import udaw.casino.dto.BlackjackHandDTO;
+import udaw.casino.dto.BlackjackStateDTO;
+import udaw.casino.engine.BlackjackEngine;
+import udaw.casino.exception.InsufficientBalanceException;
+import udaw.casino.exception.ResourceNotFoundException;
+import udaw.casino.model.Bet;
+import udaw.casino.util.BoundedTtlCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Service class for server-authoritative blackjack.
+ *
+ * Every user has one table holding a multi-deck shoe and the current round. Tables
+ * live in a bounded in-memory store and are dropped after a period of inactivity;
+ * hit and stand only change the in-memory round. Stakes are debited from the balance
+ * when a hand is dealt, doubled or split, so they cannot be spent elsewhere while the
+ * hand is open; when it ends, one settled bet is written and the stakes are credited
+ * back together with the win/loss.
+ *
+ * A hand still in progress when its table is dropped (idle or evicted for space) is
+ * finished by standing on every remaining hand and settled like any other. Dropped
+ * tables are only queued by the store, whichever thread triggered the removal, and
+ * settled by the scheduled sweep.
+ */
+@Service
+@Slf4j
+public class BlackjackService {
+
+    /** Name of the blackjack game in the games table. */
+    public static final String GAME_NAME = "Blackjack";
+
+    private final BetService betService;
+    private final GameService gameService;
+    private final OutcomeSource outcomeSource;
+    private final BlackjackEngine engine;
+    private final BoundedTtlCache<Long, Table> tables;
+    /** Tables dropped with a hand that may still need settling */
+    private final ConcurrentLinkedQueue<Abandoned> abandoned = new ConcurrentLinkedQueue<>();
+
+    public BlackjackService(BetService betService, GameService gameService,
+                            OutcomeSource outcomeSource,
+                            @Value("${blackjack.decks:6}") int decks,
+                            @Value("${blackjack.penetration:0.75}") double penetration,
+                            @Value("${blackjack.blackjack-payout:1.5}") double blackjackPayout,
+                            @Value("${blackjack.dealer-hits-soft-17:false}") boolean dealerHitsSoft17,
+                            @Value("${blackjack.max-hands:4}") int maxHands,
+                            @Value("${blackjack.sessions.max:10000}") int maxSessions,
+                            @Value("${blackjack.sessions.idle-timeout-ms:600000}") long idleTimeoutMs) {
+        this.betService = betService;
+        this.gameService = gameService;
+        this.outcomeSource = outcomeSource;
+        this.engine = new BlackjackEngine(decks, penetration, blackjackPayout, dealerHitsSoft17, maxHands);
+        this.tables = new BoundedTtlCache<>(maxSessions, idleTimeoutMs, true,
+                (userId, table, cause) -> abandoned.add(new Abandoned(userId, table, cause)));
+    }
+
+    /**
+     * Deals a new hand. The user must not have a hand in progress.
+     *
+     * @param userId The ID of the user
+     * @param amount Stake of the initial hand
+     * @return The state of the new hand (already settled on a natural blackjack)
+     * @throws IllegalArgumentException if the stake is invalid
+     * @throws InsufficientBalanceException if the user cannot cover the stake
+     * @throws IllegalStateException if a hand is already in progress
+     */
+    public BlackjackStateDTO deal(Long userId, double amount) {
+        if (userId == null) {
+            throw new IllegalArgumentException("User ID is required.");
+        }
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Invalid bet amount: " + amount + ". Must be greater than 0.");
+        }
+        Table table = tables.computeIfAbsent(userId, id -> new Table(engine.newShoe()));
+        synchronized (table) {
+            if (table.round != null && !table.round.isFinished()) {
+                throw new IllegalStateException("A hand is already in progress.");
+            }
+            if (!table.settled) {
+                // The previous hand could not be persisted; retry before dealing again
+                settle(userId, table);
+            }
+            table.balance = betService.reserveStake(userId, amount);
+            table.bet = null;
+            table.settled = false;
+            table.round = engine.deal(table.shoe, outcomeSource, amount);
+            if (table.round.isFinished()) {
+                settle(userId, table);
+            }
+            return toDTO(userId, table);
+        }
+    }
+
+    public BlackjackStateDTO hit(Long userId) {
+        return act(userId, Action.HIT);
+    }
+
+    public BlackjackStateDTO stand(Long userId) {
+        return act(userId, Action.STAND);
+    }
+
+    public BlackjackStateDTO doubleDown(Long userId) {
+        return act(userId, Action.DOUBLE);
+    }
+
+    public BlackjackStateDTO split(Long userId) {
+        return act(userId, Action.SPLIT);
+    }
+
+    /**
+     * @param userId The ID of the user
+     * @return The state of the user's current or last hand
+     * @throws ResourceNotFoundException if the user has no active table
+     */
+    public BlackjackStateDTO getState(Long userId) {
+        Table table = requireTable(userId);
+        synchronized (table) {
+            if (table.round == null) {
+                throw new ResourceNotFoundException("Blackjack hand", "userId", userId);
+            }
+            return toDTO(userId, table);
+        }
+    }
+
+    /**
+     * Drops tables that have been idle for longer than the timeout, then settles the hands
+     * of every table dropped since the last sweep. A hand that cannot be settled is retried
+     * on the next sweep.
+     */
+    @Scheduled(fixedDelayString = "${blackjack.sessions.sweep-interval-ms:30000}")
+    public void evictIdleTables() {
+        tables.cleanUp();
+        List<Abandoned> failed = new ArrayList<>();
+        Abandoned dropped;
+        while ((dropped = abandoned.poll()) != null) {
+            if (!settleAbandoned(dropped)) {
+                failed.add(dropped);
+            }
+        }
+        abandoned.addAll(failed);
+    }
+
+    private BlackjackStateDTO act(Long userId, Action action) {
+        Table table = requireTable(userId);
+        synchronized (table) {
+            BlackjackEngine.Round round = table.round;
+            if (round == null || round.isFinished()) {
+                throw new IllegalStateException("No hand in progress.");
+            }
+            switch (action) {
+                case HIT:
+                    engine.hit(round, table.shoe);
+                    break;
+                case STAND:
+                    engine.stand(round, table.shoe);
+                    break;
+                case DOUBLE:
+                    if (engine.canDouble(round)) {
+                        table.balance = betService.reserveStake(userId, round.activeHand().getStake());
+                    }
+                    engine.doubleDown(round, table.shoe);
+                    break;
+                case SPLIT:
+                    if (engine.canSplit(round)) {
+                        table.balance = betService.reserveStake(userId, round.activeHand().getStake());
+                    }
+                    engine.split(round, table.shoe);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown action: " + action);
+            }
+            if (round.isFinished()) {
+                settle(userId, table);
+            }
+            return toDTO(userId, table);
+        }
+    }
+
+    private Table requireTable(Long userId) {
+        Table table = tables.get(userId);
+        if (table == null) {
+            throw new ResourceNotFoundException("Blackjack hand", "userId", userId);
+        }
+        return table;
+    }
+
+    /**
+     * Persists the finished round as one bet and credits its reserved stakes plus the win/loss.
+     */
+    private void settle(Long userId, Table table) {
+        BlackjackEngine.Round round = table.round;
+        StringJoiner playerTotals = new StringJoiner("/");
+        for (BlackjackEngine.Hand hand : round.getHands()) {
+            playerTotals.add(hand.isBlackjack() ? "BJ" : String.valueOf(hand.total()));
+        }
+        BlackjackEngine.Hand dealer = round.getDealer();
+
+        Bet bet = new Bet();
+        bet.setGame(gameService.getGameByName(GAME_NAME));
+        bet.setAmount(round.totalStake());
+        bet.setBetType("blackjack");
+        bet.setBetValue(playerTotals.toString());
+        bet.setWinningValue(dealer.isBlackjack() ? "BJ" : String.valueOf(dealer.total()));
+        bet.setWinloss(round.net());
+
+        Bet saved = betService.recordReservedBet(userId, bet);
+        table.bet = saved;
+        table.balance = saved.getUser().getBalance();
+        table.settled = true;
+        log.info("Blackjack hand settled for user {}: stake {}, net {}", userId, bet.getAmount(), bet.getWinloss());
+    }
+
+    private boolean settleAbandoned(Abandoned dropped) {
+        Table table = dropped.table;
+        synchronized (table) {
+            if (table.round == null || table.settled) {
+                return true;
+            }
+            engine.standAll(table.round, table.shoe);
+            try {
+                settle(dropped.userId, table);
+                log.info("Settled abandoned blackjack hand of user {} ({})", dropped.userId, dropped.cause);
+                return true;
+            } catch (RuntimeException e) {
+                log.error("Could not settle abandoned blackjack hand of user {}", dropped.userId, e);
+                return false;
+            }
+        }
+    }
+
+    private BlackjackStateDTO toDTO(Long userId, Table table) {
+        BlackjackEngine.Round round = table.round;
+        boolean finished = round.isFinished();
+
+        List<BlackjackHandDTO> hands = new ArrayList<>(round.getHands().size());
+        for (BlackjackEngine.Hand hand : round.getHands()) {
+            hands.add(new BlackjackHandDTO(labels(hand.getCards(), false), hand.total(), hand.isSoft(),
+                    hand.getStake(), hand.isDoubled(),
+                    hand.getOutcome() != null ? hand.getOutcome().name() : null, hand.getNet()));
+        }
+
+        List<String> actions = new ArrayList<>(4);
+        if (!finished) {
+            actions.add(Action.HIT.name());
+            actions.add(Action.STAND.name());
+            double extra = round.activeHand().getStake();
+            boolean covered = extra <= table.balance;
+            if (covered && engine.canDouble(round)) {
+                actions.add(Action.DOUBLE.name());
+            }
+            if (covered && engine.canSplit(round)) {
+                actions.add(Action.SPLIT.name());
+            }
+        }
+
+        BlackjackEngine.Hand dealer = round.getDealer();
+        return new BlackjackStateDTO(userId, finished ? "FINISHED" : "PLAYER_TURN", hands,
+                round.getActive(), labels(dealer.getCards(), !finished),
+                finished ? dealer.total() : null, actions, round.totalStake(), round.net(),
+                table.balance, table.shoe.remaining(), table.bet != null ? new BetDTO(table.bet) : null);
+    }
+
+    private static List<String> labels(int[] cards, boolean hideHoleCard) {
+        List<String> labels = new ArrayList<>(cards.length);
+        for (int i = 0; i < cards.length; i++) {
+            labels.add(hideHoleCard && i == 1 ? "??" : BlackjackEngine.label(cards[i]));
+        }
+        return labels;
+    }
+
+    private enum Action {
+        HIT,
+        STAND,
+        DOUBLE,
+        SPLIT
+    }
+
+    /**
+     * A table dropped from the store, waiting for the sweep.
+     */
+    private static final class Abandoned {
+        private final Long userId;
+        private final Table table;
+        private final BoundedTtlCache.RemovalCause cause;
+
+        Abandoned(Long userId, Table table, BoundedTtlCache.RemovalCause cause) {
+            this.userId = userId;
+            this.table = table;
+            this.cause = cause;
+        }
+    }
+
+    /**
+     * A user's seat: the shoe and the current (or last) round. Guarded by its own monitor.
+     */
+    private static final class Table {
+        private final BlackjackEngine.Shoe shoe;
+        private BlackjackEngine.Round round;
+        private boolean settled = true;
+        private double balance;
+        private Bet bet;
+
+        Table(BlackjackEngine.Shoe shoe) {
+            this.shoe = shoe;
+        }
+    }
+}
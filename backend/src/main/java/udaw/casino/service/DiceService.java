@@ -2,24 +2,30 @@ package udaw.casino.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import udaw.casino.dto.DiceAutoBetRequestDTO;
+import udaw.casino.dto.DiceAutoBetResponseDTO;
+import udaw.casino.engine.DiceEngine;
+import udaw.casino.engine.DiceGameEngine;
 import udaw.casino.exception.ResourceNotFoundException;
 import udaw.casino.exception.InsufficientBalanceException;
 import udaw.casino.model.Bet;
 import udaw.casino.model.Game;
 import udaw.casino.model.User;
 
-import java.util.Map;
+import java.util.List;
 
 /**
  * Service class for managing dice game operations.
  * Implements a dice game where players can bet on:
  * - Specific numbers (2-12) with varying payouts
- * - High/Low (1:1 payout, 95% return)
+ * - High/Low (2-6 pays 1.28:1, 7-12 pays 0.62:1, 95% return)
  * - Even/Odd (1:1 payout, 95% return)
  * 
- * The game uses two dice, and payouts are based on the sum of the dice.
+ * The game uses two dice by default, and payouts are based on the sum of the dice.
+ * Bets are evaluated by a {@link DiceEngine}, which also provides 3d6 and 1d100 variants.
  */
 @Service
 @RequiredArgsConstructor
@@ -29,28 +35,45 @@ public class DiceService {
     private final BetService betService;
     private final UserService userService;
     private final GameService gameService;
+    private final GamePlayService gamePlayService;
+
+    /** Largest number of rolls accepted by a single auto-bet request. */
+    @Value("${dice.autobet.max-rolls:1000}")
+    private int maxAutoBetRolls;
+
+    /**
+     * Processes a classic (2d6) dice game bet and determines the outcome.
+     *
+     * @param bet The bet to process
+     * @param diceSum The sum of the two dice (2-12)
+     * @return The resolved bet with outcome
+     * @see #playDice(Bet, DiceEngine, int)
+     */
+    @Transactional
+    public Bet playDice(Bet bet, int diceSum) {
+        return playDice(bet, DiceEngine.CLASSIC, diceSum);
+    }
 
     /**
      * Processes a dice game bet and determines the outcome.
      * Handles bet validation, result calculation, and balance updates.
      * 
      * @param bet The bet to process
-     * @param diceSum The sum of the two dice (2-12)
+     * @param engine The dice variant the bet was placed on
+     * @param diceSum The sum of the dice
      * @return The resolved bet with outcome
-     * @throws IllegalArgumentException if bet amount is invalid or bet type/value is null
+     * @throws IllegalArgumentException if bet amount is invalid or bet type/value is not valid for the variant
      * @throws ResourceNotFoundException if user or game is not found
      * @throws InsufficientBalanceException if user has insufficient balance
      */
     @Transactional
-    public Bet playDice(Bet bet, int diceSum) {
+    public Bet playDice(Bet bet, DiceEngine engine, int diceSum) {
 
         // Validate bet parameters
         if (bet.getAmount() <= 0) {
              throw new IllegalArgumentException("Invalid bet amount: " + bet.getAmount() + ". Must be greater than 0.");
         }
-        if (bet.getBetType() == null || bet.getBetValue() == null) {
-            throw new IllegalArgumentException("Bet type or value cannot be null.");
-        }
+        DiceEngine.CompiledBet compiledBet = engine.compile(bet.getBetType(), bet.getBetValue());
 
         // Validate user and game existence
         User user = userService.getUserById(bet.getUser().getId());
@@ -69,7 +92,7 @@ public class DiceService {
         createdBet.setWinningValue(String.valueOf(diceSum));
         
         // Calculate and apply win/loss
-        double winAmount = determineDiceResult(createdBet, diceSum);
+        double winAmount = engine.settle(compiledBet, diceSum, createdBet.getAmount());
         createdBet.setWinloss(winAmount);
 
         // Update user balance
@@ -80,64 +103,64 @@ public class DiceService {
     }
 
     /**
-     * Payout multipliers for specific number bets.
-     * Higher payouts for less likely outcomes (2 and 12 pay 30:1).
-     */
-    private static final Map<Integer, Double> NUMBER_ODDS = Map.ofEntries(
-        Map.entry(2, 30.0),  // Snake eyes
-        Map.entry(3, 15.0),  // Ace-deuce
-        Map.entry(4, 10.0),  // Easy four
-        Map.entry(5, 8.0),   // Five
-        Map.entry(6, 6.0),   // Easy six
-        Map.entry(7, 5.0),   // Natural
-        Map.entry(8, 6.0),   // Easy eight
-        Map.entry(9, 8.0),   // Nine
-        Map.entry(10, 10.0), // Easy ten
-        Map.entry(11, 15.0), // Yo-leven
-        Map.entry(12, 30.0)  // Boxcars
-    );
-    
-    /**
-     * Determines the result of a dice bet based on the dice sum.
-     * Implements payout rules for different bet types:
-     * - Number bets: Variable payouts based on NUMBER_ODDS
-     * - High/Low bets: 0.95:1 payout (95% return)
-     * - Even/Odd bets: 0.95:1 payout (95% return)
-     * 
-     * @param bet The bet to evaluate
-     * @param totalSum The sum of the two dice (2-12)
-     * @return The amount won (positive) or lost (negative), or null if bet is invalid
+     * Plays a series of rolls with the same bet in one transaction, through the shared
+     * settlement flow of {@link GamePlayService#playRounds}: rolls are evaluated in memory
+     * against the user's locked balance, the resulting bets are inserted with JDBC batches
+     * and the balance is written once at the end.
+     * The series stops early when the stop-loss or take-profit limit is reached or
+     * the balance no longer covers the stake.
+     *
+     * @param request The bet spec, roll count and optional limits
+     * @return A summary of the rolls played
+     * @throws IllegalArgumentException if the request is invalid
+     * @throws ResourceNotFoundException if the game is not found
+     * @throws InsufficientBalanceException if the balance does not cover the first roll
      */
-    private Double determineDiceResult(Bet bet, int totalSum) {
-        String type = bet.getBetType().toLowerCase();
-        String betValue = bet.getBetValue().toLowerCase();
-        double amount = bet.getAmount();
-    
-        switch (type) {
-            case "number":
-                // Direct number bet with variable payouts
-                int bettedNumber = Integer.parseInt(betValue);
-                if (bettedNumber == totalSum) {
-                    double payout = NUMBER_ODDS.getOrDefault(bettedNumber, 0.0);
-                    return amount * payout;
-                } else {
-                    return -amount;
-                }
-    
-            case "highlow":
-                // High/Low bet (1:1 payout, 95% return)
-                // half 1: 2–6, half 2: 7–12
-                int half = totalSum <= 6 ? 1 : 2;
-                return betValue.equals(String.valueOf(half)) ? amount * 0.95 : -amount;
-    
-            case "evenodd":
-                // Even/Odd bet (1:1 payout, 95% return)
-                boolean isEven = totalSum % 2 == 0;
-                boolean choseEven = betValue.equals("even");
-                return (isEven == choseEven) ? amount * 0.95 : -amount;
+    @Transactional
+    public DiceAutoBetResponseDTO autoBet(DiceAutoBetRequestDTO request) {
+        if (request.getUserId() == null || request.getGameId() == null) {
+            throw new IllegalArgumentException("User ID and game ID are required.");
+        }
+        if (request.getAmount() <= 0) {
+            throw new IllegalArgumentException("Invalid bet amount: " + request.getAmount() + ". Must be greater than 0.");
+        }
+        if (request.getRolls() < 1 || request.getRolls() > maxAutoBetRolls) {
+            throw new IllegalArgumentException("Rolls must be between 1 and " + maxAutoBetRolls + ".");
+        }
+        if ((request.getStopLoss() != null && request.getStopLoss() <= 0)
+                || (request.getTakeProfit() != null && request.getTakeProfit() <= 0)) {
+            throw new IllegalArgumentException("Stop-loss and take-profit must be greater than 0.");
+        }
+        DiceEngine engine = DiceEngine.variant(request.getVariant());
+        DiceGameEngine gameEngine = new DiceGameEngine(engine);
+        DiceEngine.CompiledBet compiledBet = gameEngine.validate(request.getType(), request.getBetValue());
+        Game game = gameService.getGameById(request.getGameId());
 
-            default:
-                return null;
+        double stopLoss = request.getStopLoss() != null ? request.getStopLoss() : Double.POSITIVE_INFINITY;
+        double takeProfit = request.getTakeProfit() != null ? request.getTakeProfit() : Double.POSITIVE_INFINITY;
+        GamePlayService.Series series = gamePlayService.playRounds(game, gameEngine, compiledBet,
+                request.getUserId(), request.getAmount(), request.getRolls(), request.getType(), request.getBetValue(),
+                net -> net <= -stopLoss || net >= takeProfit);
+
+        List<Bet> bets = series.getBets();
+        int played = bets.size();
+        int wins = 0;
+        int[] sums = new int[played];
+        for (int i = 0; i < played; i++) {
+            Bet bet = bets.get(i);
+            sums[i] = Integer.parseInt(bet.getWinningValue());
+            if (bet.getWinloss() > 0) {
+                wins++;
+            }
+        }
+        String stopReason = "COMPLETED";
+        if (series.isStopped()) {
+            stopReason = series.getNet() <= -stopLoss ? "STOP_LOSS" : "TAKE_PROFIT";
+        } else if (played < request.getRolls()) {
+            stopReason = "INSUFFICIENT_BALANCE";
         }
+
+        return new DiceAutoBetResponseDTO(engine.getName(), request.getRolls(), played, wins,
+                played * request.getAmount(), series.getNet(), series.getFinalBalance(), stopReason, sums);
     }
 }
@@ -0,0 +1,45 @@
+package udaw.casino.service;
+
+import udaw.casino.dto.PaymentIntentResponseDTO;
+import udaw.casino.exception.PaymentProviderException;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for the payment provider, for load tests and development without a
+ * Stripe account. Answers after a fixed latency and fails a configurable share of calls,
+ * so timeouts and the circuit breaker can be exercised.
+ */
+public class FakePaymentProvider implements PaymentProvider {
+
+    private final long latencyMillis;
+    private final double failureRate;
+
+    /**
+     * @param latencyMillis Time each call takes
+     * @param failureRate Share of calls that fail, from 0 to 1
+     */
+    public FakePaymentProvider(long latencyMillis, double failureRate) {
+        this.latencyMillis = latencyMillis;
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public PaymentIntentResponseDTO createPaymentIntent(long amount, String currency, Long userId) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentProviderException("Interrupted", e);
+        }
+        if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new PaymentProviderException("Simulated provider failure", null);
+        }
+        String id = "pi_fake_" + UUID.randomUUID().toString().replace("-", "");
+        return new PaymentIntentResponseDTO(id + "_secret_fake", id, amount, currency);
+    }
+}
@@ -0,0 +1,99 @@
+package udaw.casino.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import udaw.casino.engine.GameEngine;
+import udaw.casino.exception.ResourceNotFoundException;
+import udaw.casino.model.Game;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of the {@link GameEngine} beans, keyed by the name of the game they play.
+ * Games are resolved through the in-memory {@link GameRegistry}, so finding the engine
+ * of a game ID never touches the database.
+ */
+@Component
+@Slf4j
+public class GameEngineRegistry {
+
+    private final GameRegistry gameRegistry;
+    private final Map<String, GameEngine<?>> enginesByName;
+
+    public GameEngineRegistry(GameRegistry gameRegistry, List<GameEngine<?>> engines) {
+        this.gameRegistry = gameRegistry;
+        Map<String, GameEngine<?>> byName = new HashMap<>();
+        for (GameEngine<?> engine : engines) {
+            GameEngine<?> previous = byName.put(engine.getGameName(), engine);
+            if (previous != null) {
+                throw new IllegalStateException("Two engines registered for game " + engine.getGameName() + ": "
+                        + previous.getClass().getSimpleName() + " and " + engine.getClass().getSimpleName());
+            }
+        }
+        this.enginesByName = Collections.unmodifiableMap(byName);
+    }
+
+    /**
+     * Reports engines whose game is missing from the games table once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkGames() {
+        for (String name : enginesByName.keySet()) {
+            if (gameRegistry.findByName(name) == null) {
+                log.warn("Game engine registered for \"{}\" but no such game exists", name);
+            }
+        }
+        log.info("Game engines registered for {}", enginesByName.keySet());
+    }
+
+    /**
+     * @param gameId The game ID
+     * @return The game and the engine that plays it
+     * @throws ResourceNotFoundException if the game does not exist or has no engine
+     */
+    public Registration forGame(Long gameId) {
+        Game game = gameRegistry.findById(gameId);
+        if (game == null) {
+            throw new ResourceNotFoundException("Game", "id", gameId);
+        }
+        GameEngine<?> engine = enginesByName.get(game.getName());
+        if (engine == null) {
+            throw new ResourceNotFoundException("No game engine for " + game.getName());
+        }
+        return new Registration(game, engine);
+    }
+
+    /**
+     * @param game A game
+     * @return Whether the game is played by a registered engine
+     */
+    public boolean hasEngine(Game game) {
+        return enginesByName.containsKey(game.getName());
+    }
+
+    /**
+     * A game together with its engine.
+     */
+    public static final class Registration {
+        private final Game game;
+        private final GameEngine<?> engine;
+
+        private Registration(Game game, GameEngine<?> engine) {
+            this.game = game;
+            this.engine = engine;
+        }
+
+        public Game getGame() {
+            return game;
+        }
+
+        public GameEngine<?> getEngine() {
+            return engine;
+        }
+    }
+}
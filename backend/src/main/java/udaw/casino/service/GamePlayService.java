@@ -0,0 +1,171 @@
+package udaw.casino.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import udaw.casino.dto.BetDTO;
+import udaw.casino.dto.GamePlayRequestDTO;
+import udaw.casino.dto.GamePlayResponseDTO;
+import udaw.casino.engine.GameEngine;
+import udaw.casino.exception.InsufficientBalanceException;
+import udaw.casino.exception.ResourceNotFoundException;
+import udaw.casino.model.Bet;
+import udaw.casino.model.Game;
+import udaw.casino.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service class playing any game that has a registered {@link GameEngine}.
+ *
+ * The settlement flow is shared by all engines: the game and engine come from memory,
+ * the user row is locked once, every round is evaluated against the in-memory balance,
+ * and the result is written as one bet insert (a JDBC batch for several rounds) plus
+ * one balance update. Dice auto-bet and bulk slot spins run their series through
+ * {@link #playRounds} too, adding their own stop rules and summaries.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GamePlayService {
+
+    private final GameEngineRegistry gameEngineRegistry;
+    private final BetService betService;
+    private final UserService userService;
+    private final OutcomeSource outcomeSource;
+
+    /**
+     * Decides after each round whether a series stops early (e.g. stop-loss or take-profit).
+     */
+    @FunctionalInterface
+    public interface StopRule {
+        /**
+         * @param net Net result of the series so far
+         * @return Whether to stop the series
+         */
+        boolean stopAfter(double net);
+    }
+
+    /**
+     * A series of rounds played and settled by {@link #playRounds}.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class Series {
+        /** Settled bets, one per round played, in order */
+        private final List<Bet> bets;
+        private final double net;
+        private final double finalBalance;
+        /** Whether the stop rule ended the series */
+        private final boolean stopped;
+    }
+
+    /**
+     * Plays one or more rounds of the same bet on a game.
+     *
+     * @param gameId The game ID
+     * @param request The user, stake, bet spec and number of rounds
+     * @return Summary of the rounds played, with the resolved bet for a single round
+     * @throws ResourceNotFoundException if the game does not exist or has no engine
+     * @throws IllegalArgumentException if the request or bet is invalid
+     * @throws InsufficientBalanceException if the user cannot cover the first round
+     */
+    @Transactional
+    public GamePlayResponseDTO play(Long gameId, GamePlayRequestDTO request) {
+        GameEngineRegistry.Registration registration = gameEngineRegistry.forGame(gameId);
+        return play(registration.getGame(), registration.getEngine(), request);
+    }
+
+    private <B> GamePlayResponseDTO play(Game game, GameEngine<B> engine, GamePlayRequestDTO request) {
+        if (request.getUserId() == null) {
+            throw new IllegalArgumentException("User ID is required.");
+        }
+        if (request.getAmount() <= 0) {
+            throw new IllegalArgumentException("Invalid bet amount: " + request.getAmount() + ". Must be greater than 0.");
+        }
+        if (request.getRounds() < 1 || request.getRounds() > engine.getMaxRounds()) {
+            throw new IllegalArgumentException("Rounds must be between 1 and " + engine.getMaxRounds() + " for " + game.getName() + ".");
+        }
+        B compiled = engine.validate(request.getType(), request.getBetValue());
+
+        Series series = playRounds(game, engine, compiled, request.getUserId(), request.getAmount(),
+                request.getRounds(), request.getType(), request.getBetValue(), null);
+        List<Bet> bets = series.getBets();
+        List<String> outcomes = new ArrayList<>(bets.size());
+        for (Bet bet : bets) {
+            outcomes.add(bet.getWinningValue());
+        }
+        BetDTO resolvedBet = bets.size() == 1 ? new BetDTO(bets.get(0)) : null;
+
+        return new GamePlayResponseDTO(game.getId(), game.getName(), bets.size(), outcomes,
+                bets.size() * request.getAmount(), series.getNet(), series.getFinalBalance(), resolvedBet);
+    }
+
+    /**
+     * Plays a series of rounds of one compiled bet against the user's locked balance.
+     * The series ends after {@code rounds} rounds, when the balance no longer covers the
+     * stake, or when the stop rule says so. A single round is saved through JPA so the
+     * returned bet has its ID; longer series are inserted with JDBC batches. The balance
+     * is written once at the end.
+     *
+     * @param game The game the bets are placed on
+     * @param engine The engine evaluating the rounds
+     * @param compiled The bet compiled by the engine
+     * @param userId The ID of the user
+     * @param amount Stake of every round
+     * @param rounds Largest number of rounds to play
+     * @param betType Bet type stored on the bets
+     * @param betValue Bet value stored on the bets
+     * @param stopRule Rule checked after every round, or null to play every round
+     * @return The settled series
+     * @throws InsufficientBalanceException if the user cannot cover the first round
+     */
+    @Transactional
+    public <B> Series playRounds(Game game, GameEngine<B> engine, B compiled, Long userId, double amount,
+                                 int rounds, String betType, String betValue, StopRule stopRule) {
+        User user = userService.getUserByIdForUpdate(userId);
+        if (user.getBalance() < amount) {
+            throw new InsufficientBalanceException("Insufficient balance to place this bet.");
+        }
+
+        double balance = user.getBalance();
+        double net = 0;
+        boolean stopped = false;
+        LocalDateTime now = LocalDateTime.now();
+        List<Bet> bets = new ArrayList<>(rounds);
+        while (bets.size() < rounds && balance >= amount && !stopped) {
+            GameEngine.Outcome outcome = engine.evaluate(compiled, outcomeSource);
+            double winloss = engine.settle(compiled, outcome, amount);
+            balance += winloss;
+            net += winloss;
+
+            Bet bet = new Bet();
+            bet.setUser(user);
+            bet.setGame(game);
+            bet.setAmount(amount);
+            bet.setBetType(betType);
+            bet.setBetValue(betValue);
+            bet.setWinningValue(outcome.getWinningValue());
+            bet.setBetDate(now);
+            bet.setWinloss(winloss);
+            bets.add(bet);
+
+            stopped = stopRule != null && stopRule.stopAfter(net);
+        }
+
+        if (bets.size() == 1) {
+            bets = betService.settleBets(bets);
+        } else {
+            betService.insertSettledBets(bets);
+        }
+        user.setBalance(balance);
+        log.info("User {} played {} rounds of {}: net {}", user.getId(), bets.size(), game.getName(), net);
+
+        return new Series(bets, net, balance, stopped);
+    }
+}
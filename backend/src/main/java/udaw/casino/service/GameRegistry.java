@@ -0,0 +1,130 @@
+package udaw.casino.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import udaw.casino.model.Game;
+import udaw.casino.repository.GameRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory registry of the casino's games.
+ * Holds an immutable snapshot of the games table that is swapped as a whole
+ * (copy-on-write) whenever a game is created, updated or deleted, so lookups by
+ * ID or name never touch the database and never block.
+ *
+ * Snapshot entries are detached copies without their bet collections. They can be
+ * referenced from new bets but must not be modified; load the entity from the
+ * repository to change a game.
+ */
+@Component
+@Slf4j
+public class GameRegistry {
+
+    private final GameRepository gameRepository;
+
+    private volatile Snapshot snapshot;
+
+    public GameRegistry(GameRepository gameRepository) {
+        this.gameRepository = gameRepository;
+    }
+
+    /**
+     * Loads the registry once the application (and its seed data) is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    /**
+     * @param id The game ID
+     * @return The game, or null if no game has that ID
+     */
+    public Game findById(Long id) {
+        return current().byId.get(id);
+    }
+
+    /**
+     * @param name The game name
+     * @return The game, or null if no game has that name
+     */
+    public Game findByName(String name) {
+        return current().byName.get(name);
+    }
+
+    /**
+     * @return All games ordered by ID
+     */
+    public List<Game> findAll() {
+        return current().all;
+    }
+
+    /**
+     * Reloads the snapshot from the database. When called inside a transaction the
+     * reload is deferred until it commits, so the registry never shows uncommitted changes.
+     */
+    public void refresh() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+        } else {
+            reload();
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    reload();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private synchronized void reload() {
+        List<Game> games = new ArrayList<>();
+        for (Game game : gameRepository.findAll()) {
+            Game copy = new Game(game.getName(), game.getDescription());
+            copy.setId(game.getId());
+            games.add(copy);
+        }
+        games.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+        snapshot = new Snapshot(games);
+        log.info("Game registry loaded with {} games", games.size());
+    }
+
+    private static final class Snapshot {
+        private final Map<Long, Game> byId;
+        private final Map<String, Game> byName;
+        private final List<Game> all;
+
+        Snapshot(List<Game> games) {
+            Map<Long, Game> ids = new HashMap<>();
+            Map<String, Game> names = new HashMap<>();
+            for (Game game : games) {
+                ids.put(game.getId(), game);
+                names.put(game.getName(), game);
+            }
+            this.byId = Collections.unmodifiableMap(ids);
+            this.byName = Collections.unmodifiableMap(names);
+            this.all = Collections.unmodifiableList(games);
+        }
+    }
+}
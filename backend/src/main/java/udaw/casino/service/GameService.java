@@ -14,14 +14,19 @@ import java.util.List;
  * Handles CRUD operations for games, including creation, retrieval,
  * updates, and deletion. Ensures game uniqueness and maintains
  * game-related data integrity.
+ *
+ * Reads are served from the in-memory {@link GameRegistry}; writes go to the
+ * database and refresh the registry once they commit.
  */
 @Service
 public class GameService {
 
     private final GameRepository gameRepository;
+    private final GameRegistry gameRegistry;
 
-    public GameService(GameRepository gameRepository) {
+    public GameService(GameRepository gameRepository, GameRegistry gameRegistry) {
         this.gameRepository = gameRepository;
+        this.gameRegistry = gameRegistry;
     }
 
     /**
@@ -38,40 +43,50 @@ public class GameService {
         if (gameRepository.findByName(game.getName()).isPresent()) {
             throw new IllegalArgumentException("Game with name '" + game.getName() + "' already exists.");
         }
-        return gameRepository.save(game);
+        Game saved = gameRepository.save(game);
+        gameRegistry.refresh();
+        return saved;
     }
 
     /**
-     * Retrieves a game by its unique identifier.
+     * Retrieves a game by its unique identifier from the game registry.
+     * The returned game is shared and must not be modified.
      *
      * @param id The unique identifier of the game
      * @return The found game
      * @throws ResourceNotFoundException if no game exists with the given ID
      */
     public Game getGameById(Long id) {
-        return gameRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Game", "id", id));
+        Game game = gameRegistry.findById(id);
+        if (game == null) {
+            throw new ResourceNotFoundException("Game", "id", id);
+        }
+        return game;
     }
 
     /**
-     * Retrieves a game by its name.
+     * Retrieves a game by its name from the game registry.
+     * The returned game is shared and must not be modified.
      *
      * @param name The name of the game to find
      * @return The found game
      * @throws ResourceNotFoundException if no game exists with the given name
      */
     public Game getGameByName(String name) {
-        return gameRepository.findByName(name)
-                .orElseThrow(() -> new ResourceNotFoundException("Game", "name", name));
+        Game game = gameRegistry.findByName(name);
+        if (game == null) {
+            throw new ResourceNotFoundException("Game", "name", name);
+        }
+        return game;
     }
 
     /**
      * Retrieves all available games in the casino.
      *
-     * @return A list of all games, ordered by their natural order
+     * @return An unmodifiable list of all games, ordered by ID
      */
     public List<Game> getAllGames() {
-        return gameRepository.findAll();
+        return gameRegistry.findAll();
     }
 
     /**
@@ -87,8 +102,9 @@ public class GameService {
      */
     @Transactional
     public void deleteGame(Long id) {
-        Game game = getGameById(id); // Validate game existence
+        Game game = findManagedGame(id); // Validate game existence
         gameRepository.delete(game);
+        gameRegistry.refresh();
     }
 
     /**
@@ -104,13 +120,23 @@ public class GameService {
      */
     @Transactional
     public Game updateGame(Long id, Game game) {
-        Game existingGame = getGameById(id); // Validate game existence
+        Game existingGame = findManagedGame(id); // Validate game existence
         
         // Update game properties
         existingGame.setName(game.getName());
         existingGame.setDescription(game.getDescription());
 
         
-        return gameRepository.save(existingGame);
+        Game saved = gameRepository.save(existingGame);
+        gameRegistry.refresh();
+        return saved;
+    }
+
+    /**
+     * Loads a game from the database for modification (registry entries are shared copies).
+     */
+    private Game findManagedGame(Long id) {
+        return gameRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Game", "id", id));
     }
 }
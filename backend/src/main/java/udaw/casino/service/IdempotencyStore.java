@@ -0,0 +1,226 @@
+package udaw.casino.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import udaw.casino.model.IdempotencyRecord;
+import udaw.casino.repository.IdempotencyRecordRepository;
+import udaw.casino.util.BoundedTtlCache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Store of the responses to requests made with an Idempotency-Key header.
+ *
+ * The first request with a key executes and its response is kept for the time-to-live in
+ * a bounded cache; a retry with the same key and the same request gets that response
+ * back instead of executing again. Requests with a key that is still executing wait for
+ * that execution rather than running alongside it, and take over if it ends without a
+ * response worth keeping. Optionally, responses are also written to the database, so
+ * retries are recognised after a restart or on another node (two nodes receiving the
+ * same key at the same moment may still both execute it).
+ */
+@Service
+@Slf4j
+public class IdempotencyStore {
+
+    private final BoundedTtlCache<String, StoredResponse> cache;
+    private final ConcurrentHashMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final IdempotencyRecordRepository recordRepository;
+    private final long ttlMillis;
+    private final boolean persistent;
+
+    public IdempotencyStore(IdempotencyRecordRepository recordRepository, MeterRegistry meterRegistry,
+                            @Value("${idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${idempotency.ttl-ms:86400000}") long ttlMillis,
+                            @Value("${idempotency.persistence.enabled:false}") boolean persistent) {
+        this.recordRepository = recordRepository;
+        this.cache = new BoundedTtlCache<>(maxEntries, ttlMillis, false);
+        this.ttlMillis = ttlMillis;
+        this.persistent = persistent;
+        Gauge.builder("idempotency.cache.size", cache, BoundedTtlCache::size)
+                .register(meterRegistry);
+        Gauge.builder("idempotency.in.flight", inFlight, ConcurrentHashMap::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Decides what to do with a request carrying an idempotency key. When the result is
+     * {@link Outcome.Type#EXECUTE}, the caller must execute the request and then call
+     * {@link #complete}, whatever happens.
+     *
+     * @param key The caller, endpoint and idempotency key
+     * @param fingerprint Hash of the request, to detect a key reused for a different request
+     * @param waitMillis How long to wait for an execution of the same key in progress
+     * @return What to do with the request
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Outcome acquire(String key, String fingerprint, long waitMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        while (true) {
+            StoredResponse stored = lookup(key);
+            if (stored != null) {
+                return replay(stored, fingerprint);
+            }
+            CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, mine);
+            if (running == null) {
+                // The previous execution may have finished between the lookup and now
+                stored = cache.get(key);
+                if (stored != null) {
+                    inFlight.remove(key, mine);
+                    mine.complete(stored);
+                    return replay(stored, fingerprint);
+                }
+                return new Outcome(Outcome.Type.EXECUTE, null);
+            }
+            try {
+                stored = running.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                return new Outcome(Outcome.Type.IN_PROGRESS, null);
+            } catch (ExecutionException e) {
+                stored = null;
+            }
+            if (stored != null) {
+                return replay(stored, fingerprint);
+            }
+            // The execution produced nothing to replay: try to take over
+        }
+    }
+
+    /**
+     * Records the end of an execution started by {@link #acquire} and releases the requests waiting on it.
+     *
+     * @param key The key passed to acquire
+     * @param response The response to replay to retries, or null if retries should execute again
+     */
+    public void complete(String key, StoredResponse response) {
+        if (response != null) {
+            cache.put(key, response);
+            if (persistent) {
+                persist(key, response);
+            }
+        }
+        CompletableFuture<StoredResponse> running = inFlight.remove(key);
+        if (running != null) {
+            running.complete(response);
+        }
+    }
+
+    /**
+     * Sweeps expired responses from memory and, with persistence enabled, from the database.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.sweep-interval-ms:60000}")
+    public void cleanUp() {
+        cache.cleanUp();
+        if (persistent) {
+            recordRepository.deleteExpired(LocalDateTime.now());
+        }
+    }
+
+    private StoredResponse lookup(String key) {
+        StoredResponse stored = cache.get(key);
+        if (stored == null && persistent) {
+            stored = recordRepository.findByRecordKeyAndExpiresAtAfter(hash(key), LocalDateTime.now())
+                    .map(r -> new StoredResponse(r.getFingerprint(), r.getStatus(), r.getContentType(), r.getBody()))
+                    .orElse(null);
+            if (stored != null) {
+                cache.put(key, stored);
+            }
+        }
+        return stored;
+    }
+
+    private void persist(String key, StoredResponse response) {
+        LocalDateTime now = LocalDateTime.now();
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setRecordKey(hash(key));
+        record.setFingerprint(response.getFingerprint());
+        record.setStatus(response.getStatus());
+        record.setContentType(response.getContentType());
+        record.setBody(response.getBody());
+        record.setCreatedAt(now);
+        record.setExpiresAt(now.plusNanos(ttlMillis * 1_000_000));
+        try {
+            recordRepository.save(record);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Idempotency key already recorded by another node");
+        } catch (RuntimeException e) {
+            log.warn("Could not persist idempotent response: {}", e.getMessage());
+        }
+    }
+
+    private static Outcome replay(StoredResponse stored, String fingerprint) {
+        return stored.getFingerprint().equals(fingerprint)
+                ? new Outcome(Outcome.Type.REPLAY, stored)
+                : new Outcome(Outcome.Type.MISMATCH, null);
+    }
+
+    /**
+     * @return Hex SHA-256 hash of a string
+     */
+    public static String hash(String value) {
+        return hash(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return Hex SHA-256 hash of bytes
+     */
+    public static String hash(byte[] value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * A response kept for replay.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class StoredResponse {
+        /** Hash of the request that produced the response */
+        private final String fingerprint;
+        private final int status;
+        private final String contentType;
+        private final byte[] body;
+    }
+
+    /**
+     * What to do with a request carrying an idempotency key.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class Outcome {
+        public enum Type {
+            /** Execute the request, then complete the key */
+            EXECUTE,
+            /** Return the stored response */
+            REPLAY,
+            /** The key was used for a different request */
+            MISMATCH,
+            /** The key is still executing elsewhere after the wait */
+            IN_PROGRESS
+        }
+
+        private final Type type;
+        /** The response to replay, for REPLAY */
+        private final StoredResponse response;
+    }
+}
@@ -0,0 +1,254 @@
+package udaw.casino.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import udaw.casino.dto.JackpotDTO;
+import udaw.casino.event.BetsSettledEvent;
+import udaw.casino.model.Bet;
+import udaw.casino.model.Jackpot;
+import udaw.casino.repository.JackpotRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service class for the progressive jackpot.
+ *
+ * A share of every settled wager on the configured games is added to the pool. The
+ * contribution comes out of the house edge: player payouts are unchanged. Contributions
+ * are counted in micro-credits in a striped {@link LongAdder}, so concurrent settlements
+ * never contend on a lock or a row; a scheduled flush adds the node's pending total to
+ * the {@code jackpots} row with an atomic {@code amount = amount + delta} update, which
+ * lets several nodes flush independently.
+ *
+ * Every qualifying wager also has a chance of hitting the jackpot, proportional to its
+ * amount. A hit locks the jackpot row, pays out its amount (plus this node's unflushed
+ * contributions) as a "jackpot" bet credited to the winner, and resets the pool to its
+ * seed, all in one transaction, so only one winner can take a given pool.
+ *
+ * The current value is served from memory: the last value read from the row plus the
+ * pending contributions.
+ */
+@Service
+@Slf4j
+public class JackpotService {
+
+    /** Micro-credits per credit. */
+    private static final double MICROS = 1_000_000d;
+
+    private final JackpotRepository jackpotRepository;
+    private final BetService betService;
+    private final GameService gameService;
+    private final OutcomeSource outcomeSource;
+    private final TransactionTemplate requiresNew;
+
+    private final boolean enabled;
+    private final String name;
+    private final double seedAmount;
+    private final double contributionRate;
+    private final double hitProbabilityPerCredit;
+    private final Set<String> games;
+
+    /** Contributions of this node not yet flushed, in micro-credits. */
+    private final LongAdder pending = new LongAdder();
+
+    /** Serializes flushes and hits, which both move pending contributions to the row. */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /** Last state read from the jackpots row. */
+    private volatile Jackpot snapshot;
+
+    public JackpotService(JackpotRepository jackpotRepository, BetService betService, GameService gameService,
+                          OutcomeSource outcomeSource, PlatformTransactionManager transactionManager,
+                          @Value("${jackpot.enabled:true}") boolean enabled,
+                          @Value("${jackpot.name:progressive}") String name,
+                          @Value("${jackpot.seed-amount:1000}") double seedAmount,
+                          @Value("${jackpot.contribution-rate:0.01}") double contributionRate,
+                          @Value("${jackpot.hit-probability-per-credit:0.000001}") double hitProbabilityPerCredit,
+                          @Value("${jackpot.games:Roulette,Dice,Slot Machine}") String games) {
+        this.jackpotRepository = jackpotRepository;
+        this.betService = betService;
+        this.gameService = gameService;
+        this.outcomeSource = outcomeSource;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.name = name;
+        this.seedAmount = seedAmount;
+        this.contributionRate = contributionRate;
+        this.hitProbabilityPerCredit = hitProbabilityPerCredit;
+        this.games = new HashSet<>();
+        for (String game : games.split(",")) {
+            if (!game.isBlank()) {
+                this.games.add(game.trim());
+            }
+        }
+    }
+
+    /**
+     * Creates the jackpot row on first start and loads it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            snapshot = loadOrCreate();
+            log.info("Jackpot \"{}\" loaded at {} (games {})", name, snapshot.getAmount(), games);
+        }
+    }
+
+    /**
+     * Adds the contributions of settled bets and draws for a jackpot hit on each.
+     * Runs after the settling transaction commits, so rolled-back bets never contribute.
+     *
+     * @param event The settled bets
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBetsSettled(BetsSettledEvent event) {
+        if (!enabled) {
+            return;
+        }
+        long contribution = 0;
+        List<BetsSettledEvent.SettledBet> hits = null;
+        for (BetsSettledEvent.SettledBet bet : event.getBets()) {
+            if (bet.getAmount() <= 0 || !games.contains(bet.getGameName())) {
+                continue;
+            }
+            contribution += Math.round(bet.getAmount() * contributionRate * MICROS);
+            if (outcomeSource.nextDouble() < bet.getAmount() * hitProbabilityPerCredit) {
+                if (hits == null) {
+                    hits = new ArrayList<>(1);
+                }
+                hits.add(bet);
+            }
+        }
+        if (contribution != 0) {
+            pending.add(contribution);
+        }
+        if (hits != null) {
+            for (BetsSettledEvent.SettledBet hit : hits) {
+                award(hit);
+            }
+        }
+    }
+
+    /**
+     * Adds this node's pending contributions to the jackpot row and refreshes the cached value.
+     */
+    @Scheduled(fixedDelayString = "${jackpot.flush-interval-ms:5000}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            long delta = pending.sum();
+            Jackpot updated = requiresNew.execute(status -> {
+                if (delta != 0) {
+                    jackpotRepository.addToAmount(name, delta / MICROS, LocalDateTime.now());
+                }
+                return jackpotRepository.findByName(name).orElseGet(this::create);
+            });
+            snapshot = updated;
+            pending.add(-delta);
+        } catch (RuntimeException e) {
+            log.warn("Could not flush jackpot contributions; keeping them for the next flush", e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Flushes pending contributions before shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * @return The jackpot's current state, served from memory
+     */
+    public JackpotDTO getJackpot() {
+        Jackpot current = snapshot;
+        if (current == null) {
+            current = loadOrCreate();
+            snapshot = current;
+        }
+        return new JackpotDTO(name, current.getAmount() + pending.sum() / MICROS, current.getSeedAmount(),
+                contributionRate, current.getHits(), current.getLastWinnerId(), current.getLastWinAmount(),
+                current.getLastHitAt());
+    }
+
+    /**
+     * Pays out the jackpot to the player of a winning bet and resets it to its seed.
+     */
+    private void award(BetsSettledEvent.SettledBet hit) {
+        flushLock.lock();
+        try {
+            long local = pending.sum();
+            Jackpot updated = requiresNew.execute(status -> {
+                Jackpot jackpot = jackpotRepository.findByNameForUpdate(name).orElseGet(this::create);
+                double won = jackpot.getAmount() + local / MICROS;
+                LocalDateTime now = LocalDateTime.now();
+
+                Bet win = new Bet();
+                win.setGame(gameService.getGameById(hit.getGameId()));
+                win.setAmount(0);
+                win.setBetType("jackpot");
+                win.setBetValue(name);
+                win.setWinningValue(String.format("%.2f", won));
+                win.setBetDate(now);
+                win.setWinloss(won);
+                betService.recordSettledBet(hit.getUserId(), win);
+
+                jackpot.setAmount(jackpot.getSeedAmount());
+                jackpot.setHits(jackpot.getHits() + 1);
+                jackpot.setLastWinnerId(hit.getUserId());
+                jackpot.setLastWinAmount(won);
+                jackpot.setLastHitAt(now);
+                jackpot.setUpdatedAt(now);
+                return jackpotRepository.save(jackpot);
+            });
+            snapshot = updated;
+            pending.add(-local);
+            log.info("Jackpot \"{}\" won by user {}: {}", name, hit.getUserId(), updated.getLastWinAmount());
+        } catch (RuntimeException e) {
+            log.error("Could not award jackpot to user {}", hit.getUserId(), e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private Jackpot loadOrCreate() {
+        try {
+            return requiresNew.execute(status -> jackpotRepository.findByName(name).orElseGet(this::create));
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the row first
+            return requiresNew.execute(status -> jackpotRepository.findByName(name).orElseThrow());
+        }
+    }
+
+    private Jackpot create() {
+        Jackpot jackpot = new Jackpot();
+        jackpot.setName(name);
+        jackpot.setAmount(seedAmount);
+        jackpot.setSeedAmount(seedAmount);
+        jackpot.setUpdatedAt(LocalDateTime.now());
+        return jackpotRepository.saveAndFlush(jackpot);
+    }
+}
@@ -0,0 +1,53 @@
+package udaw.casino.service;
+
+/**
+ * Source of random outcomes for every game engine.
+ * Implementations keep one generator per thread, so draws never contend or allocate
+ * a generator per request, and can be configured as a seeded source for replay tests.
+ */
+public interface OutcomeSource {
+
+    /**
+     * Draws a uniformly distributed value in [0, bound).
+     *
+     * @param bound Exclusive upper bound, must be positive
+     * @return The drawn value
+     */
+    int nextInt(int bound);
+
+    /**
+     * Fills an array with uniformly distributed values in [0, bound).
+     * Used for bulk draws such as multiple dice or many spins at once.
+     *
+     * @param bound Exclusive upper bound, must be positive
+     * @param out Array to fill
+     */
+    void nextInts(int bound, int[] out);
+
+    /**
+     * Draws {@code count} uniformly distributed values in [0, bound).
+     *
+     * @param bound Exclusive upper bound, must be positive
+     * @param count Number of values to draw
+     * @return The drawn values
+     */
+    default int[] nextInts(int bound, int count) {
+        int[] out = new int[count];
+        nextInts(bound, out);
+        return out;
+    }
+
+    /**
+     * Draws a uniformly distributed value in [0, 1).
+     *
+     * @return The drawn value
+     */
+    double nextDouble();
+
+    /**
+     * Draws a uniformly distributed 64-bit value, e.g. to seed a derived generator.
+     *
+     * @return The drawn value
+     */
+    long nextLong();
+}
@@ -0,0 +1,190 @@
+package udaw.casino.service;
+
+import com.stripe.exception.EventDataObjectDeserializationException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import udaw.casino.model.PaymentEvent;
+import udaw.casino.repository.PaymentEventRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Worker pool applying the payment webhook events stored by {@link PaymentService#receiveWebhookEvent}.
+ *
+ * Due events are picked up when a new one arrives and by a periodic poll. Each event is
+ * applied in its own transaction, which locks the event row (skipping rows locked by
+ * another worker or node), applies it and marks it processed; the balance update and the
+ * status change commit together, so an event is applied exactly once. A failed attempt is
+ * rolled back and retried later with exponential backoff, until the attempts run out and
+ * the event is marked failed for manual review.
+ */
+@Service
+@Slf4j
+public class PaymentEventWorker {
+
+    private final PaymentEventRepository paymentEventRepository;
+    private final PaymentService paymentService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${payments.events.threads:2}")
+    private int threads;
+
+    @Value("${payments.events.batch-size:50}")
+    private int batchSize;
+
+    @Value("${payments.events.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${payments.events.retry-base-delay-ms:5000}")
+    private long retryBaseDelayMillis;
+
+    @Value("${payments.events.retry-max-delay-ms:3600000}")
+    private long retryMaxDelayMillis;
+
+    /** Processed events are kept this long so late redeliveries are still recognised */
+    @Value("${payments.events.retention-days:30}")
+    private int retentionDays;
+
+    /** Events queued or running on this node */
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService executor;
+
+    public PaymentEventWorker(PaymentEventRepository paymentEventRepository, PaymentService paymentService,
+                              PlatformTransactionManager transactionManager) {
+        this.paymentEventRepository = paymentEventRepository;
+        this.paymentService = paymentService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "payment-events-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Stops the workers and lets running events finish; queued ones are picked up again after a restart.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Schedules due events right away, e.g. after a new one has been stored.
+     */
+    public void wakeUp() {
+        try {
+            executor.execute(this::dispatch);
+        } catch (RejectedExecutionException e) {
+            log.debug("Payment event workers are shutting down");
+        }
+    }
+
+    /**
+     * Schedules the events that are due, including retries.
+     */
+    @Scheduled(fixedDelayString = "${payments.events.poll-interval-ms:5000}")
+    public void dispatch() {
+        List<Long> due = paymentEventRepository.findDueIds(LocalDateTime.now(), PageRequest.of(0, batchSize));
+        for (Long id : due) {
+            if (inFlight.add(id)) {
+                try {
+                    executor.execute(() -> {
+                        try {
+                            process(id);
+                        } finally {
+                            inFlight.remove(id);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    inFlight.remove(id);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes processed events past the retention period.
+     */
+    @Scheduled(cron = "${payments.events.purge-cron:0 30 3 * * *}")
+    public void purgeProcessed() {
+        int deleted = transactionTemplate.execute(status ->
+                paymentEventRepository.deleteProcessedBefore(LocalDateTime.now().minusDays(retentionDays)));
+        if (deleted > 0) {
+            log.info("Purged {} processed payment events", deleted);
+        }
+    }
+
+    private void process(Long id) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    paymentEventRepository.lockPending(id).ifPresent(this::apply));
+        } catch (RuntimeException e) {
+            recordFailure(id, e);
+        }
+    }
+
+    private void apply(PaymentEvent event) {
+        String result;
+        try {
+            result = paymentService.applyWebhookEvent(event.getPayload());
+        } catch (EventDataObjectDeserializationException e) {
+            throw new IllegalStateException("Could not read the data of event " + event.getEventId(), e);
+        }
+        event.setAttempts(event.getAttempts() + 1);
+        event.setStatus(PaymentEvent.STATUS_PROCESSED);
+        event.setResult(truncate(result));
+        event.setLastError(null);
+        event.setProcessedAt(LocalDateTime.now());
+        log.info("Processed payment event {} ({}): {}", event.getEventId(), event.getType(), result);
+    }
+
+    private void recordFailure(Long id, RuntimeException error) {
+        transactionTemplate.executeWithoutResult(status -> paymentEventRepository.findById(id).ifPresent(event -> {
+            if (!PaymentEvent.STATUS_PENDING.equals(event.getStatus())) {
+                return;
+            }
+            int attempts = event.getAttempts() + 1;
+            event.setAttempts(attempts);
+            event.setLastError(truncate(error.getMessage() != null ? error.getMessage() : error.toString()));
+            if (attempts >= maxAttempts) {
+                event.setStatus(PaymentEvent.STATUS_FAILED);
+                log.error("Payment event {} failed after {} attempts", event.getEventId(), attempts, error);
+            } else {
+                long delay = Math.min(retryMaxDelayMillis, retryBaseDelayMillis << Math.min(attempts - 1, 30));
+                event.setNextAttemptAt(LocalDateTime.now().plusNanos(delay * 1_000_000));
+                log.warn("Payment event {} failed (attempt {}), retrying in {} ms: {}", event.getEventId(),
+                        attempts, delay, event.getLastError());
+            }
+        }));
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
@@ -0,0 +1,24 @@
+package udaw.casino.service;
+
+import udaw.casino.dto.PaymentIntentResponseDTO;
+
+/**
+ * Outbound calls to the payment provider.
+ * Implementations make blocking remote calls; {@link PaymentProviderClient} runs them off
+ * the request threads with timeouts and a circuit breaker. The provider is selected with
+ * payments.provider (STRIPE, or FAKE for load tests without a Stripe account).
+ */
+public interface PaymentProvider {
+
+    /**
+     * Creates a payment intent the client completes with the provider.
+     *
+     * @param amount Amount in the smallest currency unit (e.g. cents)
+     * @param currency ISO currency code
+     * @param userId ID of the paying user, returned with the payment's webhook event
+     * @return The intent's ID and client secret
+     * @throws IllegalArgumentException if the provider rejects the request itself
+     * @throws udaw.casino.exception.PaymentProviderException if the provider fails or cannot be reached
+     */
+    PaymentIntentResponseDTO createPaymentIntent(long amount, String currency, Long userId);
+}
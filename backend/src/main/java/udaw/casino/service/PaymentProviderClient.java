@@ -0,0 +1,153 @@
+package udaw.casino.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import udaw.casino.dto.PaymentIntentResponseDTO;
+import udaw.casino.exception.PaymentProviderException;
+import udaw.casino.exception.ServiceBusyException;
+import udaw.casino.util.CircuitBreaker;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs calls to the {@link PaymentProvider} on a dedicated, bounded pool of threads, with a
+ * timeout per call and a circuit breaker.
+ *
+ * A slow provider can therefore hold at most {@code threads + queueCapacity} request
+ * threads, each for at most the call timeout; further calls are refused at once with a
+ * {@link ServiceBusyException}. Provider failures and timeouts count towards the breaker;
+ * while it is open, calls fail fast with a {@link ServiceBusyException} whose Retry-After
+ * is the time left before the next trial call. Requests the provider rejects as invalid
+ * show it is answering, so they count as successes.
+ *
+ * Calls are timed in {@code payment.provider.calls}, tagged by outcome, and the breaker
+ * state is published as {@code payment.provider.circuit.open} (0 closed, 1 open, 0.5 half open).
+ */
+@Service
+@Slf4j
+public class PaymentProviderClient {
+
+    private final PaymentProvider provider;
+    private final CircuitBreaker circuitBreaker;
+    private final ThreadPoolExecutor executor;
+    private final long callTimeoutMillis;
+    private final MeterRegistry meterRegistry;
+
+    public PaymentProviderClient(PaymentProvider provider, MeterRegistry meterRegistry,
+                                 @Value("${payments.provider.threads:8}") int threads,
+                                 @Value("${payments.provider.queue-capacity:32}") int queueCapacity,
+                                 @Value("${payments.provider.call-timeout-ms:10000}") long callTimeoutMillis,
+                                 @Value("${payments.provider.circuit.failure-threshold:5}") int failureThreshold,
+                                 @Value("${payments.provider.circuit.open-ms:30000}") long openMillis) {
+        this.provider = provider;
+        this.meterRegistry = meterRegistry;
+        this.callTimeoutMillis = callTimeoutMillis;
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openMillis);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "payment-provider-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("payment.provider.circuit.open", circuitBreaker, breaker -> switch (breaker.getState()) {
+                    case CLOSED -> 0.0;
+                    case HALF_OPEN -> 0.5;
+                    case OPEN -> 1.0;
+                })
+                .description("State of the payment provider circuit breaker")
+                .register(meterRegistry);
+        Gauge.builder("payment.provider.queue", executor, e -> e.getQueue().size())
+                .description("Payment provider calls waiting for a thread")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Creates a payment intent with the provider.
+     *
+     * @see PaymentProvider#createPaymentIntent
+     * @throws ServiceBusyException if the circuit is open or too many calls are in progress
+     * @throws PaymentProviderException if the provider fails or does not answer in time
+     * @throws IllegalArgumentException if the provider rejects the request
+     */
+    public PaymentIntentResponseDTO createPaymentIntent(long amount, String currency, Long userId) {
+        return call(() -> provider.createPaymentIntent(amount, currency, userId));
+    }
+
+    /**
+     * Stops the provider threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T call(Callable<T> call) {
+        if (!circuitBreaker.tryAcquire()) {
+            record("rejected", 0);
+            throw new ServiceBusyException("Payment provider is unavailable, please retry later",
+                    Math.max(1, TimeUnit.MILLISECONDS.toSeconds(circuitBreaker.remainingOpenMillis() + 999)));
+        }
+        long start = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(call);
+        } catch (RejectedExecutionException e) {
+            circuitBreaker.onAbandoned();
+            record("rejected", 0);
+            throw new ServiceBusyException("Too many payment requests in progress, please retry shortly", 1);
+        }
+        try {
+            T result = future.get(callTimeoutMillis, TimeUnit.MILLISECONDS);
+            circuitBreaker.onSuccess();
+            record("success", System.nanoTime() - start);
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            circuitBreaker.onFailure();
+            record("timeout", System.nanoTime() - start);
+            log.warn("Payment provider call timed out after {} ms", callTimeoutMillis);
+            throw new PaymentProviderException("Payment provider did not answer in time", e, true);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            circuitBreaker.onAbandoned();
+            Thread.currentThread().interrupt();
+            throw new PaymentProviderException("Interrupted while waiting for the payment provider", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IllegalArgumentException invalid) {
+                // The provider answered; the request itself was wrong
+                circuitBreaker.onSuccess();
+                record("invalid", System.nanoTime() - start);
+                throw invalid;
+            }
+            circuitBreaker.onFailure();
+            record("failure", System.nanoTime() - start);
+            log.warn("Payment provider call failed: {}", cause.getMessage());
+            throw cause instanceof PaymentProviderException providerException
+                    ? providerException
+                    : new PaymentProviderException("Payment provider call failed", cause);
+        }
+    }
+
+    private void record(String outcome, long nanos) {
+        Timer.builder("payment.provider.calls")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -1,15 +1,17 @@
 package udaw.casino.service;
 
 import com.stripe.Stripe;
+import com.stripe.exception.EventDataObjectDeserializationException;
 import com.stripe.exception.StripeException;
 import com.stripe.model.Event;
 import com.stripe.model.EventDataObjectDeserializer;
 import com.stripe.model.PaymentIntent;
 import com.stripe.model.StripeObject;
+import com.stripe.net.ApiResource;
 import com.stripe.net.Webhook;
-import com.stripe.param.PaymentIntentCreateParams;
 
 import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -18,10 +20,14 @@ import org.springframework.transaction.annotation.Transactional;
 import udaw.casino.dto.PaymentIntentDTO;
 import udaw.casino.dto.PaymentIntentResponseDTO;
 import udaw.casino.dto.ProcessPaymentDTO;
+import udaw.casino.exception.PaymentProviderException;
 import udaw.casino.exception.ResourceNotFoundException;
+import udaw.casino.exception.ServiceBusyException;
+import udaw.casino.exception.UserNotFoundException;
 import udaw.casino.model.User;
+import udaw.casino.repository.PaymentEventRepository;
 
-import java.util.Arrays;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -32,6 +38,7 @@ import java.util.Map;
  * webhook events, and balance updates for users.
  */
 @Service
+@Slf4j
 public class PaymentService {
 
     @Value("${stripe.api.key}")
@@ -47,10 +54,15 @@ public class PaymentService {
     private int creditMultiplier;
 
     private final UserService userService;
+    private final PaymentEventRepository paymentEventRepository;
+    private final PaymentProviderClient paymentProviderClient;
 
     @Autowired
-    public PaymentService(UserService userService) {
+    public PaymentService(UserService userService, PaymentEventRepository paymentEventRepository,
+                          PaymentProviderClient paymentProviderClient) {
         this.userService = userService;
+        this.paymentEventRepository = paymentEventRepository;
+        this.paymentProviderClient = paymentProviderClient;
     }
 
     /**
@@ -64,79 +76,73 @@ public class PaymentService {
     }
 
     /**
-     * Creates a new payment intent in Stripe for processing a payment.
+     * Creates a new payment intent with the payment provider for processing a payment.
      * Supports both card and PayPal payment methods.
+     * The provider is called through the {@link PaymentProviderClient}, so a slow or failing
+     * provider makes this fail fast instead of holding the request thread.
      * 
      * @param paymentIntentDTO Payment details including user ID and amount
      * @return PaymentIntentResponseDTO containing client secret and payment details
-     * @throws StripeException if there's an error with Stripe API
-     * @throws RuntimeException if user not found or other unexpected errors occur
+     * @throws UserNotFoundException if the user does not exist
+     * @throws IllegalArgumentException if the provider rejects the payment details
+     * @throws ServiceBusyException if the provider is unavailable or saturated
+     * @throws PaymentProviderException if the provider fails or does not answer in time
      */
-    public PaymentIntentResponseDTO createPaymentIntent(PaymentIntentDTO paymentIntentDTO) throws StripeException {
-        try {
-            // Validate user existence
-            User user = userService.getUserById(paymentIntentDTO.getUserId());
-            
-            System.out.println("Creating payment intent for user: " + user.getUsername() + 
-                              ", amount: " + paymentIntentDTO.getAmount() + 
-                              ", currency: " + paymentIntentDTO.getCurrency());
-            
-            // Configure payment intent parameters
-            PaymentIntentCreateParams params = PaymentIntentCreateParams.builder()
-                    .setAmount(paymentIntentDTO.getAmount())
-                    .setCurrency(paymentIntentDTO.getCurrency())
-                    .addAllPaymentMethodType(Arrays.asList("card", "paypal"))
-                    .putMetadata("userId", user.getId().toString())
-                    .build();
-            
-            // Create and return payment intent
-            PaymentIntent paymentIntent = PaymentIntent.create(params);
-            System.out.println("Payment intent created with ID: " + paymentIntent.getId());
-            
-            return new PaymentIntentResponseDTO(
-                    paymentIntent.getClientSecret(),
-                    paymentIntent.getId(),
-                    paymentIntent.getAmount(),
-                    paymentIntent.getCurrency()
-            );
-        } catch (ResourceNotFoundException e) {
-            System.err.println("User not found: " + e.getMessage());
-            throw new RuntimeException("Unexpected error", e);
-        } catch (StripeException e) {
-            System.err.println("Stripe error: " + e.getMessage());
-            throw e;
-        } catch (Exception e) {
-            System.err.println("Unexpected error: " + e.getMessage());
-            throw new RuntimeException("Unexpected error", e);
+    public PaymentIntentResponseDTO createPaymentIntent(PaymentIntentDTO paymentIntentDTO) {
+        // Validate user existence
+        User user = userService.getUserById(paymentIntentDTO.getUserId());
+        if (paymentIntentDTO.getAmount() == null || paymentIntentDTO.getCurrency() == null) {
+            throw new IllegalArgumentException("Amount and currency are required");
         }
+        
+        PaymentIntentResponseDTO response = paymentProviderClient.createPaymentIntent(
+                paymentIntentDTO.getAmount(), paymentIntentDTO.getCurrency(), user.getId());
+        log.debug("Created payment intent {} for user {}: {} {}", response.getPaymentIntentId(), user.getId(),
+                  paymentIntentDTO.getAmount(), paymentIntentDTO.getCurrency());
+        return response;
     }
 
     /**
-     * Processes incoming Stripe webhook events.
-     * Currently handles payment_intent.succeeded events to update user balances.
+     * Receives a Stripe webhook event: verifies its signature and stores it for processing.
+     * The event is applied later by the {@link PaymentEventWorker}, so Stripe gets its
+     * answer without waiting for the balance update. A redelivered event is recognised by
+     * its ID and not stored again.
      * 
      * @param payload The raw webhook payload from Stripe
      * @param sigHeader The Stripe signature header for verification
-     * @return A message indicating the processing result
+     * @return true if the event was new, false if it had already been received
      * @throws StripeException if webhook signature verification fails
      */
     @Transactional
-    public String handleWebhookEvent(String payload, String sigHeader) throws StripeException {
-        Event event;
-        
-        try {
-            event = Webhook.constructEvent(payload, sigHeader, webhookSecret);
-        } catch (Exception e) {
-            throw new RuntimeException("Webhook signature verification failed", e);
-        }
+    public boolean receiveWebhookEvent(String payload, String sigHeader) throws StripeException {
+        Event event = Webhook.constructEvent(payload, sigHeader, webhookSecret);
+        return paymentEventRepository.insertIfAbsent(event.getId(), event.getType(), payload, LocalDateTime.now()) > 0;
+    }
+
+    /**
+     * Applies a stored webhook event.
+     * Currently handles payment_intent.succeeded events to update user balances.
+     * Runs in the caller's transaction, which also marks the event processed, so the
+     * event takes effect exactly once.
+     * 
+     * @param payload The raw webhook payload, already verified when it was received
+     * @return A message describing the result
+     * @throws EventDataObjectDeserializationException if the event data cannot be read
+     * @throws RuntimeException if the payment cannot be applied; the event is then retried
+     */
+    @Transactional
+    public String applyWebhookEvent(String payload) throws EventDataObjectDeserializationException {
+        Event event = ApiResource.GSON.fromJson(payload, Event.class);
         
         // Process payment success events
         if ("payment_intent.succeeded".equals(event.getType())) {
             EventDataObjectDeserializer dataObjectDeserializer = event.getDataObjectDeserializer();
-            StripeObject stripeObject = dataObjectDeserializer.getObject().orElse(null);
+            // Fall back to the raw data when the event was sent with another API version
+            StripeObject stripeObject = dataObjectDeserializer.getObject().isPresent()
+                    ? dataObjectDeserializer.getObject().get()
+                    : dataObjectDeserializer.deserializeUnsafe();
             
-            if (stripeObject instanceof PaymentIntent) {
-                PaymentIntent paymentIntent = (PaymentIntent) stripeObject;
+            if (stripeObject instanceof PaymentIntent paymentIntent) {
                 return processSuccessfulPayment(paymentIntent);
             }
         }
@@ -147,36 +153,33 @@ public class PaymentService {
     /**
      * Processes a successful payment by updating the user's balance.
      * Converts the payment amount to casino credits using the configured multiplier.
+     * The user row is locked so the credit cannot be lost to a concurrent balance update.
      * 
      * @param paymentIntent The successful payment intent from Stripe
      * @return A message indicating the processing result
+     * @throws IllegalArgumentException if the payment carries no user ID
+     * @throws UserNotFoundException if the user does not exist
      */
     @Transactional
     public String processSuccessfulPayment(PaymentIntent paymentIntent) {
-        try {
-            // Extract user ID from payment metadata
-            String userIdStr = paymentIntent.getMetadata().get("userId");
-            if (userIdStr == null) {
-                return "User ID not found in payment metadata";
-            }
-            
-            // Update user balance with converted credits
-            Long userId = Long.parseLong(userIdStr);
-            User user = userService.getUserById(userId);
-            
-            long amountPaid = paymentIntent.getAmount();
-            double realAmount = amountPaid / 100.0; // Convert from cents to dollars/euros
-            double creditsToAdd = realAmount * creditMultiplier;
-            
-            double newBalance = user.getBalance() + creditsToAdd;
-            userService.updateBalance(userId, newBalance);
-            
-            return "Payment processed successfully. Added " + creditsToAdd + " credits to user " + userId;
-        } catch (ResourceNotFoundException e) {
-            return "User not found: " + e.getMessage();
-        } catch (Exception e) {
-            return "Error processing payment: " + e.getMessage();
+        // Extract user ID from payment metadata
+        String userIdStr = paymentIntent.getMetadata().get("userId");
+        if (userIdStr == null) {
+            throw new IllegalArgumentException("User ID not found in metadata of payment " + paymentIntent.getId());
         }
+        
+        // Update user balance with converted credits
+        Long userId = Long.parseLong(userIdStr);
+        User user = userService.getUserByIdForUpdate(userId);
+        
+        long amountPaid = paymentIntent.getAmount();
+        double realAmount = amountPaid / 100.0; // Convert from cents to dollars/euros
+        double creditsToAdd = realAmount * creditMultiplier;
+        
+        double newBalance = user.getBalance() + creditsToAdd;
+        userService.updateBalance(userId, newBalance);
+        
+        return "Payment processed successfully. Added " + creditsToAdd + " credits to user " + userId;
     }
     
     /**
@@ -0,0 +1,273 @@
+package udaw.casino.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import udaw.casino.dto.FairPlayDTO;
+import udaw.casino.dto.FairSeedDTO;
+import udaw.casino.dto.FairVerificationDTO;
+import udaw.casino.engine.ProvablyFair;
+import udaw.casino.engine.RouletteWheel;
+import udaw.casino.model.FairSeed;
+import udaw.casino.repository.FairSeedRepository;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service for provably-fair play.
+ * Every user has one active seed pair: a secret server seed, whose SHA-256 hash is
+ * committed up front, and a client seed chosen by the player. Each fair play uses the
+ * next nonce of the pair, and its outcome is derived from
+ * HMAC-SHA256(serverSeed, clientSeed:nonce:cursor) (see {@link ProvablyFair}).
+ * Rotating the pair reveals the server seed so past outcomes can be verified.
+ *
+ * The database holds the one authoritative pair per user: it is opened and rotated under
+ * the user's row lock, and every play reserves its nonce under the pair's row lock, so
+ * nodes sharing a pair never reuse a nonce and never play on a pair another node has
+ * revealed. Each process keeps the precomputed HMAC key schedule of the pairs it has
+ * seen, so a fair play costs one small update and a couple of SHA-256 compressions.
+ */
+@Service
+@Slf4j
+public class ProvablyFairService {
+
+    /** Games whose outcomes can be derived from a seed pair. */
+    public enum Game {
+        /** One pocket index in [0, 38). */
+        ROULETTE(RouletteWheel.POCKETS, 1),
+        /** Two die faces, each in [0, 6). */
+        DICE(6, 2);
+
+        private final int bound;
+        private final int count;
+
+        Game(int bound, int count) {
+            this.bound = bound;
+            this.count = count;
+        }
+
+        /**
+         * @param values Raw outcomes of a draw
+         * @return The outcome as shown to players (winning number, or die faces 1-6)
+         */
+        public List<String> format(int[] values) {
+            List<String> outcome = new ArrayList<>(values.length);
+            for (int value : values) {
+                outcome.add(this == ROULETTE ? RouletteWheel.label(value) : String.valueOf(value + 1));
+            }
+            return outcome;
+        }
+    }
+
+    /**
+     * Outcome of a fair play together with its proof.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Draw {
+        private final int[] values;
+        private final FairPlayDTO proof;
+    }
+
+    private static final int SERVER_SEED_BYTES = 32;
+    private static final int MAX_CLIENT_SEED_LENGTH = 64;
+
+    private final FairSeedRepository fairSeedRepository;
+    private final UserService userService;
+    private final TransactionTemplate transactionTemplate;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    /** Key schedules of the active pairs seen by this process, by user ID */
+    private final Map<Long, ActiveSeed> activeSeeds = new ConcurrentHashMap<>();
+
+    public ProvablyFairService(FairSeedRepository fairSeedRepository, UserService userService,
+                               PlatformTransactionManager transactionManager) {
+        this.fairSeedRepository = fairSeedRepository;
+        this.userService = userService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Draws the outcome of a fair play with the user's active seed pair.
+     *
+     * @param userId The ID of the player
+     * @param game The game to draw for
+     * @return The raw outcome and the proof to return to the player
+     * @throws udaw.casino.exception.UserNotFoundException if the user does not exist
+     */
+    public Draw draw(Long userId, Game game) {
+        while (true) {
+            ActiveSeed seed = activeSeed(userId);
+            Long nonce = transactionTemplate.execute(status -> fairSeedRepository.findByIdForUpdate(seed.id)
+                    .filter(FairSeed::isActive)
+                    .map(entity -> {
+                        long next = entity.getNonce();
+                        entity.setNonce(next + 1);
+                        return next;
+                    })
+                    .orElse(null));
+            if (nonce == null) {
+                activeSeeds.remove(userId, seed); // Rotated, possibly by another node
+                continue;
+            }
+            int[] values = seed.schedule.outcomes(seed.clientSeed, nonce, game.bound, game.count);
+            return new Draw(values, new FairPlayDTO(seed.serverSeedHash, seed.clientSeed, nonce));
+        }
+    }
+
+    /**
+     * Returns the user's active seed pair. The server seed is not included.
+     *
+     * @param userId The ID of the user
+     * @return The active pair with its next nonce
+     */
+    public FairSeedDTO getActiveSeed(Long userId) {
+        while (true) {
+            ActiveSeed seed = activeSeed(userId);
+            FairSeed entity = fairSeedRepository.findById(seed.id).filter(FairSeed::isActive).orElse(null);
+            if (entity == null) {
+                activeSeeds.remove(userId, seed);
+                continue;
+            }
+            return new FairSeedDTO(entity.getServerSeedHash(), null, entity.getClientSeed(), entity.getNonce(),
+                    true, entity.getCreatedAt(), null);
+        }
+    }
+
+    /**
+     * Returns the user's revealed seed pairs, newest first.
+     *
+     * @param userId The ID of the user
+     * @return The revealed pairs including their server seeds
+     */
+    public List<FairSeedDTO> getRevealedSeeds(Long userId) {
+        List<FairSeedDTO> revealed = new ArrayList<>();
+        for (FairSeed seed : fairSeedRepository.findByUserIdAndActiveFalseOrderByRevealedAtDesc(userId)) {
+            revealed.add(new FairSeedDTO(seed));
+        }
+        return revealed;
+    }
+
+    /**
+     * Reveals the user's active seed pair and commits to a new server seed.
+     *
+     * @param userId The ID of the user
+     * @param clientSeed Client seed for the new pair, or null to generate one
+     * @return The revealed pair, including its server seed and the number of plays made
+     * @throws IllegalArgumentException if the client seed is blank or too long
+     */
+    @Transactional
+    public FairSeedDTO rotate(Long userId, String clientSeed) {
+        validateClientSeed(clientSeed);
+        userService.getUserByIdForUpdate(userId);
+        FairSeed current = fairSeedRepository.findActiveByUserIdForUpdate(userId)
+                .orElseGet(() -> open(userId, null));
+        current.setActive(false);
+        current.setRevealedAt(LocalDateTime.now());
+        FairSeed revealed = fairSeedRepository.save(current);
+        open(userId, clientSeed);
+        // Draws still holding the old schedule find the pair inactive and reload
+        activeSeeds.remove(userId);
+        return new FairSeedDTO(revealed);
+    }
+
+    /**
+     * Recomputes the outcome of a play from a revealed server seed.
+     *
+     * @param game The game the play belonged to
+     * @param serverSeed The revealed server seed (hex)
+     * @param clientSeed The client seed of the play
+     * @param nonce The nonce of the play
+     * @return The hash of the seed and the outcome it produces
+     * @throws IllegalArgumentException if the server seed is not valid hex or the nonce is negative
+     */
+    public FairVerificationDTO verify(Game game, String serverSeed, String clientSeed, long nonce) {
+        if (serverSeed == null || clientSeed == null || nonce < 0) {
+            throw new IllegalArgumentException("Server seed, client seed and a non-negative nonce are required.");
+        }
+        byte[] seed = HexFormat.of().parseHex(serverSeed.trim().toLowerCase());
+        int[] values = ProvablyFair.outcomes(seed, clientSeed, nonce, game.bound, game.count);
+        return new FairVerificationDTO(game.name().toLowerCase(), ProvablyFair.commitment(seed),
+                clientSeed, nonce, game.format(values));
+    }
+
+    private ActiveSeed activeSeed(Long userId) {
+        ActiveSeed seed = activeSeeds.get(userId);
+        if (seed != null) {
+            return seed;
+        }
+        // Database work stays outside the map so a rollback leaves nothing behind
+        ActiveSeed loaded = transactionTemplate.execute(status -> load(userId));
+        ActiveSeed raced = activeSeeds.putIfAbsent(userId, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    /**
+     * Loads the user's active pair, opening one if the user has none. The user's row lock
+     * keeps concurrent loads and rotations, on any node, from opening a second pair.
+     */
+    private ActiveSeed load(Long userId) {
+        userService.getUserByIdForUpdate(userId);
+        FairSeed entity = fairSeedRepository.findByUserIdAndActiveTrue(userId)
+                .orElseGet(() -> open(userId, null));
+        return new ActiveSeed(entity.getId(), new ProvablyFair.KeySchedule(HexFormat.of().parseHex(entity.getServerSeed())),
+                entity.getServerSeedHash(), entity.getClientSeed());
+    }
+
+    private FairSeed open(Long userId, String clientSeed) {
+        byte[] serverSeed = new byte[SERVER_SEED_BYTES];
+        secureRandom.nextBytes(serverSeed);
+
+        FairSeed entity = new FairSeed();
+        entity.setUserId(userId);
+        entity.setServerSeed(HexFormat.of().formatHex(serverSeed));
+        entity.setServerSeedHash(ProvablyFair.commitment(serverSeed));
+        entity.setClientSeed(clientSeed != null ? clientSeed.trim() : HexFormat.of().formatHex(randomBytes(8)));
+        entity.setNonce(0);
+        entity.setActive(true);
+        entity.setCreatedAt(LocalDateTime.now());
+        return fairSeedRepository.save(entity);
+    }
+
+    private void validateClientSeed(String clientSeed) {
+        if (clientSeed == null) {
+            return;
+        }
+        if (clientSeed.isBlank() || clientSeed.trim().length() > MAX_CLIENT_SEED_LENGTH) {
+            throw new IllegalArgumentException("Client seed must be 1-" + MAX_CLIENT_SEED_LENGTH + " characters.");
+        }
+    }
+
+    private byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        secureRandom.nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Immutable key schedule of an active pair. Nonces live in the database.
+     */
+    private static class ActiveSeed {
+        private final Long id;
+        private final ProvablyFair.KeySchedule schedule;
+        private final String serverSeedHash;
+        private final String clientSeed;
+
+        ActiveSeed(Long id, ProvablyFair.KeySchedule schedule, String serverSeedHash, String clientSeed) {
+            this.id = id;
+            this.schedule = schedule;
+            this.serverSeedHash = serverSeedHash;
+            this.clientSeed = clientSeed;
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package udaw.casino.service;
 
+import udaw.casino.engine.RouletteChip;
+import udaw.casino.engine.RouletteWheel;
 import udaw.casino.model.Bet;
 import udaw.casino.model.Game;
 import udaw.casino.model.User;
 import udaw.casino.repository.UserRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -114,6 +121,87 @@ public class RouletteService {
         return finalizedBet;
     }
 
+    /**
+     * Settles every chip of a closed shared-table round against a single winning number.
+     * Users are loaded once for the whole round with their rows locked (in ID order), so
+     * balance changes committed meanwhile by other games are not overwritten; all bets are
+     * persisted in one batch and each user's balance is updated once with their net result.
+     * Chips from users whose balance no longer covers their round stakes are dropped and
+     * returned, so players can be told.
+     * 
+     * @param chips The chips collected during the round's betting window
+     * @param winningNumber The winning number drawn for the round
+     * @return The settled bets and the dropped chips
+     */
+    @Transactional
+    public RoundSettlement settleRound(List<RouletteChip> chips, String winningNumber) {
+        List<RouletteChip> dropped = new ArrayList<>();
+        if (chips.isEmpty()) {
+            return new RoundSettlement(new ArrayList<>(), dropped);
+        }
+        Game rouletteGame = gameService.getGameByName(ROULETTE_GAME_NAME);
+
+        // Load every participant once
+        Map<Long, Double> stakesByUser = new HashMap<>();
+        for (RouletteChip chip : chips) {
+            stakesByUser.merge(chip.getUserId(), chip.getAmount(), Double::sum);
+        }
+        Map<Long, User> users = new HashMap<>();
+        for (User user : userRepository.findAllByIdForUpdate(stakesByUser.keySet())) {
+            if (user.getBalance() >= stakesByUser.get(user.getId())) {
+                users.put(user.getId(), user);
+            } else {
+                log.warn("Dropping round stakes of user {}: balance {} no longer covers {}",
+                         user.getUsername(), user.getBalance(), stakesByUser.get(user.getId()));
+            }
+        }
+
+        // Evaluate every chip against the same winning number
+        List<Bet> bets = new ArrayList<>(chips.size());
+        for (RouletteChip chip : chips) {
+            User user = users.get(chip.getUserId());
+            if (user == null) {
+                dropped.add(chip);
+                continue;
+            }
+            Double winnings = RouletteWheel.winnings(chip.getBetType(), chip.getBetValue(), chip.getAmount(), winningNumber);
+            if (winnings == null) {
+                log.warn("Skipping invalid chip: type={}, value={}", chip.getBetType(), chip.getBetValue());
+                continue;
+            }
+            Bet bet = new Bet();
+            bet.setUser(user);
+            bet.setGame(rouletteGame);
+            bet.setAmount(chip.getAmount());
+            bet.setBetType(chip.getBetType());
+            bet.setBetValue(chip.getBetValue());
+            bet.setBetDate(chip.getPlacedAt());
+            bet.setWinningValue(winningNumber);
+            bet.setWinloss(winnings);
+            bets.add(bet);
+
+            user.setBalance(user.getBalance() + winnings);
+        }
+
+        userRepository.saveAll(users.values());
+        List<Bet> settled = betService.settleBets(bets);
+
+        log.info("Settled roulette round: {} bets from {} users, {} chips dropped, winning number {}",
+                 settled.size(), users.size(), dropped.size(), winningNumber);
+        return new RoundSettlement(settled, dropped);
+    }
+
+    /**
+     * Outcome of settling a shared-table round.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class RoundSettlement {
+        private final List<Bet> settled;
+        /** Chips refused because their user's balance no longer covered the round stakes */
+        private final List<RouletteChip> dropped;
+    }
+
     /**
      * Determines the result of a roulette bet based on the winning number.
      * Implements payout rules for different bet types:
@@ -135,97 +223,10 @@ public class RouletteService {
         log.info("Determining result for bet: type={}, value={}, winning number={}", 
                 type, value, winningNumberStr);
 
-        // Parse winning number
-        int winningNumber = 0;
-        try {
-            if (!winningNumberStr.equals("00")) {
-                winningNumber = Integer.parseInt(winningNumberStr);
-            }
-        } catch (NumberFormatException e) {
-            log.error("Error parsing winning number: {}", winningNumberStr);
-            return null;
-        }
-        
-        String winningColor = getNumberColor(winningNumberStr);
-        
-        // Process bet based on type
-        switch (type.toLowerCase()) {
-            case "number": // Direct number bet (35:1)
-                if (value.equals(winningNumberStr)) {
-                    log.info("Number bet win: bet value '{}' matches winning number '{}'", value, winningNumberStr);
-                    return bet.getAmount() * 35; 
-                } else {
-                    log.info("Number bet loss: bet value '{}' does not match winning number '{}'", value, winningNumberStr);
-                    return -bet.getAmount(); 
-                }
-                
-            case "color": // Color bet (1:1)
-                if (winningNumberStr.equals("0") || winningNumberStr.equals("00")) return -bet.getAmount();
-                if ((winningColor.equals("red") && value.equals("1")) || 
-                    (winningColor.equals("black") && value.equals("2"))) {
-                    return bet.getAmount();
-                } else {
-                    return -bet.getAmount();
-                }
-            
-            case "parity": // Even/Odd bet (1:1)
-                if (winningNumberStr.equals("0") || winningNumberStr.equals("00")) return -bet.getAmount(); 
-                String winningParity = (winningNumber % 2 == 0) ? "even" : "odd";
-                return value.equals(winningParity) ? bet.getAmount() : -bet.getAmount();
-
-            case "dozen": // Dozen bet (2:1)
-                try {
-                    if (winningNumberStr.equals("0") || winningNumberStr.equals("00")) return -bet.getAmount(); 
-                    int betDozen = Integer.parseInt(value);
-                    int winningDozen = (int) Math.ceil((double) winningNumber / 12.0);
-                    return betDozen == winningDozen ? bet.getAmount() * 2 : -bet.getAmount();
-                } catch (NumberFormatException | ArithmeticException e) {
-                    log.warn("Invalid value for 'dozen' bet: {} or error calculating dozen for {}", value, winningNumber, e);
-                    return null; 
-                }
-
-            case "column": // Column bet (2:1)
-                try {
-                    if (winningNumberStr.equals("0") || winningNumberStr.equals("00")) return -bet.getAmount(); 
-                    int betColumn = Integer.parseInt(value);
-                    int winningColumn = (winningNumber % 3 == 0) ? 3 : winningNumber % 3;
-                    return betColumn == winningColumn ? bet.getAmount() * 2 : -bet.getAmount();
-                } catch (NumberFormatException e) {
-                    log.warn("Invalid value for 'column' bet: {}", value, e);
-                    return null;
-                }
-
-            case "half": // High/Low bet (1:1)
-                if (winningNumberStr.equals("0") || winningNumberStr.equals("00")) return -bet.getAmount();
-                boolean isWinningLow = winningNumber >= 1 && winningNumber <= 18;
-                boolean isBetLow = value.equals("low");
-                return (isWinningLow == isBetLow) ? bet.getAmount() : -bet.getAmount(); 
-
-            default:
-                log.warn("Unknown bet type encountered: {}", type);
-                return null;
+        Double winnings = RouletteWheel.winnings(type, value, bet.getAmount(), winningNumberStr);
+        if (winnings == null) {
+            log.warn("Unable to evaluate bet: type={}, value={}, winning number={}", type, value, winningNumberStr);
         }
+        return winnings;
     }
-
-    /**
-     * Determines the color of a roulette number according to American roulette rules.
-     * 
-     * @param numberStr The number as a string (0-36 or "00")
-     * @return "red", "black", or "green" for 0/00
-     */
-    private String getNumberColor(String numberStr) {
-        if (numberStr.equals("0") || numberStr.equals("00")) return "green";
-        
-        try {
-            // American roulette red numbers
-            ArrayList<String> redNumbers = new ArrayList<>(java.util.Arrays.asList(
-                "1", "3", "5", "7", "9", "12", "14", "16", "18", 
-                "19", "21", "23", "25", "27", "30", "32", "34", "36"
-            ));
-            return redNumbers.contains(numberStr) ? "red" : "black";
-        } catch (NumberFormatException e) {
-            log.error("Invalid number format for color determination: {}", numberStr);
-            return "green";
-        }
-    } 
 }
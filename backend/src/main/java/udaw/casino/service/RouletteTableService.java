@@ -0,0 +1,298 @@
+package udaw.casino.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import udaw.casino.dto.BetDTO;
+import udaw.casino.dto.RouletteRoundDTO;
+import udaw.casino.dto.RoundExposureDTO;
+import udaw.casino.dto.TableBetRequestDTO;
+import udaw.casino.engine.RouletteChip;
+import udaw.casino.engine.RouletteTable;
+import udaw.casino.engine.RouletteTableRuntime;
+import udaw.casino.engine.RouletteWheel;
+import udaw.casino.engine.RoundExposure;
+import udaw.casino.exception.ExposureLimitExceededException;
+import udaw.casino.exception.InsufficientBalanceException;
+import udaw.casino.exception.ResourceNotFoundException;
+import udaw.casino.model.Bet;
+import udaw.casino.model.User;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service running the shared-table roulette rounds.
+ * Each table opens a betting window, collects chips from many players in memory,
+ * and when the window closes draws a single winning number and settles the whole
+ * round in one batch. Subscribers of a table receive round openings and outcomes
+ * through server-sent events.
+ *
+ * Table state is owned by a {@link RouletteTableRuntime}, which pins every table to
+ * one of N single-threaded event loops. Settlement and event pushes run on a
+ * separate executor so the loops never block on the database or the network.
+ */
+@Service
+@Slf4j
+public class RouletteTableService {
+
+    private final RouletteService rouletteService;
+    private final UserService userService;
+    private final OutcomeSource outcomeSource;
+
+    /** Event stream subscribers by table ID */
+    private final Map<Integer, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    @Value("${roulette.tables.count:1}")
+    private int tableCount;
+
+    @Value("${roulette.tables.betting-window-ms:15000}")
+    private long bettingWindowMs;
+
+    /** Number of event loops; 0 means one per available core */
+    @Value("${roulette.tables.event-loops:0}")
+    private int eventLoops;
+
+    @Value("${roulette.tables.settlement-threads:2}")
+    private int settlementThreads;
+
+    @Value("${roulette.tables.bet-timeout-ms:2000}")
+    private long betTimeoutMs;
+
+    /** Worst-case house liability allowed per round; 0 means unlimited */
+    @Value("${roulette.tables.max-liability:0}")
+    private double maxLiability;
+
+    @Value("${roulette.tables.exposure-mode:REJECT}")
+    private RoundExposure.Mode exposureMode;
+
+    private RouletteTableRuntime runtime;
+    private ExecutorService settlementExecutor;
+
+    public RouletteTableService(RouletteService rouletteService, UserService userService, OutcomeSource outcomeSource) {
+        this.rouletteService = rouletteService;
+        this.userService = userService;
+        this.outcomeSource = outcomeSource;
+    }
+
+    /**
+     * Opens the first round of every configured table and starts the event loops.
+     */
+    @PostConstruct
+    public void init() {
+        for (int id = 1; id <= tableCount; id++) {
+            subscribers.put(id, new CopyOnWriteArrayList<>());
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        settlementExecutor = Executors.newFixedThreadPool(settlementThreads, runnable -> {
+            Thread thread = new Thread(runnable, "roulette-settlement-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        runtime = new RouletteTableRuntime(tableCount, eventLoops, bettingWindowMs,
+                maxLiability, exposureMode, this::onRoundClosed);
+        runtime.start();
+        log.info("Opened {} shared roulette tables on {} event loops with a {} ms betting window",
+                 tableCount, runtime.getLoopCount(), bettingWindowMs);
+    }
+
+    /**
+     * Stops the event loops and lets in-flight settlements finish.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        runtime.close();
+        settlementExecutor.shutdown();
+        settlementExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Places a chip on the open round of a table.
+     * Only the user's balance is read here; nothing is written until the round settles.
+     *
+     * @param tableId The table to bet on
+     * @param request The chip details
+     * @return The state of the round the chip was accepted into, with the accepted amount
+     * @throws IllegalArgumentException if the bet is invalid
+     * @throws ResourceNotFoundException if the table or user does not exist
+     * @throws InsufficientBalanceException if the user's round stakes exceed their balance
+     * @throws ExposureLimitExceededException if the chip would exceed the round's liability limit
+     */
+    public RouletteRoundDTO placeBet(int tableId, TableBetRequestDTO request) {
+        getTable(tableId);
+        if (request.getUserId() == null) {
+            throw new IllegalArgumentException("User ID is required but not provided.");
+        }
+        if (request.getAmount() <= 0) {
+            throw new IllegalArgumentException("Invalid bet amount: " + request.getAmount() + ". Must be greater than 0.");
+        }
+        if (!RouletteWheel.isValidBet(request.getBetType(), request.getBetValue())) {
+            throw new IllegalArgumentException("Invalid bet type or value: " + request.getBetType() + ", " + request.getBetValue());
+        }
+
+        User user = userService.getUserById(request.getUserId());
+        RouletteChip chip = new RouletteChip(user.getId(), request.getAmount(),
+                request.getBetType(), request.getBetValue(), LocalDateTime.now());
+        try {
+            RouletteTable.Placement placement = runtime.placeChip(tableId, chip, user.getBalance())
+                    .get(betTimeoutMs, TimeUnit.MILLISECONDS);
+            RouletteRoundDTO response = toOpenRoundDTO(tableId, placement.getRound());
+            response.setAcceptedAmount(placement.getChip().getAmount());
+            return response;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Failed to place bet on table " + tableId, e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Roulette table " + tableId + " did not accept the bet in time");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while placing bet on table " + tableId);
+        }
+    }
+
+    /**
+     * Returns the open round of every table.
+     *
+     * @return The open rounds ordered by table ID
+     */
+    public List<RouletteRoundDTO> getOpenRounds() {
+        List<RouletteRoundDTO> rounds = new ArrayList<>();
+        for (int id = 1; id <= tableCount; id++) {
+            rounds.add(getOpenRound(id));
+        }
+        return rounds;
+    }
+
+    /**
+     * Returns the open round of a table.
+     *
+     * @param tableId The table ID
+     * @return The open round state
+     * @throws ResourceNotFoundException if the table does not exist
+     */
+    public RouletteRoundDTO getOpenRound(int tableId) {
+        return toOpenRoundDTO(tableId, getTable(tableId).getCurrentRound());
+    }
+
+    /**
+     * Returns the house exposure of a table's open round: the liability if each
+     * number hits, read directly from the round's accumulators.
+     *
+     * @param tableId The table ID
+     * @return The exposure of the open round
+     * @throws ResourceNotFoundException if the table does not exist
+     */
+    public RoundExposureDTO getExposure(int tableId) {
+        RouletteTable.Round round = getTable(tableId).getCurrentRound();
+        double[] liability = round.getExposure().snapshot();
+
+        Map<String, Double> byNumber = new LinkedHashMap<>();
+        int worstPocket = 0;
+        for (int pocket = 0; pocket < RouletteWheel.POCKETS; pocket++) {
+            byNumber.put(RouletteWheel.label(pocket), liability[pocket]);
+            if (liability[pocket] > liability[worstPocket]) {
+                worstPocket = pocket;
+            }
+        }
+        return new RoundExposureDTO(tableId, round.getRoundId(), byNumber,
+                RouletteWheel.label(worstPocket), liability[worstPocket], Math.max(0, maxLiability));
+    }
+
+    /**
+     * Subscribes to a table's round events.
+     *
+     * @param tableId The table ID
+     * @return An emitter receiving "round-open" and "round-result" events
+     * @throws ResourceNotFoundException if the table does not exist
+     */
+    public SseEmitter subscribe(int tableId) {
+        getTable(tableId);
+        SseEmitter emitter = new SseEmitter(0L);
+        List<SseEmitter> tableSubscribers = subscribers.get(tableId);
+        tableSubscribers.add(emitter);
+        emitter.onCompletion(() -> tableSubscribers.remove(emitter));
+        emitter.onTimeout(() -> tableSubscribers.remove(emitter));
+        emitter.onError(e -> tableSubscribers.remove(emitter));
+        return emitter;
+    }
+
+    /**
+     * Called on a table's event loop when its betting window closes. Hands the closed
+     * round to the settlement executor, which draws the winning number, settles the
+     * round in one batch and pushes the outcome and the newly opened round.
+     */
+    private void onRoundClosed(RouletteTable table, RouletteTable.Round closed) {
+        RouletteTable.Round opened = table.getCurrentRound();
+        settlementExecutor.execute(() -> {
+            try {
+                settle(table.getId(), closed);
+            } catch (Exception e) {
+                log.error("Failed to settle round {} of table {}", closed.getRoundId(), table.getId(), e);
+            }
+            publish(table.getId(), "round-open", toOpenRoundDTO(table.getId(), opened));
+        });
+    }
+
+    private void settle(int tableId, RouletteTable.Round round) {
+        if (round.getChipCount() == 0) {
+            return;
+        }
+        String winningNumber = RouletteWheel.label(outcomeSource.nextInt(RouletteWheel.POCKETS));
+        RouletteService.RoundSettlement settlement = rouletteService.settleRound(round.getChips(), winningNumber);
+
+        List<BetDTO> betDTOs = new ArrayList<>(settlement.getSettled().size());
+        for (Bet bet : settlement.getSettled()) {
+            betDTOs.add(new BetDTO(bet));
+        }
+        List<TableBetRequestDTO> dropped = new ArrayList<>(settlement.getDropped().size());
+        for (RouletteChip chip : settlement.getDropped()) {
+            TableBetRequestDTO chipDTO = new TableBetRequestDTO();
+            chipDTO.setUserId(chip.getUserId());
+            chipDTO.setAmount(chip.getAmount());
+            chipDTO.setBetType(chip.getBetType());
+            chipDTO.setBetValue(chip.getBetValue());
+            dropped.add(chipDTO);
+        }
+        publish(tableId, "round-result", new RouletteRoundDTO(tableId, round.getRoundId(), "SETTLED",
+                round.getClosesAt(), round.getChipCount(), winningNumber, betDTOs, null, dropped));
+    }
+
+    private void publish(int tableId, String eventName, RouletteRoundDTO payload) {
+        for (SseEmitter emitter : subscribers.get(tableId)) {
+            try {
+                emitter.send(SseEmitter.event().name(eventName).data(payload));
+            } catch (IOException | IllegalStateException e) {
+                subscribers.get(tableId).remove(emitter);
+            }
+        }
+    }
+
+    private RouletteTable getTable(int tableId) {
+        if (tableId < 1 || tableId > tableCount) {
+            throw new ResourceNotFoundException("Roulette table", "id", tableId);
+        }
+        return runtime.getTable(tableId);
+    }
+
+    private RouletteRoundDTO toOpenRoundDTO(int tableId, RouletteTable.Round round) {
+        return new RouletteRoundDTO(tableId, round.getRoundId(), "OPEN",
+                round.getClosesAt(), round.getChipCount(), null, null, null, null);
+    }
+}
@@ -0,0 +1,87 @@
+package udaw.casino.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import udaw.casino.dto.RtpReportDTO;
+import udaw.casino.dto.RtpVerificationDTO;
+import udaw.casino.engine.RtpSimulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service running the Monte Carlo RTP verification of all games on demand.
+ * Simulations run on the dedicated simulation pool, so they never compete with the
+ * common pool used by request handling. Only one verification runs at a time.
+ */
+@Service
+@Slf4j
+public class RtpVerificationService {
+
+    @Value("${casino.rtp.min:0.80}")
+    private double minRtp;
+
+    @Value("${casino.rtp.max:1.0}")
+    private double maxRtp;
+
+    /** Critical value of the confidence intervals (3.29 = 99.9% two-sided) */
+    @Value("${casino.rtp.z:3.29}")
+    private double z;
+
+    @Value("${casino.rtp.max-rounds:10000000000}")
+    private long maxRounds;
+
+    private final ForkJoinPool pool;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public RtpVerificationService(@Qualifier("simulationPool") ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Simulates every bet kind of every game and checks its RTP against the configured bounds.
+     * A bet violates the bounds only when its whole confidence interval lies outside them.
+     *
+     * @param rounds Rounds per game (every bet kind of the game sees all of them)
+     * @param seed Root seed, or null for a random one
+     * @return The per-bet reports and the list of violations
+     * @throws IllegalArgumentException if the number of rounds is out of range
+     * @throws IllegalStateException if a verification is already running
+     */
+    public RtpVerificationDTO verify(long rounds, Long seed) {
+        if (rounds < 1 || rounds > maxRounds) {
+            throw new IllegalArgumentException("Rounds must be between 1 and " + maxRounds + ".");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("An RTP verification is already running.");
+        }
+        try {
+            long rootSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+            long start = System.currentTimeMillis();
+            List<RtpReportDTO> reports = new ArrayList<>();
+            List<String> violations = new ArrayList<>();
+            for (RtpSimulator.Game game : RtpSimulator.allGames()) {
+                for (RtpSimulator.Result result : RtpSimulator.simulate(game, rounds, rootSeed, z, pool)) {
+                    boolean within = result.getCiLow() <= maxRtp && result.getCiHigh() >= minRtp;
+                    if (!within) {
+                        violations.add(result.getGame() + " " + result.getBet());
+                    }
+                    reports.add(new RtpReportDTO(result.getGame(), result.getBet(), result.getRounds(),
+                            result.getRtp(), result.getTheoreticalRtp(), result.getVariance(),
+                            result.getStandardError(), result.getCiLow(), result.getCiHigh(), within));
+                }
+            }
+            long elapsed = System.currentTimeMillis() - start;
+            log.info("RTP verification of {} rounds per game finished in {} ms with {} violations: {}",
+                     rounds, elapsed, violations.size(), violations);
+            return new RtpVerificationDTO(rounds, rootSeed, minRtp, maxRtp, elapsed, violations, reports);
+        } finally {
+            running.set(false);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package udaw.casino.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import udaw.casino.dto.BetDTO;
+import udaw.casino.dto.SlotBulkSpinResponseDTO;
+import udaw.casino.dto.SlotSpinResponseDTO;
+import udaw.casino.engine.SlotEngine;
+import udaw.casino.engine.SlotGameEngine;
+import udaw.casino.exception.InsufficientBalanceException;
+import udaw.casino.model.Bet;
+import udaw.casino.model.Game;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service class for the slot machine.
+ * Spins are evaluated by the configured {@link SlotEngine} on the server; a single spin
+ * is persisted as one bet and one balance update, and a bulk run goes through the shared
+ * settlement flow of {@link GamePlayService#playRounds}: one batched insert of all its
+ * bets and one balance update.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SlotService {
+
+    /** Name of the slot machine game in the games table. */
+    public static final String GAME_NAME = "Slot Machine";
+
+    private final SlotEngine slotEngine;
+    private final BetService betService;
+    private final UserService userService;
+    private final GameService gameService;
+    private final OutcomeSource outcomeSource;
+    private final SlotGameEngine slotGameEngine;
+    private final GamePlayService gamePlayService;
+
+    /** Largest number of spins accepted by a single bulk request. */
+    @Value("${slots.bulk.max-spins:10000}")
+    private int maxBulkSpins;
+
+    /**
+     * Plays one spin.
+     *
+     * @param userId The ID of the user
+     * @param amount Stake of the spin
+     * @return The spin and the resolved bet
+     * @throws IllegalArgumentException if the stake is invalid
+     * @throws InsufficientBalanceException if the user cannot cover the stake
+     */
+    public SlotSpinResponseDTO spin(Long userId, double amount) {
+        validate(userId, amount);
+        double balance = userService.getUserById(userId).getBalance();
+        if (balance < amount) {
+            throw new InsufficientBalanceException("Insufficient balance to place this bet. Current balance: " + balance);
+        }
+
+        SlotEngine.Spin spin = slotEngine.spin(outcomeSource);
+        Bet bet = newBet(gameService.getGameByName(GAME_NAME), amount, spin.getWindow(), spin.getPayout(),
+                LocalDateTime.now());
+        Bet resolvedBet = betService.recordSettledBet(userId, bet);
+
+        List<String> symbols = new ArrayList<>(spin.getWindow().length);
+        for (int symbol : spin.getWindow()) {
+            symbols.add(slotEngine.getSymbols().get(symbol));
+        }
+        return new SlotSpinResponseDTO(symbols, spin.getStops(), spin.getLinePays(), spin.getPayout(),
+                new BetDTO(resolvedBet));
+    }
+
+    /**
+     * Plays a series of spins with the same stake, stopping early if the balance can no
+     * longer cover it. All bets are inserted in JDBC batches in one transaction.
+     *
+     * @param userId The ID of the user
+     * @param amount Stake of every spin
+     * @param spins Number of spins
+     * @return Summary of the run
+     * @throws IllegalArgumentException if the request is invalid
+     * @throws InsufficientBalanceException if the user cannot cover the first spin
+     */
+    @Transactional
+    public SlotBulkSpinResponseDTO spinBulk(Long userId, double amount, int spins) {
+        validate(userId, amount);
+        if (spins < 1 || spins > maxBulkSpins) {
+            throw new IllegalArgumentException("Spins must be between 1 and " + maxBulkSpins + ".");
+        }
+        Game game = gameService.getGameByName(GAME_NAME);
+        GamePlayService.Series series = gamePlayService.playRounds(game, slotGameEngine, slotEngine, userId, amount,
+                spins, "slots", String.valueOf(slotEngine.getPaylineCount()), null); // Paylines played
+
+        int played = series.getBets().size();
+        double biggestWin = 0;
+        int wins = 0;
+        for (Bet bet : series.getBets()) {
+            if (bet.getWinloss() > 0) {
+                wins++;
+                biggestWin = Math.max(biggestWin, bet.getWinloss());
+            }
+        }
+        double wagered = played * amount;
+        String stopReason = played < spins ? "INSUFFICIENT_BALANCE" : "COMPLETED";
+
+        return new SlotBulkSpinResponseDTO(spins, played, wins, wagered, wagered + series.getNet(), series.getNet(),
+                biggestWin, series.getFinalBalance(), stopReason);
+    }
+
+    /**
+     * @return The slot machine configuration
+     */
+    public SlotEngine getEngine() {
+        return slotEngine;
+    }
+
+    private void validate(Long userId, double amount) {
+        if (userId == null) {
+            throw new IllegalArgumentException("User ID is required.");
+        }
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Invalid bet amount: " + amount + ". Must be greater than 0.");
+        }
+    }
+
+    private Bet newBet(Game game, double amount, int[] window, double payout, LocalDateTime date) {
+        Bet bet = new Bet();
+        bet.setGame(game);
+        bet.setAmount(amount);
+        bet.setBetType("slots");
+        bet.setBetValue(String.valueOf(slotEngine.getPaylineCount())); // Paylines played
+        bet.setWinningValue(slotEngine.describe(window));
+        bet.setBetDate(date);
+        bet.setWinloss(amount * (payout - 1));
+        return bet;
+    }
+}
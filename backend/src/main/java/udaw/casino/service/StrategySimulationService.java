@@ -0,0 +1,164 @@
+package udaw.casino.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import udaw.casino.dto.StrategySimulationRequestDTO;
+import udaw.casino.dto.StrategySimulationResultDTO;
+import udaw.casino.engine.DiceEngine;
+import udaw.casino.engine.StrategySimulator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Service simulating betting strategies over roulette and dice bets.
+ * Runs fully in memory on the simulation pool and never touches the bets table;
+ * the result describes the distribution of final balances across sessions.
+ */
+@Service
+@Slf4j
+public class StrategySimulationService {
+
+    private static final double[] PERCENTILES = {0.01, 0.05, 0.25, 0.50, 0.75, 0.95, 0.99};
+    private static final int HISTOGRAM_BUCKETS = 20;
+
+    @Value("${casino.simulation.max-sessions:1000000}")
+    private int maxSessions;
+
+    @Value("${casino.simulation.max-rounds:10000}")
+    private int maxRounds;
+
+    /** Cap on sessions times rounds for players: 100k sessions of 500 rounds, about a second of work */
+    @Value("${casino.simulation.max-total-rounds:50000000}")
+    private long maxTotalRounds;
+
+    /** Cap on sessions times rounds for admins (the risk team) */
+    @Value("${casino.simulation.admin-max-total-rounds:1000000000}")
+    private long adminMaxTotalRounds;
+
+    private final ForkJoinPool pool;
+
+    public StrategySimulationService(@Qualifier("simulationPool") ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Simulates independent sessions of a betting strategy.
+     *
+     * @param request The bet, strategy and session parameters
+     * @param admin Whether the caller is an admin, who may run larger simulations
+     * @return The distribution of final balances and the ruin probability
+     * @throws IllegalArgumentException if the request is invalid or too large for the caller
+     */
+    public StrategySimulationResultDTO simulate(StrategySimulationRequestDTO request, boolean admin) {
+        if (request.getSessions() < 1 || request.getSessions() > maxSessions) {
+            throw new IllegalArgumentException("Sessions must be between 1 and " + maxSessions + ".");
+        }
+        if (request.getRounds() < 1 || request.getRounds() > maxRounds) {
+            throw new IllegalArgumentException("Rounds must be between 1 and " + maxRounds + ".");
+        }
+        long totalRoundsCap = admin ? adminMaxTotalRounds : maxTotalRounds;
+        if ((long) request.getSessions() * request.getRounds() > totalRoundsCap) {
+            throw new IllegalArgumentException("Sessions times rounds must not exceed " + totalRoundsCap + ".");
+        }
+        if (request.getBaseBet() <= 0 || request.getStartingBalance() < request.getBaseBet()) {
+            throw new IllegalArgumentException("The base bet must be positive and covered by the starting balance.");
+        }
+        if (request.getStrategy() == null) {
+            throw new IllegalArgumentException("Strategy is required.");
+        }
+
+        StrategySimulator.Strategy strategy = StrategySimulator.Strategy.valueOf(request.getStrategy().trim().toUpperCase());
+        StrategySimulator.Bet bet = toBet(request);
+        double[] progression = toProgression(request.getProgression());
+        StrategySimulator.Session session = new StrategySimulator.Session(strategy, request.getBaseBet(),
+                request.getStartingBalance(), request.getRounds(),
+                request.getTargetBalance() != null ? request.getTargetBalance() : 0, progression);
+
+        long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+        long start = System.currentTimeMillis();
+        StrategySimulator.Outcome outcome = StrategySimulator.simulate(bet, session, request.getSessions(), seed, pool);
+        long elapsed = System.currentTimeMillis() - start;
+        log.debug("Simulated {} sessions of {} in {} ms", request.getSessions(), strategy, elapsed);
+
+        return summarise(strategy, request, seed, elapsed, outcome);
+    }
+
+    private StrategySimulator.Bet toBet(StrategySimulationRequestDTO request) {
+        String game = request.getGame() == null ? "" : request.getGame().trim().toLowerCase();
+        switch (game) {
+            case "roulette":
+                return StrategySimulator.Bet.roulette(request.getBetType(), request.getBetValue());
+            case "dice":
+                return StrategySimulator.Bet.dice(DiceEngine.variant(request.getVariant()),
+                        request.getBetType(), request.getBetValue());
+            default:
+                throw new IllegalArgumentException("Game must be 'roulette' or 'dice'.");
+        }
+    }
+
+    private double[] toProgression(List<Double> progression) {
+        if (progression == null) {
+            return null;
+        }
+        double[] multipliers = new double[progression.size()];
+        for (int i = 0; i < multipliers.length; i++) {
+            Double multiplier = progression.get(i);
+            if (multiplier == null || multiplier <= 0) {
+                throw new IllegalArgumentException("Progression multipliers must be positive.");
+            }
+            multipliers[i] = multiplier;
+        }
+        return multipliers;
+    }
+
+    private StrategySimulationResultDTO summarise(StrategySimulator.Strategy strategy, StrategySimulationRequestDTO request,
+                                                  long seed, long elapsed, StrategySimulator.Outcome outcome) {
+        double[] balances = outcome.getFinalBalances(); // Sorted ascending
+        int n = balances.length;
+
+        double sum = 0;
+        double sumOfSquares = 0;
+        int profitable = 0;
+        for (double balance : balances) {
+            sum += balance;
+            sumOfSquares += balance * balance;
+            if (balance > request.getStartingBalance()) {
+                profitable++;
+            }
+        }
+        double mean = sum / n;
+        double stdDev = Math.sqrt(Math.max(0, sumOfSquares / n - mean * mean));
+
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        percentiles.put("min", balances[0]);
+        for (double p : PERCENTILES) {
+            percentiles.put("p" + Math.round(p * 100), balances[(int) Math.min(n - 1, Math.floor(p * n))]);
+        }
+        percentiles.put("max", balances[n - 1]);
+
+        List<StrategySimulationResultDTO.Bucket> distribution = new ArrayList<>();
+        double low = balances[0];
+        double width = (balances[n - 1] - low) / HISTOGRAM_BUCKETS;
+        if (width == 0) {
+            distribution.add(new StrategySimulationResultDTO.Bucket(low, low, n));
+        } else {
+            int[] counts = new int[HISTOGRAM_BUCKETS];
+            for (double balance : balances) {
+                counts[(int) Math.min(HISTOGRAM_BUCKETS - 1, (balance - low) / width)]++;
+            }
+            for (int b = 0; b < HISTOGRAM_BUCKETS; b++) {
+                distribution.add(new StrategySimulationResultDTO.Bucket(low + b * width, low + (b + 1) * width, counts[b]));
+            }
+        }
+
+        return new StrategySimulationResultDTO(strategy.name(), n, request.getRounds(), seed, elapsed,
+                (double) outcome.getRuined() / n, (double) profitable / n, mean, stdDev, percentiles, distribution);
+    }
+}
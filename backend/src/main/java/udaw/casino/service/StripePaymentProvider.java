@@ -0,0 +1,58 @@
+package udaw.casino.service;
+
+import com.stripe.exception.CardException;
+import com.stripe.exception.InvalidRequestException;
+import com.stripe.exception.StripeException;
+import com.stripe.model.PaymentIntent;
+import com.stripe.net.RequestOptions;
+import com.stripe.param.PaymentIntentCreateParams;
+import udaw.casino.dto.PaymentIntentResponseDTO;
+import udaw.casino.exception.PaymentProviderException;
+
+import java.util.Arrays;
+
+/**
+ * Payment provider backed by the Stripe API.
+ * Calls use the configured connect and read timeouts and no automatic network retries:
+ * retrying is left to the client, so a degraded Stripe is not hit harder.
+ */
+public class StripePaymentProvider implements PaymentProvider {
+
+    private final RequestOptions requestOptions;
+
+    /**
+     * @param connectTimeoutMillis Connect timeout per call
+     * @param readTimeoutMillis Read timeout per call
+     */
+    public StripePaymentProvider(int connectTimeoutMillis, int readTimeoutMillis) {
+        this.requestOptions = RequestOptions.builder()
+                .setConnectTimeout(connectTimeoutMillis)
+                .setReadTimeout(readTimeoutMillis)
+                .setMaxNetworkRetries(0)
+                .build();
+    }
+
+    @Override
+    public PaymentIntentResponseDTO createPaymentIntent(long amount, String currency, Long userId) {
+        // Configure payment intent parameters
+        PaymentIntentCreateParams params = PaymentIntentCreateParams.builder()
+                .setAmount(amount)
+                .setCurrency(currency)
+                .addAllPaymentMethodType(Arrays.asList("card", "paypal"))
+                .putMetadata("userId", userId.toString())
+                .build();
+        try {
+            PaymentIntent paymentIntent = PaymentIntent.create(params, requestOptions);
+            return new PaymentIntentResponseDTO(
+                    paymentIntent.getClientSecret(),
+                    paymentIntent.getId(),
+                    paymentIntent.getAmount(),
+                    paymentIntent.getCurrency()
+            );
+        } catch (InvalidRequestException | CardException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        } catch (StripeException e) {
+            throw new PaymentProviderException("Stripe error: " + e.getMessage(), e);
+        }
+    }
+}
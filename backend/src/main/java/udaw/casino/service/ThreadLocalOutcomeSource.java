@@ -0,0 +1,108 @@
+package udaw.casino.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * {@link OutcomeSource} backed by one generator per thread.
+ * Three modes are supported:
+ * - DRBG: per-thread {@link SecureRandom} DRBG instances (cryptographically strong, the default)
+ * - SPLITTABLE: per-thread {@link SplittableRandom}s split from a securely seeded root
+ * - SEEDED: per-thread {@link SplittableRandom}s split from a fixed seed, for deterministic replay
+ */
+public class ThreadLocalOutcomeSource implements OutcomeSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadLocalOutcomeSource.class);
+
+    /**
+     * Generator backing the per-thread instances.
+     */
+    public enum Mode {
+        SPLITTABLE,
+        DRBG,
+        SEEDED
+    }
+
+    private final ThreadLocal<RandomGenerator> generators;
+
+    private ThreadLocalOutcomeSource(Supplier<RandomGenerator> factory) {
+        this.generators = ThreadLocal.withInitial(factory);
+    }
+
+    /**
+     * Creates a source for the given mode.
+     *
+     * @param mode Generator mode
+     * @param seed Seed used in SEEDED mode (ignored otherwise)
+     * @return The configured source
+     */
+    public static ThreadLocalOutcomeSource create(Mode mode, long seed) {
+        switch (mode) {
+            case DRBG:
+                return new ThreadLocalOutcomeSource(ThreadLocalOutcomeSource::newDrbg);
+            case SEEDED:
+                return seeded(seed);
+            case SPLITTABLE:
+            default:
+                return splitting(new SplittableRandom(new SecureRandom().nextLong()));
+        }
+    }
+
+    /**
+     * Creates a deterministic source: threads receive generators split from a root seeded
+     * with {@code seed}, in the order they first draw. A single-threaded caller therefore
+     * sees the same sequence on every run.
+     *
+     * @param seed The root seed
+     * @return The seeded source
+     */
+    public static ThreadLocalOutcomeSource seeded(long seed) {
+        return splitting(new SplittableRandom(seed));
+    }
+
+    private static ThreadLocalOutcomeSource splitting(SplittableRandom root) {
+        return new ThreadLocalOutcomeSource(() -> {
+            synchronized (root) {
+                return root.split();
+            }
+        });
+    }
+
+    private static RandomGenerator newDrbg() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            log.warn("DRBG not available, falling back to the default SecureRandom");
+            return new SecureRandom();
+        }
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return generators.get().nextInt(bound);
+    }
+
+    @Override
+    public void nextInts(int bound, int[] out) {
+        RandomGenerator generator = generators.get();
+        for (int i = 0; i < out.length; i++) {
+            out[i] = generator.nextInt(bound);
+        }
+    }
+
+    @Override
+    public double nextDouble() {
+        return generators.get().nextDouble();
+    }
+
+    @Override
+    public long nextLong() {
+        return generators.get().nextLong();
+    }
+}
@@ -0,0 +1,428 @@
+package udaw.casino.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import udaw.casino.dto.TournamentCreateDTO;
+import udaw.casino.dto.TournamentDTO;
+import udaw.casino.dto.TournamentLeaderboardDTO;
+import udaw.casino.dto.TournamentStandingDTO;
+import udaw.casino.engine.TournamentLeaderboard;
+import udaw.casino.event.BetsSettledEvent;
+import udaw.casino.exception.ResourceNotFoundException;
+import udaw.casino.exception.UserNotFoundException;
+import udaw.casino.model.Game;
+import udaw.casino.model.RankingType;
+import udaw.casino.model.Tournament;
+import udaw.casino.model.TournamentEntry;
+import udaw.casino.model.User;
+import udaw.casino.repository.TournamentEntryRepository;
+import udaw.casino.repository.TournamentRepository;
+import udaw.casino.repository.TournamentStandingRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service class for time-boxed tournaments.
+ *
+ * Players register for a tournament and are ranked by a {@link RankingType} metric over
+ * the bets they settle between its start and end. While a tournament is open its
+ * leaderboard lives only in memory: settlements are fed in from {@link BetsSettledEvent}
+ * after their transaction commits, so the bet path gains no queries however many
+ * players take part. When a tournament ends, the final standings are written to its
+ * entries in one JDBC batch.
+ *
+ * Open tournaments are reloaded on startup and their totals rebuilt from the bets table.
+ * Like the shared roulette tables, the live leaderboards belong to a single application node.
+ */
+@Service
+@Slf4j
+public class TournamentService {
+
+    /** Ranking types scored on a single game. */
+    private static final Set<RankingType> BY_GAME = EnumSet.of(RankingType.BY_GAME_AMOUNT,
+            RankingType.BY_GAME_WIN_RATE, RankingType.BY_GAME_PROFIT, RankingType.BY_GAME_LOSSES);
+
+    private final TournamentRepository tournamentRepository;
+    private final TournamentEntryRepository entryRepository;
+    private final TournamentStandingRepository standingRepository;
+    private final UserService userService;
+    private final GameService gameService;
+    private final TransactionTemplate requiresNew;
+
+    private final long refreshMillis;
+    private final long closeGraceMillis;
+    private final int maxLeaderboardSize;
+
+    /** Open tournaments by ID. */
+    private final ConcurrentHashMap<Long, LiveTournament> live = new ConcurrentHashMap<>();
+
+    /** Snapshot of the open tournaments, iterated for every settlement. */
+    private volatile LiveTournament[] open = new LiveTournament[0];
+
+    public TournamentService(TournamentRepository tournamentRepository, TournamentEntryRepository entryRepository,
+                             TournamentStandingRepository standingRepository, UserService userService,
+                             GameService gameService, PlatformTransactionManager transactionManager,
+                             @Value("${tournaments.leaderboard.refresh-ms:1000}") long refreshMillis,
+                             @Value("${tournaments.close-grace-ms:5000}") long closeGraceMillis,
+                             @Value("${tournaments.leaderboard.max-size:1000}") int maxLeaderboardSize) {
+        this.tournamentRepository = tournamentRepository;
+        this.entryRepository = entryRepository;
+        this.standingRepository = standingRepository;
+        this.userService = userService;
+        this.gameService = gameService;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.refreshMillis = refreshMillis;
+        this.closeGraceMillis = closeGraceMillis;
+        this.maxLeaderboardSize = maxLeaderboardSize;
+    }
+
+    /**
+     * Loads the open tournaments with their participants and rebuilds their totals from
+     * the bets placed so far. Runs before the web server accepts bets.
+     */
+    @PostConstruct
+    public void load() {
+        for (Tournament tournament : tournamentRepository.findByStatus(Tournament.STATUS_OPEN)) {
+            LiveTournament t = new LiveTournament(tournament, refreshMillis);
+            for (TournamentEntry entry : entryRepository.findWithUserByTournamentId(tournament.getId())) {
+                t.leaderboard.register(entry.getUser().getId(), entry.getUser().getUsername(), entry.getRegisteredAt());
+            }
+            standingRepository.restoreTotals(tournament, t.leaderboard);
+            live.put(t.id, t);
+        }
+        refreshOpen();
+        if (!live.isEmpty()) {
+            log.info("Loaded {} open tournaments", live.size());
+        }
+    }
+
+    /**
+     * Creates a tournament.
+     *
+     * @param request The tournament definition
+     * @return The created tournament
+     * @throws IllegalArgumentException if the definition is invalid
+     * @throws ResourceNotFoundException if the game does not exist
+     */
+    public TournamentDTO createTournament(TournamentCreateDTO request) {
+        if (request.getName() == null || request.getName().isBlank()) {
+            throw new IllegalArgumentException("Tournament name is required.");
+        }
+        if (request.getRankingType() == null) {
+            throw new IllegalArgumentException("Ranking type is required.");
+        }
+        if (BY_GAME.contains(request.getRankingType()) && request.getGameId() == null) {
+            throw new IllegalArgumentException("A game is required for ranking type " + request.getRankingType() + ".");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime startsAt = request.getStartsAt() != null ? request.getStartsAt() : now;
+        if (request.getEndsAt() == null || !request.getEndsAt().isAfter(startsAt) || !request.getEndsAt().isAfter(now)) {
+            throw new IllegalArgumentException("End time must be in the future and after the start time.");
+        }
+        if (request.getMinBetAmount() < 0 || request.getMaxParticipants() < 0) {
+            throw new IllegalArgumentException("Minimum bet and maximum participants cannot be negative.");
+        }
+        Game game = request.getGameId() != null ? gameService.getGameById(request.getGameId()) : null;
+
+        Tournament tournament = new Tournament();
+        tournament.setName(request.getName().trim());
+        tournament.setRankingType(request.getRankingType());
+        tournament.setGame(game);
+        tournament.setStartsAt(startsAt);
+        tournament.setEndsAt(request.getEndsAt());
+        tournament.setMinBetAmount(request.getMinBetAmount());
+        tournament.setMaxParticipants(request.getMaxParticipants());
+        tournament.setStatus(Tournament.STATUS_OPEN);
+        tournament = tournamentRepository.save(tournament);
+
+        LiveTournament t = new LiveTournament(tournament, refreshMillis);
+        live.put(t.id, t);
+        refreshOpen();
+        log.info("Created tournament {} \"{}\" ({}) from {} to {}", t.id, t.name, t.rankingType, t.startsAt, t.endsAt);
+        return t.toDTO(LocalDateTime.now());
+    }
+
+    /**
+     * Registers a player in an open tournament. Only bets settled after registration count.
+     *
+     * @param tournamentId The tournament ID
+     * @param userId The user ID
+     * @return The tournament
+     * @throws ResourceNotFoundException if the tournament does not exist
+     * @throws UserNotFoundException if the user does not exist
+     * @throws IllegalStateException if the tournament has ended or is full, or the user is already registered
+     */
+    public TournamentDTO register(Long tournamentId, Long userId) {
+        LiveTournament t = getOpen(tournamentId);
+        User user = userService.getUserById(userId);
+        synchronized (t) {
+            LocalDateTime now = LocalDateTime.now();
+            if (!now.isBefore(t.endsAt)) {
+                throw new IllegalStateException("Tournament " + tournamentId + " has ended.");
+            }
+            if (t.leaderboard.isRegistered(userId)) {
+                throw new IllegalStateException("User is already registered in tournament " + tournamentId + ".");
+            }
+            if (t.maxParticipants > 0 && t.leaderboard.size() >= t.maxParticipants) {
+                throw new IllegalStateException("Tournament " + tournamentId + " is full.");
+            }
+
+            TournamentEntry entry = new TournamentEntry();
+            entry.setTournament(tournamentRepository.getReferenceById(tournamentId));
+            entry.setUser(user);
+            entry.setRegisteredAt(now);
+            try {
+                entryRepository.save(entry);
+            } catch (DataIntegrityViolationException e) {
+                throw new IllegalStateException("User is already registered in tournament " + tournamentId + ".");
+            }
+            t.leaderboard.register(userId, user.getUsername(), now);
+            return t.toDTO(now);
+        }
+    }
+
+    /**
+     * @return All tournaments, most recent first
+     */
+    public List<TournamentDTO> getTournaments() {
+        LocalDateTime now = LocalDateTime.now();
+        List<TournamentDTO> tournaments = new ArrayList<>();
+        for (Tournament tournament : tournamentRepository.findAllByOrderByStartsAtDesc()) {
+            LiveTournament t = live.get(tournament.getId());
+            tournaments.add(t != null ? t.toDTO(now) : closedDTO(tournament));
+        }
+        return tournaments;
+    }
+
+    /**
+     * @param tournamentId The tournament ID
+     * @return The tournament
+     * @throws ResourceNotFoundException if the tournament does not exist
+     */
+    public TournamentDTO getTournament(Long tournamentId) {
+        LiveTournament t = live.get(tournamentId);
+        return t != null ? t.toDTO(LocalDateTime.now()) : closedDTO(findTournament(tournamentId));
+    }
+
+    /**
+     * Gets the leaderboard of a tournament: the live standings while it is open, served
+     * from memory, or the final standings once it has closed.
+     *
+     * @param tournamentId The tournament ID
+     * @param limit Number of standings to return
+     * @return The tournament and its top standings
+     * @throws ResourceNotFoundException if the tournament does not exist
+     * @throws IllegalArgumentException if the limit is out of range
+     */
+    public TournamentLeaderboardDTO getLeaderboard(Long tournamentId, int limit) {
+        if (limit < 1 || limit > maxLeaderboardSize) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxLeaderboardSize + ".");
+        }
+        LiveTournament t = live.get(tournamentId);
+        if (t != null) {
+            List<TournamentLeaderboard.Standing> standings = t.leaderboard.standings();
+            List<TournamentStandingDTO> top = new ArrayList<>(Math.min(limit, standings.size()));
+            for (TournamentLeaderboard.Standing standing : standings.subList(0, Math.min(limit, standings.size()))) {
+                top.add(toDTO(standing));
+            }
+            return new TournamentLeaderboardDTO(t.toDTO(LocalDateTime.now()), false, top);
+        }
+
+        Tournament tournament = findTournament(tournamentId);
+        List<TournamentStandingDTO> top = new ArrayList<>();
+        for (TournamentEntry entry : entryRepository.findStandingsByTournamentId(tournamentId, PageRequest.of(0, limit))) {
+            top.add(new TournamentStandingDTO(entry.getPosition() != null ? entry.getPosition() : 0,
+                    entry.getUser().getId(), entry.getUser().getUsername(), value(entry.getScore()),
+                    entry.getBets() != null ? entry.getBets() : 0, entry.getWins() != null ? entry.getWins() : 0,
+                    value(entry.getWagered()), value(entry.getProfit())));
+        }
+        return new TournamentLeaderboardDTO(closedDTO(tournament), true, top);
+    }
+
+    /**
+     * Gets a participant's standing in an open tournament.
+     *
+     * @param tournamentId The tournament ID
+     * @param userId The user ID
+     * @return The participant's live standing
+     * @throws ResourceNotFoundException if the tournament is not open or the user is not registered
+     */
+    public TournamentStandingDTO getStanding(Long tournamentId, Long userId) {
+        LiveTournament t = live.get(tournamentId);
+        if (t == null) {
+            throw new ResourceNotFoundException("Open tournament", "id", tournamentId);
+        }
+        for (TournamentLeaderboard.Standing standing : t.leaderboard.standings()) {
+            if (standing.getUserId().equals(userId)) {
+                return toDTO(standing);
+            }
+        }
+        throw new ResourceNotFoundException("Tournament participant", "userId", userId);
+    }
+
+    /**
+     * Adds settled bets to the leaderboards of the open tournaments they qualify for.
+     * Runs after the settling transaction commits and never touches the database.
+     *
+     * @param event The settled bets
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBetsSettled(BetsSettledEvent event) {
+        LiveTournament[] tournaments = open;
+        if (tournaments.length == 0) {
+            return;
+        }
+        for (BetsSettledEvent.SettledBet bet : event.getBets()) {
+            for (LiveTournament t : tournaments) {
+                if (t.accepts(bet)) {
+                    t.leaderboard.record(bet.getUserId(), bet.getAmount(), bet.getWinloss(), bet.getBetDate());
+                }
+            }
+        }
+    }
+
+    /**
+     * Closes the tournaments that have ended, once late settlements have had time to arrive.
+     */
+    @Scheduled(fixedDelayString = "${tournaments.close-interval-ms:5000}")
+    public void closeFinished() {
+        LocalDateTime deadline = LocalDateTime.now().minusNanos(closeGraceMillis * 1_000_000);
+        for (LiveTournament t : open) {
+            if (!t.endsAt.isAfter(deadline)) {
+                close(t);
+            }
+        }
+    }
+
+    /**
+     * Ranks a finished tournament and writes its final standings in one batch.
+     * Every node runs this, so the tournament row is locked first and the standings are
+     * only written if the tournament is still open; a node that finds it closed just
+     * drops it. On failure the tournament stays open and is retried on the next run.
+     */
+    private void close(LiveTournament t) {
+        List<TournamentLeaderboard.Standing> standings = t.leaderboard.rank();
+        boolean closedHere;
+        try {
+            closedHere = requiresNew.execute(status -> {
+                Tournament tournament = tournamentRepository.findByIdForUpdate(t.id).orElseThrow();
+                if (!Tournament.STATUS_OPEN.equals(tournament.getStatus())) {
+                    return false;
+                }
+                standingRepository.saveStandings(t.id, standings);
+                tournament.setParticipants(standings.size());
+                tournament.setStatus(Tournament.STATUS_CLOSED);
+                tournament.setClosedAt(LocalDateTime.now());
+                tournamentRepository.save(tournament);
+                return true;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not close tournament {}; retrying on the next run", t.id, e);
+            return;
+        }
+        live.remove(t.id);
+        refreshOpen();
+        if (!closedHere) {
+            log.info("Tournament {} was already closed by another node", t.id);
+            return;
+        }
+        log.info("Closed tournament {} \"{}\" with {} participants; winner {}", t.id, t.name, standings.size(),
+                standings.isEmpty() ? "none" : standings.get(0).getUsername());
+    }
+
+    private LiveTournament getOpen(Long tournamentId) {
+        LiveTournament t = live.get(tournamentId);
+        if (t == null) {
+            findTournament(tournamentId);
+            throw new IllegalStateException("Tournament " + tournamentId + " has ended.");
+        }
+        return t;
+    }
+
+    private Tournament findTournament(Long tournamentId) {
+        return tournamentRepository.findById(tournamentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Tournament", "id", tournamentId));
+    }
+
+    private synchronized void refreshOpen() {
+        open = live.values().toArray(new LiveTournament[0]);
+    }
+
+    private static TournamentDTO closedDTO(Tournament tournament) {
+        Game game = tournament.getGame();
+        return new TournamentDTO(tournament.getId(), tournament.getName(), tournament.getRankingType(),
+                game != null ? game.getId() : null, game != null ? game.getName() : null,
+                tournament.getStartsAt(), tournament.getEndsAt(), tournament.getMinBetAmount(),
+                tournament.getMaxParticipants(), tournament.getParticipants(), tournament.getStatus());
+    }
+
+    private static TournamentStandingDTO toDTO(TournamentLeaderboard.Standing standing) {
+        return new TournamentStandingDTO(standing.getPosition(), standing.getUserId(), standing.getUsername(),
+                standing.getScore(), standing.getBets(), standing.getWins(), standing.getWagered(), standing.getProfit());
+    }
+
+    private static double value(Double value) {
+        return value != null ? value : 0.0;
+    }
+
+    /**
+     * An open tournament: its definition, copied out of the entity, and its live leaderboard.
+     */
+    private static final class LiveTournament {
+        private final Long id;
+        private final String name;
+        private final RankingType rankingType;
+        private final Long gameId;
+        private final String gameName;
+        private final LocalDateTime startsAt;
+        private final LocalDateTime endsAt;
+        private final double minBetAmount;
+        private final int maxParticipants;
+        private final TournamentLeaderboard leaderboard;
+
+        LiveTournament(Tournament tournament, long refreshMillis) {
+            this.id = tournament.getId();
+            this.name = tournament.getName();
+            this.rankingType = tournament.getRankingType();
+            this.gameId = tournament.getGame() != null ? tournament.getGame().getId() : null;
+            this.gameName = tournament.getGame() != null ? tournament.getGame().getName() : null;
+            this.startsAt = tournament.getStartsAt();
+            this.endsAt = tournament.getEndsAt();
+            this.minBetAmount = tournament.getMinBetAmount();
+            this.maxParticipants = tournament.getMaxParticipants();
+            this.leaderboard = new TournamentLeaderboard(rankingType, refreshMillis);
+        }
+
+        /**
+         * @return true if the bet was placed on the tournament's game, within its window,
+         *         with a qualifying stake (payouts such as jackpots have none)
+         */
+        boolean accepts(BetsSettledEvent.SettledBet bet) {
+            return bet.getAmount() > 0 && bet.getAmount() >= minBetAmount
+                    && (gameId == null || gameId.equals(bet.getGameId()))
+                    && bet.getBetDate() != null
+                    && !bet.getBetDate().isBefore(startsAt) && bet.getBetDate().isBefore(endsAt);
+        }
+
+        TournamentDTO toDTO(LocalDateTime now) {
+            String status = now.isBefore(startsAt) ? "UPCOMING" : now.isBefore(endsAt) ? "RUNNING" : "CLOSING";
+            return new TournamentDTO(id, name, rankingType, gameId, gameName, startsAt, endsAt, minBetAmount,
+                    maxParticipants, leaderboard.size(), status);
+        }
+    }
+}
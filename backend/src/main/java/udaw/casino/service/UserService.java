@@ -1,10 +1,12 @@
 package udaw.casino.service;
 
+import udaw.casino.event.UserAccountChangedEvent;
 import udaw.casino.exception.ResourceNotFoundException;
 import udaw.casino.exception.UserNotFoundException;
 import udaw.casino.model.Role;
 import udaw.casino.model.User;
 import udaw.casino.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -22,15 +24,19 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder; 
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructs a new UserService with required dependencies.
      * @param userRepository Repository for user data persistence
      * @param passwordEncoder Encoder for secure password hashing
+     * @param eventPublisher Publisher for account change events
      */
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -77,6 +83,19 @@ public class UserService {
                 .orElseThrow(() -> new UserNotFoundException());
     }
 
+    /**
+     * Retrieves a user by their ID and locks the row until the current transaction ends,
+     * so a series of balance changes can be applied without interleaving with other writes.
+     * Must be called inside a transaction.
+     * @param id The user's ID
+     * @return The locked user
+     * @throws UserNotFoundException if user is not found
+     */
+    public User getUserByIdForUpdate(Long id) {
+        return userRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new UserNotFoundException());
+    }
+
     /**
      * Retrieves a user by their username.
      * @param username The username to search for
@@ -110,6 +129,10 @@ public class UserService {
     /**
      * Updates an existing user's information.
      * Validates unique constraints and preserves sensitive data.
+     * The role and username are carried by the user's access tokens, so they are revoked
+     * once the update commits and the user gets fresh ones on the next refresh. (Callers
+     * usually pass the managed entity already modified, so the change cannot be detected
+     * by comparison and every update is treated as one.)
      * 
      * @param userDetails The updated user information
      * @return The updated user
@@ -133,7 +156,10 @@ public class UserService {
         user.setBalance(userDetails.getBalance());
         user.setRole(userDetails.getRole()); 
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(saved.getId(), saved.getUsername(),
+                UserAccountChangedEvent.Change.CLAIMS_CHANGED));
+        return saved;
     }
 
     /**
@@ -179,6 +205,7 @@ public class UserService {
 
     /**
      * Deletes a user from the system.
+     * The user's tokens are revoked once the deletion commits.
      * 
      * @param id The ID of the user to delete
      * @throws ResourceNotFoundException if user is not found
@@ -187,5 +214,7 @@ public class UserService {
     public void deleteUser(Long id) {
         User user = getUserById(id);
         userRepository.delete(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getId(), user.getUsername(),
+                UserAccountChangedEvent.Change.DELETED));
     }
 }
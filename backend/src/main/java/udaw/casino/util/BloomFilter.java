@@ -0,0 +1,108 @@
+package udaw.casino.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free bloom filter over {@code long} and string keys.
+ *
+ * Bits live in an {@link AtomicLongArray}, so concurrent inserts and lookups need no lock.
+ * The k bit positions of a key come from double hashing one 64-bit hash, so a lookup costs
+ * one hash and k word reads whatever the size of the filter. A filter can report a key it
+ * has never seen (at about the configured false-positive rate while it holds no more than
+ * its expected number of keys) but never misses one it has; callers that need exact
+ * answers confirm positives against an exact set. Keys cannot be removed: rebuild the
+ * filter instead.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+    private final int expectedInsertions;
+
+    /**
+     * @param expectedInsertions Number of keys the filter is sized for
+     * @param falsePositiveRate Target false-positive rate at that size, e.g. 0.001
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("Expected insertions must be at least 1");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1");
+        }
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE, Math.max(1, (optimalBits + 63) / 64));
+        this.words = new AtomicLongArray(wordCount);
+        this.bits = (long) wordCount * 64;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * ln2));
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    public void put(long key) {
+        set(mix(key));
+    }
+
+    public void put(CharSequence key) {
+        set(hash(key));
+    }
+
+    public boolean mightContain(long key) {
+        return test(mix(key));
+    }
+
+    public boolean mightContain(CharSequence key) {
+        return test(hash(key));
+    }
+
+    /**
+     * @return Number of keys the filter was sized for
+     */
+    public int getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    private void set(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bits);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    private boolean test(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** FNV-1a over the characters, finished with the 64-bit mixer. */
+    private static long hash(CharSequence key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    /** SplitMix64 finalizer. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,379 @@
+package udaw.casino.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Bounded in-memory cache with time-to-live eviction.
+ *
+ * Keys are spread over independently locked segments, each a {@link LinkedHashMap}
+ * holding at most {@code maximumSize / segments} entries. In expire-after-access mode a
+ * segment keeps its entries in access order, so eviction removes the least recently used
+ * entry and expired entries collect at its head; in expire-after-write mode entries are
+ * kept (and evicted) in insertion order. Expired entries are dropped when read, trimmed
+ * from the segment head on writes, and swept by {@link #cleanUp()}.
+ *
+ * An optional removal listener is told about entries that expire or are evicted for size
+ * (not about explicit removals or replacements). It runs on the calling thread after the
+ * segment lock has been released.
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+public class BoundedTtlCache<K, V> {
+
+    /** Why an entry left the cache. */
+    public enum RemovalCause {
+        EXPIRED,
+        SIZE
+    }
+
+    private final Segment<K, V>[] segments;
+    private final long ttlNanos;
+    private final boolean expireAfterAccess;
+    private final RemovalListener<K, V> removalListener;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    /**
+     * Listener for entries that expire or are evicted for size.
+     */
+    @FunctionalInterface
+    public interface RemovalListener<K, V> {
+        void onRemoval(K key, V value, RemovalCause cause);
+    }
+
+    /**
+     * Creates a cache without a removal listener.
+     *
+     * @param maximumSize Maximum number of entries (split evenly over the segments)
+     * @param ttlMillis Time to live in milliseconds; 0 or less disables expiry
+     * @param expireAfterAccess true to expire entries idle for the TTL, false to expire them that long after being written
+     */
+    public BoundedTtlCache(int maximumSize, long ttlMillis, boolean expireAfterAccess) {
+        this(maximumSize, ttlMillis, expireAfterAccess, null);
+    }
+
+    /**
+     * @param maximumSize Maximum number of entries (split evenly over the segments)
+     * @param ttlMillis Time to live in milliseconds; 0 or less disables expiry
+     * @param expireAfterAccess true to expire entries idle for the TTL, false to expire them that long after being written
+     * @param removalListener Listener for expired and evicted entries, or null
+     */
+    @SuppressWarnings("unchecked")
+    public BoundedTtlCache(int maximumSize, long ttlMillis, boolean expireAfterAccess,
+                           RemovalListener<K, V> removalListener) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be at least 1");
+        }
+        int segmentCount = Integer.highestOneBit(Math.max(1, Math.min(16, maximumSize / 16)));
+        int perSegment = (maximumSize + segmentCount - 1) / segmentCount;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(perSegment, expireAfterAccess);
+        }
+        this.ttlNanos = ttlMillis > 0 ? ttlMillis * 1_000_000L : Long.MAX_VALUE;
+        this.expireAfterAccess = expireAfterAccess;
+        this.removalListener = removalListener;
+    }
+
+    /**
+     * @param key The key
+     * @return The cached value, or null if absent or expired
+     */
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        long now = System.nanoTime();
+        V value = null;
+        V expiredValue = null;
+        synchronized (segment) {
+            Entry<V> entry = segment.map.get(key);
+            if (entry != null) {
+                if (entry.isExpired(now)) {
+                    segment.map.remove(key);
+                    expiredValue = entry.value;
+                } else {
+                    if (expireAfterAccess) {
+                        entry.expiresAt = deadline(now);
+                    }
+                    value = entry.value;
+                }
+            }
+        }
+        if (expiredValue != null) {
+            expirations.increment();
+            notifyRemoval(key, expiredValue, RemovalCause.EXPIRED);
+        }
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Returns the cached value, or computes and caches it if absent.
+     * The loader runs under the segment lock, so it must be quick and must not use the cache.
+     *
+     * @param key The key
+     * @param loader Computes the value; a null result is not cached
+     * @return The cached or computed value
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        V cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Segment<K, V> segment = segmentFor(key);
+        List<Map.Entry<K, V>> evicted = new ArrayList<>();
+        List<Map.Entry<K, V>> expired = new ArrayList<>();
+        V value;
+        synchronized (segment) {
+            long now = System.nanoTime();
+            Entry<V> entry = segment.map.get(key);
+            if (entry != null && !entry.isExpired(now)) {
+                return entry.value;
+            }
+            value = loader.apply(key);
+            if (value == null) {
+                return null;
+            }
+            insert(segment, key, value, now, evicted, expired);
+        }
+        notifyAll(evicted, expired);
+        return value;
+    }
+
+    /**
+     * Caches a value, replacing any previous value for the key.
+     *
+     * @param key The key
+     * @param value The value (not null)
+     */
+    public void put(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        List<Map.Entry<K, V>> evicted = new ArrayList<>();
+        List<Map.Entry<K, V>> expired = new ArrayList<>();
+        synchronized (segment) {
+            insert(segment, key, value, System.nanoTime(), evicted, expired);
+        }
+        notifyAll(evicted, expired);
+    }
+
+    /**
+     * Removes a key. The removal listener is not notified.
+     *
+     * @param key The key
+     * @return The removed value, or null if absent
+     */
+    public V remove(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            Entry<V> entry = segment.map.remove(key);
+            return entry != null ? entry.value : null;
+        }
+    }
+
+    /**
+     * Removes a key only if it is mapped to the given value. The removal listener is not notified.
+     *
+     * @param key The key
+     * @param value The expected value
+     * @return true if the entry was removed
+     */
+    public boolean remove(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            Entry<V> entry = segment.map.get(key);
+            if (entry != null && entry.value == value) {
+                segment.map.remove(key);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Removes every entry matching a predicate. The removal listener is not notified.
+     *
+     * @param predicate Receives each key and value; return true to remove the entry
+     */
+    public void removeIf(java.util.function.BiPredicate<? super K, ? super V> predicate) {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.map.entrySet().removeIf(e -> predicate.test(e.getKey(), e.getValue().value));
+            }
+        }
+    }
+
+    /**
+     * Removes all entries. The removal listener is not notified.
+     */
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.map.clear();
+            }
+        }
+    }
+
+    /**
+     * Sweeps expired entries from every segment, notifying the removal listener.
+     */
+    public void cleanUp() {
+        long now = System.nanoTime();
+        for (Segment<K, V> segment : segments) {
+            List<Map.Entry<K, V>> expired = new ArrayList<>();
+            synchronized (segment) {
+                Iterator<Map.Entry<K, Entry<V>>> it = segment.map.entrySet().iterator();
+                while (it.hasNext()) {
+                    Map.Entry<K, Entry<V>> e = it.next();
+                    if (e.getValue().isExpired(now)) {
+                        it.remove();
+                        expired.add(Map.entry(e.getKey(), e.getValue().value));
+                    }
+                }
+            }
+            notifyAll(List.of(), expired);
+        }
+    }
+
+    /**
+     * Visits every live entry. Each segment is locked while it is visited.
+     *
+     * @param action Receives each key and value
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        long now = System.nanoTime();
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                for (Map.Entry<K, Entry<V>> e : segment.map.entrySet()) {
+                    if (!e.getValue().isExpired(now)) {
+                        action.accept(e.getKey(), e.getValue().value);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Number of entries, including expired ones not yet swept
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.map.size();
+            }
+        }
+        return size;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public long expirationCount() {
+        return expirations.sum();
+    }
+
+    /**
+     * @return Hits divided by lookups, or 0 when nothing was looked up yet
+     */
+    public double hitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    private void insert(Segment<K, V> segment, K key, V value, long now,
+                        List<Map.Entry<K, V>> evicted, List<Map.Entry<K, V>> expired) {
+        segment.map.put(key, new Entry<>(value, deadline(now)));
+        // Trim expired entries from the head, then evict for size
+        Iterator<Map.Entry<K, Entry<V>>> it = segment.map.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<K, Entry<V>> eldest = it.next();
+            if (eldest.getKey().equals(key)) {
+                break;
+            }
+            if (eldest.getValue().isExpired(now)) {
+                it.remove();
+                expired.add(Map.entry(eldest.getKey(), eldest.getValue().value));
+            } else if (segment.map.size() > segment.capacity) {
+                it.remove();
+                evicted.add(Map.entry(eldest.getKey(), eldest.getValue().value));
+            } else {
+                break;
+            }
+        }
+    }
+
+    private void notifyAll(List<Map.Entry<K, V>> evicted, List<Map.Entry<K, V>> expired) {
+        evictions.add(evicted.size());
+        expirations.add(expired.size());
+        for (Map.Entry<K, V> e : evicted) {
+            notifyRemoval(e.getKey(), e.getValue(), RemovalCause.SIZE);
+        }
+        for (Map.Entry<K, V> e : expired) {
+            notifyRemoval(e.getKey(), e.getValue(), RemovalCause.EXPIRED);
+        }
+    }
+
+    private void notifyRemoval(K key, V value, RemovalCause cause) {
+        if (removalListener != null) {
+            removalListener.onRemoval(key, value, cause);
+        }
+    }
+
+    private long deadline(long now) {
+        return ttlNanos == Long.MAX_VALUE ? Long.MAX_VALUE : now + ttlNanos;
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & (segments.length - 1)];
+    }
+
+    private static final class Segment<K, V> {
+        private final int capacity;
+        private final LinkedHashMap<K, Entry<V>> map;
+
+        Segment(int capacity, boolean accessOrder) {
+            this.capacity = capacity;
+            this.map = new LinkedHashMap<>(16, 0.75f, accessOrder);
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private volatile long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return expiresAt != Long.MAX_VALUE && now - expiresAt >= 0;
+        }
+    }
+}
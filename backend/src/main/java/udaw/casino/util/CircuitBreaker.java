@@ -0,0 +1,93 @@
+package udaw.casino.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free circuit breaker guarding calls to a remote dependency.
+ *
+ * CLOSED lets calls through and counts consecutive failures; reaching the threshold opens
+ * the circuit. OPEN refuses calls straight away until the open period has passed, then
+ * lets a single trial call through (HALF_OPEN): its success closes the circuit, its
+ * failure opens it again for another period.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong();
+
+    /**
+     * @param failureThreshold Consecutive failures that open the circuit
+     * @param openMillis How long the circuit stays open before a trial call
+     */
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("Failure threshold must be at least 1");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openMillis * 1_000_000L;
+    }
+
+    /**
+     * @return true if a call may be made; the caller must then report its outcome
+     */
+    public boolean tryAcquire() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN && System.nanoTime() - openedAt.get() >= openNanos) {
+            // Only one caller wins the trial call
+            return state.compareAndSet(State.OPEN, State.HALF_OPEN);
+        }
+        return false;
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        state.set(State.CLOSED);
+    }
+
+    public void onFailure() {
+        if (state.get() == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAt.set(System.nanoTime());
+            state.set(State.OPEN);
+        }
+    }
+
+    /**
+     * Reports that a call allowed by {@link #tryAcquire} was not made after all,
+     * so a trial call can be made by the next caller.
+     */
+    public void onAbandoned() {
+        if (state.get() == State.HALF_OPEN) {
+            openedAt.set(System.nanoTime() - openNanos);
+            state.compareAndSet(State.HALF_OPEN, State.OPEN);
+        }
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    /**
+     * @return Milliseconds until a trial call will be allowed, 0 if calls are allowed now
+     */
+    public long remainingOpenMillis() {
+        if (state.get() != State.OPEN) {
+            return 0;
+        }
+        return Math.max(0, (openNanos - (System.nanoTime() - openedAt.get())) / 1_000_000L);
+    }
+}
@@ -0,0 +1,74 @@
+package udaw.casino.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-key rate limiter allowing {@code limit} requests per {@code period}, with bursts of
+ * up to {@code limit}.
+ *
+ * Implements the generic cell rate algorithm: each key holds a single "theoretical arrival
+ * time" (TAT) in an {@link AtomicLong}, updated with a compare-and-set loop, so checking a
+ * request takes no lock and no allocation once the key is known. This behaves exactly like
+ * a token bucket refilled continuously, i.e. a sliding window without the per-request log.
+ *
+ * Keys live in a {@link BoundedTtlCache} that expires them once idle for a full period (by
+ * then their bucket is full again, the same as a new key) and evicts the least recently
+ * used ones beyond {@code maxKeys}, so memory stays bounded however many keys are seen.
+ */
+public class RateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final BoundedTtlCache<String, AtomicLong> arrivals;
+
+    /**
+     * @param limit Requests allowed per period, and the largest burst
+     * @param periodMillis Period in milliseconds
+     * @param maxKeys Maximum number of keys tracked at once
+     */
+    public RateLimiter(int limit, long periodMillis, int maxKeys) {
+        if (limit < 1 || periodMillis < 1) {
+            throw new IllegalArgumentException("Limit and period must be positive");
+        }
+        long periodNanos = periodMillis * 1_000_000L;
+        this.emissionIntervalNanos = periodNanos / limit;
+        this.burstToleranceNanos = periodNanos - emissionIntervalNanos;
+        this.arrivals = new BoundedTtlCache<>(maxKeys, periodMillis, true);
+    }
+
+    /**
+     * Counts a request against a key if it is within the limit.
+     *
+     * @param key The key, e.g. a client address
+     * @return 0 if the request is allowed, otherwise the nanoseconds until it would be
+     */
+    public long tryAcquire(String key) {
+        AtomicLong tat = arrivals.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        long now = System.nanoTime();
+        while (true) {
+            long current = tat.get();
+            long start = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+            long wait = start - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (tat.compareAndSet(current, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @return Number of keys tracked, including idle ones not yet swept
+     */
+    public int size() {
+        return arrivals.size();
+    }
+
+    /**
+     * Drops keys idle for a full period.
+     */
+    public void cleanUp() {
+        arrivals.cleanUp();
+    }
+}
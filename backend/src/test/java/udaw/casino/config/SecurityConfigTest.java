@@ -0,0 +1,134 @@
+package udaw.casino.config;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import udaw.casino.model.Role;
+import udaw.casino.security.IdempotencyFilter;
+import udaw.casino.security.JwtAuthenticationFilter;
+import udaw.casino.security.JwtPrincipal;
+import udaw.casino.security.RateLimitFilter;
+import udaw.casino.security.VerifiedTokenCache;
+import udaw.casino.service.IdempotencyStore;
+
+import java.util.List;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the application's security filter chain against a stub controller, with token
+ * verification mocked so no database is needed.
+ */
+@SpringJUnitWebConfig(SecurityConfigTest.TestConfig.class)
+class SecurityConfigTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        long now = System.currentTimeMillis();
+        doThrow(new ExpiredJwtException(null, null, "JWT expired")).when(verifiedTokenCache).verify("expired");
+        doReturn(new JwtPrincipal(7L, "player", Role.USER, "jti", now, now + 60_000))
+                .when(verifiedTokenCache).verify("user");
+    }
+
+    @Test
+    void expiredTokenGets401SoTheClientRefreshes() throws Exception {
+        mvc.perform(get("/api/ping").header("Authorization", "Bearer expired"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void missingTokenGets401() throws Exception {
+        mvc.perform(get("/api/ping")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void validTokenIsAuthenticated() throws Exception {
+        mvc.perform(get("/api/ping").header("Authorization", "Bearer user"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void missingRoleStillGets403() throws Exception {
+        mvc.perform(get("/api/admin/ping").header("Authorization", "Bearer user"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Configuration
+    @EnableWebMvc
+    @Import(SecurityConfig.class)
+    static class TestConfig {
+
+        @Bean
+        VerifiedTokenCache verifiedTokenCache() {
+            return mock(VerifiedTokenCache.class);
+        }
+
+        @Bean
+        JwtAuthenticationFilter jwtAuthenticationFilter(VerifiedTokenCache verifiedTokenCache) {
+            return new JwtAuthenticationFilter(verifiedTokenCache);
+        }
+
+        @Bean
+        RateLimitFilter rateLimitFilter() {
+            return new RateLimitFilter(new SimpleMeterRegistry(), 1000, 100, 60_000, 100, 100, 1000, 100, 100, 60_000);
+        }
+
+        @Bean
+        IdempotencyFilter idempotencyFilter() {
+            return new IdempotencyFilter(mock(IdempotencyStore.class), new SimpleMeterRegistry(), List.of("/api/bets"), 1000);
+        }
+
+        @Bean
+        UserDetailsService userDetailsService() {
+            return mock(UserDetailsService.class);
+        }
+
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return NoOpPasswordEncoder.getInstance();
+        }
+
+        @Bean
+        PingController pingController() {
+            return new PingController();
+        }
+    }
+
+    @RestController
+    static class PingController {
+
+        @GetMapping({"/api/ping", "/api/admin/ping"})
+        String ping() {
+            return "pong";
+        }
+    }
+}
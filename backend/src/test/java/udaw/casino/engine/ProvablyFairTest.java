@@ -0,0 +1,60 @@
+package udaw.casino.engine;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pins the precomputed key schedule to the JDK's HmacSHA256, which is what players
+ * verify outcomes with.
+ */
+class ProvablyFairTest {
+
+    @Test
+    void keyScheduleMatchesRfc4231Vector() {
+        byte[] mac = new ProvablyFair.KeySchedule("Jefe".getBytes(StandardCharsets.UTF_8))
+                .mac("what do ya want for nothing?".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("5bdcc146bf60754e6a042426089575c75a003f089d2739839dec58b964ec3843",
+                HexFormat.of().formatHex(mac));
+    }
+
+    @Test
+    void keyScheduleMatchesJdkMacForShortBlockAndLongKeys() throws Exception {
+        Random random = new Random(42);
+        for (int keyLength : new int[] {1, 32, 63, 64, 65, 200}) {
+            byte[] key = new byte[keyLength];
+            random.nextBytes(key);
+            ProvablyFair.KeySchedule schedule = new ProvablyFair.KeySchedule(key);
+            Mac jdk = Mac.getInstance("HmacSHA256");
+            jdk.init(new SecretKeySpec(key, "HmacSHA256"));
+            for (int messageLength : new int[] {0, 5, 64, 300}) {
+                byte[] message = new byte[messageLength];
+                random.nextBytes(message);
+
+                assertArrayEquals(jdk.doFinal(message), schedule.mac(message), "key " + keyLength + ", message " + messageLength);
+            }
+        }
+    }
+
+    @Test
+    void keyScheduleOutcomesMatchVerificationPath() {
+        byte[] serverSeed = new byte[32];
+        new Random(7).nextBytes(serverSeed);
+        ProvablyFair.KeySchedule schedule = new ProvablyFair.KeySchedule(serverSeed);
+        for (long nonce = 0; nonce < 500; nonce++) {
+            assertArrayEquals(ProvablyFair.outcomes(serverSeed, "client", nonce, 38, 1),
+                    schedule.outcomes("client", nonce, 38, 1));
+            // Enough outcomes to need a second HMAC block
+            assertArrayEquals(ProvablyFair.outcomes(serverSeed, "client", nonce, 6, 20),
+                    schedule.outcomes("client", nonce, 6, 20));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package udaw.casino.engine;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load test for the sharded roulette table runtime.
+ * For an increasing number of tables, checks that every bet is accepted above a minimum
+ * rate and that every accepted chip ends up in exactly one closed round of its table.
+ * Excluded from the default build; run with {@code mvn test -Pload}. The minimum rate
+ * can be overridden with the system property load.min-bets-per-sec.
+ */
+@Tag("load")
+class RouletteTableRuntimeLoadTest {
+
+    private static final int BETS_PER_RUN = 200_000;
+    private static final long BETTING_WINDOW_MS = 50;
+    private static final int[] TABLE_COUNTS = {1, 2, 4, 8, 16};
+
+    @Test
+    void betThroughputPerTableCount() throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int producers = Math.max(2, cores);
+        long minBetsPerSecond = Long.getLong("load.min-bets-per-sec", 20_000L);
+
+        for (int tableCount : TABLE_COUNTS) {
+            final int tables = tableCount;
+            AtomicLong settledChips = new AtomicLong();
+            AtomicLong misplacedChips = new AtomicLong();
+            AtomicIntegerArray timesSettled = new AtomicIntegerArray(BETS_PER_RUN);
+            try (RouletteTableRuntime runtime = new RouletteTableRuntime(tableCount, 0, BETTING_WINDOW_MS,
+                    (table, closed) -> {
+                        for (RouletteChip chip : closed.getChips()) {
+                            int bet = chip.getUserId().intValue();
+                            timesSettled.incrementAndGet(bet);
+                            if (table.getId() != (bet % tables) + 1) {
+                                misplacedChips.incrementAndGet();
+                            }
+                        }
+                        settledChips.addAndGet(closed.getChipCount());
+                    })) {
+                assertEquals(Math.min(cores, tableCount), runtime.getLoopCount());
+                runtime.start();
+
+                CountDownLatch accepted = new CountDownLatch(BETS_PER_RUN);
+                List<Thread> threads = new ArrayList<>();
+                long start = System.nanoTime();
+                for (int p = 0; p < producers; p++) {
+                    final int producer = p;
+                    Thread thread = new Thread(() -> {
+                        for (int i = producer; i < BETS_PER_RUN; i += producers) {
+                            int tableId = (i % tables) + 1;
+                            RouletteChip chip = new RouletteChip((long) i, 1.0, "color", "1", LocalDateTime.now());
+                            runtime.placeChip(tableId, chip, Double.MAX_VALUE).thenRun(accepted::countDown);
+                        }
+                    });
+                    threads.add(thread);
+                    thread.start();
+                }
+                for (Thread thread : threads) {
+                    thread.join();
+                }
+                assertTrue(accepted.await(30, TimeUnit.SECONDS), "All bets should be accepted");
+                double betsPerSecond = BETS_PER_RUN / ((System.nanoTime() - start) / 1e9);
+                assertTrue(betsPerSecond >= minBetsPerSecond,
+                        tableCount + " tables accepted " + (long) betsPerSecond + " bets/sec, below " + minBetsPerSecond);
+
+                // Every accepted chip must be handed off in exactly one closed round of its table
+                long deadline = System.currentTimeMillis() + 5_000;
+                while (settledChips.get() < BETS_PER_RUN && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(BETTING_WINDOW_MS);
+                }
+                assertEquals(BETS_PER_RUN, settledChips.get());
+                assertEquals(0, misplacedChips.get(), "Chips settled on another table");
+                for (int bet = 0; bet < BETS_PER_RUN; bet++) {
+                    assertEquals(1, timesSettled.get(bet), "Times chip " + bet + " was settled");
+                }
+            }
+        }
+    }
+}
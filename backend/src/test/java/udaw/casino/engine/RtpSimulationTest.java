@@ -0,0 +1,62 @@
+package udaw.casino.engine;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Monte Carlo RTP verification of every game's payout tables.
+ * Excluded from the default build; run with {@code mvn test -Prtp}. The number of
+ * rounds per game, the seed and the bounds can be overridden with the system
+ * properties rtp.rounds, rtp.seed, rtp.min and rtp.max.
+ */
+@Tag("rtp")
+class RtpSimulationTest {
+
+    /** Critical value of the confidence intervals (99.9% two-sided). */
+    private static final double Z = 3.29;
+
+    @Test
+    void payoutTablesStayWithinBounds() {
+        long rounds = Long.getLong("rtp.rounds", 1_000_000_000L);
+        long seed = Long.getLong("rtp.seed", 20240501L);
+        double min = Double.parseDouble(System.getProperty("rtp.min", "0.80"));
+        double max = Double.parseDouble(System.getProperty("rtp.max", "1.0"));
+
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        List<String> mismatches = new ArrayList<>();
+        List<String> violations = new ArrayList<>();
+        try {
+            System.out.printf("RTP verification: %,d rounds per game on %d cores%n", rounds, pool.getParallelism());
+            System.out.printf("%-10s %-16s %10s %10s %12s %10s %10s%n",
+                    "game", "bet", "rtp", "expected", "variance", "ci low", "ci high");
+            for (RtpSimulator.Game game : RtpSimulator.allGames()) {
+                long start = System.nanoTime();
+                for (RtpSimulator.Result result : RtpSimulator.simulate(game, rounds, seed, Z, pool)) {
+                    System.out.printf("%-10s %-16s %10.6f %10.6f %12.4f %10.6f %10.6f%n",
+                            result.getGame(), result.getBet(), result.getRtp(), result.getTheoreticalRtp(),
+                            result.getVariance(), result.getCiLow(), result.getCiHigh());
+                    String key = result.getGame() + " " + result.getBet();
+                    // The simulation itself must agree with the exact RTP of the table
+                    if (result.getTheoreticalRtp() < result.getCiLow() || result.getTheoreticalRtp() > result.getCiHigh()) {
+                        mismatches.add(key);
+                    }
+                    if ((result.getCiLow() > max || result.getCiHigh() < min)) {
+                        violations.add(key);
+                    }
+                }
+                System.out.printf("%s simulated in %d ms%n", game.getName(), (System.nanoTime() - start) / 1_000_000);
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertTrue(mismatches.isEmpty(), "Simulated RTP disagrees with the payout table for " + mismatches);
+        assertTrue(violations.isEmpty(), "RTP outside [" + min + ", " + max + "] for " + violations);
+    }
+}
@@ -0,0 +1,108 @@
+package udaw.casino.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import udaw.casino.repository.IdempotencyRecordRepository;
+import udaw.casino.service.IdempotencyStore;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+class IdempotencyFilterTest {
+
+    private final IdempotencyFilter filter = new IdempotencyFilter(
+            new IdempotencyStore(mock(IdempotencyRecordRepository.class), new SimpleMeterRegistry(), 100, 60_000, false),
+            new SimpleMeterRegistry(), List.of("/api/games/*/play", "/api/blackjack/**"), 1000);
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    /** Echoes the form parameters, or the raw body, like a controller would read them. */
+    private final FilterChain controller = (request, response) -> {
+        executions.incrementAndGet();
+        String echo = request.getParameter("amount") != null
+                ? "amount=" + request.getParameter("amount")
+                : new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        response.getWriter().write(echo);
+    };
+
+    @Test
+    void formParametersStillReachTheController() throws Exception {
+        MockHttpServletResponse first = post("/api/games/roulette/play", form("10"), "k1");
+        MockHttpServletResponse retry = post("/api/games/roulette/play", form("10"), "k1");
+
+        assertEquals("amount=10", first.getContentAsString());
+        assertEquals("amount=10", retry.getContentAsString());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void reusedKeyWithOtherFormParametersIsRejected() throws Exception {
+        post("/api/games/roulette/play", form("10"), "k2");
+
+        assertEquals(422, post("/api/games/roulette/play", form("20"), "k2").getStatus());
+    }
+
+    @Test
+    void jsonBodyIsReplayedToTheController() throws Exception {
+        MockHttpServletResponse first = post("/api/games/5/play", json("{\"amount\":10}"), "k3");
+        MockHttpServletResponse retry = post("/api/games/5/play", json("{\"amount\":10}"), "k3");
+
+        assertEquals("{\"amount\":10}", first.getContentAsString());
+        assertEquals("{\"amount\":10}", retry.getContentAsString());
+        assertEquals(1, executions.get());
+        assertEquals(422, post("/api/games/5/play", json("{\"amount\":11}"), "k3").getStatus());
+    }
+
+    @Test
+    void pathVariableRoutesAreCovered() throws Exception {
+        post("/api/blackjack/7/hit", json(""), "k4");
+        MockHttpServletResponse retry = post("/api/blackjack/7/hit", json(""), "k4");
+
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void otherRoutesAreNotFiltered() throws Exception {
+        post("/api/slots/machine", json(""), "k5");
+        MockHttpServletResponse second = post("/api/slots/machine", json(""), "k5");
+
+        assertNull(second.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(2, executions.get());
+    }
+
+    private MockHttpServletRequest form(String amount) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContentType(MediaType.APPLICATION_FORM_URLENCODED_VALUE);
+        // The container parses a form body into parameters
+        request.setContent(("amount=" + amount).getBytes(StandardCharsets.UTF_8));
+        request.addParameter("amount", amount);
+        return request;
+    }
+
+    private MockHttpServletRequest json(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private MockHttpServletResponse post(String path, MockHttpServletRequest request, String key) throws Exception {
+        request.setMethod("POST");
+        request.setRequestURI(path);
+        request.addHeader(IdempotencyFilter.HEADER, key);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, controller);
+        return response;
+    }
+}
@@ -0,0 +1,51 @@
+package udaw.casino.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter(new SimpleMeterRegistry(), 1000, 10, 60_000, 1, 10, 60_000, 1, 10, 60_000);
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/games/5/play", "/api/games/roulette/play", "/api/games/roulette/tables/2/bets",
+            "/api/slots/spin", "/api/slots/spin/bulk", "/api/dice/auto", "/api/blackjack/deal", "/api/blackjack/7/hit"})
+    void playRoutesShareThePerAddressBudget(String path) throws Exception {
+        assertEquals(200, post(path).getStatus());
+
+        MockHttpServletResponse limited = post(path);
+
+        assertEquals(429, limited.getStatus());
+        assertEquals("60", limited.getHeader("Retry-After"));
+    }
+
+    @Test
+    void strategySimulationsHaveTheirOwnBudget() throws Exception {
+        assertEquals(200, post("/api/games/5/play").getStatus());
+        assertEquals(200, post("/api/simulations/strategy").getStatus());
+
+        assertEquals(429, post("/api/simulations/strategy").getStatus());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/games/5", "/api/slots/machine", "/api/users/me"})
+    void otherRoutesAreNotLimited(String path) throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, post(path).getStatus());
+        }
+    }
+
+    private MockHttpServletResponse post(String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
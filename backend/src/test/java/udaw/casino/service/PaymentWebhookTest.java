@@ -0,0 +1,111 @@
+package udaw.casino.service;
+
+import com.stripe.exception.SignatureVerificationException;
+import com.stripe.net.Webhook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import udaw.casino.model.User;
+import udaw.casino.repository.PaymentEventRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Webhook handling against a local Stripe stand-in that builds and signs events the way
+ * Stripe does, so no network or Stripe account is needed.
+ */
+class PaymentWebhookTest {
+
+    private static final String SECRET = "whsec_test_secret";
+
+    private PaymentEventRepository repository;
+    private UserService userService;
+    private PaymentService paymentService;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(PaymentEventRepository.class);
+        userService = mock(UserService.class);
+        paymentService = new PaymentService(userService, repository, mock(PaymentProviderClient.class));
+        ReflectionTestUtils.setField(paymentService, "webhookSecret", SECRET);
+        ReflectionTestUtils.setField(paymentService, "creditMultiplier", 1000);
+    }
+
+    @Test
+    void signedEventIsStoredOnceByEventId() throws Exception {
+        String payload = StripeStandIn.paymentSucceeded("evt_1", "pi_1", 1250, 7L);
+        when(repository.insertIfAbsent(eq("evt_1"), eq("payment_intent.succeeded"), eq(payload), any()))
+                .thenReturn(1, 0);
+
+        assertTrue(paymentService.receiveWebhookEvent(payload, StripeStandIn.sign(payload, SECRET)));
+        // Stripe redelivers the same event
+        assertFalse(paymentService.receiveWebhookEvent(payload, StripeStandIn.sign(payload, SECRET)));
+    }
+
+    @Test
+    void badSignatureIsRejectedBeforeStoring() {
+        String payload = StripeStandIn.paymentSucceeded("evt_2", "pi_2", 1250, 7L);
+
+        assertThrows(SignatureVerificationException.class,
+                () -> paymentService.receiveWebhookEvent(payload, StripeStandIn.sign(payload, "whsec_other")));
+        verify(repository, never()).insertIfAbsent(anyString(), anyString(), anyString(), any());
+    }
+
+    @Test
+    void succeededPaymentCreditsTheUser() throws Exception {
+        User user = new User();
+        user.setId(7L);
+        user.setBalance(100.0);
+        when(userService.getUserByIdForUpdate(7L)).thenReturn(user);
+
+        String result = paymentService.applyWebhookEvent(StripeStandIn.paymentSucceeded("evt_3", "pi_3", 1250, 7L));
+
+        verify(userService).updateBalance(7L, 100.0 + 12.5 * 1000);
+        assertEquals("Payment processed successfully. Added 12500.0 credits to user 7", result);
+    }
+
+    @Test
+    void otherEventTypesAreIgnored() throws Exception {
+        String payload = StripeStandIn.event("evt_4", "customer.created", "{\"id\":\"cus_1\",\"object\":\"customer\"}");
+
+        paymentService.applyWebhookEvent(payload);
+
+        verify(userService, never()).updateBalance(anyLong(), anyDouble());
+    }
+
+    /**
+     * Builds webhook payloads and Stripe-Signature headers like Stripe's servers.
+     */
+    static final class StripeStandIn {
+
+        static String paymentSucceeded(String eventId, String paymentIntentId, long amount, Long userId) {
+            String intent = "{\"id\":\"" + paymentIntentId + "\",\"object\":\"payment_intent\",\"amount\":" + amount
+                    + ",\"currency\":\"eur\",\"status\":\"succeeded\",\"metadata\":{\"userId\":\"" + userId + "\"}}";
+            return event(eventId, "payment_intent.succeeded", intent);
+        }
+
+        static String event(String eventId, String type, String object) {
+            return "{\"id\":\"" + eventId + "\",\"object\":\"event\",\"api_version\":\"" + com.stripe.Stripe.API_VERSION
+                    + "\",\"created\":" + Webhook.Util.getTimeNow() + ",\"type\":\"" + type
+                    + "\",\"data\":{\"object\":" + object + "}}";
+        }
+
+        static String sign(String payload, String secret) throws Exception {
+            long timestamp = Webhook.Util.getTimeNow();
+            String signature = Webhook.Util.computeHmacSha256(secret, timestamp + "." + payload);
+            return "t=" + timestamp + "," + Webhook.Signature.EXPECTED_SCHEME + "=" + signature;
+        }
+    }
+}
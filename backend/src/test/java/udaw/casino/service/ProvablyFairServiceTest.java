@@ -0,0 +1,118 @@
+package udaw.casino.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import udaw.casino.dto.FairSeedDTO;
+import udaw.casino.dto.FairVerificationDTO;
+import udaw.casino.engine.RouletteWheel;
+import udaw.casino.model.FairSeed;
+import udaw.casino.repository.FairSeedRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Fair plays against an in-memory seed table: draw, rotate to reveal, then verify.
+ */
+class ProvablyFairServiceTest {
+
+    private final List<FairSeed> table = new ArrayList<>();
+    private FairSeedRepository repository;
+    private ProvablyFairService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(FairSeedRepository.class);
+        when(repository.save(any())).thenAnswer(invocation -> {
+            FairSeed seed = invocation.getArgument(0);
+            if (seed.getId() == null) {
+                seed.setId((long) table.size() + 1);
+                table.add(seed);
+            }
+            return seed;
+        });
+        when(repository.findById(anyLong())).thenAnswer(invocation -> byId(invocation.getArgument(0)));
+        when(repository.findByIdForUpdate(anyLong())).thenAnswer(invocation -> byId(invocation.getArgument(0)));
+        when(repository.findByUserIdAndActiveTrue(anyLong())).thenAnswer(invocation -> active(invocation.getArgument(0)));
+        when(repository.findActiveByUserIdForUpdate(anyLong())).thenAnswer(invocation -> active(invocation.getArgument(0)));
+        service = new ProvablyFairService(repository, mock(UserService.class), mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void revealedSeedVerifiesEveryDraw() {
+        List<ProvablyFairService.Draw> draws = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            draws.add(service.draw(1L, ProvablyFairService.Game.ROULETTE));
+        }
+        ProvablyFairService.Draw dice = service.draw(1L, ProvablyFairService.Game.DICE);
+
+        FairSeedDTO revealed = service.rotate(1L, "player-seed");
+
+        assertEquals(6, revealed.getNonce());
+        assertFalse(revealed.isActive());
+        for (int nonce = 0; nonce < draws.size(); nonce++) {
+            ProvablyFairService.Draw draw = draws.get(nonce);
+            assertEquals(nonce, draw.getProof().getNonce());
+            FairVerificationDTO check = service.verify(ProvablyFairService.Game.ROULETTE, revealed.getServerSeed(),
+                    draw.getProof().getClientSeed(), nonce);
+            assertEquals(draw.getProof().getServerSeedHash(), check.getServerSeedHash());
+            assertEquals(List.of(RouletteWheel.label(draw.getValues()[0])), check.getOutcome());
+        }
+        FairVerificationDTO diceCheck = service.verify(ProvablyFairService.Game.DICE, revealed.getServerSeed(),
+                dice.getProof().getClientSeed(), 5);
+        assertEquals(ProvablyFairService.Game.DICE.format(dice.getValues()), diceCheck.getOutcome());
+    }
+
+    @Test
+    void drawsAfterRotationUseTheNewPair() {
+        String before = service.draw(1L, ProvablyFairService.Game.ROULETTE).getProof().getServerSeedHash();
+        service.rotate(1L, "player-seed");
+
+        ProvablyFairService.Draw after = service.draw(1L, ProvablyFairService.Game.ROULETTE);
+
+        assertNotEquals(before, after.getProof().getServerSeedHash());
+        assertEquals("player-seed", after.getProof().getClientSeed());
+        assertEquals(0, after.getProof().getNonce());
+        assertNull(service.getActiveSeed(1L).getServerSeed());
+    }
+
+    @Test
+    void pairRotatedElsewhereIsNotPlayedAgain() {
+        String before = service.draw(1L, ProvablyFairService.Game.ROULETTE).getProof().getServerSeedHash();
+        // Another node reveals the pair and opens the next one
+        FairSeed current = active(1L).orElseThrow();
+        current.setActive(false);
+        FairSeed next = new FairSeed();
+        next.setUserId(1L);
+        next.setServerSeed("00".repeat(32));
+        next.setServerSeedHash("other-node");
+        next.setClientSeed("other");
+        next.setActive(true);
+        repository.save(next);
+
+        ProvablyFairService.Draw after = service.draw(1L, ProvablyFairService.Game.ROULETTE);
+
+        assertNotEquals(before, after.getProof().getServerSeedHash());
+        assertEquals("other-node", after.getProof().getServerSeedHash());
+        assertEquals(1, next.getNonce());
+    }
+
+    private Optional<FairSeed> byId(Long id) {
+        return table.stream().filter(seed -> seed.getId().equals(id)).findFirst();
+    }
+
+    private Optional<FairSeed> active(Long userId) {
+        return table.stream().filter(seed -> seed.getUserId().equals(userId) && seed.isActive()).findFirst();
+    }
+}
@@ -0,0 +1,56 @@
+package udaw.casino.service;
+
+import org.junit.jupiter.api.Test;
+import udaw.casino.engine.DiceEngine;
+import udaw.casino.engine.DiceGameEngine;
+import udaw.casino.engine.GameEngine;
+import udaw.casino.engine.RouletteGameEngine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Replays seeded outcome sequences through the game engines.
+ */
+class ThreadLocalOutcomeSourceTest {
+
+    private static final int ROUNDS = 1_000;
+
+    @Test
+    void seededSourceReplaysRouletteSpins() {
+        RouletteGameEngine engine = new RouletteGameEngine();
+        double[] layout = engine.validate("color", "red");
+
+        List<String> first = play(engine, layout, ThreadLocalOutcomeSource.create(ThreadLocalOutcomeSource.Mode.SEEDED, 42));
+        List<String> replay = play(engine, layout, ThreadLocalOutcomeSource.seeded(42));
+
+        assertEquals(first, replay);
+        assertNotEquals(first, play(engine, layout, ThreadLocalOutcomeSource.seeded(43)));
+    }
+
+    @Test
+    void seededSourceReplaysDiceRollsOnAnotherThread() throws Exception {
+        DiceGameEngine engine = new DiceGameEngine();
+        DiceEngine.CompiledBet bet = engine.validate("number", "7");
+
+        List<String> first = play(engine, bet, ThreadLocalOutcomeSource.seeded(7));
+        List<List<String>> replay = new ArrayList<>();
+        Thread thread = new Thread(() -> replay.add(play(engine, bet, ThreadLocalOutcomeSource.seeded(7))));
+        thread.start();
+        thread.join();
+
+        assertEquals(first, replay.get(0));
+    }
+
+    private static <B> List<String> play(GameEngine<B> engine, B bet, OutcomeSource source) {
+        List<String> outcomes = new ArrayList<>(ROUNDS);
+        for (int i = 0; i < ROUNDS; i++) {
+            GameEngine.Outcome outcome = engine.evaluate(bet, source);
+            outcomes.add(outcome.getWinningValue() + ":" + outcome.getNetPayout());
+        }
+        return outcomes;
+    }
+}
@@ -0,0 +1,93 @@
+package udaw.casino.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedTtlCacheTest {
+
+    private final List<String> removals = new ArrayList<>();
+
+    @Test
+    void entriesExpireAfterWrite() throws InterruptedException {
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(10, 50, false, this::record);
+        cache.put("a", "1");
+        assertEquals("1", cache.get("a"));
+
+        Thread.sleep(80);
+
+        assertNull(cache.get("a"));
+        assertEquals(List.of("a=1:EXPIRED"), removals);
+        assertEquals(1, cache.expirationCount());
+    }
+
+    @Test
+    void readsExtendEntriesThatExpireAfterAccess() throws InterruptedException {
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(10, 150, true, this::record);
+        cache.put("a", "1");
+        for (int i = 0; i < 4; i++) {
+            Thread.sleep(60);
+            assertEquals("1", cache.get("a"));
+        }
+
+        Thread.sleep(200);
+        cache.cleanUp();
+
+        assertEquals(0, cache.size());
+        assertEquals(List.of("a=1:EXPIRED"), removals);
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedForSize() {
+        BoundedTtlCache<Integer, String> cache = new BoundedTtlCache<>(3, 0, true,
+                (key, value, cause) -> removals.add(key + "=" + value + ":" + cause));
+        cache.put(1, "a");
+        cache.put(2, "b");
+        cache.put(3, "c");
+        cache.get(1);
+
+        cache.put(4, "d");
+
+        assertEquals(List.of("2=b:SIZE"), removals);
+        assertNull(cache.get(2));
+        assertEquals("a", cache.get(1));
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    void sizeStaysBoundedAcrossSegments() {
+        BoundedTtlCache<Integer, Integer> cache = new BoundedTtlCache<>(256, 0, false, (k, v, cause) -> removals.add(cause.name()));
+        for (int i = 0; i < 10_000; i++) {
+            cache.computeIfAbsent(i, key -> key);
+        }
+
+        assertTrue(cache.size() <= 256);
+        assertEquals(10_000 - cache.size(), removals.size());
+        assertTrue(removals.stream().allMatch("SIZE"::equals));
+    }
+
+    @Test
+    void explicitRemovalsDoNotNotifyTheListener() {
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(10, 0, false, this::record);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("c", "3");
+
+        cache.remove("a");
+        cache.remove("b", "2");
+        cache.clear();
+
+        assertTrue(removals.isEmpty());
+        assertEquals(0, cache.size());
+    }
+
+    private void record(String key, String value, BoundedTtlCache.RemovalCause cause) {
+        removals.add(key + "=" + value + ":" + cause);
+    }
+}
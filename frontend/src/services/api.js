@@ -22,17 +22,52 @@ api.interceptors.request.use(
   (error) => Promise.reject(error)
 );
 
+// Exchanges the stored refresh token for a new token pair. Concurrent 401s share one
+// refresh, since a refresh token can only be used once and reusing it ends the session.
+let refreshPromise = null;
+const refreshTokens = () => {
+  if (!refreshPromise) {
+    const refreshToken = localStorage.getItem('refreshToken');
+    refreshPromise = (refreshToken
+      ? axios.post(`${API_BASE_URL}/users/refresh`, { refreshToken })
+      : Promise.reject(new Error('No refresh token')))
+      .then((response) => {
+        localStorage.setItem('token', response.data.token);
+        localStorage.setItem('refreshToken', response.data.refreshToken);
+        return response.data.token;
+      })
+      .finally(() => {
+        refreshPromise = null;
+      });
+  }
+  return refreshPromise;
+};
+
 // Response interceptor for handling common errors
 api.interceptors.response.use(
   (response) => response,
-  (error) => {
+  async (error) => {
     // Handle 401 Unauthorized errors (token expired)
     if (error.response && error.response.status === 401) {
-      // Don't redirect automatically if this is a login/register request
-      const isAuthRequest = error.config.url.includes('login') || error.config.url.includes('register');
+      // Don't refresh or redirect automatically if this is a login/register/refresh/logout request
+      const url = error.config.url;
+      const isAuthRequest = url.includes('login') || url.includes('register')
+        || url.includes('refresh') || url.includes('logout');
       
       if (!isAuthRequest) {
+        // Retry once with a fresh access token
+        if (!error.config._retried) {
+          try {
+            const token = await refreshTokens();
+            error.config._retried = true;
+            error.config.headers.Authorization = `Bearer ${token}`;
+            return api(error.config);
+          } catch (refreshError) {
+            // Fall through: the session is over
+          }
+        }
         localStorage.removeItem('token');
+        localStorage.removeItem('refreshToken');
         localStorage.removeItem('user');
         window.location.href = '/login';
       }
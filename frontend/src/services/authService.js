@@ -5,17 +5,20 @@ const AUTH_ENDPOINTS = {
   LOGIN: '/users/login',
   REGISTER: '/users/register',
   CURRENT_USER: '/users/me',
+  LOGOUT: '/users/logout',
 };
 
 // Helper to store user data in localStorage
-const setUserData = (token, userData) => {
+const setUserData = (token, refreshToken, userData) => {
   localStorage.setItem('token', token);
+  localStorage.setItem('refreshToken', refreshToken);
   localStorage.setItem('user', JSON.stringify(userData));
 };
 
 // Helper to clear user data from localStorage
 const clearUserData = () => {
   localStorage.removeItem('token');
+  localStorage.removeItem('refreshToken');
   localStorage.removeItem('user');
 };
 
@@ -24,8 +27,8 @@ const authService = {
   login: async (credentials) => {
     try {
       const response = await api.post(AUTH_ENDPOINTS.LOGIN, credentials);
-      const { token, user } = response.data;
-      setUserData(token, user);
+      const { token, refreshToken, user } = response.data;
+      setUserData(token, refreshToken, user);
       return user;
     } catch (error) {
       console.error('Login error:', error.response || error);
@@ -132,8 +135,15 @@ const authService = {
     }
   },
 
-  // Logout user
+  // Logout user: revoke the tokens on the server (best effort) and clear local data
   logout: () => {
+    const token = localStorage.getItem('token');
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (token || refreshToken) {
+      const headers = token ? { Authorization: `Bearer ${token}` } : {};
+      api.post(AUTH_ENDPOINTS.LOGOUT, { refreshToken }, { headers })
+        .catch(() => {});
+    }
     clearUserData();
   },
 
@@ -146,8 +156,8 @@ const authService = {
       const decoded = jwtDecode(token);
       const currentTime = Date.now() / 1000;
       
-      // Check if token is expired
-      if (decoded.exp < currentTime) {
+      // An expired access token is renewed on the next request while a refresh token is held
+      if (decoded.exp < currentTime && !localStorage.getItem('refreshToken')) {
         clearUserData();
         return false;
       }